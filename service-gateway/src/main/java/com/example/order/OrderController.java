@@ -4,7 +4,13 @@ import com.example.order.dto.OrderRequest;
 import com.example.order.dto.OrderResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.security.Principal;
 
 @Slf4j
 @RestController
@@ -13,10 +19,58 @@ import org.springframework.web.bind.annotation.*;
 public class OrderController {
 
     private final OrderFeignClient orderFeignClient;
+    private final OrderIdempotencyStore orderIdempotencyStore;
+    private final OrderStatusStreams orderStatusStreams;
 
+    /**
+     * 주문 생성, Idempotency-Key가 있으면 같은 키의 재시도는 주문 서비스까지 가지 않고 저장된 결과를 돌려준다
+     *  - 처리 중인 키: 409, 같은 키에 다른 본문: 422
+     */
     @PostMapping
-    public String createOrder(@RequestBody OrderRequest request){
-        return orderFeignClient.createOrder(request);
+    public ResponseEntity<String> createOrder(
+            @RequestHeader(value = OrderIdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @RequestBody OrderRequest request,
+            Principal principal
+    ) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return ResponseEntity.ok(orderFeignClient.createOrder(null, request));
+        }
+        if (idempotencyKey.length() > OrderIdempotencyStore.MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().body(OrderIdempotencyStore.HEADER + "는 최대 " + OrderIdempotencyStore.MAX_KEY_LENGTH + "자까지 가능합니다.");
+        }
+
+        String fingerprint = OrderIdempotencyStore.fingerprint(request);
+        String scope = OrderIdempotencyStore.scope(principal, request);
+        OrderIdempotencyStore.Claim claim = orderIdempotencyStore.claim(scope, idempotencyKey, fingerprint);
+        switch (claim.state()) {
+            case DONE:
+                return ResponseEntity.ok(claim.result());
+            case IN_PROGRESS:
+                return ResponseEntity.status(HttpStatus.CONFLICT).body("같은 " + OrderIdempotencyStore.HEADER + "의 주문을 처리 중입니다.");
+            case MISMATCH:
+                return ResponseEntity.unprocessableEntity().body("같은 " + OrderIdempotencyStore.HEADER + "로 다른 주문을 요청했습니다.");
+            default:
+                break;
+        }
+
+        try {
+            String result = orderFeignClient.createOrder(idempotencyKey, request);
+            orderIdempotencyStore.complete(scope, idempotencyKey, fingerprint, result);
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            orderIdempotencyStore.release(scope, idempotencyKey);
+            throw e;
+        }
+    }
+
+    /**
+     * 주문 상태 스트림 (SSE), 현재 상태를 먼저 보내고 이후 변경을 밀어줌 (폴링 대신)
+     */
+    @GetMapping(value = "/{orderId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamOrderStatus(@PathVariable String orderId) {
+        return orderStatusStreams.open(orderId, () -> orderFeignClient.getOrderStatus(orderId)) // 캐시된 주문 조회 대신 DB 상태
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
     }
 
     @GetMapping("{storeId}")
@@ -9,11 +9,15 @@ import org.springframework.web.bind.annotation.*;
 public interface OrderFeignClient {
 
     @PostMapping("/api/order")
-    String createOrder(@RequestBody OrderRequest request);
+    String createOrder(@RequestHeader(value = OrderIdempotencyStore.HEADER, required = false) String idempotencyKey,
+                       @RequestBody OrderRequest request);
 
     @GetMapping("api/order/{orderId}")
     OrderResponse getOrder(@PathVariable("orderId") String orderId);
 
+    @GetMapping("api/order/{orderId}/status")
+    String getOrderStatus(@PathVariable("orderId") String orderId);
+
     @PutMapping("api/order/{orderId}")
     boolean updateOrders(
             @PathVariable("orderId") String orderId,
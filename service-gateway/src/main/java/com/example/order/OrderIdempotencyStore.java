@@ -0,0 +1,96 @@
+package com.example.order;
+
+import com.example.order.dto.OrderRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.time.Duration;
+
+/**
+ * 게이트웨이 주문 생성 Idempotency-Key 기록 (Redis, 키 → 상태/결과)
+ *
+ * 값은 짧은 문자열 하나: "P|요청지문" (처리 중) / "D|요청지문|결과" (완료)
+ *  - 키는 호출자 범위(인증 사용자, 없으면 상점) 안에서만 유효 → 다른 호출자가 같은 키를 써도 서로의 결과를 받지 않음
+ *  - 처음 온 요청만 SET NX로 기록을 잡고 주문 서비스로 넘기고, 같은 키의 재시도는 저장된 결과를 바로 돌려준다
+ *  - TTL은 재시도가 몰리는 구간만 덮도록 짧게, 그 이후의 재시도는 주문 서비스의 키 기록이 막는다
+ *  - 주문 서비스 호출이 실패하면 기록을 지워 같은 키로 다시 시도할 수 있게 한다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderIdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final int MAX_KEY_LENGTH = 200;
+
+    private static final String KEY_PREFIX = "idempotency-key:gateway:order:";
+    private static final String IN_PROGRESS = "P";
+    private static final String DONE = "D";
+    private static final Duration IN_PROGRESS_TTL = Duration.ofSeconds(30); // 처리 중 게이트웨이가 죽어도 30초 뒤 재시도 가능
+    private static final Duration DONE_TTL = Duration.ofMinutes(10);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public enum State { ACQUIRED, IN_PROGRESS, DONE, MISMATCH }
+
+    public record Claim(State state, String result) {
+    }
+
+    /**
+     * 키 선점 시도
+     *
+     * @param scope       호출자 범위 ({@link #scope})
+     * @param fingerprint 요청 본문 지문 (같은 키에 다른 본문이 오면 MISMATCH)
+     */
+    public Claim claim(String scope, String idempotencyKey, String fingerprint) {
+        String key = keyOf(scope, idempotencyKey);
+        Boolean acquired = stringRedisTemplate.opsForValue()
+                .setIfAbsent(key, IN_PROGRESS + "|" + fingerprint, IN_PROGRESS_TTL);
+        if (Boolean.TRUE.equals(acquired)) {
+            return new Claim(State.ACQUIRED, null);
+        }
+        String value = stringRedisTemplate.opsForValue().get(key);
+        if (value == null) { // 확인 사이에 만료됨 → 한 번 더 시도
+            return claim(scope, idempotencyKey, fingerprint);
+        }
+        String[] parts = value.split("\\|", 3);
+        if (!parts[1].equals(fingerprint)) {
+            log.warn("[Idempotency] 같은 키에 다른 주문 요청 - scope: {}, key: {}", scope, idempotencyKey);
+            return new Claim(State.MISMATCH, null);
+        }
+        if (DONE.equals(parts[0])) {
+            return new Claim(State.DONE, parts.length > 2 ? parts[2] : "");
+        }
+        return new Claim(State.IN_PROGRESS, null);
+    }
+
+    public void complete(String scope, String idempotencyKey, String fingerprint, String result) {
+        stringRedisTemplate.opsForValue()
+                .set(keyOf(scope, idempotencyKey), DONE + "|" + fingerprint + "|" + result, DONE_TTL);
+    }
+
+    public void release(String scope, String idempotencyKey) {
+        stringRedisTemplate.delete(keyOf(scope, idempotencyKey));
+    }
+
+    /**
+     * 키 범위: 인증된 사용자, 없으면 주문한 상점
+     */
+    public static String scope(Principal principal, OrderRequest request) {
+        return principal != null ? "user:" + principal.getName() : "store:" + request.getStoreId();
+    }
+
+    /**
+     * 요청 본문 지문 (필드 값으로만 계산하므로 인스턴스가 달라도 같은 값)
+     */
+    public static String fingerprint(Object request) {
+        return Integer.toHexString(request.hashCode());
+    }
+
+    private static String keyOf(String scope, String idempotencyKey) {
+        return KEY_PREFIX + scope + ":" + idempotencyKey;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.order;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 주문 상태 스트림 설정 (Redis 채널 구독 + 전송 실행기)
+ */
+@Configuration
+public class OrderStatusStreamConfig {
+
+    @Bean
+    public RedisMessageListenerContainer orderStatusListenerContainer(
+            RedisConnectionFactory redisConnectionFactory,
+            OrderStatusStreams orderStatusStreams
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(orderStatusStreams, new ChannelTopic(OrderStatusStreams.CHANNEL));
+        return container;
+    }
+
+    /**
+     * SSE 전송 실행기, 상태 변경 한 건은 보통 구독자 한두 명이라 작업이 짧음
+     * 대기열이 가득 차면 거절 (해당 변경은 건너뛰고 재연결 시 현재 상태로 보정)
+     */
+    @Bean(name = "orderStatusStreamExecutor")
+    public Executor orderStatusStreamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);       // 기본 스레드 수
+        executor.setMaxPoolSize(32);       // 최대 스레드 수
+        executor.setQueueCapacity(10_000); // 대기 큐 사이즈
+        executor.setThreadNamePrefix("OrderStatusStream-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.order;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 주문 상태 스트림 레지스트리 (SSE, orderId → 연결된 클라이언트)
+ *
+ * 상태 변경은 주문 서비스가 커밋 직후 Redis 채널(order-status)로 "orderId|상태"를 발행하고,
+ * 게이트웨이/주문 서비스 각 노드는 채널을 구독해 자기 노드에 연결된 클라이언트에게만 보낸다.
+ *  - 연결은 서블릿 비동기 요청(SseEmitter)으로 유지 → 연결당 스레드를 잡지 않음
+ *  - 메시지 수신 스레드는 구독자 조회만 하고, 전송은 orderStatusStreamExecutor에서 (느린 클라이언트가 수신을 막지 않음)
+ *  - 상태는 앞으로만 보냄 (PENDING → PAID → SUCCESS/CANCELED), 최종 상태를 보내면 스트림 종료
+ * 끊긴 클라이언트는 EventSource 재연결로 다시 열면 현재 상태부터 받는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderStatusStreams implements MessageListener {
+
+    public static final String CHANNEL = "order-status";
+    static final int MAX_STREAMS = 100_000; // 노드당 동시 연결 한도
+    private static final long STREAM_TIMEOUT_MS = Duration.ofMinutes(10).toMillis();
+    private static final int TERMINAL_RANK = 3;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Executor orderStatusStreamExecutor;
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger streams = new AtomicInteger();
+
+    /**
+     * 스트림 열기, 등록을 먼저 하고 현재 상태를 읽으므로 그 사이의 상태 변경도 놓치지 않음
+     *
+     * @param currentStatus 현재 주문 상태 조회 (null이면 아직 결제 전 → PENDING)
+     * @return 노드당 연결 한도를 넘으면 빈 값
+     */
+    public Optional<SseEmitter> open(String orderId, Supplier<String> currentStatus) {
+        if (streams.incrementAndGet() > MAX_STREAMS) {
+            streams.decrementAndGet();
+            log.warn("[OrderStatusStream] 연결 한도 초과 - orderId: {}", orderId);
+            return Optional.empty();
+        }
+        Subscriber subscriber = new Subscriber(newEmitter());
+        subscribers.compute(orderId, (id, set) -> { // 추가도 compute 안에서 (remove가 빈 집합을 지우는 것과 겹치지 않게)
+            Set<Subscriber> target = set != null ? set : ConcurrentHashMap.<Subscriber>newKeySet();
+            target.add(subscriber);
+            return target;
+        });
+        subscriber.emitter.onCompletion(() -> remove(orderId, subscriber));
+        subscriber.emitter.onTimeout(() -> remove(orderId, subscriber));
+        subscriber.emitter.onError(e -> remove(orderId, subscriber));
+
+        try {
+            String status = currentStatus.get();
+            deliver(orderId, subscriber, status != null ? status : "PENDING");
+        } catch (RuntimeException e) {
+            remove(orderId, subscriber);
+            subscriber.emitter.completeWithError(e);
+        }
+        return Optional.of(subscriber.emitter);
+    }
+
+    /**
+     * 상태 변경 발행 (모든 노드의 레지스트리로 전달됨)
+     */
+    public void broadcast(String orderId, String status) {
+        stringRedisTemplate.convertAndSend(CHANNEL, orderId + "|" + status);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf('|');
+        if (separator < 0) {
+            log.warn("[OrderStatusStream] 잘못된 메시지: {}", body);
+            return;
+        }
+        dispatch(body.substring(0, separator), body.substring(separator + 1));
+    }
+
+    public int size() {
+        return streams.get();
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(STREAM_TIMEOUT_MS);
+    }
+
+    void dispatch(String orderId, String status) {
+        Set<Subscriber> targets = subscribers.get(orderId);
+        if (targets == null) {
+            return; // 이 노드에 연결된 클라이언트 없음 (대부분의 메시지)
+        }
+        for (Subscriber subscriber : targets) {
+            try {
+                orderStatusStreamExecutor.execute(() -> deliver(orderId, subscriber, status));
+            } catch (RejectedExecutionException e) {
+                // 전송 대기열이 가득 참 → 이번 변경은 건너뜀, 재연결 시 현재 상태로 보정
+                log.warn("[OrderStatusStream] 전송 대기열 초과 - orderId: {}, status: {}", orderId, status);
+            }
+        }
+    }
+
+    private void deliver(String orderId, Subscriber subscriber, String status) {
+        int rank = rank(status);
+        synchronized (subscriber) {
+            if (rank <= subscriber.sentRank) {
+                return; // 같은 상태이거나 이미 더 뒤의 상태를 보냄
+            }
+            subscriber.sentRank = rank;
+            try {
+                subscriber.emitter.send(SseEmitter.event().name("status").data(status));
+                if (rank == TERMINAL_RANK) {
+                    subscriber.emitter.complete();
+                }
+            } catch (Exception e) {
+                // 클라이언트가 끊김
+                remove(orderId, subscriber);
+            }
+        }
+    }
+
+    private void remove(String orderId, Subscriber subscriber) {
+        subscribers.computeIfPresent(orderId, (id, set) -> {
+            if (set.remove(subscriber)) {
+                streams.decrementAndGet();
+            }
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static int rank(String status) {
+        return switch (status) {
+            case "PENDING" -> 1;
+            case "PAID" -> 2;
+            case "SUCCESS", "CANCELED" -> TERMINAL_RANK;
+            default -> 0; // 알 수 없는 상태는 보내지 않음
+        };
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private int sentRank; // subscriber 잠금 안에서만 접근
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
@@ -10,4 +10,5 @@ public class OrderResponse {
     private String productId;
     private String stockId;
     private long quantity;
+    private String orderStatus;
 }
@@ -8,6 +8,8 @@ import org.springframework.web.bind.annotation.*;
 @FeignClient(name = "stockClient", url = "http://localhost:8083")
 public interface StockFeignClient {
 
+    String COMMAND_ID_HEADER = "Command-Id"; // 재고 명령 이벤트 ID (재고 서비스가 처리 기록으로 중복 제거)
+
     // [C] Create
     @PostMapping("/api/stock")
     String createStock(@RequestBody StockRequest request);
@@ -41,6 +43,14 @@ public interface StockFeignClient {
             @PathVariable("quantity") long quantity
     );
 
+    // 명령 ID를 고정한 재고 복구 (같은 ID로 다시 호출해도 한 번만 반영)
+    @PutMapping("/api/stock/{stockId}/increase/{quantity}")
+    boolean increaseStock(
+            @PathVariable("stockId") String stockId,
+            @PathVariable("quantity") long quantity,
+            @RequestHeader(COMMAND_ID_HEADER) String commandId
+    );
+
     // [D] Delete
     @DeleteMapping("/api/stock/{stockId}")
     boolean deleteStock(@PathVariable("stockId") String stockId);
@@ -0,0 +1,149 @@
+package com.example.order;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class OrderStatusStreamsTest {
+
+    @Test
+    @DisplayName("열면 현재 상태부터 보내고, 이후에는 앞선 상태만 전달")
+    void rankCheckTest() throws Exception {
+        OrderStatusStreams streams = streams(Runnable::run);
+        SseEmitter emitter = streams.open("O1", () -> null).orElseThrow();
+
+        streams.dispatch("O1", "PAID");
+        streams.dispatch("O1", "PAID");    // 같은 상태
+        streams.dispatch("O1", "PENDING"); // 뒤로 가는 상태
+        streams.dispatch("O1", "UNKNOWN"); // 알 수 없는 상태
+        streams.dispatch("O2", "SUCCESS"); // 다른 주문
+
+        assertEquals(List.of("PENDING", "PAID"), sent(emitter));
+        verify(emitter, never()).complete();
+    }
+
+    @Test
+    @DisplayName("최종 상태를 보내면 스트림 종료, 종료 콜백으로 레지스트리에서 제거")
+    void terminalStatusClosesStreamTest() throws Exception {
+        OrderStatusStreams streams = streams(Runnable::run);
+        SseEmitter emitter = streams.open("O1", () -> "PAID").orElseThrow();
+        assertEquals(1, streams.size());
+
+        streams.dispatch("O1", "CANCELED");
+
+        assertEquals(List.of("PAID", "CANCELED"), sent(emitter));
+        verify(emitter).complete();
+        completionCallback(emitter).run();
+        assertEquals(0, streams.size());
+
+        streams.dispatch("O1", "SUCCESS"); // 제거된 뒤에는 보내지 않음
+        assertEquals(List.of("PAID", "CANCELED"), sent(emitter));
+    }
+
+    @Test
+    @DisplayName("전송 실패(클라이언트 끊김)나 완료 콜백이 여러 번 와도 연결 수는 한 번만 줄어듦")
+    void removeTest() throws Exception {
+        OrderStatusStreams streams = streams(Runnable::run);
+        SseEmitter first = streams.open("O1", () -> null).orElseThrow();
+        SseEmitter second = streams.open("O1", () -> null).orElseThrow();
+        assertEquals(2, streams.size());
+
+        doThrow(new IOException("broken pipe")).when(first).send(any(SseEmitter.SseEventBuilder.class));
+        streams.dispatch("O1", "PAID");
+        assertEquals(1, streams.size());
+
+        completionCallback(first).run(); // 이미 제거된 구독자
+        assertEquals(1, streams.size());
+        assertEquals(List.of("PENDING", "PAID"), sent(second));
+    }
+
+    @Test
+    @DisplayName("현재 상태 조회가 실패하면 등록을 되돌리고 오류로 종료")
+    void currentStatusLookupFailureTest() {
+        OrderStatusStreams streams = streams(Runnable::run);
+        IllegalStateException failure = new IllegalStateException("order lookup failed");
+
+        SseEmitter emitter = streams.open("O1", () -> {
+            throw failure;
+        }).orElseThrow();
+
+        assertEquals(0, streams.size());
+        verify(emitter).completeWithError(failure);
+    }
+
+    @Test
+    @DisplayName("전송 실행기가 가득 차면 이번 변경만 건너뜀")
+    void executorRejectionTest() throws Exception {
+        List<Runnable> accepted = new ArrayList<>();
+        OrderStatusStreams streams = streams(task -> {
+            if (!accepted.isEmpty()) {
+                throw new RejectedExecutionException("queue full");
+            }
+            accepted.add(task);
+        });
+        SseEmitter emitter = streams.open("O1", () -> null).orElseThrow();
+
+        streams.dispatch("O1", "PAID");
+        streams.dispatch("O1", "SUCCESS"); // 거절됨
+        accepted.forEach(Runnable::run);
+
+        assertEquals(List.of("PENDING", "PAID"), sent(emitter));
+        assertEquals(1, streams.size());
+    }
+
+    @Test
+    @DisplayName("노드당 연결 한도를 넘으면 열지 않고 연결 수도 늘지 않음")
+    void maxStreamsTest() {
+        OrderStatusStreams streams = new OrderStatusStreams(mock(StringRedisTemplate.class), Runnable::run);
+        for (int i = 0; i < OrderStatusStreams.MAX_STREAMS; i++) {
+            assertTrue(streams.open("O" + i, () -> null).isPresent());
+        }
+        assertEquals(OrderStatusStreams.MAX_STREAMS, streams.size());
+
+        assertTrue(streams.open("over", () -> null).isEmpty());
+        assertEquals(OrderStatusStreams.MAX_STREAMS, streams.size());
+    }
+
+    /**
+     * 전송 내용을 확인할 수 있도록 mock 에미터로 여는 레지스트리
+     */
+    private OrderStatusStreams streams(Executor executor) {
+        return new OrderStatusStreams(mock(StringRedisTemplate.class), executor) {
+            @Override
+            SseEmitter newEmitter() {
+                return mock(SseEmitter.class);
+            }
+        };
+    }
+
+    private static Runnable completionCallback(SseEmitter emitter) {
+        ArgumentCaptor<Runnable> callback = ArgumentCaptor.forClass(Runnable.class);
+        verify(emitter).onCompletion(callback.capture());
+        return callback.getValue();
+    }
+
+    /**
+     * 에미터로 보낸 status 이벤트의 data 값 (보낸 순서대로)
+     */
+    private static List<String> sent(SseEmitter emitter) throws IOException {
+        ArgumentCaptor<SseEmitter.SseEventBuilder> events = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+        verify(emitter, atLeast(0)).send(events.capture());
+        return events.getAllValues().stream()
+                .map(event -> event.build().stream().map(data -> data.getData().toString()).collect(Collectors.joining()))
+                .map(text -> text.substring(text.indexOf("data:") + "data:".length()).trim())
+                .toList();
+    }
+}
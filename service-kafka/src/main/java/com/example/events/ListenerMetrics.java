@@ -0,0 +1,128 @@
+package com.example.events;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.specific.SpecificRecord;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Kafka 리스너 공용 메트릭
+ *
+ * - kafka.listener.records: 토픽별 수신 건수 (rate로 records/sec 확인)
+ * - kafka.listener.e2e.latency: 프로듀서 타임스탬프 → 리스너 수신까지 걸린 시간
+ * - kafka.listener.handler: 토픽/이벤트 타입별 핸들러 처리 시간 (p50/p95/p99 히스토그램)
+ * - kafka.consumer.rebalance: 그룹별 파티션 할당/회수/유실 횟수
+ *
+ * 수신 건수와 e2e 지연은 컨테이너 팩토리에 등록한 인터셉터에서, 핸들러 시간은 리스너에서 직접 기록한다.
+ */
+@Slf4j
+@Component
+public class ListenerMetrics implements ConsumerAwareRebalanceListener {
+
+    private final MeterRegistry meterRegistry;
+
+    public ListenerMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 레코드 리스너용 인터셉터 (리스너 호출 직전에 수신 메트릭 기록)
+     */
+    public <K, V> RecordInterceptor<K, V> recordInterceptor() {
+        return (record, consumer) -> {
+            recordReceived(record, System.currentTimeMillis());
+            return record;
+        };
+    }
+
+    /**
+     * 배치 리스너용 인터셉터
+     */
+    public <K, V> BatchInterceptor<K, V> batchInterceptor() {
+        return (records, consumer) -> {
+            long now = System.currentTimeMillis();
+            records.forEach(record -> recordReceived(record, now));
+            return records;
+        };
+    }
+
+    public <T> T timeHandler(String topic, Object event, Supplier<T> handler) {
+        long start = System.nanoTime();
+        try {
+            return handler.get();
+        } finally {
+            handlerTimer(topic, event).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void timeHandler(String topic, Object event, Runnable handler) {
+        long start = System.nanoTime();
+        try {
+            handler.run();
+        } finally {
+            handlerTimer(topic, event).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        countRebalance(consumer, "assigned", partitions);
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        countRebalance(consumer, "revoked", partitions);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        countRebalance(consumer, "lost", partitions);
+    }
+
+    private void recordReceived(ConsumerRecord<?, ?> record, long now) {
+        meterRegistry.counter("kafka.listener.records", "topic", record.topic()).increment();
+        if (record.timestamp() > 0) {
+            Timer.builder("kafka.listener.e2e.latency")
+                    .tag("topic", record.topic())
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry)
+                    .record(Math.max(0, now - record.timestamp()), TimeUnit.MILLISECONDS); // 노드 간 시계 차이로 음수가 나오지 않도록
+        }
+    }
+
+    private Timer handlerTimer(String topic, Object event) {
+        return Timer.builder("kafka.listener.handler")
+                .tag("topic", topic)
+                .tag("event", eventTypeOf(event))
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private void countRebalance(Consumer<?, ?> consumer, String type, Collection<TopicPartition> partitions) {
+        String group = consumer.groupMetadata().groupId();
+        meterRegistry.counter("kafka.consumer.rebalance", "group", group, "type", type).increment();
+        log.info("[ListenerMetrics] 파티션 {} - group: {}, partitions: {}", type, group, partitions);
+    }
+
+    /**
+     * 이벤트 타입 태그: Avro Event로 감싼 경우 안쪽 이벤트 클래스명
+     */
+    static String eventTypeOf(Object event) {
+        if (event instanceof SpecificRecord record && record.getSchema().getField("event") != null) {
+            event = record.get(record.getSchema().getField("event").pos());
+        }
+        return event != null ? event.getClass().getSimpleName() : "unknown";
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.kafka;
 
 import com.example.order.OrderFeignClient;
+import com.example.saga.OrderSagaOrchestrator;
 import com.example.stock.StockFeignClient;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
@@ -27,8 +28,9 @@ public class KafkaConsumer {
     private final OrderFeignClient orderFeignClient;
     private final KafkaMessageHandler kafkaMessageHandler;
     private final StockFeignClient stockFeignClient;
+    private final OrderSagaOrchestrator orderSagaOrchestrator;
 
-    @KafkaListener(topics = "order-events", groupId = "order-consumer-group")
+    @KafkaListener(topics = "order-events", groupId = "order-consumer-group", containerFactory = "orderEventListenerContainerFactory")
     public void consumeOrderEvent(String message) {
         try {
             Event event = objectMapper.readValue(message, Event.class);
@@ -58,6 +60,10 @@ public class KafkaConsumer {
 
     private void handlePaymentSuccess(Event event) {
         try {
+            if (orderSagaOrchestrator.onPaymentSucceeded(event.getOrderId(), event.getPaymentId())) {
+                return; // 사가가 주문 완료 처리
+            }
+
             updateOrderStatusWithRetry(event.getOrderId(), "SUCCESS");
             log.info("결제 성공 처리 완료 - orderId: {}", event.getOrderId());
         } catch (Exception e) {
@@ -67,6 +73,10 @@ public class KafkaConsumer {
 
     private void handlePaymentFail(Event event) {
         try {
+            if (orderSagaOrchestrator.onPaymentFailed(event.getOrderId())) {
+                return; // 사가가 묶어서 보상 (주문 취소 + 재고 복구)
+            }
+
             updateOrderStatusWithRetry(event.getOrderId(), "CANCELED");
 
             boolean result = stockFeignClient.increaseStock(
@@ -1,35 +1,30 @@
 package com.example.kafka;
 
-import com.example.order.OrderFeignClient;
-import com.example.outbox.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import com.example.entity.Event;
 
+/**
+ * order-events 처리 (Outbox 릴레이가 발행한 주문 이벤트)
+ *
+ * 주문 상태는 사가(결제 결과 → OrderSagaOrchestrator)만 바꾼다. 여기서 상태를 바꾸면 사가와 경쟁하므로
+ * 주문 이벤트는 수신 기록만 남긴다 (outbox 행은 릴레이 후 항상 발행 완료이므로 발행 여부로 중복을 판단하지 않음).
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class KafkaMessageHandler {
 
-    private final OutboxEventRepository outboxEventRepository;
-    private final OrderFeignClient orderFeignClient;
+    private final MeterRegistry meterRegistry;
 
     @Async("kafkaEventExecutor")
     public void handleEventAsync(Event event) {
         try {
-            // ✅ 멱등성 체크
-            if (outboxEventRepository.existsByAggregateIdAndPublishedTrue(event.getOrderId(), true)) {
-                log.warn("이미 처리된 이벤트 - id: {}", event.getOrderId());
-                return;
-            }
-
-            // ✅ 실제 처리 로직 예: 주문 상태 변경
-            orderFeignClient.updateOrderStatus(event.getOrderId(), "CONFIRMED");
-
-            log.info("이벤트 처리 완료 - id: {}", event.getOrderId());
-
+            meterRegistry.counter("order.events.received", "type", String.valueOf(event.getType())).increment();
+            log.info("주문 이벤트 수신 - type: {}, orderId: {}", event.getType(), event.getOrderId());
         } catch (Exception e) {
             log.error("비동기 이벤트 처리 실패", e);
         }
@@ -1,8 +1,11 @@
 package com.example.kafka.config;
 
+import com.example.config.VirtualThreadConfig;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
@@ -10,9 +13,11 @@ import java.util.concurrent.Executor;
 
 @Configuration
 @EnableAsync
+@EnableScheduling // Outbox 폴링 릴레이 / 보관 정리 / 사가 시간 초과 보정
 public class AsyncConfig {
 
     @Bean(name = "kafkaEventExecutor")
+    @Profile("!virtual-threads")
     public Executor kafkaEventExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(5);     // 기본 스레드 수
@@ -22,4 +27,36 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * virtual-threads 프로필: 이벤트마다 가상 스레드로 처리
+     * 큐(50)가 차면 거절하던 풀 대신, 동시 실행 한도에 닿으면 리스너 스레드가 잠깐 대기 (버스트에도 이벤트 유실 없음)
+     */
+    @Bean(name = "kafkaEventExecutor")
+    @Profile("virtual-threads")
+    public Executor virtualKafkaEventExecutor() {
+        return VirtualThreadConfig.executor("KafkaEvent-", 500);
+    }
+
+    /**
+     * 사가 단계 실행기 (결제 결과 후속 처리, 보상 호출)
+     * 리스너/휠 스레드는 상태 전이만 하고 원격 호출은 여기서 실행 (보상은 한 페이지를 동시에 보내고 한 번만 대기)
+     */
+    @Bean(name = "sagaStepExecutor")
+    @Profile("!virtual-threads")
+    public Executor sagaStepExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(16);    // 기본 스레드 수
+        executor.setMaxPoolSize(64);     // 최대 스레드 수
+        executor.setQueueCapacity(1000); // 대기 큐 사이즈 (보상 페이지 여러 개)
+        executor.setThreadNamePrefix("SagaStep-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "sagaStepExecutor")
+    @Profile("virtual-threads")
+    public Executor virtualSagaStepExecutor() {
+        return VirtualThreadConfig.executor("SagaStep-", 500);
+    }
 }
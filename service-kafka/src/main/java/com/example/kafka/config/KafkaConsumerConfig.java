@@ -1,8 +1,10 @@
 package com.example.kafka.config;
 
+import com.example.events.ListenerMetrics;
 import io.confluent.kafka.serializers.KafkaAvroDeserializer;
 import jdk.jfr.Enabled;
 import jdk.jfr.Event;
+import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.context.annotation.Bean;
@@ -10,9 +12,11 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 
 /**
  * Kafka 토픽에서 메시지를 읽어오는 역할  Consumer 동작 설정하는 클래스
@@ -22,7 +26,10 @@ import java.util.Map;
  */
 
 @Configuration
+@RequiredArgsConstructor
 public class KafkaConsumerConfig {
+    private final ListenerMetrics listenerMetrics;
+
     @Bean
     public ConsumerFactory<String, Event> consumerFactory(){
         Map<String, Object> config = new HashMap<>();
@@ -39,10 +46,67 @@ public class KafkaConsumerConfig {
         ConcurrentKafkaListenerContainerFactory<String, Event> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        factory.setRecordInterceptor(listenerMetrics.recordInterceptor()); // 수신 건수, e2e 지연
+        factory.getContainerProperties().setConsumerRebalanceListener(listenerMetrics);
 
         // ✅ 동시 소비 스레드 수 지정
         factory.setConcurrency(3); // 예: 파티션 수나 처리량에 따라 조절
 
         return factory;
     }
+
+    /**
+     * order-events 리스너 컨테이너 팩토리 (값은 Event JSON 문자열, Outbox 릴레이가 발행)
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> orderEventListenerContainerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:10000");
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+
+        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(config));
+        factory.setRecordInterceptor(listenerMetrics.recordInterceptor()); // 수신 건수, e2e 지연
+        factory.getContainerProperties().setConsumerRebalanceListener(listenerMetrics);
+        return factory;
+    }
+
+    /**
+     * 배치 리스너 컨테이너 팩토리
+     * - 한 번의 poll 결과(최대 500건)를 List로 전달해 명령 구간 단위 일괄 저장에 사용
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Event> batchKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Event> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setBatchInterceptor(listenerMetrics.batchInterceptor()); // 수신 건수, e2e 지연
+        factory.getContainerProperties().setConsumerRebalanceListener(listenerMetrics);
+        factory.setBatchListener(true);
+
+        Properties batchProps = new Properties();
+        batchProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 500);
+        batchProps.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 64 * 1024); // 한 번에 넉넉히 받아오도록
+        batchProps.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, 50);
+        factory.getContainerProperties().setKafkaConsumerProperties(batchProps);
+        return factory;
+    }
+
+    /**
+     * 재시도 토픽 리스너 컨테이너 팩토리
+     * - 레코드 단위 수동 ack: 재시도 시각 전이면 nack(지연)로 해당 파티션만 잠시 멈춤
+     * - 원래 명령 토픽 컨테이너와 분리돼 있어 재시도 대기가 새 명령 처리를 막지 않음
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Event> retryKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Event> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setRecordInterceptor(listenerMetrics.recordInterceptor()); // 수신 건수, e2e 지연
+        factory.getContainerProperties().setConsumerRebalanceListener(listenerMetrics);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        return factory;
+    }
 }
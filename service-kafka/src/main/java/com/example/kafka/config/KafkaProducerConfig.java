@@ -7,6 +7,7 @@ import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -14,6 +15,7 @@ import org.springframework.kafka.core.ProducerFactory;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Kafka 토픽에서 메시지를 보내는 역할  Producer 동작 설정하는 클래스
@@ -40,20 +42,61 @@ public class KafkaProducerConfig {
         // Avro 스키마를 등록/조회할 스키마 레지스트리 서버 주소
         config.put("schema.registry.url", "http://localhost:9001");
 
+        // 배치/linger/압축/멱등성 튜닝
+        config.putAll(throughputConfig());
+
         // 위 설정을 기반으로 카프카 ProducerFactory 생성
         return new DefaultKafkaProducerFactory<>(config);
     }
 
+    /**
+     * 프로듀서 처리량 튜닝 값
+     * - batch.size / linger.ms: 짧게 모아서 보내 요청 수를 줄임 (지연은 linger만큼 증가)
+     * - lz4 압축: CPU 부담이 적고 배치가 클수록 효과가 큼
+     * - 멱등성 + acks=all: 재시도해도 중복/순서 뒤바뀜 없이 전달 (in-flight 5 이하 유지)
+     */
+    public static Map<String, Object> throughputConfig() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, 64 * 1024);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        config.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 64L * 1024 * 1024);
+        config.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, 5_000); // 버퍼가 가득 차도 send가 오래 막히지 않도록
+        return config;
+    }
+
+    @Primary // 제네릭이 다른 템플릿 주입(KafkaTemplate<String, Avro Event>) 시 기본 후보
     @Bean
     public KafkaTemplate<String, Event> kafkaTemplate() {return new KafkaTemplate<>(producerFactory());}
 
+    /**
+     * Outbox 릴레이 전용 템플릿 (order-events는 Event JSON 문자열 계약, KafkaConsumer.consumeOrderEvent)
+     */
+    @Bean
+    public KafkaTemplate<String, String> outboxKafkaTemplate() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:10000");
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.putAll(throughputConfig());
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(config));
+    }
+
     @Bean
     public List<NewTopic> defaultTopic() { // 카프카 토픽을 애플리케이션 실행 시 자동 생성
         return List.of(
                 // 이름이 topic인 카프카 토픽 생성, 파티션 1개 복제 수 1
                 new NewTopic("topic", 1, (short) 1),
                 new NewTopic("topic-a", 1, (short) 1),
-                new NewTopic("topic-b", 1, (short) 1)
+                new NewTopic("topic-b", 1, (short) 1),
+                // 주문 명령 재시도 단계 / DLT
+                new NewTopic("order-command-retry-0", 1, (short) 1),
+                new NewTopic("order-command-retry-1", 1, (short) 1),
+                new NewTopic("order-command-retry-2", 1, (short) 1),
+                new NewTopic("order-command-dlt", 1, (short) 1)
         );
     }
     // 카프카는 토픽이 존재하지 않으면 메시지 보낼 수 X
@@ -0,0 +1,26 @@
+package com.example.outbox;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보관 기간이 지난 발행 완료 Outbox 행 (OutboxArchiver가 옮김)
+ * outbox 테이블은 미발행/최근 행만 남겨 작게 유지하고, 이력 조회는 이 테이블에서 한다.
+ */
+@Entity
+@Getter
+@Table(name = "outbox_archive", indexes = @Index(name = "idx_outbox_archive_aggregate_id", columnList = "aggregateId"))
+@NoArgsConstructor
+public class OutboxArchive {
+    @Id
+    private Long id;             // 원래 outbox id
+    private String aggregateId;
+    private String type;
+    @Lob
+    private String payload;
+    private LocalDateTime createdAt;
+    private LocalDateTime archivedAt;
+}
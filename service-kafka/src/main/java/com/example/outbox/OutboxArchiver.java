@@ -0,0 +1,32 @@
+package com.example.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 발행 완료 Outbox 행 보관 처리 (한 묶음 = 한 트랜잭션)
+ * 묶음 단위로 선점(SKIP LOCKED) → outbox_archive 복사 → 삭제하므로 락은 짧게만 잡히고 릴레이와 겹치지 않는다
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxArchiver {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    /**
+     * @return 옮긴 행 수 (limit보다 작으면 남은 대상 없음)
+     */
+    @Transactional
+    public int archiveChunk(LocalDateTime cutoff, int limit) {
+        List<Long> ids = outboxEventRepository.claimPurgeable(cutoff, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        outboxEventRepository.copyToArchive(ids);
+        return outboxEventRepository.deleteByIds(ids);
+    }
+}
@@ -7,8 +7,20 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+/**
+ * Outbox 행
+ *
+ * 인덱스 (MySQL은 부분 인덱스가 없어 published를 선두 컬럼으로 둔 복합 인덱스로 미발행 행만 훑게 함)
+ *  - (published, id): 미발행 행 페이지 선점 (WHERE published = false ORDER BY id)
+ *  - (aggregateId, published): 집계 ID별 발행 여부 확인
+ *  - (published, createdAt): 보관 기간이 지난 발행 완료 행 정리
+ */
 @Entity
-@Table(name = "outbox")
+@Table(name = "outbox", indexes = {
+        @Index(name = "idx_outbox_published_id", columnList = "published, id"),
+        @Index(name = "idx_outbox_aggregate_id_published", columnList = "aggregateId, published"),
+        @Index(name = "idx_outbox_published_created_at", columnList = "published, createdAt")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
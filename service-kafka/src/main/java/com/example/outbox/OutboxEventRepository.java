@@ -1,10 +1,13 @@
 package com.example.outbox;
 
-import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 
@@ -13,6 +16,55 @@ public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long>
 
     boolean existsByAggregateIdAndPublishedTrue(String aggregateId, boolean published);
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    List<OutboxEvent> findByPublishedFalse();
-}
\ No newline at end of file
+    /**
+     * 미발행 행 한 페이지 선점 (FOR UPDATE SKIP LOCKED)
+     * 다른 릴레이 인스턴스/워커가 잡고 있는 행은 건너뛰므로 여러 릴레이가 겹치지 않게 병렬로 가져간다
+     */
+    @Query(value = "SELECT * FROM outbox WHERE published = false ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEvent> claimUnpublished(@Param("limit") int limit);
+
+    /**
+     * 지정한 미발행 행 선점 (커밋 직후 즉시 발행용), 폴링 릴레이가 이미 잡은 행은 건너뜀
+     */
+    @Query(value = "SELECT * FROM outbox WHERE id IN (:ids) AND published = false FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEvent> claimUnpublishedByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 페이지 단위 발행 완료 표시 (UPDATE 한 번)
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.published = true WHERE o.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids);
+
+    long countByPublished(boolean published);
+
+    /**
+     * 보관 기간이 지난 발행 완료 행 id 한 묶음 선점 ((published, createdAt) 인덱스 사용)
+     */
+    @Query(value = "SELECT id FROM outbox WHERE published = true AND created_at < :cutoff ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> claimPurgeable(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * 지정한 행을 outbox_archive로 복사 (INSERT ... SELECT 한 번)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO outbox_archive (id, aggregate_id, type, payload, created_at, archived_at) " +
+            "SELECT id, aggregate_id, type, payload, created_at, NOW() FROM outbox WHERE id IN (:ids)",
+            nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * outbox 테이블 크기 (데이터 + 인덱스, bytes), 통계 기반 근사값
+     */
+    @Query(value = "SELECT COALESCE(SUM(data_length + index_length), 0) FROM information_schema.tables " +
+            "WHERE table_schema = DATABASE() AND table_name = 'outbox'",
+            nativeQuery = true)
+    long tableBytes();
+}
@@ -0,0 +1,103 @@
+package com.example.publisher;
+
+import com.example.outbox.OutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbox 즉시 발행 (커밋 직후 push)
+ *
+ * Outbox 행을 저장한 트랜잭션이 커밋되면 행 id를 메모리 큐로 넘기고, 디스패처 스레드가 모아서 바로 릴레이한다.
+ *  - 폴링 주기를 기다리지 않으므로 주문 → 이벤트 지연이 ms 단위
+ *  - 큐가 가득 차거나 프로세스가 죽어 넘기지 못한 행은 미발행으로 남아 폴링 릴레이(OutboxEventPublisher)가 처리
+ *  - 선점은 SKIP LOCKED라 폴링 릴레이와 같은 행을 두 번 보내지 않음
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int MAX_BATCH = 100;
+
+    private final OutboxPageRelay outboxPageRelay;
+    private final BlockingQueue<Long> handoff = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final Counter dropped;
+    private final Thread dispatcher = new Thread(this::dispatchLoop, "OutboxDispatcher");
+
+    private volatile boolean running = true;
+
+    public OutboxDispatcher(OutboxPageRelay outboxPageRelay, MeterRegistry meterRegistry) {
+        this.outboxPageRelay = outboxPageRelay;
+        this.dropped = meterRegistry.counter("outbox.dispatch.dropped");
+        meterRegistry.gauge("outbox.dispatch.queue.size", handoff, BlockingQueue::size);
+    }
+
+    @PostConstruct
+    public void start() {
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        dispatcher.interrupt();
+    }
+
+    /**
+     * 현재 트랜잭션 커밋 후 발행 (저장 후 호출, 트랜잭션이 없으면 바로 넘김)
+     * 롤백되면 아무것도 하지 않음
+     */
+    public void dispatchAfterCommit(OutboxEvent outboxEvent) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    handoff(outboxEvent.getId());
+                }
+            });
+        } else {
+            handoff(outboxEvent.getId());
+        }
+    }
+
+    private void handoff(Long id) {
+        if (id == null || !handoff.offer(id)) {
+            dropped.increment(); // 폴링 릴레이가 처리
+        }
+    }
+
+    private void dispatchLoop() {
+        List<Long> batch = new ArrayList<>(MAX_BATCH);
+        while (running) {
+            try {
+                Long first = handoff.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                handoff.drainTo(batch, MAX_BATCH - 1);
+                outboxPageRelay.relayIds(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Outbox 즉시 발행 실패, 폴링 릴레이가 재시도 - ids: {}", batch, e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+}
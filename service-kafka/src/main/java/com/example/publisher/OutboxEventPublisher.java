@@ -1,44 +1,106 @@
 package com.example.publisher;
 
-import com.example.entity.Event;
-import com.example.outbox.OutboxEvent;
-import com.example.outbox.OutboxEventRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Outbox 폴링 릴레이 (따라잡기용)
+ *
+ * 평소에는 OutboxDispatcher가 커밋 직후 바로 발행하고, 폴링은 넘겨받지 못한 행(큐 초과, 프로세스 중단 등)만 처리한다.
+ * 폴링 간격은 백로그에 맞춰 조절: 가득 찬 페이지가 나오면 최소 간격, 남은 게 없으면 최대 간격까지 두 배씩 늘림.
+ *
+ * 주기마다 워커 MAX_PAGES_IN_FLIGHT개가 각자 페이지를 선점(SKIP LOCKED)해 보내고, 페이지가 가득 차 있으면 다음 페이지를 이어서 처리한다.
+ *  - 동시에 처리 중인 페이지 수 = 워커 수 (DB 커넥션/Kafka in-flight 상한)
+ *  - 릴레이 인스턴스를 늘리면 같은 방식으로 페이지를 나눠 가져가므로 처리량이 인스턴스 수에 비례
+ *  - 백로그가 커도 락은 페이지 단위 트랜잭션 동안만 잡힘
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OutboxEventPublisher {
-    private final OutboxEventRepository outboxEventRepository;
-    private final KafkaTemplate<String, Event> kafkaTemplate;
-    private final ObjectMapper objectMapper; // JSON 역직렬화에 사용
 
-    @Transactional
-    @Scheduled(fixedRate = 5000)
+    private static final int PAGE_SIZE = 500;
+    private static final int MAX_PAGES_IN_FLIGHT = 4;
+    private static final long MIN_POLL_INTERVAL_MS = 200;
+    private static final long MAX_POLL_INTERVAL_MS = 10_000;
+
+    private final OutboxPageRelay outboxPageRelay;
+    private final ExecutorService relayWorkers = newRelayWorkers();
+
+    private volatile long pollIntervalMs = MIN_POLL_INTERVAL_MS;
+    private long nextPollAt;
+
+    /**
+     * MIN_POLL_INTERVAL_MS마다 깨어나되, 실제 폴링은 현재 간격이 지났을 때만
+     */
+    @Scheduled(fixedDelay = MIN_POLL_INTERVAL_MS)
+    @SuppressWarnings("unchecked")
     public void publishOutboxEvents(){
-        List<OutboxEvent> unpublishedEvents = outboxEventRepository.findByPublishedFalse();
+        long now = System.currentTimeMillis();
+        if (now < nextPollAt) {
+            return;
+        }
 
-        for(OutboxEvent outboxEvent : unpublishedEvents){
-            try {
-                Event event = objectMapper.readValue(outboxEvent.getPayload(), Event.class);
-                kafkaTemplate.send("order-events", event).get();  // 메시지가 브로커에 정상적으로 전달될 때까지 기다림
+        CompletableFuture<Integer>[] workers = new CompletableFuture[MAX_PAGES_IN_FLIGHT];
+        for (int i = 0; i < MAX_PAGES_IN_FLIGHT; i++) {
+            workers[i] = CompletableFuture.supplyAsync(this::drain, relayWorkers);
+        }
+        CompletableFuture.allOf(workers).join();
 
-                // ✅ Kafka 전송이 성공한 후에만 published 상태 변경
-                outboxEvent.published();
-                outboxEventRepository.save(outboxEvent);
+        int claimed = 0;
+        for (CompletableFuture<Integer> worker : workers) {
+            claimed += worker.join();
+        }
+        pollIntervalMs = nextInterval(claimed);
+        nextPollAt = System.currentTimeMillis() + pollIntervalMs;
+    }
 
-                log.info("Kafka 전송 성공 및 Outbox 업데이트 - id: {}", outboxEvent.getId());
-            } catch (Exception  e) {
-                e.printStackTrace();
-            }
+    /**
+     * 백로그 기준 다음 폴링 간격
+     * - 이번 주기에 페이지 하나 이상 분량이 남아 있었으면 최소 간격 (빨리 따라잡기)
+     * - 조금 있었으면 현재 간격 유지, 없었으면 두 배 (push가 정상 동작 중이면 DB 폴링 부하를 줄임)
+     */
+    long nextInterval(int claimed) {
+        if (claimed >= PAGE_SIZE) {
+            return MIN_POLL_INTERVAL_MS;
         }
+        if (claimed > 0) {
+            return pollIntervalMs;
+        }
+        return Math.min(pollIntervalMs * 2, MAX_POLL_INTERVAL_MS);
+    }
+
+    /**
+     * 가득 찬 페이지가 나오는 동안 계속 처리 (백로그 소진), 선점한 행 수 반환
+     * 빈/덜 찬 페이지이거나 전송 실패가 있으면 이번 주기는 종료 → 브로커 장애 시 같은 행을 반복 선점하지 않음
+     */
+    private int drain() {
+        int claimed = 0;
+        try {
+            OutboxPageRelay.RelayResult result;
+            do {
+                result = outboxPageRelay.relayPage(PAGE_SIZE);
+                claimed += result.claimed();
+            } while (result.claimed() == PAGE_SIZE && !result.hasFailures());
+        } catch (Exception e) {
+            log.error("Outbox 릴레이 실패, 다음 주기에 재시도", e);
+        }
+        return claimed;
+    }
+
+    private static ExecutorService newRelayWorkers() {
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(MAX_PAGES_IN_FLIGHT, runnable -> {
+            Thread thread = new Thread(runnable, "OutboxRelay-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 }
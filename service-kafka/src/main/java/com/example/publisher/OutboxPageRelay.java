@@ -0,0 +1,129 @@
+package com.example.publisher;
+
+import com.example.entity.Event;
+import com.example.events.EventSendPipeline;
+import com.example.outbox.OutboxEvent;
+import com.example.outbox.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Outbox 한 페이지 릴레이 (페이지마다 짧은 트랜잭션 하나)
+ *
+ * 1. 미발행 행을 SKIP LOCKED로 선점 (폴링: 오래된 순 pageSize개, 즉시 발행: 커밋 직후 넘겨받은 id)
+ * 2. 페이지 전체를 비동기로 전송하고 ack는 페이지 단위로 한 번 대기
+ * 3. 전송 성공한 행만 UPDATE 한 번으로 발행 완료 표시 후 커밋 → 행 락은 한 페이지 전송 시간 동안만 유지
+ * 실패한 행은 미발행으로 남아 다음 주기에 다시 선점된다.
+ *
+ * order-events 계약: 값은 Event(com.example.entity.Event) JSON 문자열, 키는 aggregateId (KafkaConsumer.consumeOrderEvent)
+ * 페이로드가 Event JSON이 아닌 행(이전 버전이 주문 JSON을 그대로 저장한 행 등)은 다시 시도해도 보낼 수 없으므로
+ * 보내지 않고 발행 완료로 표시해 보관 작업이 아카이브하게 한다 (outbox.dispatch.unrelayable).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxPageRelay {
+
+    private static final String TOPIC = "order-events";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> outboxKafkaTemplate;
+    private final ObjectMapper objectMapper; // 페이로드 계약 확인에 사용
+    private final EventSendPipeline eventSendPipeline;
+    private final MeterRegistry meterRegistry;
+
+    @Transactional
+    public RelayResult relayPage(int pageSize) {
+        return relay(outboxEventRepository.claimUnpublished(pageSize), "poll");
+    }
+
+    /**
+     * 커밋 직후 넘겨받은 행 릴레이 (OutboxDispatcher), 이미 발행됐거나 다른 릴레이가 잡은 행은 제외됨
+     */
+    @Transactional
+    public RelayResult relayIds(Collection<Long> ids) {
+        return relay(outboxEventRepository.claimUnpublishedByIds(ids), "push");
+    }
+
+    private RelayResult relay(List<OutboxEvent> page, String path) {
+        if (page.isEmpty()) {
+            return new RelayResult(0, 0);
+        }
+
+        // 1. 페이지 전체를 비동기로 전송 (건마다 브로커 ack를 기다리지 않음), 보낼 수 없는 행은 null
+        List<CompletableFuture<?>> sends = new ArrayList<>(page.size());
+        for (OutboxEvent outboxEvent : page) {
+            if (!isRelayable(outboxEvent)) {
+                sends.add(null);
+                continue;
+            }
+            try {
+                sends.add(eventSendPipeline.send(outboxKafkaTemplate, TOPIC, outboxEvent.getAggregateId(),
+                        outboxEvent.getPayload(), "outbox-" + outboxEvent.getId()));
+            } catch (Exception e) {
+                sends.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        // 2. ack 대기는 페이지 전체에 대해 한 번, ✅ 전송이 성공한 행만 발행 완료 표시
+        List<Long> publishedIds = new ArrayList<>(page.size());
+        Timer latency = Timer.builder("outbox.dispatch.latency")
+                .description("Outbox 행 생성부터 브로커 ack까지 걸린 시간")
+                .tag("path", path)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        for (int i = 0; i < page.size(); i++) {
+            OutboxEvent outboxEvent = page.get(i);
+            if (sends.get(i) == null) {
+                publishedIds.add(outboxEvent.getId());
+                meterRegistry.counter("outbox.dispatch.unrelayable").increment();
+                log.warn("Event 형식이 아닌 Outbox 행, 보내지 않고 발행 완료 처리 - id: {}, type: {}", outboxEvent.getId(), outboxEvent.getType());
+                continue;
+            }
+            try {
+                sends.get(i).join();
+                publishedIds.add(outboxEvent.getId());
+                latency.record(Duration.between(outboxEvent.getCreatedAt(), LocalDateTime.now()));
+            } catch (Exception e) {
+                log.error("Kafka 전송 실패 - id: {}, 다음 주기에 재시도", outboxEvent.getId(), e);
+            }
+        }
+        if (!publishedIds.isEmpty()) {
+            outboxEventRepository.markPublished(publishedIds);
+        }
+        log.info("Outbox 발행({}) - claimed: {}, published: {}", path, page.size(), publishedIds.size());
+        return new RelayResult(page.size(), publishedIds.size());
+    }
+
+    /**
+     * 페이로드가 order-events 계약(type이 있는 Event JSON)을 따르는지
+     */
+    private boolean isRelayable(OutboxEvent outboxEvent) {
+        try {
+            Event event = objectMapper.readValue(outboxEvent.getPayload(), Event.class);
+            return event.getType() != null;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    public record RelayResult(int claimed, int published) {
+
+        public boolean hasFailures() {
+            return published < claimed;
+        }
+    }
+}
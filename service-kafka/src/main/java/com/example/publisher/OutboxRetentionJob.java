@@ -0,0 +1,85 @@
+package com.example.publisher;
+
+import com.example.outbox.OutboxArchiver;
+import com.example.outbox.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbox 보관 / 정리
+ *
+ * 발행 완료 후 RETENTION이 지난 행을 outbox_archive로 옮기고 outbox에서 지운다.
+ * outbox 테이블을 미발행/최근 행 위주로 작게 유지해 선점 쿼리와 인덱스가 커지지 않게 한다.
+ *  - 묶음(CHUNK_SIZE) 단위 트랜잭션, 묶음 사이에 잠깐 쉬어 릴레이/주문 트랜잭션과 경합을 줄임
+ *  - 한 번 실행에 MAX_CHUNKS_PER_RUN 묶음까지만 처리, 남은 건 다음 주기에
+ *  - 행 수(미발행/발행 완료)와 테이블 크기를 게이지로 노출 (outbox.table.rows, outbox.table.bytes)
+ */
+@Slf4j
+@Component
+public class OutboxRetentionJob {
+
+    private static final Duration RETENTION = Duration.ofHours(24);
+    private static final int CHUNK_SIZE = 1_000;
+    private static final int MAX_CHUNKS_PER_RUN = 100;
+    private static final long CHUNK_PAUSE_MS = 50;
+
+    private final OutboxArchiver outboxArchiver;
+    private final OutboxEventRepository outboxEventRepository;
+    private final Counter archived;
+    private final AtomicLong unpublishedRows = new AtomicLong();
+    private final AtomicLong publishedRows = new AtomicLong();
+    private final AtomicLong tableBytes = new AtomicLong();
+
+    public OutboxRetentionJob(OutboxArchiver outboxArchiver, OutboxEventRepository outboxEventRepository,
+                              MeterRegistry meterRegistry) {
+        this.outboxArchiver = outboxArchiver;
+        this.outboxEventRepository = outboxEventRepository;
+        this.archived = meterRegistry.counter("outbox.archived");
+        Gauge.builder("outbox.table.rows", unpublishedRows, AtomicLong::get).tag("state", "unpublished").register(meterRegistry);
+        Gauge.builder("outbox.table.rows", publishedRows, AtomicLong::get).tag("state", "published").register(meterRegistry);
+        Gauge.builder("outbox.table.bytes", tableBytes, AtomicLong::get).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+    public void archivePublished() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(RETENTION);
+        int total = 0;
+        try {
+            for (int i = 0; i < MAX_CHUNKS_PER_RUN; i++) {
+                int moved = outboxArchiver.archiveChunk(cutoff, CHUNK_SIZE);
+                total += moved;
+                archived.increment(moved);
+                if (moved < CHUNK_SIZE) {
+                    break;
+                }
+                Thread.sleep(CHUNK_PAUSE_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Outbox 보관 처리 실패, 다음 주기에 재시도 - 이번 주기 처리: {}", total, e);
+        }
+        if (total > 0) {
+            log.info("Outbox 보관 완료 - archived: {}, cutoff: {}", total, cutoff);
+        }
+        refreshGauges();
+    }
+
+    private void refreshGauges() {
+        try {
+            unpublishedRows.set(outboxEventRepository.countByPublished(false));
+            publishedRows.set(outboxEventRepository.countByPublished(true));
+            tableBytes.set(outboxEventRepository.tableBytes());
+        } catch (Exception e) {
+            log.warn("Outbox 테이블 통계 조회 실패: {}", e.getMessage());
+        }
+    }
+}
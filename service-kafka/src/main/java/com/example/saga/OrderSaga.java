@@ -0,0 +1,69 @@
+package com.example.saga;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * 주문 사가 상태 행 (주문 1건당 1행)
+ *
+ * 상태는 순서값(tinyint), 마감 시각은 epoch millis로 저장해 행을 작게 유지한다.
+ * 상태 전이는 조건부 UPDATE(현재 상태 일치 시에만)로만 일어나므로 결제 결과와 시간 초과가 겹쳐도 한쪽만 반영된다.
+ * (state, deadlineAt) 인덱스: 시간 초과 보정 스캔 / 보상 대기 행 선점
+ * leaseOwner/leaseUntil: 원격 호출 단계를 처리 중인 인스턴스와 임대 만료 시각 (SagaLease)
+ * refundPaymentId: 보상 시작 이후 도착한 결제 (환불 대상, null이면 없음)
+ */
+@Entity
+@Getter
+@Table(name = "order_saga", indexes = @Index(name = "idx_order_saga_state_deadline", columnList = "state, deadlineAt"))
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OrderSaga implements Persistable<String> {
+
+    @Id
+    @Column(length = 64)
+    private String orderId;
+
+    @Enumerated(EnumType.ORDINAL)
+    @Column(nullable = false, columnDefinition = "TINYINT")
+    private SagaState state;
+
+    private String stockId;
+    private long quantity;
+    private long deadlineAt;    // 결제 응답 마감 (epoch millis)
+    @Column(length = 36)
+    private String leaseOwner;
+    private long leaseUntil;    // 임대 만료 (epoch millis, 0이면 임대 없음)
+    @Column(length = 64)
+    private String refundPaymentId;
+
+    @Transient
+    private boolean isNew = true; // id를 직접 지정하므로 저장 전 SELECT 없이 INSERT (saveAll 시 JDBC 배치)
+
+    public static OrderSaga start(String orderId, String stockId, long quantity, long deadlineAt) {
+        OrderSaga saga = new OrderSaga();
+        saga.orderId = orderId;
+        saga.state = SagaState.PAYMENT_PENDING;
+        saga.stockId = stockId;
+        saga.quantity = quantity;
+        saga.deadlineAt = deadlineAt;
+        return saga;
+    }
+
+    @Override
+    public String getId() {
+        return orderId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.saga;
+
+import com.example.order.OrderFeignClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * 주문 사가 오케스트레이터
+ *
+ * 주문 트랜잭션에서 사가 행을 함께 저장(start)하고, 이후 단계는 이벤트로만 진행한다.
+ *  - 결제 성공/실패: 조건부 UPDATE 한 번으로 상태 전이, 후속 원격 호출은 sagaStepExecutor에서 (리스너 스레드를 막지 않음)
+ *  - 주문 완료: 완료 대기(COMPLETING) 사가를 임대해 주문 상태를 SUCCESS로 반영, 실패분은 5초 주기로 재시도
+ *  - 결제 응답 시간 초과: 타이밍 휠이 만료 id를 묶어서 넘기면 UPDATE 한 번으로 보상 대기로 전이
+ *  - 보상: SagaCompensator가 보상 대기 사가를 페이지 단위로 임대(SagaLease)해 트랜잭션 밖에서 한꺼번에 처리
+ *  - 늦은 결제: 보상 이후 도착한 결제 성공은 사가 행에 기록, 보상이 끝나면 환불 대기로 올려 SagaRefunder가 환불 명령 발행
+ * 휠은 메모리에만 있으므로, 마감이 지난 결제 대기 행을 DB에서 주기적으로 다시 확인한다 (인스턴스 중단/재시작 대비).
+ */
+@Slf4j
+@Component
+public class OrderSagaOrchestrator {
+
+    private static final Duration PAYMENT_TIMEOUT = Duration.ofMinutes(5);
+    private static final long TICK_MILLIS = 100;
+    private static final int WHEEL_SIZE = 1024;        // 한 바퀴 약 102초
+    private static final int OVERDUE_SCAN_LIMIT = 1_000;
+    private static final int COMPENSATION_PAGE_SIZE = 200;
+    private static final int COMPLETION_PAGE_SIZE = 200;
+    private static final int REFUND_PAGE_SIZE = 200;
+
+    private final OrderSagaRepository orderSagaRepository;
+    private final SagaCompensator sagaCompensator;
+    private final SagaRefunder sagaRefunder;
+    private final SagaLease sagaLease;
+    private final OrderFeignClient orderFeignClient;
+    private final Executor sagaStepExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final SagaTimeoutWheel timeoutWheel = new SagaTimeoutWheel(TICK_MILLIS, WHEEL_SIZE, System.currentTimeMillis());
+    private final Thread wheelThread = new Thread(this::runWheel, "SagaTimeoutWheel");
+
+    private volatile boolean running = true;
+
+    public OrderSagaOrchestrator(OrderSagaRepository orderSagaRepository, SagaCompensator sagaCompensator,
+                                 SagaRefunder sagaRefunder, SagaLease sagaLease, OrderFeignClient orderFeignClient,
+                                 Executor sagaStepExecutor, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.orderSagaRepository = orderSagaRepository;
+        this.sagaCompensator = sagaCompensator;
+        this.sagaRefunder = sagaRefunder;
+        this.sagaLease = sagaLease;
+        this.orderFeignClient = orderFeignClient;
+        this.sagaStepExecutor = sagaStepExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("saga.timers.pending", timeoutWheel, SagaTimeoutWheel::size);
+    }
+
+    @PostConstruct
+    public void startWheel() {
+        wheelThread.setDaemon(true);
+        wheelThread.start();
+    }
+
+    @PreDestroy
+    public void stopWheel() {
+        running = false;
+        wheelThread.interrupt();
+    }
+
+    /**
+     * 사가 시작 (주문 트랜잭션 안에서 호출, 롤백되면 사가도 없음)
+     * 결제 응답 타이머는 커밋 후에 등록
+     */
+    public void start(String orderId, String stockId, long quantity) {
+        startAll(stockId, Map.of(orderId, quantity));
+    }
+
+    /**
+     * 같은 재고의 주문 묶음 사가 시작 (일괄 주문), 사가 행은 saveAll 한 번으로 저장
+     *
+     * @param quantities orderId → 수량
+     */
+    public void startAll(String stockId, Map<String, Long> quantities) {
+        long deadlineAt = System.currentTimeMillis() + PAYMENT_TIMEOUT.toMillis();
+        orderSagaRepository.saveAll(quantities.entrySet().stream()
+                .map(entry -> OrderSaga.start(entry.getKey(), stockId, entry.getValue(), deadlineAt))
+                .toList());
+        Runnable schedule = () -> quantities.keySet().forEach(orderId -> timeoutWheel.schedule(orderId, deadlineAt));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule.run();
+                }
+            });
+        } else {
+            schedule.run();
+        }
+    }
+
+    /**
+     * @param paymentId 늦게 도착한 결제면 환불 대상
+     * @return 사가가 없으면 false (사가 도입 전 주문 → 호출 측 기존 처리)
+     */
+    public boolean onPaymentSucceeded(String orderId, String paymentId) {
+        if (transition(orderId, SagaState.PAYMENT_PENDING, SagaState.COMPLETING)) {
+            timeoutWheel.cancel(orderId);
+            CompletableFuture.runAsync(this::completePending, sagaStepExecutor); // 실패해도 완료 대기로 남아 주기 재시도
+            return true;
+        }
+        Optional<SagaState> state = orderSagaRepository.findById(orderId).map(OrderSaga::getState);
+        if (state.isEmpty()) {
+            return false;
+        }
+        if (state.get() == SagaState.COMPLETING || state.get() == SagaState.COMPLETED) {
+            log.info("[Saga] 중복 결제 성공 이벤트 무시 - orderId: {}", orderId);
+            return true;
+        }
+        // 시간 초과로 이미 보상 중/완료된 주문에 늦게 도착한 결제 → 환불 대상으로 기록 (보상이 끝나면 환불 대기로)
+        Integer marked = transactionTemplate.execute(status -> orderSagaRepository.requireRefund(orderId, paymentId));
+        if (marked == null || marked == 0) {
+            log.info("[Saga] 이미 환불 대기/완료된 주문의 결제 성공 무시 - orderId: {}", orderId);
+            return true;
+        }
+        meterRegistry.counter("saga.late_payment").increment();
+        log.warn("[Saga] 보상 이후 도착한 결제 성공, 환불 예정 - orderId: {}, paymentId: {}", orderId, paymentId);
+        CompletableFuture.runAsync(this::refundPending, sagaStepExecutor);
+        return true;
+    }
+
+    /**
+     * @return 사가가 없으면 false (사가 도입 전 주문 → 호출 측 기존 처리)
+     */
+    public boolean onPaymentFailed(String orderId) {
+        if (transition(orderId, SagaState.PAYMENT_PENDING, SagaState.COMPENSATING)) {
+            timeoutWheel.cancel(orderId);
+            CompletableFuture.runAsync(this::compensatePending, sagaStepExecutor);
+            return true;
+        }
+        if (!orderSagaRepository.existsById(orderId)) {
+            return false;
+        }
+        log.warn("[Saga] 결제 대기 상태가 아닌 주문의 결제 실패 - orderId: {}", orderId);
+        return true;
+    }
+
+    /**
+     * 만료된 사가 묶음을 보상 대기로 전이 (마감이 실제로 지난 결제 대기 행만)
+     */
+    void expire(List<String> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        Integer expired = transactionTemplate.execute(status -> orderSagaRepository.expire(orderIds, System.currentTimeMillis()));
+        if (expired != null && expired > 0) {
+            meterRegistry.counter("saga.transition", "to", SagaState.COMPENSATING.name(), "cause", "timeout").increment(expired);
+            log.info("[Saga] 결제 응답 시간 초과 - expired: {}", expired);
+            CompletableFuture.runAsync(this::compensatePending, sagaStepExecutor);
+        }
+    }
+
+    /**
+     * 타이머를 잃은 사가 보정 (다른 인스턴스가 시작한 사가, 재시작 전 타이머 등)
+     */
+    @Scheduled(fixedDelay = 10_000, initialDelay = 10_000)
+    public void expireOverdue() {
+        try {
+            List<String> overdue;
+            do {
+                overdue = orderSagaRepository.findOverdue(SagaState.PAYMENT_PENDING.ordinal(),
+                        System.currentTimeMillis(), OVERDUE_SCAN_LIMIT);
+                expire(overdue);
+            } while (overdue.size() == OVERDUE_SCAN_LIMIT);
+        } catch (Exception e) {
+            log.error("[Saga] 시간 초과 보정 실패", e);
+        }
+    }
+
+    /**
+     * 보상 대기 사가 처리 (전이 직후 바로, 실패분은 이 주기로 재시도)
+     */
+    @Scheduled(fixedDelay = 5_000, initialDelay = 5_000)
+    public void compensatePending() {
+        try {
+            while (sagaCompensator.compensatePage(COMPENSATION_PAGE_SIZE) == COMPENSATION_PAGE_SIZE) {
+                // 가득 찬 페이지를 모두 보상했으면 이어서 처리
+            }
+        } catch (Exception e) {
+            log.error("[Saga] 보상 처리 실패, 다음 주기에 재시도", e);
+        }
+    }
+
+    /**
+     * 완료 대기 사가 처리 (전이 직후 바로, 실패분은 이 주기로 재시도)
+     */
+    @Scheduled(fixedDelay = 5_000, initialDelay = 5_000)
+    public void completePending() {
+        try {
+            while (completePage(COMPLETION_PAGE_SIZE) == COMPLETION_PAGE_SIZE) {
+                // 가득 찬 페이지를 모두 완료했으면 이어서 처리
+            }
+        } catch (Exception e) {
+            log.error("[Saga] 주문 완료 처리 실패, 다음 주기에 재시도", e);
+        }
+    }
+
+    /**
+     * 환불 처리 (보상이 끝난 환불 대상을 환불 대기로 올리고 페이지 단위로 환불 명령 발행, 실패분은 이 주기로 재시도)
+     */
+    @Scheduled(fixedDelay = 5_000, initialDelay = 5_000)
+    public void refundPending() {
+        try {
+            transactionTemplate.execute(status -> orderSagaRepository.promoteRefunds());
+            while (sagaRefunder.refundPage(REFUND_PAGE_SIZE) == REFUND_PAGE_SIZE) {
+                // 가득 찬 페이지를 모두 환불했으면 이어서 처리
+            }
+        } catch (Exception e) {
+            log.error("[Saga] 환불 처리 실패, 다음 주기에 재시도", e);
+        }
+    }
+
+    /**
+     * 완료 대기 사가 한 페이지를 임대해 주문 상태를 SUCCESS로 반영 (원격 호출은 트랜잭션 밖)
+     *
+     * @return 완료한 사가 수
+     */
+    int completePage(int limit) {
+        List<OrderSaga> page = sagaLease.claim(SagaState.COMPLETING, limit);
+        if (page.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<Void>> steps = new ArrayList<>(page.size());
+        for (OrderSaga saga : page) {
+            steps.add(CompletableFuture.runAsync(() -> orderFeignClient.updateOrderStatus(saga.getOrderId(), "SUCCESS"), sagaStepExecutor));
+        }
+
+        List<String> completed = new ArrayList<>(page.size());
+        List<String> failed = new ArrayList<>();
+        for (int i = 0; i < page.size(); i++) {
+            try {
+                steps.get(i).join();
+                completed.add(page.get(i).getOrderId());
+            } catch (Exception e) {
+                failed.add(page.get(i).getOrderId());
+                log.error("[Saga] 주문 완료 처리 실패, 다음 주기에 재시도 - orderId: {}", page.get(i).getOrderId(), e);
+            }
+        }
+        sagaLease.complete(completed, SagaState.COMPLETING, SagaState.COMPLETED);
+        sagaLease.release(failed);
+        return completed.size();
+    }
+
+    private boolean transition(String orderId, SagaState from, SagaState to) {
+        Integer updated = transactionTemplate.execute(status -> orderSagaRepository.transition(orderId, from, to));
+        boolean moved = updated != null && updated > 0;
+        if (moved) {
+            meterRegistry.counter("saga.transition", "to", to.name(), "cause", "event").increment();
+        }
+        return moved;
+    }
+
+    private void runWheel() {
+        while (running) {
+            try {
+                Thread.sleep(TICK_MILLIS);
+                expire(timeoutWheel.advance(System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("[Saga] 시간 초과 처리 실패, 보정 스캔이 재시도", e);
+            }
+        }
+    }
+}
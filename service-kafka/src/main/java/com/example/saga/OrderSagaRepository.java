@@ -0,0 +1,77 @@
+package com.example.saga;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderSagaRepository extends JpaRepository<OrderSaga, String> {
+
+    /**
+     * 상태 전이 (현재 상태가 from일 때만), 반영된 행 수 반환 → 0이면 다른 전이가 먼저 일어남
+     */
+    @Modifying
+    @Query("UPDATE OrderSaga s SET s.state = :to WHERE s.orderId = :orderId AND s.state = :from")
+    int transition(@Param("orderId") String orderId, @Param("from") SagaState from, @Param("to") SagaState to);
+
+    /**
+     * 마감이 지난 결제 대기 사가를 한 번에 보상 대기로 전이 (시간 초과 묶음)
+     */
+    @Modifying
+    @Query("UPDATE OrderSaga s SET s.state = com.example.saga.SagaState.COMPENSATING " +
+            "WHERE s.orderId IN :orderIds AND s.state = com.example.saga.SagaState.PAYMENT_PENDING AND s.deadlineAt <= :now")
+    int expire(@Param("orderIds") Collection<String> orderIds, @Param("now") long now);
+
+    /**
+     * 보상 중/보상 완료 사가에 늦게 도착한 결제 기록 (환불 대상)
+     */
+    @Modifying
+    @Query("UPDATE OrderSaga s SET s.refundPaymentId = :paymentId WHERE s.orderId = :orderId " +
+            "AND s.state IN (com.example.saga.SagaState.COMPENSATING, com.example.saga.SagaState.COMPENSATED)")
+    int requireRefund(@Param("orderId") String orderId, @Param("paymentId") String paymentId);
+
+    /**
+     * 보상이 끝난 환불 대상 사가를 환불 대기로 전이 (보상 중인 사가는 보상 완료 후 다음 주기에)
+     */
+    @Modifying
+    @Query("UPDATE OrderSaga s SET s.state = com.example.saga.SagaState.REFUND_PENDING " +
+            "WHERE s.state = com.example.saga.SagaState.COMPENSATED AND s.refundPaymentId IS NOT NULL")
+    int promoteRefunds();
+
+    /**
+     * 마감이 지난 결제 대기 사가 id (타이머를 잃은 경우 보정용: 다른 인스턴스 중단, 재시작 등)
+     */
+    @Query(value = "SELECT order_id FROM order_saga WHERE state = :state AND deadline_at <= :now ORDER BY deadline_at LIMIT :limit",
+            nativeQuery = true)
+    List<String> findOverdue(@Param("state") int state, @Param("now") long now, @Param("limit") int limit);
+
+    /**
+     * 대상 상태이면서 임대가 없거나 만료된 사가 한 페이지 선점 (FOR UPDATE SKIP LOCKED, 여러 인스턴스가 겹치지 않게 나눠 처리)
+     * 락은 임대를 기록하는 짧은 트랜잭션 동안만 유지 (SagaLease)
+     */
+    @Query(value = "SELECT * FROM order_saga WHERE state = :state AND lease_until <= :now LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OrderSaga> claim(@Param("state") int state, @Param("now") long now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OrderSaga s SET s.leaseOwner = :owner, s.leaseUntil = :until WHERE s.orderId IN :orderIds")
+    int lease(@Param("orderIds") Collection<String> orderIds, @Param("owner") String owner, @Param("until") long until);
+
+    /**
+     * 임대한 사가의 상태 전이 + 임대 해제 (현재 상태가 from이고 임대 소유자가 owner일 때만)
+     */
+    @Modifying
+    @Query("UPDATE OrderSaga s SET s.state = :to, s.leaseOwner = null, s.leaseUntil = 0 " +
+            "WHERE s.orderId IN :orderIds AND s.state = :from AND s.leaseOwner = :owner")
+    int completeLeased(@Param("orderIds") Collection<String> orderIds, @Param("from") SagaState from,
+                       @Param("to") SagaState to, @Param("owner") String owner);
+
+    @Modifying
+    @Query("UPDATE OrderSaga s SET s.leaseOwner = null, s.leaseUntil = 0 WHERE s.orderId IN :orderIds AND s.leaseOwner = :owner")
+    int release(@Param("orderIds") Collection<String> orderIds, @Param("owner") String owner);
+}
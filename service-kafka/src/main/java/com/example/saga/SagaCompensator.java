@@ -0,0 +1,76 @@
+package com.example.saga;
+
+import com.example.order.OrderFeignClient;
+import com.example.stock.StockFeignClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * 사가 보상 한 페이지 처리
+ *
+ * 1. 보상 대기 사가를 임대로 선점 (짧은 트랜잭션, 커밋 후 락/커넥션 반환)
+ * 2. 트랜잭션 밖에서 페이지 전체의 보상(주문 취소 → 재고 복구)을 sagaStepExecutor에서 동시에 보내고 한 번만 대기
+ * 3. 성공한 사가만 UPDATE 한 번으로 보상 완료 표시 → 실패한 사가는 임대를 풀어 다음 주기에 재시도
+ *
+ * 임대 만료나 완료 표시 실패로 같은 사가를 다시 보상해도 결과는 한 번만 반영된다.
+ *  - 주문 취소: 이미 같은 상태면 그대로 성공
+ *  - 재고 복구: 명령 ID를 saga-comp:{orderId}로 고정 → 재고 서비스가 처리 기록으로 중복 명령을 걸러냄
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SagaCompensator {
+
+    private final SagaLease sagaLease;
+    private final OrderFeignClient orderFeignClient;
+    private final StockFeignClient stockFeignClient;
+    private final Executor sagaStepExecutor;
+
+    /**
+     * @return 보상 완료한 사가 수 (limit보다 작으면 남은 보상이 없거나 실패분이 있음 → 이어서 처리하지 않고 다음 주기에)
+     */
+    public int compensatePage(int limit) {
+        List<OrderSaga> page = sagaLease.claim(SagaState.COMPENSATING, limit);
+        if (page.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<Void>> steps = new ArrayList<>(page.size());
+        for (OrderSaga saga : page) {
+            steps.add(CompletableFuture.runAsync(() -> compensate(saga), sagaStepExecutor));
+        }
+
+        List<String> compensated = new ArrayList<>(page.size());
+        List<String> failed = new ArrayList<>();
+        for (int i = 0; i < page.size(); i++) {
+            try {
+                steps.get(i).join();
+                compensated.add(page.get(i).getOrderId());
+            } catch (Exception e) {
+                failed.add(page.get(i).getOrderId());
+                log.error("[Saga] 보상 실패, 다음 주기에 재시도 - orderId: {}", page.get(i).getOrderId(), e);
+            }
+        }
+        sagaLease.complete(compensated, SagaState.COMPENSATING, SagaState.COMPENSATED);
+        sagaLease.release(failed);
+        log.info("[Saga] 보상 - claimed: {}, compensated: {}", page.size(), compensated.size());
+        return compensated.size();
+    }
+
+    private void compensate(OrderSaga saga) {
+        orderFeignClient.updateOrderStatus(saga.getOrderId(), "CANCELED");
+        if (!stockFeignClient.increaseStock(saga.getStockId(), saga.getQuantity(), commandId(saga.getOrderId()))) {
+            throw new IllegalStateException("재고 복구 실패 - stockId: " + saga.getStockId());
+        }
+    }
+
+    static String commandId(String orderId) {
+        return "saga-comp:" + orderId;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.saga;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 사가 행 임대(lease) 선점
+ *
+ * 원격 호출이 필요한 단계(보상 등)는 DB 락/커넥션을 잡은 채 호출하지 않도록 세 구간으로 나눈다.
+ * 1. 짧은 트랜잭션: 대상 상태이면서 임대가 없거나 만료된 행을 SKIP LOCKED로 고르고 소유자/만료 시각을 기록 후 커밋
+ * 2. 트랜잭션 밖: 원격 호출
+ * 3. 짧은 트랜잭션: 성공한 행만 다음 상태로 전이 (내 임대일 때만), 실패한 행은 임대를 풀어 다음 주기에 재시도
+ * 인스턴스가 중간에 죽으면 임대가 만료된 뒤 다른 인스턴스가 다시 선점한다.
+ */
+@Slf4j
+@Component
+public class SagaLease {
+
+    static final Duration LEASE_DURATION = Duration.ofSeconds(60); // 한 페이지 원격 호출 시간보다 충분히 길게
+
+    private final OrderSagaRepository orderSagaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner = UUID.randomUUID().toString(); // 인스턴스별 임대 소유자
+
+    public SagaLease(OrderSagaRepository orderSagaRepository, TransactionTemplate transactionTemplate) {
+        this.orderSagaRepository = orderSagaRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * 대상 상태의 사가 한 페이지 임대 (커밋 후 반환 → 행 락은 이 트랜잭션 동안만)
+     */
+    public List<OrderSaga> claim(SagaState state, int limit) {
+        long now = System.currentTimeMillis();
+        List<OrderSaga> page = transactionTemplate.execute(status -> {
+            List<OrderSaga> claimed = orderSagaRepository.claim(state.ordinal(), now, limit);
+            if (!claimed.isEmpty()) {
+                orderSagaRepository.lease(claimed.stream().map(OrderSaga::getOrderId).toList(),
+                        owner, now + LEASE_DURATION.toMillis());
+            }
+            return claimed;
+        });
+        return page != null ? page : List.of();
+    }
+
+    /**
+     * 임대한 사가를 다음 상태로 전이하고 임대 해제, 반영된 행 수 반환
+     */
+    public int complete(Collection<String> orderIds, SagaState from, SagaState to) {
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        Integer updated = transactionTemplate.execute(status -> orderSagaRepository.completeLeased(orderIds, from, to, owner));
+        return updated != null ? updated : 0;
+    }
+
+    /**
+     * 실패한 사가 임대 해제 → 다음 주기에 다시 선점
+     */
+    public void release(Collection<String> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> orderSagaRepository.release(orderIds, owner));
+        } catch (Exception e) {
+            log.warn("[Saga] 임대 해제 실패, 만료 후 재선점 - count: {}, error: {}", orderIds.size(), e.getMessage());
+        }
+    }
+}
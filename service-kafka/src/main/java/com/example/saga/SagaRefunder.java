@@ -0,0 +1,77 @@
+package com.example.saga;
+
+import com.example.entity.Event;
+import com.example.events.EventSendPipeline;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 늦은 결제 환불 한 페이지 처리
+ *
+ * 1. 환불 대기 사가를 임대로 선점 (짧은 트랜잭션)
+ * 2. 페이지 전체의 환불 명령(RefundPayment)을 payment-events로 보내고 ack를 한 번만 대기
+ * 3. 전송이 성공한 사가만 환불 완료 표시 → 실패한 사가는 임대를 풀어 다음 주기에 재시도
+ * 명령 이벤트 ID는 saga-refund:{orderId}로 고정 → 다시 보내도 결제 서비스가 같은 명령으로 걸러낼 수 있음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SagaRefunder {
+
+    private static final String PAYMENT_TOPIC = "payment-events";
+
+    private final SagaLease sagaLease;
+    private final KafkaTemplate<String, Event> kafkaTemplate;
+    private final EventSendPipeline eventSendPipeline;
+
+    /**
+     * @return 환불 명령을 보낸 사가 수
+     */
+    public int refundPage(int limit) {
+        List<OrderSaga> page = sagaLease.claim(SagaState.REFUND_PENDING, limit);
+        if (page.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<?>> sends = new ArrayList<>(page.size());
+        for (OrderSaga saga : page) {
+            try {
+                sends.add(eventSendPipeline.send(kafkaTemplate, PAYMENT_TOPIC, saga.getOrderId(), refundOf(saga),
+                        commandId(saga.getOrderId())));
+            } catch (Exception e) {
+                sends.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        List<String> refunded = new ArrayList<>(page.size());
+        List<String> failed = new ArrayList<>();
+        for (int i = 0; i < page.size(); i++) {
+            try {
+                sends.get(i).join();
+                refunded.add(page.get(i).getOrderId());
+            } catch (Exception e) {
+                failed.add(page.get(i).getOrderId());
+                log.error("[Saga] 환불 명령 전송 실패, 다음 주기에 재시도 - orderId: {}", page.get(i).getOrderId(), e);
+            }
+        }
+        sagaLease.complete(refunded, SagaState.REFUND_PENDING, SagaState.REFUNDED);
+        sagaLease.release(failed);
+        log.info("[Saga] 환불 - claimed: {}, refunded: {}", page.size(), refunded.size());
+        return refunded.size();
+    }
+
+    private static Event refundOf(OrderSaga saga) {
+        return new Event(0, "RefundPayment", null, null, saga.getQuantity(), saga.getStockId(),
+                saga.getRefundPaymentId(), saga.getOrderId());
+    }
+
+    static String commandId(String orderId) {
+        return "saga-refund:" + orderId;
+    }
+}
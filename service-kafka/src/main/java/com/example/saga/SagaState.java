@@ -0,0 +1,22 @@
+package com.example.saga;
+
+/**
+ * 주문 사가 상태 (order_saga.state, 순서값으로 저장되므로 중간 삽입 금지, 끝에만 추가)
+ *
+ * PAYMENT_PENDING ─ 결제 성공 ──────────→ COMPLETING ─ 주문 완료 반영 → COMPLETED
+ *        └─ 결제 실패 / 결제 응답 시간 초과 → COMPENSATING ─ 보상 완료 → COMPENSATED
+ *                                                                          └─ 보상 이후 결제 성공 도착 → REFUND_PENDING ─ 환불 명령 발행 → REFUNDED
+ */
+public enum SagaState {
+    PAYMENT_PENDING,   // 주문 저장 + 재고 차감 완료, 결제 결과 대기
+    COMPLETED,         // 결제 성공
+    COMPENSATING,      // 보상 대기 (주문 취소 + 재고 복구)
+    COMPENSATED,       // 보상 완료
+    COMPLETING,        // 결제 성공, 주문 완료(SUCCESS) 반영 대기 (실패 시 주기적으로 재시도)
+    REFUND_PENDING,    // 보상이 끝난 주문의 늦은 결제, 환불 명령 발행 대기
+    REFUNDED;          // 환불 명령 발행 완료
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == COMPENSATED || this == REFUNDED;
+    }
+}
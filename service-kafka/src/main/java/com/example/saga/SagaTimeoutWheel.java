@@ -0,0 +1,92 @@
+package com.example.saga;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 해시 타이밍 휠 (사가 결제 시간 초과용)
+ *
+ * 슬롯 wheelSize개를 tickMillis 간격으로 돌며, 마감 시각이 속한 틱의 슬롯에 넣어둔다.
+ *  - 등록/취소 O(1), 틱마다 현재 슬롯만 확인 → 대기 중인 사가가 수만 건이어도 비용이 일정
+ *  - 휠 한 바퀴보다 먼 마감은 같은 슬롯에서 바퀴 수가 찰 때까지 남아 있음
+ *  - 취소는 마감 맵에서만 지우고, 슬롯의 항목은 꺼낼 때 무시 (지연 삭제)
+ * 메모리에만 있으므로 유실 대비는 DB 마감 컬럼 보정 스캔이 맡는다 (OrderSagaOrchestrator).
+ */
+public class SagaTimeoutWheel {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int mask;
+    private final Queue<Timeout>[] slots;
+    private final Map<String, Long> deadlines = new ConcurrentHashMap<>();
+
+    private volatile long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public SagaTimeoutWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize는 2의 거듭제곱이어야 합니다: " + wheelSize);
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.mask = wheelSize - 1;
+        this.slots = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    public void schedule(String id, long deadlineMillis) {
+        deadlines.put(id, deadlineMillis);
+        long tick = Math.max(tickOf(deadlineMillis), currentTick + 1); // 이미 지난 마감은 다음 틱에
+        slots[(int) (tick & mask)].add(new Timeout(id, deadlineMillis, tick));
+    }
+
+    public void cancel(String id) {
+        deadlines.remove(id);
+    }
+
+    public int size() {
+        return deadlines.size();
+    }
+
+    /**
+     * nowMillis까지 밀린 틱을 모두 처리하고 만료된 id 반환 (휠 스레드 하나에서만 호출)
+     */
+    public List<String> advance(long nowMillis) {
+        List<String> expired = new ArrayList<>();
+        long target = tickOf(nowMillis);
+        while (currentTick < target) {
+            long tick = currentTick + 1;
+            Queue<Timeout> slot = slots[(int) (tick & mask)];
+            for (int i = slot.size(); i > 0; i--) {
+                Timeout timeout = slot.poll();
+                if (timeout == null) {
+                    break;
+                }
+                if (!Long.valueOf(timeout.deadlineMillis).equals(deadlines.get(timeout.id))) {
+                    continue; // 취소됐거나 다시 등록됨
+                }
+                if (timeout.tick <= tick) {
+                    deadlines.remove(timeout.id, timeout.deadlineMillis);
+                    expired.add(timeout.id);
+                } else {
+                    slot.add(timeout); // 다음 바퀴
+                }
+            }
+            currentTick = tick;
+        }
+        return expired;
+    }
+
+    private long tickOf(long millis) {
+        return Math.max(0, (millis - startMillis + tickMillis - 1) / tickMillis);
+    }
+
+    private record Timeout(String id, long deadlineMillis, long tick) {
+    }
+}
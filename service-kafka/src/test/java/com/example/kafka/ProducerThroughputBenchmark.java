@@ -0,0 +1,89 @@
+package com.example.kafka;
+
+import com.example.kafka.config.KafkaProducerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 프로듀서 처리량 벤치마크 (기본 설정 vs KafkaProducerConfig.throughputConfig)
+ *
+ * 실제 브로커(localhost:10000)가 필요하므로 기본 빌드에서는 실행하지 않는다.
+ * 실행: ./gradlew :service-kafka:test --tests '*ProducerThroughputBenchmark' -Dkafka.benchmark=true
+ * 페이로드 크기별로 records/sec와 ack 지연 p99를 출력한다.
+ */
+@EnabledIfSystemProperty(named = "kafka.benchmark", matches = "true")
+class ProducerThroughputBenchmark {
+
+    private static final String TOPIC = "producer-benchmark";
+    private static final int RECORDS = 50_000;
+    private static final int[] PAYLOAD_SIZES = {100, 1_024, 10_240};
+
+    @Test
+    @DisplayName("페이로드 크기별 처리량 / p99 ack 지연 비교")
+    void benchmark() throws InterruptedException {
+        for (int payloadSize : PAYLOAD_SIZES) {
+            Result baseline = run(Map.of(), payloadSize);
+            Result tuned = run(KafkaProducerConfig.throughputConfig(), payloadSize);
+
+            System.out.printf("payload=%6dB | baseline %,10.0f rec/s p99 %6.1fms | tuned %,10.0f rec/s p99 %6.1fms%n",
+                    payloadSize, baseline.recordsPerSec, baseline.p99Millis, tuned.recordsPerSec, tuned.p99Millis);
+
+            assertEquals(0, tuned.errors, "tuned 설정 전송 실패");
+        }
+    }
+
+    private Result run(Map<String, Object> tuning, int payloadSize) throws InterruptedException {
+        Map<String, Object> config = new HashMap<>(tuning);
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:10000");
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+
+        byte[] payload = new byte[payloadSize];
+        Arrays.fill(payload, (byte) 'x');
+        long[] latencies = new long[RECORDS];
+        CountDownLatch acked = new CountDownLatch(RECORDS);
+        AtomicInteger errors = new AtomicInteger();
+
+        long start;
+        long elapsed;
+        try (org.apache.kafka.clients.producer.KafkaProducer<String, byte[]> producer =
+                     new org.apache.kafka.clients.producer.KafkaProducer<>(config)) {
+            start = System.nanoTime();
+            for (int i = 0; i < RECORDS; i++) {
+                int index = i;
+                long sentAt = System.nanoTime();
+                producer.send(new ProducerRecord<>(TOPIC, "key-" + (i % 1000), payload), (metadata, ex) -> {
+                    latencies[index] = System.nanoTime() - sentAt;
+                    if (ex != null) {
+                        errors.incrementAndGet();
+                    }
+                    acked.countDown();
+                });
+            }
+            assertTrue(acked.await(2, TimeUnit.MINUTES), "ack 대기 시간 초과");
+            elapsed = System.nanoTime() - start;
+        }
+
+        Arrays.sort(latencies);
+        double p99Millis = latencies[(int) (RECORDS * 0.99) - 1] / 1_000_000.0;
+        double recordsPerSec = RECORDS / (elapsed / 1_000_000_000.0);
+        return new Result(recordsPerSec, p99Millis, errors.get());
+    }
+
+    private record Result(double recordsPerSec, double p99Millis, int errors) {
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.kafka;
+
+import com.example.config.VirtualThreadConfig;
+import com.example.kafka.config.AsyncConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 블로킹 작업 부하 벤치마크 (기존 플랫폼 스레드 풀 vs virtual-threads 프로필 실행기)
+ *
+ * Feign/JDBC/Redisson 호출을 고정 지연 sleep으로 흉내 내 한꺼번에 제출하고,
+ * 실행기별 처리량, 거절 건수, 최대 스레드 수, 최대 힙 사용량을 출력한다.
+ * Java 21 런타임이 필요하고 시간이 걸리므로 기본 빌드에서는 실행하지 않는다.
+ * 실행: ./gradlew :service-kafka:test --tests '*VirtualThreadLoadBenchmark' -Dvirtual.benchmark=true -Pjava21
+ */
+@EnabledIfSystemProperty(named = "virtual.benchmark", matches = "true")
+class VirtualThreadLoadBenchmark {
+
+    private static final int TASKS = 10_000;
+    private static final long BLOCKING_MS = 50; // 외부 호출 1건 지연
+
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+
+    @Test
+    @DisplayName("블로킹 작업 처리량 / 거절 / 스레드 / 힙 비교")
+    void benchmark() throws InterruptedException {
+        assumeTrue(Runtime.version().feature() >= 21, "Java 21 이상 필요");
+
+        ThreadPoolTaskExecutor current = (ThreadPoolTaskExecutor) new AsyncConfig().kafkaEventExecutor();
+        ThreadPoolTaskExecutor large = new ThreadPoolTaskExecutor(); // Tomcat 기본값(200)만큼 키운 풀
+        large.setCorePoolSize(200);
+        large.setMaxPoolSize(200);
+        large.setQueueCapacity(TASKS);
+        large.setThreadNamePrefix("Large-");
+        large.initialize();
+
+        try {
+            print("platform 5/10/50", run(current));
+            print("platform 200", run(large));
+            Result virtual = run(VirtualThreadConfig.executor("Virtual-", 500));
+            print("virtual limit 500", virtual);
+
+            assertEquals(0, virtual.rejected, "가상 스레드 실행기는 거절 없이 모두 처리해야 함");
+            assertEquals(TASKS, virtual.completed);
+        } finally {
+            current.shutdown();
+            large.shutdown();
+        }
+    }
+
+    private Result run(Executor executor) throws InterruptedException {
+        System.gc();
+        threadMXBean.resetPeakThreadCount();
+        long baseHeap = memoryMXBean.getHeapMemoryUsage().getUsed();
+
+        AtomicLong peakHeap = new AtomicLong(baseHeap);
+        AtomicBoolean sampling = new AtomicBoolean(true);
+        Thread sampler = new Thread(() -> {
+            while (sampling.get()) {
+                peakHeap.accumulateAndGet(memoryMXBean.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        sampler.start();
+
+        CountDownLatch done = new CountDownLatch(TASKS);
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < TASKS; i++) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        Thread.sleep(BLOCKING_MS);
+                        completed.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                rejected.incrementAndGet();
+                done.countDown();
+            }
+        }
+        assertTrue(done.await(5, TimeUnit.MINUTES), "작업 완료 대기 시간 초과");
+        long elapsed = System.nanoTime() - start;
+
+        sampling.set(false);
+        sampler.join();
+
+        double tasksPerSec = completed.get() / (elapsed / 1_000_000_000.0);
+        return new Result(completed.get(), rejected.get(), tasksPerSec,
+                threadMXBean.getPeakThreadCount(), (peakHeap.get() - baseHeap) / (1024 * 1024));
+    }
+
+    private static void print(String name, Result result) {
+        System.out.printf("%-18s | %,10.0f tasks/s | completed %,6d | rejected %,6d | peak threads %5d | peak heap +%,5dMB%n",
+                name, result.tasksPerSec, result.completed, result.rejected, result.peakThreads, result.peakHeapMb);
+    }
+
+    private record Result(int completed, int rejected, double tasksPerSec, int peakThreads, long peakHeapMb) {
+    }
+}
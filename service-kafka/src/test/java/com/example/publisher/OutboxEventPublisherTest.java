@@ -0,0 +1,25 @@
+package com.example.publisher;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class OutboxEventPublisherTest {
+
+    private final OutboxPageRelay outboxPageRelay = mock(OutboxPageRelay.class);
+    private final OutboxEventPublisher outboxEventPublisher = new OutboxEventPublisher(outboxPageRelay);
+
+    @Test
+    @DisplayName("백로그 크기에 따라 폴링 간격 조절")
+    void adaptiveIntervalTest() {
+        when(outboxPageRelay.relayPage(anyInt())).thenReturn(new OutboxPageRelay.RelayResult(0, 0));
+
+        outboxEventPublisher.publishOutboxEvents(); // 빈 주기 → 200ms에서 400ms로
+
+        assertEquals(800, outboxEventPublisher.nextInterval(0));   // 계속 비어 있으면 두 배
+        assertEquals(400, outboxEventPublisher.nextInterval(10));  // 조금 남아 있으면 유지
+        assertEquals(200, outboxEventPublisher.nextInterval(500)); // 페이지 이상 남아 있으면 최소 간격
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.publisher;
+
+import com.example.events.EventSendPipeline;
+import com.example.outbox.OutboxEvent;
+import com.example.outbox.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class OutboxPageRelayTest {
+
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, String> outboxKafkaTemplate = mock(KafkaTemplate.class);
+    private final EventSendPipeline eventSendPipeline = mock(EventSendPipeline.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboxPageRelay relay = new OutboxPageRelay(outboxEventRepository, outboxKafkaTemplate,
+            new ObjectMapper(), eventSendPipeline, meterRegistry);
+
+    @Test
+    @DisplayName("성공/실패가 섞인 페이지: 전송 성공 행과 보낼 수 없는 행만 발행 완료, 실패 행은 미발행으로 남음")
+    void mixedPageTest() {
+        OutboxEvent acked = row(1L, "O1", event("O1"));
+        OutboxEvent nacked = row(2L, "O2", event("O2"));
+        OutboxEvent rejected = row(3L, "O3", event("O3"));
+        OutboxEvent legacy = row(4L, "O4", "{\"orderId\":\"O4\",\"quantity\":1}");
+        when(outboxEventRepository.claimUnpublished(10)).thenReturn(List.of(acked, nacked, rejected, legacy));
+        when(eventSendPipeline.send(eq(outboxKafkaTemplate), eq("order-events"), eq("O1"), anyString(), eq("outbox-1")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(eventSendPipeline.send(eq(outboxKafkaTemplate), eq("order-events"), eq("O2"), anyString(), eq("outbox-2")))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker ack timeout")));
+        when(eventSendPipeline.send(eq(outboxKafkaTemplate), eq("order-events"), eq("O3"), anyString(), eq("outbox-3")))
+                .thenThrow(new IllegalStateException("buffer exhausted"));
+
+        OutboxPageRelay.RelayResult result = relay.relayPage(10);
+
+        assertEquals(4, result.claimed());
+        assertEquals(2, result.published());
+        assertTrue(result.hasFailures());
+        verify(outboxEventRepository).markPublished(List.of(1L, 4L));
+        verify(eventSendPipeline, never()).send(any(), anyString(), eq("O4"), anyString(), anyString());
+        assertEquals(1.0, meterRegistry.counter("outbox.dispatch.unrelayable").count());
+        assertEquals(1, meterRegistry.timer("outbox.dispatch.latency", "path", "poll").count());
+    }
+
+    @Test
+    @DisplayName("페이지 전체가 실패하면 발행 완료 표시를 하지 않음")
+    void allFailedPageTest() {
+        when(outboxEventRepository.claimUnpublishedByIds(List.of(1L))).thenReturn(List.of(row(1L, "O1", event("O1"))));
+        when(eventSendPipeline.send(any(), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker ack timeout")));
+
+        OutboxPageRelay.RelayResult result = relay.relayIds(List.of(1L));
+
+        assertEquals(0, result.published());
+        verify(outboxEventRepository, never()).markPublished(anyList());
+    }
+
+    private static OutboxEvent row(Long id, String orderId, String payload) {
+        OutboxEvent row = OutboxEvent.create(orderId, "OrderCreated", payload);
+        row.setId(id);
+        return row;
+    }
+
+    private static String event(String orderId) {
+        return "{\"type\":\"OrderCreated\",\"orderId\":\"" + orderId + "\",\"quantity\":1}";
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.saga;
+
+import com.example.order.OrderFeignClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderSagaOrchestratorTest {
+
+    @Mock
+    private OrderSagaRepository orderSagaRepository;
+    @Mock
+    private SagaCompensator sagaCompensator;
+    @Mock
+    private SagaRefunder sagaRefunder;
+    @Mock
+    private SagaLease sagaLease;
+    @Mock
+    private OrderFeignClient orderFeignClient;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderSagaOrchestrator orchestrator;
+
+    @BeforeEach
+    void setUp() {
+        // 사가 단계는 호출 스레드에서 바로 실행, 트랜잭션은 콜백만 실행
+        orchestrator = new OrderSagaOrchestrator(orderSagaRepository, sagaCompensator, sagaRefunder, sagaLease,
+                orderFeignClient, Runnable::run, transactionTemplate, meterRegistry);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("결제 성공 → 완료 대기로 전이 후 주문 SUCCESS 반영, 성공하면 COMPLETED")
+    void paymentSucceededCompletesOrderTest() {
+        when(orderSagaRepository.transition("O1", SagaState.PAYMENT_PENDING, SagaState.COMPLETING)).thenReturn(1);
+        when(sagaLease.claim(eq(SagaState.COMPLETING), anyInt())).thenReturn(List.of(saga("O1")));
+
+        assertTrue(orchestrator.onPaymentSucceeded("O1", "PAY1"));
+
+        verify(orderFeignClient).updateOrderStatus("O1", "SUCCESS");
+        verify(sagaLease).complete(List.of("O1"), SagaState.COMPLETING, SagaState.COMPLETED);
+        verify(sagaLease).release(List.of());
+    }
+
+    @Test
+    @DisplayName("주문 완료 반영이 실패하면 완료 대기로 남기고 임대만 해제 (다음 주기 재시도)")
+    void completionFailureIsRetriedTest() {
+        when(orderSagaRepository.transition("O1", SagaState.PAYMENT_PENDING, SagaState.COMPLETING)).thenReturn(1);
+        when(sagaLease.claim(eq(SagaState.COMPLETING), anyInt())).thenReturn(List.of(saga("O1")));
+        doThrow(new IllegalStateException("order service down")).when(orderFeignClient).updateOrderStatus("O1", "SUCCESS");
+
+        assertTrue(orchestrator.onPaymentSucceeded("O1", "PAY1"));
+
+        verify(sagaLease).complete(List.of(), SagaState.COMPLETING, SagaState.COMPLETED);
+        verify(sagaLease).release(List.of("O1"));
+    }
+
+    @Test
+    @DisplayName("이미 보상 중인 주문에 늦게 도착한 결제 성공 → 환불 대상으로 기록하고 환불 처리 실행, 주문 상태는 건드리지 않음")
+    void latePaymentTest() {
+        when(orderSagaRepository.transition("O1", SagaState.PAYMENT_PENDING, SagaState.COMPLETING)).thenReturn(0);
+        OrderSaga saga = sagaIn(SagaState.COMPENSATING);
+        when(orderSagaRepository.findById("O1")).thenReturn(Optional.of(saga));
+        when(orderSagaRepository.requireRefund("O1", "PAY1")).thenReturn(1);
+
+        assertTrue(orchestrator.onPaymentSucceeded("O1", "PAY1"));
+
+        assertEquals(1.0, meterRegistry.counter("saga.late_payment").count());
+        verify(orderSagaRepository).promoteRefunds();
+        verify(sagaRefunder).refundPage(anyInt());
+        verifyNoInteractions(orderFeignClient, sagaLease);
+    }
+
+    @Test
+    @DisplayName("이미 환불 대기/완료된 사가의 결제 성공은 다시 집계하지 않음")
+    void latePaymentAlreadyRefundingTest() {
+        when(orderSagaRepository.transition("O1", SagaState.PAYMENT_PENDING, SagaState.COMPLETING)).thenReturn(0);
+        OrderSaga saga = sagaIn(SagaState.REFUND_PENDING);
+        when(orderSagaRepository.findById("O1")).thenReturn(Optional.of(saga));
+        when(orderSagaRepository.requireRefund("O1", "PAY1")).thenReturn(0);
+
+        assertTrue(orchestrator.onPaymentSucceeded("O1", "PAY1"));
+
+        assertEquals(0.0, meterRegistry.counter("saga.late_payment").count());
+        verifyNoInteractions(sagaRefunder);
+    }
+
+    @Test
+    @DisplayName("이미 완료된 사가의 중복 결제 성공은 늦은 결제가 아님")
+    void duplicatePaymentSuccessTest() {
+        when(orderSagaRepository.transition("O1", SagaState.PAYMENT_PENDING, SagaState.COMPLETING)).thenReturn(0);
+        OrderSaga saga = sagaIn(SagaState.COMPLETED);
+        when(orderSagaRepository.findById("O1")).thenReturn(Optional.of(saga));
+
+        assertTrue(orchestrator.onPaymentSucceeded("O1", "PAY1"));
+
+        assertEquals(0.0, meterRegistry.counter("saga.late_payment").count());
+        verifyNoInteractions(orderFeignClient, sagaLease);
+    }
+
+    @Test
+    @DisplayName("사가가 없는 주문은 호출 측 기존 처리로")
+    void noSagaTest() {
+        when(orderSagaRepository.transition(anyString(), any(), any())).thenReturn(0);
+        when(orderSagaRepository.findById("O1")).thenReturn(Optional.empty());
+        when(orderSagaRepository.existsById("O2")).thenReturn(false);
+
+        assertFalse(orchestrator.onPaymentSucceeded("O1", "PAY1"));
+        assertFalse(orchestrator.onPaymentFailed("O2"));
+    }
+
+    @Test
+    @DisplayName("결제 실패 → 결제 대기일 때만 보상 대기로 전이하고 보상 실행")
+    void paymentFailedCompensatesTest() {
+        when(orderSagaRepository.transition("O1", SagaState.PAYMENT_PENDING, SagaState.COMPENSATING)).thenReturn(1);
+
+        assertTrue(orchestrator.onPaymentFailed("O1"));
+
+        verify(sagaCompensator).compensatePage(anyInt());
+    }
+
+    @Test
+    @DisplayName("보상은 가득 찬 페이지를 모두 처리한 동안만 이어서 처리")
+    void compensationPagingTest() {
+        when(sagaCompensator.compensatePage(200)).thenReturn(200, 200, 37);
+
+        orchestrator.compensatePending();
+
+        verify(sagaCompensator, times(3)).compensatePage(200);
+    }
+
+    private static OrderSaga saga(String orderId) {
+        return OrderSaga.start(orderId, "ST1", 2, 0);
+    }
+
+    private static OrderSaga sagaIn(SagaState state) {
+        OrderSaga saga = mock(OrderSaga.class);
+        when(saga.getState()).thenReturn(state);
+        return saga;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.saga;
+
+import com.example.order.OrderFeignClient;
+import com.example.stock.StockFeignClient;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class SagaCompensatorTest {
+
+    private final SagaLease sagaLease = mock(SagaLease.class);
+    private final OrderFeignClient orderFeignClient = mock(OrderFeignClient.class);
+    private final StockFeignClient stockFeignClient = mock(StockFeignClient.class);
+    private final SagaCompensator sagaCompensator = new SagaCompensator(sagaLease, orderFeignClient, stockFeignClient, Runnable::run);
+
+    @Test
+    @DisplayName("임대한 페이지 보상 → 성공분만 보상 완료, 실패분은 임대 해제")
+    void compensatePageTest() {
+        when(sagaLease.claim(SagaState.COMPENSATING, 200)).thenReturn(List.of(
+                OrderSaga.start("O1", "ST1", 2, 0),
+                OrderSaga.start("O2", "ST2", 3, 0)));
+        when(stockFeignClient.increaseStock("ST1", 2, "saga-comp:O1")).thenReturn(true);
+        when(stockFeignClient.increaseStock("ST2", 3, "saga-comp:O2")).thenReturn(false);
+
+        assertEquals(1, sagaCompensator.compensatePage(200));
+
+        verify(orderFeignClient).updateOrderStatus("O1", "CANCELED");
+        verify(orderFeignClient).updateOrderStatus("O2", "CANCELED");
+        verify(sagaLease).complete(List.of("O1"), SagaState.COMPENSATING, SagaState.COMPENSATED);
+        verify(sagaLease).release(List.of("O2"));
+    }
+
+    @Test
+    @DisplayName("같은 사가를 다시 보상해도 재고 복구 명령 ID는 같음 (재고 서비스에서 중복 제거)")
+    void recompensateUsesSameCommandIdTest() {
+        OrderSaga saga = OrderSaga.start("O1", "ST1", 2, 0);
+        when(sagaLease.claim(SagaState.COMPENSATING, 200)).thenReturn(List.of(saga), List.of(saga));
+        when(stockFeignClient.increaseStock("ST1", 2, "saga-comp:O1")).thenReturn(true);
+
+        sagaCompensator.compensatePage(200); // 완료 표시 전에 임대가 만료된 경우
+        sagaCompensator.compensatePage(200);
+
+        verify(stockFeignClient, times(2)).increaseStock("ST1", 2, "saga-comp:O1");
+        verify(stockFeignClient, never()).increaseStock(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("보상 대기 사가가 없으면 원격 호출 없음")
+    void emptyPageTest() {
+        when(sagaLease.claim(SagaState.COMPENSATING, 200)).thenReturn(List.of());
+
+        assertEquals(0, sagaCompensator.compensatePage(200));
+
+        verifyNoInteractions(orderFeignClient, stockFeignClient);
+        verify(sagaLease, never()).complete(any(), any(), any());
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.saga;
+
+import com.example.entity.Event;
+import com.example.events.EventSendPipeline;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class SagaRefunderTest {
+
+    private final SagaLease sagaLease = mock(SagaLease.class);
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Event> kafkaTemplate = mock(KafkaTemplate.class);
+    private final EventSendPipeline eventSendPipeline = mock(EventSendPipeline.class);
+    private final SagaRefunder sagaRefunder = new SagaRefunder(sagaLease, kafkaTemplate, eventSendPipeline);
+
+    @Test
+    @DisplayName("임대한 환불 대기 페이지에 환불 명령 발행 → 전송 성공분만 환불 완료, 실패분은 임대 해제")
+    void refundPageTest() {
+        when(sagaLease.claim(SagaState.REFUND_PENDING, 200)).thenReturn(List.of(
+                OrderSaga.start("O1", "ST1", 2, 0),
+                OrderSaga.start("O2", "ST2", 3, 0)));
+        when(eventSendPipeline.send(same(kafkaTemplate), eq("payment-events"), eq("O1"), any(Event.class), eq("saga-refund:O1")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(eventSendPipeline.send(same(kafkaTemplate), eq("payment-events"), eq("O2"), any(Event.class), eq("saga-refund:O2")))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        assertEquals(1, sagaRefunder.refundPage(200));
+
+        ArgumentCaptor<Event> refund = ArgumentCaptor.forClass(Event.class);
+        verify(eventSendPipeline).send(same(kafkaTemplate), eq("payment-events"), eq("O1"), refund.capture(), eq("saga-refund:O1"));
+        assertEquals("RefundPayment", refund.getValue().getType());
+        assertEquals("O1", refund.getValue().getOrderId());
+        verify(sagaLease).complete(List.of("O1"), SagaState.REFUND_PENDING, SagaState.REFUNDED);
+        verify(sagaLease).release(List.of("O2"));
+    }
+
+    @Test
+    @DisplayName("환불 대기 사가가 없으면 전송 없음")
+    void emptyPageTest() {
+        when(sagaLease.claim(SagaState.REFUND_PENDING, 200)).thenReturn(List.of());
+
+        assertEquals(0, sagaRefunder.refundPage(200));
+
+        verifyNoInteractions(eventSendPipeline);
+    }
+}
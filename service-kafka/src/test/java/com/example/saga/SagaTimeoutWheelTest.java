@@ -0,0 +1,28 @@
+package com.example.saga;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SagaTimeoutWheelTest {
+
+    @Test
+    @DisplayName("마감이 지난 틱에 만료, 취소된 항목 제외, 한 바퀴보다 먼 마감은 바퀴 수만큼 대기")
+    void advanceTest() {
+        SagaTimeoutWheel wheel = new SagaTimeoutWheel(100, 8, 0); // 한 바퀴 800ms
+
+        wheel.schedule("A", 250);
+        wheel.schedule("B", 250);
+        wheel.schedule("C", 1_900); // 두 바퀴 뒤, A와 같은 슬롯
+        wheel.cancel("B");
+
+        assertEquals(List.of(), wheel.advance(200));
+        assertEquals(List.of("A"), wheel.advance(300));
+        assertEquals(List.of(), wheel.advance(1_800));
+        assertEquals(List.of("C"), wheel.advance(1_900));
+        assertEquals(0, wheel.size());
+    }
+}
@@ -2,6 +2,7 @@ package com.example.aop;
 
 import com.example.annotations.Cached;
 import com.example.cache.CachePublisher;
+import com.example.cache.CacheWriter;
 import com.example.cache.CacheType;
 import com.github.benmanes.caffeine.cache.Cache;
 import lombok.RequiredArgsConstructor;
@@ -12,8 +13,6 @@ import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.support.TransactionSynchronization;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.lang.reflect.Method;
 import java.time.Duration;
@@ -37,6 +36,7 @@ public class CacheAspect {
     private final Cache<String,Object> localCache;
     private final RedisTemplate<String,Object> redisTemplate;
     private final CachePublisher cachePublisher;
+    private final CacheWriter cacheWriter;
     private static final long DEFAULT_TTL = 60;
 
     @Around("@annotation(cached)")
@@ -88,37 +88,8 @@ public class CacheAspect {
 
             case WRITE -> {
                 result = joinPoint.proceed();
-
-
-                if (shouldCache(result, cached) && isTxActive()) {
-                    Object finalResult = result;
-
-                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                        @Override
-                        public void afterCommit() {
-                            try {
-                                redisTemplate.opsForValue().set(cacheKey, finalResult, Duration.ofSeconds(finalTtl));
-                            } catch (Exception e) {
-                                log.error("[WRITE] Redis 캐시 저장 실패 (TX afterCommit) - key: {}, error: {}", cacheKey, e.getMessage(), e);
-                            }
-                            localCache.put(cacheKey, finalResult);
-
-                            String message = buildEventMessage(CacheType.WRITE, prefix, key);
-                            cachePublisher.publish(getDefaultChannel(), message);
-                            log.info("[WRITE] Cached and published: {}, message: {}", cacheKey, message);
-                        }
-                    });
-                } else {
-                    try {
-                        redisTemplate.opsForValue().set(cacheKey, result, Duration.ofSeconds(finalTtl));
-                    } catch (Exception e) {
-                        log.error("[WRITE] Redis 캐시 저장 실패 (no TX) - key: {}, error: {}", cacheKey, e.getMessage(), e);
-                    }
-                    localCache.put(cacheKey, result);
-
-                    String message = buildEventMessage(CacheType.WRITE, prefix, key);
-                    cachePublisher.publish(getDefaultChannel(), message);
-                    log.info("[WRITE] Cached immediately (no TX) and published: {}, message: {}", cacheKey, message);
+                if (shouldCache(result, cached)) {
+                    cacheWriter.write(prefix, key, result, finalTtl); // 트랜잭션 중이면 커밋 후 반영
                 }
                 return result;
             }
@@ -148,7 +119,4 @@ public class CacheAspect {
     private boolean shouldCache(Object result, Cached cached) {
         return result != null || cached.cacheNull();
     }
-    private boolean isTxActive() {
-        return TransactionSynchronizationManager.isSynchronizationActive();
-    }
 }
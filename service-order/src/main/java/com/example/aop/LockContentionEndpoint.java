@@ -0,0 +1,28 @@
+package com.example.aop;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 경합이 심한 락 키 조회 (actuator: /actuator/lockcontention?limit=20)
+ * 샘플링 기반 추정치이므로 정확한 횟수보다 상대 순위를 보는 용도로 사용한다.
+ */
+@Component
+@Endpoint(id = "lockcontention")
+@RequiredArgsConstructor
+public class LockContentionEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final LockMetrics lockMetrics;
+
+    @ReadOperation
+    public Map<String, Long> topContendedKeys(@Nullable Integer limit) {
+        return lockMetrics.topContendedKeys(limit != null && limit > 0 ? limit : DEFAULT_LIMIT);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.aop;
+
+/**
+ * 락 보유 중인 메서드에 노출되는 컨텍스트
+ *
+ * @RedissonLock(fencing = true) 메서드 안에서 currentFencingToken()으로 이번 락 획득의 펜싱 토큰을 얻을 수 있다.
+ * 토큰은 락 키마다 단조 증가하므로, 저장소 쓰기 시 "기존 토큰 < 현재 토큰" 조건을 걸면
+ * lease 만료 후 뒤늦게 도착한 이전 소유자의 쓰기를 거부할 수 있다.
+ */
+public final class LockContext {
+
+    private static final ThreadLocal<Long> FENCING_TOKEN = new ThreadLocal<>();
+
+    private LockContext() {
+    }
+
+    /**
+     * 현재 스레드가 보유한 락의 펜싱 토큰 (fencing 미사용 또는 락 밖이면 null)
+     */
+    public static Long currentFencingToken() {
+        return FENCING_TOKEN.get();
+    }
+
+    static Long set(Long fencingToken) {
+        Long previous = FENCING_TOKEN.get();
+        FENCING_TOKEN.set(fencingToken);
+        return previous;
+    }
+
+    static void restore(Long previous) {
+        if (previous == null) {
+            FENCING_TOKEN.remove();
+        } else {
+            FENCING_TOKEN.set(previous);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.config;
+
+import com.example.events.AvroSchemaCache;
+import com.example.kafka.Event;
+import io.confluent.kafka.schemaregistry.client.CachedSchemaRegistryClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Avro 역직렬화 스키마 설정 (상품 카탈로그 복제본용)
+ * - 주문 서비스는 product-result를 읽기만 하므로 writer 스키마를 등록하지 않음 (init 호출 안 함)
+ * - 상품 서비스가 쓴 스키마는 ID로 한 번만 조회하고 이후에는 로컬 캐시 사용
+ */
+@Configuration
+public class AvroSerdeConfig {
+    @Bean
+    public AvroSchemaCache avroSchemaCache() {
+        return new AvroSchemaCache(
+                new CachedSchemaRegistryClient("http://localhost:9001", 100), // Schema Registry 설정
+                Event.getClassSchema(),
+                List.of("product-result")
+        );
+    }
+}
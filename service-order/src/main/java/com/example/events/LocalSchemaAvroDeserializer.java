@@ -0,0 +1,53 @@
+package com.example.events;
+
+import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.avro.specific.SpecificRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 로컬 스키마 캐시 기반 Avro 역직렬화
+ *
+ * Confluent 와이어 포맷에서 writer 스키마 ID를 읽고 AvroSchemaCache로 스키마를 찾는다.
+ * writer ID별 SpecificDatumReader와 BinaryDecoder는 스레드별로 재사용해 레코드마다 새로 만들지 않는다.
+ */
+public class LocalSchemaAvroDeserializer<T extends SpecificRecord> implements Deserializer<T> {
+
+    private final AvroSchemaCache schemaCache;
+    private final Schema readerSchema;
+    private final ThreadLocal<Map<Integer, SpecificDatumReader<T>>> readers = ThreadLocal.withInitial(HashMap::new);
+    private final ThreadLocal<BinaryDecoder> decoders = new ThreadLocal<>();
+
+    public LocalSchemaAvroDeserializer(AvroSchemaCache schemaCache, Schema readerSchema) {
+        this.schemaCache = schemaCache;
+        this.readerSchema = readerSchema;
+    }
+
+    @Override
+    public T deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length < 5 || data[0] != LocalSchemaAvroSerializer.MAGIC_BYTE) {
+            throw new SerializationException("알 수 없는 매직 바이트 - topic: " + topic);
+        }
+        int schemaId = ((data[1] & 0xff) << 24) | ((data[2] & 0xff) << 16) | ((data[3] & 0xff) << 8) | (data[4] & 0xff);
+
+        SpecificDatumReader<T> reader = readers.get()
+                .computeIfAbsent(schemaId, id -> new SpecificDatumReader<>(schemaCache.schemaById(id), readerSchema));
+        BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(data, 5, data.length - 5, decoders.get());
+        decoders.set(decoder);
+        try {
+            return reader.read(null, decoder);
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Avro 역직렬화 실패 - topic: " + topic + ", schemaId: " + schemaId, e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.order.config;
+
+import com.example.config.VirtualThreadConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 주문 생성 전 원격 조회(상품/재고 Feign 호출)를 동시에 보내는 실행기
+ * - 호출 1건당 스레드 1개를 잠깐 점유 (블로킹 I/O), 주문 1건당 2건
+ * - virtual-threads 프로필에서는 호출마다 가상 스레드로 실행 (동시 실행 한도만 둠)
+ *
+ * 일괄 주문의 재고별 묶음 쓰기(락 + 트랜잭션 + DB 커넥션)는 별도 실행기(orderWriteExecutor)에서 실행해
+ * 조회 스레드와 섞이지 않게 하고, 동시 쓰기 수를 커넥션 풀보다 작게 묶는다.
+ */
+@Configuration
+public class OrderLookupConfig {
+
+    @Bean(name = "orderLookupExecutor")
+    @Profile("!virtual-threads")
+    public Executor orderLookupExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(16);    // 기본 스레드 수
+        executor.setMaxPoolSize(64);     // 최대 스레드 수
+        executor.setQueueCapacity(500);  // 대기 큐 사이즈
+        executor.setThreadNamePrefix("OrderLookup-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "orderLookupExecutor")
+    @Profile("virtual-threads")
+    public Executor virtualOrderLookupExecutor() {
+        return VirtualThreadConfig.executor("OrderLookup-", 400);
+    }
+
+    /**
+     * 일괄 주문 묶음 쓰기 실행기, 큐가 차면 거절 → 호출 측에서 해당 묶음만 거절 처리
+     */
+    @Bean(name = "orderWriteExecutor")
+    @Profile("!virtual-threads")
+    public Executor orderWriteExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);     // 기본 스레드 수 (DB 커넥션 풀 10개 중 8개까지)
+        executor.setMaxPoolSize(8);      // 최대 스레드 수
+        executor.setQueueCapacity(100);  // 대기 큐 사이즈
+        executor.setThreadNamePrefix("OrderWrite-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "orderWriteExecutor")
+    @Profile("virtual-threads")
+    public Executor virtualOrderWriteExecutor() {
+        return VirtualThreadConfig.executor("OrderWrite-", 8);
+    }
+}
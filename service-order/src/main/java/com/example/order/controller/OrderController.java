@@ -4,16 +4,26 @@ import cn.hutool.core.lang.Snowflake;
 import com.example.kafka.CreateOrderEvent;
 import com.example.kafka.Status;
 import com.example.kafka.UpdateOrderEvent;
+import com.example.order.OrderStatusStreams;
 import com.example.order.dto.OrderDto;
 import com.example.order.entity.Order;
 import com.example.order.entity.OrderStatus;
 import com.example.order.kafka.OrderEventProducer;
+import com.example.order.service.OrderIdempotencyService;
 import com.example.order.service.OrderService;
+import com.example.response.ErrorResponse;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * 주문 컨트롤러
@@ -26,16 +36,40 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class OrderController {
 
+    private static final int MAX_BULK_ORDERS = 5_000;
+
     private final OrderService orderService;
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final OrderStatusStreams orderStatusStreams;
     final OrderEventProducer eventProducer;
     // C - R - U - D 형태로 작성
 
     @PostMapping
     @Operation(summary = "주문 생성", description = "주문을 생성하고 생성된 주문 객체를 반환합니다.")
-    public long createOrder(@RequestBody OrderDto dto)
+    public ResponseEntity<?> createOrder(@RequestHeader(value = OrderIdempotencyService.HEADER, required = false) String idempotencyKey,
+                                         @RequestBody OrderDto dto,
+                                         Principal principal)
     {
         Snowflake snowflake = new Snowflake(1,1);
         long snowflakeId = snowflake.nextId();
+        if (idempotencyKey != null && idempotencyKey.length() > OrderIdempotencyService.MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(OrderIdempotencyService.HEADER + "는 최대 " + OrderIdempotencyService.MAX_KEY_LENGTH + "자까지 가능합니다."));
+        }
+        boolean idempotent = idempotencyKey != null && !idempotencyKey.isBlank();
+        String scope = OrderIdempotencyService.scope(principal, dto);
+        if (idempotent) {
+            OrderIdempotencyService.Reservation reservation = orderIdempotencyService.reserve(scope, idempotencyKey, dto, snowflakeId);
+            switch (reservation.state()) {
+                case REPLAYED:
+                    return ResponseEntity.ok(reservation.orderId()); // 같은 키의 재시도 → 명령을 다시 보내지 않음
+                case IN_PROGRESS:
+                    return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("같은 " + OrderIdempotencyService.HEADER + "의 주문을 처리 중입니다."));
+                case MISMATCH:
+                    return ResponseEntity.unprocessableEntity().body(new ErrorResponse("같은 " + OrderIdempotencyService.HEADER + "로 다른 주문을 요청했습니다."));
+                default:
+                    break;
+            }
+        }
         CreateOrderEvent event = new CreateOrderEvent(
                 snowflakeId,
                 dto.getOrderId(),
@@ -49,9 +83,59 @@ public class OrderController {
                 (Status) dto.getPaymentStatus()
         );
 
-        eventProducer.sendCommandEvent(event);
+        if (!idempotent) {
+            eventProducer.sendCommandEvent(event);
+            return ResponseEntity.ok(snowflakeId);
+        }
+        try {
+            // 명령 ID를 범위 + 키로 고정 → Redis 기록이 없어진 뒤의 재시도도 컨슈머 처리 기록에서 걸러짐
+            eventProducer.sendCommandEvent(event, OrderIdempotencyService.commandId(scope, idempotencyKey)).join();
+        } catch (RuntimeException e) {
+            orderIdempotencyService.release(scope, idempotencyKey, dto, snowflakeId);
+            throw e;
+        }
+        orderIdempotencyService.complete(scope, idempotencyKey, dto, snowflakeId);
+        return ResponseEntity.ok(snowflakeId);
+    }
+
+    @PostMapping("/bulk")
+    @Operation(summary = "일괄 주문 생성", description = "주문을 재고별로 묶어 한 번에 생성하고 주문별 수락/거절 결과를 요청 순서대로 반환합니다.")
+    public ResponseEntity<?> createOrders(@RequestBody List<OrderDto> dtos) {
+        if (dtos.size() > MAX_BULK_ORDERS) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("일괄 주문은 최대 " + MAX_BULK_ORDERS + "건까지 가능합니다."));
+        }
+        Snowflake snowflake = new Snowflake(1,1);
+        List<CreateOrderEvent> events = dtos.stream()
+                .map(dto -> new CreateOrderEvent(
+                        snowflake.nextId(),
+                        dto.getOrderId(),
+                        dto.getStoreId(),
+                        dto.getProductId(),
+                        dto.getStockId(),
+                        dto.getPaymentId(),
+                        dto.getQuantity(),
+                        dto.getAmount(),
+                        dto.getPaymentMethod(),
+                        (Status) dto.getPaymentStatus()
+                ))
+                .toList();
+        return ResponseEntity.ok(orderService.createOrders(events));
+    }
+
+    @GetMapping(value = "/{orderId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "주문 상태 스트림", description = "현재 주문 상태를 먼저 보내고 이후 상태 변경(PENDING → PAID → SUCCESS/CANCELED)을 SSE로 전달합니다.")
+    public ResponseEntity<SseEmitter> streamOrderStatus(@PathVariable String orderId) {
+        return orderStatusStreams.open(orderId, () -> readOrderStatus(orderId))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
 
-        return snowflakeId;
+    @GetMapping("/{orderId}/status")
+    @Operation(summary = "주문 상태 조회", description = "캐시를 거치지 않고 현재 주문 상태를 조회합니다.")
+    public String readOrderStatus(@PathVariable String orderId) {
+        return Optional.ofNullable(orderService.readOrderStatus(orderId))
+                .map(OrderStatus::name)
+                .orElse(null);
     }
 
     @GetMapping("/{orderId}")
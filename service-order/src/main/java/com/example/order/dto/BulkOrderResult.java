@@ -0,0 +1,24 @@
+package com.example.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 일괄 주문 결과 (요청 순서대로 1건씩)
+ */
+@Data
+@AllArgsConstructor
+public class BulkOrderResult {
+
+    private String orderId;
+    private boolean accepted;
+    private String reason;   // 거절 사유 (수락이면 null)
+
+    public static BulkOrderResult accepted(String orderId) {
+        return new BulkOrderResult(orderId, true, null);
+    }
+
+    public static BulkOrderResult rejected(String orderId, String reason) {
+        return new BulkOrderResult(orderId, false, reason);
+    }
+}
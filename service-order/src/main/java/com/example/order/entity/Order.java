@@ -1,14 +1,21 @@
 package com.example.order.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
 
 /**
  * 주문 객체
  *
+ * id는 주문 요청 시 만든 Snowflake 값을 그대로 쓴다 (IDENTITY 아님).
+ * 직접 지정한 id라도 저장 전 SELECT(merge) 없이 INSERT 하도록 Persistable로 새 엔티티 여부를 알려준다 → saveAll이 JDBC 배치로 묶임
+ *
  * @since   2025-03-18
  * @author  yhkim
  */
@@ -18,10 +25,9 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Order {
+public class Order implements Persistable<Long> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -43,6 +49,24 @@ public class Order {
     @Column(nullable = false)
     private Enum paymentStatus; // "PENDING", "SUCCESS", "FAILED"
 
+    @Transient
+    @Builder.Default
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean isNew = true;
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
     public void cancel(){
         this.orderStatus = OrderStatus.CANCELED;
     }
@@ -0,0 +1,46 @@
+package com.example.order.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 처리 완료된 명령 기록 (중복 처리 방지용)
+ *
+ * 주문 변경과 같은 DB 트랜잭션에서 저장한다.
+ * commandId는 명령의 이벤트 ID(없으면 원본 레코드 위치)라서 재전달/재시도되어도 같은 값이다.
+ */
+@Entity
+@Getter
+@Table(name = "processed_commands", indexes = @Index(name = "idx_processed_commands_processed_at", columnList = "processedAt"))
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedCommand implements Persistable<String> {
+
+    @Id
+    private String commandId;
+
+    private LocalDateTime processedAt;
+
+    public static ProcessedCommand of(String commandId) {
+        return new ProcessedCommand(commandId, LocalDateTime.now());
+    }
+
+    @Override
+    public String getId() {
+        return commandId;
+    }
+
+    /**
+     * 항상 신규로 취급 → merge 대신 persist, 이미 처리된 명령이면 PK 중복으로 트랜잭션 롤백
+     */
+    @Override
+    @Transient
+    public boolean isNew() {
+        return true;
+    }
+}
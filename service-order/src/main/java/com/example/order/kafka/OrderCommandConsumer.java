@@ -1,15 +1,26 @@
 package com.example.order.kafka;
 
 
+import com.example.events.CommandRetryRouter;
+import com.example.events.IdempotencyFilter;
+import com.example.events.ListenerMetrics;
 import com.example.kafka.*;
 import com.example.order.entity.Order;
 import com.example.order.service.OrderService;
+import com.example.order.service.ProcessedCommandRecorder;
+import com.example.util.CommandRuns;
+import com.example.util.KeyOrderedDispatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -17,81 +28,246 @@ public class OrderCommandConsumer {
 
     private final OrderService OrderService;
     private final OrderEventProducer eventProducer;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
+    private final CommandRetryRouter commandRetryRouter;
+    private final ListenerMetrics listenerMetrics;
+    private final ProcessedCommandRecorder processedCommandRecorder;
+    private final IdempotencyFilter idempotencyFilter;
+
+    /**
+     * 배치 리스너
+     *  - poll 결과를 같은 종류의 명령이 연속된 구간으로 나눠 처리 (파티션 내 순서 유지)
+     *  - 수정 구간은 한 트랜잭션에서 일괄 저장, 실패하면 건별 처리로 전환해 실패 레코드만 격리
+     *  - 주문 생성은 외부 호출과 락이 필요하므로 건별 처리
+     *  - 레코드 키(orderId) 기준으로 레인을 나눠 병렬 처리, 같은 키는 순서대로 처리
+     *  - 처리에 실패한 레코드는 재시도 토픽(단계별 지연) → DLT로 넘기고 다음 레코드를 계속 처리
+     *  - 결과 이벤트는 모아서 한 번에 발행
+     *  - 중복 명령은 IdempotencyFilter(블룸 필터 → Redis → DB 처리 기록)로 걸러 다시 반영하지 않고 현재 상태로 결과만 다시 발행
+     */
+    @KafkaListener(topics = "order-command", groupId = "order-group", containerFactory = "batchKafkaListenerContainerFactory")
+    public void onCommandEvents(List<ConsumerRecord<String, Event>> records) {
+        log.info("Received batch: {} records", records.size());
+        List<Object> outcomes = keyOrderedDispatcher.dispatch(records, OrderCommandConsumer::commandKey, this::handleRecords);
+        // 실패 레코드는 레인 처리가 모두 끝난 뒤 리스너 스레드에서 라우팅 (오프셋 커밋 전)
+        eventProducer.sendResultEvents(commandRetryRouter.routeFailures(outcomes));
+    }
+
+    /**
+     * 재시도 토픽 리스너 (단계별로 별도 컨테이너)
+     *  - 재시도 시각 전이면 nack로 해당 파티션만 남은 시간만큼 멈춤, 원래 명령 토픽 처리는 계속 진행
+     *  - 다시 실패하면 다음 재시도 단계 또는 DLT로 이동
+     */
+    @KafkaListener(topics = "order-command-retry-0", groupId = "order-group-retry", containerFactory = "retryKafkaListenerContainerFactory")
+    @KafkaListener(topics = "order-command-retry-1", groupId = "order-group-retry", containerFactory = "retryKafkaListenerContainerFactory")
+    @KafkaListener(topics = "order-command-retry-2", groupId = "order-group-retry", containerFactory = "retryKafkaListenerContainerFactory")
+    public void onRetryEvent(ConsumerRecord<String, Event> record, Acknowledgment ack) {
+        long delay = CommandRetryRouter.remainingDelay(record);
+        if (delay > 0) {
+            ack.nack(Duration.ofMillis(delay));
+            return;
+        }
+        Object result = onCommandEvent(record);
+        if (result instanceof CommandRetryRouter.Failure failure) {
+            commandRetryRouter.route(failure.record(), failure.cause());
+        } else if (result != null) {
+            eventProducer.sendResultEvent(result);
+        }
+        ack.acknowledge();
+    }
+
+    /**
+     * 레인 하나의 레코드 처리 (도착 순서대로)
+     */
+    private List<Object> handleRecords(List<ConsumerRecord<String, Event>> records) {
+        List<Object> results = new ArrayList<>(records.size());
+        for (List<ConsumerRecord<String, Event>> run : CommandRuns.split(records, OrderCommandConsumer::commandType)) {
+            Object first = commandOf(run.get(0));
+            if (first instanceof UpdateOrderEvent) {
+                listenerMetrics.timeHandler(run.get(0).topic(), first, () -> handleUpdateOrders(run, results));
+            } else {
+                run.forEach(record -> addResult(results, onCommandEvent(record)));
+            }
+        }
+        return results;
+    }
 
-    @KafkaListener(topics = "order-command", groupId = "order-group")
-    public void onCommandEvent(ConsumerRecord<String, Event> record) {
+    /**
+     * 레코드 하나 처리 (이벤트 타입별 처리 시간 기록)
+     */
+    private Object onCommandEvent(ConsumerRecord<String, Event> record) {
+        return listenerMetrics.timeHandler(record.topic(), commandOf(record), () -> handleCommandEvent(record));
+    }
+
+    private Object handleCommandEvent(ConsumerRecord<String, Event> record) {
         log.info("Received record: {}", record);
-        Object event = record.value().getEvent();
+        String commandId = CommandRetryRouter.commandId(record);
+
+        try {
+            if (idempotencyFilter.isProcessed(commandId, processedCommandRecorder::isProcessed)) {
+                log.info("[CommandConsumer] Already processed command: {}", commandId);
+                return replayResult(record);
+            }
+            ProcessedCommandRecorder.begin(List.of(commandId));
 
+            Object result = dispatch(record);
+            if (result != null) {
+                idempotencyFilter.markProcessed(List.of(commandId));
+            }
+            return result;
+        } catch (Exception e) {
+            if (processedCommandRecorder.isDuplicate(e, commandId)) {
+                // 필터에 없던 명령(다른 인스턴스가 처리 등)이 처리 기록 PK 충돌로 롤백됨 → 결과만 다시 발행
+                log.info("[CommandConsumer] Duplicate command rejected by processed record: {}", commandId);
+                idempotencyFilter.markProcessed(List.of(commandId));
+                return replayResult(record);
+            }
+            // 실패 레코드는 리스너 스레드로 넘겨 재시도 토픽/DLT로 보내고, 다음 레코드 처리 계속
+            log.error("[CommandConsumer] Failed to handle record: {}", record, e);
+            return new CommandRetryRouter.Failure(record, e);
+        } finally {
+            ProcessedCommandRecorder.end();
+        }
+    }
+
+    private Object dispatch(ConsumerRecord<String, Event> record) {
+        Object event = commandOf(record);
         if (event instanceof CreateOrderEvent) {
-            handleCreateOrder((CreateOrderEvent) event);
+            return handleCreateOrder((CreateOrderEvent) event);
         } else if (event instanceof UpdateOrderEvent) {
-            handleUpdateOrder((UpdateOrderEvent) event);
+            return handleUpdateOrder((UpdateOrderEvent) event);
         } else if (event instanceof DeleteOrderEvent) {
-            handleDeleteOrder((DeleteOrderEvent) event);
+            return handleDeleteOrder((DeleteOrderEvent) event);
         } else {
             log.warn("Unknown command event: {}", record);
+            return null;
         }
     }
 
-    private void handleCreateOrder(CreateOrderEvent event) {
+    private void handleUpdateOrders(List<ConsumerRecord<String, Event>> run, List<Object> results) {
+        List<UpdateOrderEvent> events = commandsOf(run, UpdateOrderEvent.class);
+        List<String> commandIds = run.stream().map(CommandRetryRouter::commandId).toList();
         try {
-            log.info("[CommandConsumer] Creating Order: {}", event);
-            Order order = OrderService.createOrder(event);
+            if (idempotencyFilter.mightContainAny(commandIds)) {
+                // 처리됐을 수 있는 명령이 섞인 구간: 건별로 처리 여부를 확인
+                run.forEach(record -> addResult(results, onCommandEvent(record)));
+                return;
+            }
+            ProcessedCommandRecorder.begin(commandIds);
 
-            // 결과 이벤트
-            OrderCreatedEvent result = new OrderCreatedEvent(
+            log.info("[CommandConsumer] Updating {} orders in batch", events.size());
+            OrderService.updateOrders(events).forEach(order -> results.add(new OrderUpdatedEvent(
                     order.getId(),
                     order.getOrderId(),
+                    order.getStoreId(),
                     order.getProductId(),
                     order.getStockId(),
-                    order.getPaymentId(),
                     order.getQuantity()
-            );
-
-            eventProducer.sendResultEvent(result);
-
+            )));
+            idempotencyFilter.markProcessed(commandIds);
         } catch (Exception e) {
-            log.error("[CommandConsumer] Error in handleCreateOrder: ", e);
-            // 실패 시 별도 실패 이벤트 발행 가능
+            log.warn("[CommandConsumer] Batch update failed, retrying per record: {}", e.getMessage());
+            run.forEach(record -> addResult(results, onCommandEvent(record)));
+        } finally {
+            ProcessedCommandRecorder.end();
         }
     }
 
-    private void handleUpdateOrder(UpdateOrderEvent event) {
-        try {
-            log.info("[CommandConsumer] Updating Order: {}", event);
+    private Object handleCreateOrder(CreateOrderEvent event) {
+        log.info("[CommandConsumer] Creating Order: {}", event);
+        Order order = OrderService.createOrder(event);
 
-            Order order = OrderService.updateOrder(event);
+        // 결과 이벤트
+        OrderCreatedEvent result = new OrderCreatedEvent(
+                order.getId(),
+                order.getOrderId(),
+                order.getProductId(),
+                order.getStockId(),
+                order.getPaymentId(),
+                order.getQuantity()
+        );
 
-            // 결과 이벤트
-            OrderUpdatedEvent result = new OrderUpdatedEvent(
-                    order.getId(),
-                    order.getOrderId(),
-                    order.getStoreId(),
-                    order.getProductId(),
-                    order.getStockId(),
-                    order.getQuantity()
-            );
-            eventProducer.sendResultEvent(result);
+        return result;
+    }
 
-        } catch (Exception e) {
-            log.error("[CommandConsumer] Error in handleUpdateOrder: ", e);
+    private Object handleUpdateOrder(UpdateOrderEvent event) {
+        log.info("[CommandConsumer] Updating Order: {}", event);
+
+        Order order = OrderService.updateOrder(event);
+
+        // 결과 이벤트
+        OrderUpdatedEvent result = new OrderUpdatedEvent(
+                order.getId(),
+                order.getOrderId(),
+                order.getStoreId(),
+                order.getProductId(),
+                order.getStockId(),
+                order.getQuantity()
+        );
+        return result;
+    }
+
+    private Object handleDeleteOrder(DeleteOrderEvent event) {
+        log.info("[CommandConsumer] Deleting Order: {}", event);
+        OrderService.deleteOrder(event.getOrderId());
+
+        // 결과 이벤트
+        OrderDeletedEvent result = new OrderDeletedEvent(
+                event.getOrderId()
+        );
+        return result;
+    }
+
+    /**
+     * 이미 반영된 명령의 결과 이벤트 (현재 주문 상태 기준으로 다시 만듦)
+     */
+    private Object replayResult(ConsumerRecord<String, Event> record) {
+        Object event = commandOf(record);
+        if (event instanceof DeleteOrderEvent) {
+            return new OrderDeletedEvent(((DeleteOrderEvent) event).getOrderId());
+        }
+        Order order = OrderService.readOrder(commandKey(record));
+        if (event instanceof CreateOrderEvent) {
+            return new OrderCreatedEvent(order.getId(), order.getOrderId(), order.getProductId(), order.getStockId(), order.getPaymentId(), order.getQuantity());
         }
+        return new OrderUpdatedEvent(order.getId(), order.getOrderId(), order.getStoreId(), order.getProductId(), order.getStockId(), order.getQuantity());
     }
 
-    private void handleDeleteOrder(DeleteOrderEvent event) {
-        try {
-            log.info("[CommandConsumer] Deleting Order: {}", event);
-            OrderService.deleteOrder(event.getOrderId());
+    private static Object commandOf(ConsumerRecord<String, Event> record) {
+        return record.value() != null ? record.value().getEvent() : null;
+    }
 
-            // 결과 이벤트
-            OrderDeletedEvent result = new OrderDeletedEvent(
-                    event.getOrderId()
-            );
-            eventProducer.sendResultEvent(result);
+    /**
+     * 레코드 키, 키 없이 발행된 레코드는 명령의 orderId 사용
+     */
+    private static String commandKey(ConsumerRecord<String, Event> record) {
+        if (record.key() != null) {
+            return record.key();
+        }
+        Object event = commandOf(record);
+        if (event instanceof CreateOrderEvent) {
+            return ((CreateOrderEvent) event).getOrderId();
+        }
+        if (event instanceof UpdateOrderEvent) {
+            return ((UpdateOrderEvent) event).getOrderId();
+        }
+        if (event instanceof DeleteOrderEvent) {
+            return ((DeleteOrderEvent) event).getOrderId();
+        }
+        return null;
+    }
 
-        } catch (Exception e) {
-            log.error("[CommandConsumer] Error in handleDeleteOrder: ", e);
+    private static Class<?> commandType(ConsumerRecord<String, Event> record) {
+        Object event = commandOf(record);
+        return event != null ? event.getClass() : null;
+    }
+
+    private static <T> List<T> commandsOf(List<ConsumerRecord<String, Event>> run, Class<T> type) {
+        return run.stream().map(record -> type.cast(commandOf(record))).toList();
+    }
+
+    private static void addResult(List<Object> results, Object result) {
+        if (result != null) {
+            results.add(result);
         }
     }
 }
@@ -1,26 +1,66 @@
 package com.example.order.kafka;
 
+import com.example.events.EventSendPipeline;
 import com.example.kafka.Event;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @RequiredArgsConstructor
 public class OrderEventProducer {
 
     @Autowired
     private final KafkaTemplate<String, Event> kafkaTemplate;
+    private final EventSendPipeline eventSendPipeline;
 
     private static final String COMMAND_TOPIC = "order-command";
     private static final String RESULT_TOPIC = "order-result";
+    private static final String KEY_FIELD = "orderId"; // 같은 엔티티의 이벤트는 같은 파티션으로
 
     public void sendCommandEvent(Object event) {
-        kafkaTemplate.send(COMMAND_TOPIC, new Event(event.getClass().getName(), event));
+        send(COMMAND_TOPIC, event);
+    }
+
+    /**
+     * 이벤트 ID를 지정해 명령 발행 (Idempotency-Key 재시도 → 같은 명령 ID로 컨슈머에서 중복 제거)
+     */
+    public CompletableFuture<SendResult<String, Event>> sendCommandEvent(Object event, String commandId) {
+        return eventSendPipeline.send(kafkaTemplate, COMMAND_TOPIC, EventSendPipeline.keyOf(event, KEY_FIELD),
+                new Event(event.getClass().getName(), event), commandId);
     }
 
     public void sendResultEvent(Object event) {
-        kafkaTemplate.send(RESULT_TOPIC, new Event(event.getClass().getName(), event));
+        send(RESULT_TOPIC, event);
+    }
+
+    /**
+     * 결과 이벤트 일괄 발행 (배치 리스너용)
+     * 모은 결과를 한 번에 보낸 뒤 flush 하고 전송 결과까지 확인하여, 오프셋 커밋 전에 전송을 마친다
+     */
+    public void sendResultEvents(List<?> events) {
+        if (events.isEmpty()) return;
+        List<CompletableFuture<?>> sends = new ArrayList<>(events.size());
+        events.forEach(event -> sends.add(send(RESULT_TOPIC, event)));
+        kafkaTemplate.flush();
+        awaitAll(sends);
+    }
+
+    /**
+     * 전송 결과 확인, 하나라도 실패(in-flight 한도 거절 포함)하면 예외 → 오프셋이 커밋되지 않고 배치 재전달
+     */
+    private static void awaitAll(List<CompletableFuture<?>> sends) {
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private CompletableFuture<?> send(String topic, Object event) {
+        return eventSendPipeline.send(kafkaTemplate, topic, EventSendPipeline.keyOf(event, KEY_FIELD),
+                new Event(event.getClass().getName(), event));
     }
 }
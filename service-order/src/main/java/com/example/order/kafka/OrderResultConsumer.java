@@ -1,7 +1,7 @@
 package com.example.order.kafka;
 
-import com.example.events.EventEntity;
-import com.example.events.EventRepository;
+import com.example.events.AuditLogWriter;
+import com.example.events.ListenerMetrics;
 import com.example.kafka.Event;
 import com.example.kafka.OrderCreatedEvent;
 import com.example.kafka.OrderDeletedEvent;
@@ -13,18 +13,21 @@ import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderResultConsumer {
 
-    private final EventRepository eventRepository;
+    private final AuditLogWriter auditLogWriter;
     private final ObjectMapper mapper = new ObjectMapper();
+    private final ListenerMetrics listenerMetrics;
 
     @KafkaListener(topics = "order-result", groupId = "order-group")
     public void onCommandEvent(ConsumerRecord<String, Event> record) {
+        listenerMetrics.timeHandler(record.topic(), record.value().getEvent(), () -> handleResultEvent(record));
+    }
+
+    private void handleResultEvent(ConsumerRecord<String, Event> record) {
         log.info("Received command event: {}", record.value());;
         Object event = record.value().getEvent();
 
@@ -41,34 +44,16 @@ public class OrderResultConsumer {
 
     private void handleOrderCreated(OrderCreatedEvent evt) {
         log.info("[ResultConsumer] OrderCreated: {}", evt);
-        EventEntity entity = EventEntity.builder()
-                .eventType("OrderCreatedEvent")
-                .payload(evt.toString())
-                .eventTime(LocalDateTime.now())
-                .status("SUCCESS")
-                .build();
-        eventRepository.save(entity);
+        auditLogWriter.write("OrderCreatedEvent", evt);
     }
 
     private void handleOrderUpdated(OrderUpdatedEvent evt) {
         log.info("[ResultConsumer] OrderUpdated: {}", evt);
-        EventEntity entity = EventEntity.builder()
-                .eventType("OrderUpdatedEvent")
-                .payload("id=" + evt.getId() + ", storeId=" + evt.getStoreId())
-                .eventTime(LocalDateTime.now())
-                .status("SUCCESS")
-                .build();
-        eventRepository.save(entity);
+        auditLogWriter.write("OrderUpdatedEvent", evt);
     }
 
     private void handleOrderDeleted(OrderDeletedEvent evt) {
         log.info("[ResultConsumer] OrderDeleted: {}", evt);
-        EventEntity entity = EventEntity.builder()
-                .eventType("OrderDeletedEvent")
-                .payload("orderId=" + evt.getOrderId())
-                .eventTime(LocalDateTime.now())
-                .status("SUCCESS")
-                .build();
-        eventRepository.save(entity);
+        auditLogWriter.write("OrderDeletedEvent", evt);
     }
 }
@@ -3,6 +3,8 @@ package com.example.order.repository;
 import com.example.order.entity.Order;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -13,4 +15,5 @@ import java.util.Optional;
  */
 public interface OrderRepository extends JpaRepository<Order, Long> {
     Optional<Order> findByOrderId(String orderId); // Optional 클래스는 Order가 null이여도 처리 가능
+    List<Order> findAllByOrderIdIn(Collection<String> orderIds);
 }
@@ -0,0 +1,7 @@
+package com.example.order.repository;
+
+import com.example.order.entity.ProcessedCommand;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ProcessedCommandRepository extends JpaRepository<ProcessedCommand, String> {
+}
@@ -0,0 +1,135 @@
+package com.example.order.service;
+
+import com.example.order.dto.OrderDto;
+import com.example.order.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 생성 Idempotency-Key 백스톱 (게이트웨이 기록이 없거나 만료된 뒤의 재시도, 게이트웨이를 거치지 않은 호출)
+ *
+ * 값은 "P|요청지문|주문id" (명령 전송 중) / "D|요청지문|주문id" (전송 완료)
+ * - 키는 호출자 범위(인증 사용자, 없으면 상점) 안에서만 유효 → 다른 호출자가 같은 키를 써도 서로의 주문 id를 받지 않음
+ * - 키마다 처음 배정한 주문 id(Snowflake)를 보관 → 같은 키/같은 본문으로 다시 오면 같은 id를 돌려주고 명령을 다시 보내지 않음
+ * - 배정한 요청의 전송이 끝나기 전(P)에는 주문이 실제로 만들어졌을 때만 id를 돌려줌 (배정자가 실패해 해제하면 그 id는 무효)
+ * - 명령 이벤트 ID도 범위 + 키에서 만들어 고정하므로, Redis 기록이 사라져도 컨슈머의 처리 기록(processed_command PK)이 중복 생성을 막는다
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderIdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final int MAX_KEY_LENGTH = 200;
+
+    private static final String KEY_PREFIX = "idempotency-key:order:";
+    private static final String COMMAND_ID_PREFIX = "order-create:";
+    private static final String PENDING = "P";
+    private static final String DONE = "D";
+    private static final Duration PENDING_TTL = Duration.ofSeconds(30); // 전송 중 인스턴스가 죽어도 30초 뒤 재시도 가능
+    private static final Duration TTL = Duration.ofHours(24);
+
+    private final RedissonClient redissonClient;
+    private final OrderRepository orderRepository;
+    private final MeterRegistry meterRegistry;
+
+    public enum State { RESERVED, REPLAYED, IN_PROGRESS, MISMATCH }
+
+    public record Reservation(State state, long orderId) {
+    }
+
+    /**
+     * 키에 주문 id 배정 (SET NX)
+     *
+     * @param scope       호출자 범위 ({@link #scope})
+     * @param candidateId 이번 요청에서 새로 만든 id
+     * @return RESERVED(candidateId로 명령 전송), REPLAYED(앞서 배정된 id), IN_PROGRESS(배정자가 아직 전송 중), MISMATCH(같은 키에 다른 본문)
+     */
+    public Reservation reserve(String scope, String idempotencyKey, OrderDto dto, long candidateId) {
+        RBucket<String> bucket = bucketOf(scope, idempotencyKey);
+        String fingerprint = fingerprint(dto);
+        if (bucket.trySet(value(PENDING, fingerprint, candidateId), PENDING_TTL.toMillis(), TimeUnit.MILLISECONDS)) {
+            count("reserved");
+            return new Reservation(State.RESERVED, candidateId);
+        }
+        String existing = bucket.get();
+        if (existing == null) { // 확인 사이에 만료/해제됨 → 한 번 더 시도
+            return reserve(scope, idempotencyKey, dto, candidateId);
+        }
+        String[] parts = existing.split("\\|", 3);
+        long reservedId = Long.parseLong(parts[2]);
+        if (!parts[1].equals(fingerprint)) {
+            count("mismatch");
+            log.warn("[Idempotency] 같은 키에 다른 주문 요청 - scope: {}, key: {}", scope, idempotencyKey);
+            return new Reservation(State.MISMATCH, reservedId);
+        }
+        if (DONE.equals(parts[0]) || orderRepository.findByOrderId(dto.getOrderId()).isPresent()) {
+            count("replayed");
+            log.info("[Idempotency] 같은 키의 주문 재요청 - scope: {}, key: {}, id: {}", scope, idempotencyKey, reservedId);
+            return new Reservation(State.REPLAYED, reservedId);
+        }
+        count("in_progress");
+        return new Reservation(State.IN_PROGRESS, reservedId);
+    }
+
+    /**
+     * 명령 전송 성공 → 이후 재시도는 배정된 id를 바로 돌려받음
+     */
+    public void complete(String scope, String idempotencyKey, OrderDto dto, long reservedId) {
+        bucketOf(scope, idempotencyKey).set(value(DONE, fingerprint(dto), reservedId), TTL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 명령 전송 실패 시 배정 해제 (같은 키로 다시 시도할 수 있게), 다른 요청이 배정한 값이면 건드리지 않음
+     */
+    public void release(String scope, String idempotencyKey, OrderDto dto, long reservedId) {
+        bucketOf(scope, idempotencyKey).compareAndSet(value(PENDING, fingerprint(dto), reservedId), null);
+    }
+
+    /**
+     * 명령 이벤트 ID (범위 + 키로 고정, 길이가 일정하도록 이름 기반 UUID)
+     */
+    public static String commandId(String scope, String idempotencyKey) {
+        return COMMAND_ID_PREFIX + UUID.nameUUIDFromBytes((scope + "|" + idempotencyKey).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 키 범위: 인증된 사용자, 없으면 주문한 상점
+     */
+    public static String scope(Principal principal, OrderDto dto) {
+        return principal != null ? "user:" + principal.getName() : "store:" + dto.getStoreId();
+    }
+
+    /**
+     * 요청 본문 지문 (필드 값으로만 계산하므로 인스턴스가 달라도 같은 값, enum은 hashCode가 JVM마다 달라 이름으로)
+     */
+    private static String fingerprint(OrderDto dto) {
+        return Integer.toHexString(Objects.hash(dto.getOrderId(), dto.getStoreId(), dto.getProductId(), dto.getStockId(),
+                dto.getQuantity(), dto.getAmount(), dto.getPaymentMethod(), dto.getPaymentId(),
+                dto.getPaymentStatus() == null ? null : dto.getPaymentStatus().name()));
+    }
+
+    private static String value(String state, String fingerprint, long orderId) {
+        return state + "|" + fingerprint + "|" + orderId;
+    }
+
+    private RBucket<String> bucketOf(String scope, String idempotencyKey) {
+        return redissonClient.getBucket(KEY_PREFIX + scope + ":" + idempotencyKey, StringCodec.INSTANCE);
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("order.idempotency", "result", result).increment();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.order.service;
+
+import com.example.order.exception.OrderCreationException;
+import com.example.product.ProductCatalogReplica;
+import com.example.product.ProductService;
+import com.example.stock.StockService;
+import com.example.stock.dto.StockResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 주문 생성 전 원격 조회
+ *
+ * 상품 조회와 재고 조회는 서로 독립이므로 orderLookupExecutor에서 동시에 보낸다.
+ * 상품은 로컬 복제본(ProductCatalogReplica)에 있으면 원격 호출 없이 바로 확인한다.
+ * 주문 생성 지연 = 두 호출 중 느린 쪽 (기존: 두 호출의 합), 락/트랜잭션을 잡기 전에 호출한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderLookupService {
+
+    private static final long LOOKUP_TIMEOUT_MS = 3_000;
+
+    private final ProductCatalogReplica productCatalogReplica;
+    private final ProductService productService;
+    private final StockService stockService;
+    private final Executor orderLookupExecutor;
+
+    public Lookup lookup(String productId) {
+        CompletableFuture<Lookup> lookup = lookupAsync(productId);
+        try {
+            return lookup.orTimeout(LOOKUP_TIMEOUT_MS, TimeUnit.MILLISECONDS).join();
+        } catch (CompletionException e) {
+            lookup.cancel(true);
+            if (e.getCause() instanceof TimeoutException) {
+                throw new OrderCreationException("상품/재고 조회 시간 초과: " + productId);
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause; // Feign 예외 등 원래 예외 그대로
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 여러 상품을 한꺼번에 조회 (일괄 주문용), 실패하거나 시간 안에 끝나지 않은 상품은 결과에서 빠짐
+     */
+    public Map<String, Lookup> lookupAll(Collection<String> productIds) {
+        Map<String, CompletableFuture<Lookup>> lookups = new HashMap<>();
+        productIds.forEach(productId -> lookups.put(productId, lookupAsync(productId)));
+        CompletableFuture.allOf(lookups.values().toArray(CompletableFuture[]::new))
+                .orTimeout(LOOKUP_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> null)
+                .join();
+
+        Map<String, Lookup> result = new HashMap<>();
+        lookups.forEach((productId, lookup) -> {
+            if (lookup.isDone() && !lookup.isCompletedExceptionally()) {
+                result.put(productId, lookup.join());
+            } else {
+                lookup.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private CompletableFuture<Lookup> lookupAsync(String productId) {
+        // 상품 존재 여부는 로컬 복제본에서 먼저 확인, 없을 때만 Feign 조회
+        CompletableFuture<Boolean> product = productCatalogReplica.isActive(productId)
+                .map(CompletableFuture::completedFuture)
+                .orElseGet(() -> CompletableFuture.supplyAsync(() -> productService.getProduct(productId) != null, orderLookupExecutor));
+        CompletableFuture<StockResponse> stock =
+                CompletableFuture.supplyAsync(() -> stockService.getStockProduct(productId), orderLookupExecutor);
+        return product.thenCombine(stock, Lookup::new);
+    }
+
+    public record Lookup(boolean productAvailable, StockResponse stock) {
+    }
+}
@@ -1,37 +1,39 @@
 package com.example.order.service;
 
 import com.example.annotations.Cached;
-import com.example.annotations.RedissonLock;
 import com.example.cache.CacheType;
+import com.example.cache.CacheWriter;
 import com.example.kafka.CreateOrderEvent;
-import com.example.kafka.Event;
 import com.example.kafka.UpdateOrderEvent;
+import com.example.order.dto.BulkOrderResult;
 import com.example.order.entity.Order;
 import com.example.order.entity.OrderStatus;
 import com.example.order.exception.OrderCreationException;
 import com.example.order.exception.OrderNotFoundException;
 import com.example.order.exception.StockNotFoundException;
 import com.example.order.repository.OrderRepository;
-import com.example.outbox.OutboxEvent;
-import com.example.outbox.OutboxEventRepository;
 import com.example.payment.PaymentService;
-import com.example.payment.dto.PaymentRequest;
-import com.example.payment.dto.PaymentStatus;
-import com.example.product.ProductService;
-import com.example.product.dto.ProductResponse;
-import com.example.stock.StockService;
 import com.example.stock.dto.StockResponse;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 주문 서비스
@@ -44,78 +46,113 @@ import java.time.LocalDateTime;
 @Service
 @RequiredArgsConstructor
 public class OrderService {
-    private final KafkaTemplate<String, Event> kafkaTemplate;
     private final OrderRepository orderRepository;
-    private final ProductService productService;
-    private final StockService stockService;
+    private final CacheWriter cacheWriter;
     private final PaymentService paymentService;
-    private final ObjectMapper objectMapper;
-    private final OutboxEventRepository outboxEventRepository;
-
-    @RedissonLock(value = "stock-{productId}", transactional = true)
-    @Cached(prefix = "order:", key = "#result.orderId", ttl = 3600, type = CacheType.WRITE, cacheNull = true)
-    @Transactional
+    private final OrderLookupService orderLookupService;
+    private final OrderWriter orderWriter;
+    private final Executor orderWriteExecutor;
+    private final ProcessedCommandRecorder processedCommandRecorder;
+    private final OrderStatusNotifier orderStatusNotifier;
+
+    /**
+     * 주문 생성
+     * 상품/재고 조회(원격 호출 2건)는 락과 트랜잭션을 잡기 전에 동시에 보내고, 검증을 통과하면 쓰기만 락 안에서 처리 (OrderWriter)
+     */
     public Order createOrder(CreateOrderEvent event) throws JsonProcessingException {
-        // 1. 상품 조회
-        ProductResponse product = productService.getProduct(event.getProductId());
-        if (product == null) {
+        OrderLookupService.Lookup lookup = orderLookupService.lookup(event.getProductId());
+
+        // 1. 상품 확인
+        if (!lookup.productAvailable()) {
             throw new OrderCreationException("Product not found: " + event.getProductId());
         }
 
-        // 2. 재고 확인
-        StockResponse stock = stockService.getStockProduct(event.getProductId());
+        // 2. 재고 확인 (사전 확인, 실제 차감은 락 안에서 decreaseStock)
+        StockResponse stock = lookup.stock();
         if (stock.getStock() < event.getQuantity()) {
             throw new StockNotFoundException("Insufficient stock for product: " + event.getProductId());
         }
 
-        //3. 주문 생성 ( 상태 : PENDING )
-        Order order = Order.builder()
-                .id(event.getId())
-                .orderId(event.getOrderId())
-                .storeId(event.getStoreId())
-                .productId(event.getProductId())
-                .stockId(event.getStockId())
-                .paymentId(event.getPaymentId())
-                .quantity(event.getQuantity())
-                .amount(event.getAmount())
-                .paymentMethod(event.getPaymentMethod())
-                .paymentStatus(PaymentStatus.valueOf(event.getPaymentStatus().name())) // enum 변환
-                .build();
-
-        orderRepository.saveAndFlush(order);
-
-        OutboxEvent outboxEvent = OutboxEvent.create(
-                order.getOrderId(),
-                "OrderCreated",
-                objectMapper.writeValueAsString(order)
-        );
-        outboxEventRepository.save(outboxEvent);
-
-        try {
-            // 4. 재고 차감 처리 (예외 발생시 자동 롤백)
-            stockService.decreaseStock(event.getStockId(), event.getQuantity());
-
-            PaymentRequest paymentRequest = new PaymentRequest(
-                    event.getPaymentId(),
-                    event.getOrderId(),
-                    event.getAmount(),
-                    event.getPaymentMethod(),
-                    PaymentStatus.PENDING
-            );
-            kafkaTemplate.send("payment-events", new Event("RequestPayment", paymentRequest));
-
-            outboxEvent.setPublished(true);
-            outboxEventRepository.save(outboxEvent);
-
-        } catch (Exception e) {
-            log.error("재고 차감 실패로 주문 취소 처리", e);
-            order.cancel(); // 상태만 변경하거나 DB에서 제거
-            orderRepository.save(order);
-            throw new OrderCreationException("재고 차감 실패로 주문 생성 중단");
+        return orderWriter.placeOrder(event.getProductId(), event);
+    }
+
+
+    /**
+     * 일괄 주문 생성 (파트너 대량 주문)
+     *  - 상품/재고 조회는 상품별로 한 번씩 동시에
+     *  - 주문을 재고별로 묶어 묶음마다 락/트랜잭션/재고 차감 한 번 (OrderWriter.placeOrders), 묶음끼리는 orderWriteExecutor에서 동시에 처리
+     *  - 묶음 안에서 하나라도 실패하면 묶음 전체 거절, 쓰기 실행기가 가득 차 제출이 거절된 묶음도 거절
+     *  - 결과는 요청 순서대로 주문별 수락/거절
+     */
+    public List<BulkOrderResult> createOrders(List<CreateOrderEvent> events) {
+        BulkOrderResult[] results = new BulkOrderResult[events.size()];
+        Map<String, OrderLookupService.Lookup> lookups = orderLookupService.lookupAll(
+                events.stream().map(CreateOrderEvent::getProductId).distinct().toList());
+
+        // 1. 주문별 검증 후 재고별로 묶음
+        Map<StockGroup, List<Integer>> groups = new LinkedHashMap<>();
+        Set<String> orderIds = new HashSet<>();
+        for (int i = 0; i < events.size(); i++) {
+            CreateOrderEvent event = events.get(i);
+            OrderLookupService.Lookup lookup = lookups.get(event.getProductId());
+            if (!orderIds.add(event.getOrderId())) {
+                results[i] = BulkOrderResult.rejected(event.getOrderId(), "Duplicate orderId in batch");
+            } else if (lookup == null) {
+                results[i] = BulkOrderResult.rejected(event.getOrderId(), "Product/stock lookup failed: " + event.getProductId());
+            } else if (!lookup.productAvailable()) {
+                results[i] = BulkOrderResult.rejected(event.getOrderId(), "Product not found: " + event.getProductId());
+            } else {
+                groups.computeIfAbsent(new StockGroup(event.getStockId(), event.getProductId()), key -> new ArrayList<>()).add(i);
+            }
+        }
+
+        // 2. 묶음마다 재고 사전 확인 → 쓰기 (묶음끼리 동시에)
+        List<CompletableFuture<Void>> writes = new ArrayList<>(groups.size());
+        groups.forEach((group, indexes) -> {
+            try {
+                writes.add(CompletableFuture.runAsync(
+                        () -> writeGroup(group, indexes, events, lookups.get(group.productId()), results), orderWriteExecutor));
+            } catch (RejectedExecutionException e) {
+                // 쓰기 실행기 포화 → 이 묶음만 거절, 나머지 묶음은 계속
+                log.warn("[BulkOrder] 쓰기 대기열 초과 - stockId: {}, orders: {}", group.stockId(), indexes.size());
+                complete(results, events, indexes, "Too many concurrent bulk orders, retry later");
+            }
+        });
+        CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+
+        return Arrays.asList(results);
+    }
+
+    private void writeGroup(StockGroup group, List<Integer> indexes, List<CreateOrderEvent> events,
+                            OrderLookupService.Lookup lookup, BulkOrderResult[] results) {
+        List<CreateOrderEvent> groupEvents = indexes.stream().map(events::get).toList();
+        String reason = null;
+        long quantity = groupEvents.stream().mapToLong(CreateOrderEvent::getQuantity).sum();
+        if (lookup.stock().getStock() < quantity) {
+            reason = "Insufficient stock for product: " + group.productId();
+        } else {
+            try {
+                orderWriter.placeOrders(group.productId(), group.stockId(), groupEvents);
+            } catch (Exception e) {
+                log.warn("[BulkOrder] 묶음 생성 실패 - stockId: {}, orders: {}", group.stockId(), indexes.size(), e);
+                reason = e.getMessage();
+            }
+        }
+        complete(results, events, indexes, reason);
+    }
+
+    /**
+     * 묶음의 주문별 결과 기록 (reason이 null이면 수락)
+     */
+    private static void complete(BulkOrderResult[] results, List<CreateOrderEvent> events, List<Integer> indexes, String reason) {
+        for (int index : indexes) {
+            String orderId = events.get(index).getOrderId();
+            results[index] = reason == null ? BulkOrderResult.accepted(orderId) : BulkOrderResult.rejected(orderId, reason);
         }
-        return order;
     }
 
+    private record StockGroup(String stockId, String productId) {
+    }
 
     @Cached(prefix = "order:", key = "#orderId", ttl = 3600, type = CacheType.READ, cacheNull = true)
     public Order readOrder(String orderId) {
@@ -135,22 +172,71 @@ public class OrderService {
 
         order.setQuantity(event.getQuantity());
         Order savedOrder = orderRepository.saveAndFlush(order); // 바로 return 해주는 부분이라 save가 아닌 saveAndFlush 사용
+        processedCommandRecorder.record();
 
         return savedOrder;
     }
 
 
+    /**
+     * 일괄 수정 (배치 리스너용)
+     *  - 대상을 IN 조회 한 번으로 읽고, 한 트랜잭션에서 saveAll
+     *  - 이벤트 순서대로 반환 (같은 대상이 여러 번 오면 마지막 값이 반영됨)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<Order> updateOrders(List<UpdateOrderEvent> events) {
+        List<String> orderIds = events.stream().map(UpdateOrderEvent::getOrderId).distinct().toList();
+        Map<String, Order> orders = orderRepository.findAllByOrderIdIn(orderIds).stream()
+                .collect(Collectors.toMap(Order::getOrderId, Function.identity()));
+
+        List<Order> updatedOrders = events.stream()
+                .map(event -> {
+                    Order order = orders.get(event.getOrderId());
+                    if (order == null) {
+                        throw new EntityNotFoundException("Order not found: " + event.getOrderId());
+                    }
+                    order.setQuantity(event.getQuantity());
+                    return order;
+                })
+                .toList();
+
+        orderRepository.saveAllAndFlush(orders.values());
+        processedCommandRecorder.record();
+        orders.values().forEach(order -> cacheWriter.write("order:", order.getOrderId(), order, 3600));
+        return updatedOrders;
+    }
+
     @Cached(prefix = "order:", key = "#orderId", ttl = 3600, type = CacheType.DELETE, cacheNull = true)
+    @Transactional
     public void deleteOrder(String orderId) {
         Order order = orderRepository.findByOrderId(orderId)
                 .orElseThrow(() -> new OrderNotFoundException("Order not found: " + orderId));
         orderRepository.delete(order);
+        processedCommandRecorder.record();
     }
 
+    /**
+     * 주문 상태 변경, 커밋 후 주문 캐시를 새 상태로 갱신하고 상태 스트림에 알림
+     */
     @Transactional
     public void updateOrderStatus(String orderId, OrderStatus status) {
         Order order = orderRepository.findByOrderId(orderId)
                 .orElseThrow(() -> new OrderNotFoundException("Order not found : " + orderId));
+        if (order.getOrderStatus() == status) {
+            return; // 사가 단계 재시도로 같은 상태가 다시 옴 (이전 응답 유실) → 성공으로 처리
+        }
         order.updateStatus(status);
+        cacheWriter.write("order:", orderId, order, 3600); // 커밋 후 반영 (readOrder가 이전 상태를 보지 않도록)
+        orderStatusNotifier.notifyAfterCommit(orderId, status);
+    }
+
+    /**
+     * 현재 주문 상태 (캐시를 거치지 않고 DB에서 읽음, 상태 스트림의 시작 값)
+     */
+    @Transactional(readOnly = true)
+    public OrderStatus readOrderStatus(String orderId) {
+        return orderRepository.findByOrderId(orderId)
+                .orElseThrow(() -> new OrderNotFoundException("Order not found : " + orderId))
+                .getOrderStatus();
     }
 }
\ No newline at end of file
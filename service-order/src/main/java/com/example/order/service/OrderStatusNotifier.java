@@ -0,0 +1,52 @@
+package com.example.order.service;
+
+import com.example.order.OrderStatusStreams;
+import com.example.order.entity.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 주문 상태 변경 알림 (커밋 후 order-status 채널로 발행 → 각 노드의 SSE 스트림으로 전달)
+ *
+ * 결제 성공/실패, 재고 보상 결과는 모두 주문 상태 변경(updateOrderStatus)으로 모이므로 여기서 한 번만 발행한다.
+ * 발행 실패는 주문 처리에 영향을 주지 않음 (클라이언트는 재연결 시 현재 상태를 받음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderStatusNotifier {
+
+    private final OrderStatusStreams orderStatusStreams;
+
+    public void notifyAfterCommit(String orderId, OrderStatus status) {
+        notifyAllAfterCommit(List.of(orderId), status);
+    }
+
+    public void notifyAllAfterCommit(Collection<String> orderIds, OrderStatus status) {
+        Runnable publish = () -> orderIds.forEach(orderId -> publish(orderId, status));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish.run();
+                }
+            });
+        } else {
+            publish.run();
+        }
+    }
+
+    private void publish(String orderId, OrderStatus status) {
+        try {
+            orderStatusStreams.broadcast(orderId, status.name());
+        } catch (Exception e) {
+            log.warn("[OrderStatusNotifier] 상태 변경 발행 실패 - orderId: {}, status: {}, error: {}", orderId, status, e.getMessage());
+        }
+    }
+}
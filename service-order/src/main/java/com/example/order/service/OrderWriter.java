@@ -0,0 +1,181 @@
+package com.example.order.service;
+
+import com.example.annotations.Cached;
+import com.example.annotations.RedissonLock;
+import com.example.cache.CacheType;
+import com.example.cache.CacheWriter;
+import com.example.kafka.CreateOrderEvent;
+import com.example.kafka.Event;
+import com.example.order.entity.Order;
+import com.example.order.entity.OrderStatus;
+import com.example.order.exception.OrderCreationException;
+import com.example.order.repository.OrderRepository;
+import com.example.outbox.OutboxEvent;
+import com.example.outbox.OutboxEventRepository;
+import com.example.payment.dto.PaymentRequest;
+import com.example.payment.dto.PaymentStatus;
+import com.example.publisher.OutboxDispatcher;
+import com.example.saga.OrderSagaOrchestrator;
+import com.example.stock.StockService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 생성 쓰기 구간 (락 + 트랜잭션)
+ *
+ * OrderService.createOrder/createOrders가 상품/재고 조회와 검증을 끝낸 뒤 호출한다. 락을 잡은 동안에는 주문/Outbox 저장과 재고 차감만 한다.
+ * 락 키는 productId 파라미터로 결정 (stock-{productId})
+ *
+ * OrderCreated Outbox 행은 order-events 계약(Event JSON)으로 미발행 저장하고, 커밋 직후 OutboxDispatcher로 바로 발행한다.
+ * 주문 상태 변경은 결제 요청(payment-events)과 사가가 맡고, order-events는 주문 생성 알림만 전달한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderWriter {
+
+    private static final String PAYMENT_TOPIC = "payment-events";
+
+    private final KafkaTemplate<String, Event> kafkaTemplate;
+    private final OrderRepository orderRepository;
+    private final CacheWriter cacheWriter;
+    private final StockService stockService;
+    private final ObjectMapper objectMapper;
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxDispatcher outboxDispatcher;
+    private final ProcessedCommandRecorder processedCommandRecorder;
+    private final OrderSagaOrchestrator orderSagaOrchestrator;
+    private final OrderStatusNotifier orderStatusNotifier;
+
+    @RedissonLock(value = "stock-{productId}", transactional = true)
+    @Cached(prefix = "order:", key = "#result.orderId", ttl = 3600, type = CacheType.WRITE, cacheNull = true)
+    @Transactional
+    public Order placeOrder(String productId, CreateOrderEvent event) throws JsonProcessingException {
+        //3. 주문 생성 ( 상태 : PENDING )
+        Order order = toOrder(productId, event);
+
+        orderRepository.saveAndFlush(order);
+        processedCommandRecorder.record();
+
+        OutboxEvent outboxEvent = orderCreated(order);
+        outboxEventRepository.save(outboxEvent);
+        outboxDispatcher.dispatchAfterCommit(outboxEvent); // 커밋 직후 바로 발행 (폴링 대기 없음)
+        orderSagaOrchestrator.start(order.getOrderId(), event.getStockId(), event.getQuantity()); // 결제 응답 대기 + 시간 초과 타이머
+
+        try {
+            // 4. 재고 차감 처리 (예외 발생시 자동 롤백)
+            stockService.decreaseStock(event.getStockId(), event.getQuantity());
+
+            kafkaTemplate.send(PAYMENT_TOPIC, new Event("RequestPayment", paymentRequestOf(event)));
+            orderStatusNotifier.notifyAfterCommit(order.getOrderId(), OrderStatus.PENDING);
+
+        } catch (Exception e) {
+            log.error("재고 차감 실패로 주문 취소 처리", e);
+            order.cancel(); // 상태만 변경하거나 DB에서 제거
+            orderRepository.save(order);
+            throw new OrderCreationException("재고 차감 실패로 주문 생성 중단");
+        }
+        return order;
+    }
+
+    /**
+     * 같은 재고의 주문 묶음 생성 (일괄 주문)
+     *  - 주문/Outbox/사가 행은 saveAll로 한 번에 저장
+     *  - 재고는 묶음 수량 합계로 한 번만 차감, 실패하면 묶음 전체 롤백
+     *  - 결제 요청은 묶음 전체를 연달아 보냄 (프로듀서 배치로 묶여 전송)
+     *  - 주문 캐시는 커밋 후에 기록 (롤백된 주문이 캐시에 남지 않게)
+     */
+    @RedissonLock(value = "stock-{productId}", transactional = true)
+    @Transactional
+    public List<Order> placeOrders(String productId, String stockId, List<CreateOrderEvent> events) throws JsonProcessingException {
+        List<Order> orders = events.stream().map(event -> toOrder(productId, event)).toList();
+        orderRepository.saveAllAndFlush(orders);
+        processedCommandRecorder.record();
+
+        List<OutboxEvent> outboxEvents = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            outboxEvents.add(orderCreated(order));
+        }
+        outboxEventRepository.saveAll(outboxEvents);
+        outboxEvents.forEach(outboxDispatcher::dispatchAfterCommit);
+        orderSagaOrchestrator.startAll(stockId, events.stream()
+                .collect(Collectors.toMap(CreateOrderEvent::getOrderId, CreateOrderEvent::getQuantity)));
+
+        long quantity = events.stream().mapToLong(CreateOrderEvent::getQuantity).sum();
+        if (!stockService.decreaseStock(stockId, quantity)) {
+            throw new OrderCreationException("재고 차감 실패 - stockId: " + stockId + ", quantity: " + quantity);
+        }
+
+        events.forEach(event -> kafkaTemplate.send(PAYMENT_TOPIC, new Event("RequestPayment", paymentRequestOf(event))));
+        cacheAfterCommit(orders);
+        orderStatusNotifier.notifyAllAfterCommit(orders.stream().map(Order::getOrderId).toList(), OrderStatus.PENDING);
+        return orders;
+    }
+
+    private void cacheAfterCommit(List<Order> orders) {
+        Runnable write = () -> {
+            try {
+                orders.forEach(order -> cacheWriter.write("order:", order.getOrderId(), order, 3600));
+            } catch (Exception e) {
+                // 커밋은 끝남 → 주문은 수락, 캐시는 다음 조회 때 DB에서 채움
+                log.warn("[OrderWriter] 주문 캐시 기록 실패 - orders: {}, error: {}", orders.size(), e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    write.run();
+                }
+            });
+        } else {
+            write.run();
+        }
+    }
+
+    /**
+     * OrderCreated Outbox 행 (페이로드는 order-events 계약인 Event JSON, 주문 전체는 Event.payload에 담음)
+     */
+    private OutboxEvent orderCreated(Order order) throws JsonProcessingException {
+        com.example.entity.Event event = new com.example.entity.Event(0, "OrderCreated",
+                objectMapper.writeValueAsString(order), order.getProductId(), order.getQuantity(),
+                order.getStockId(), order.getPaymentId(), order.getOrderId());
+        return OutboxEvent.create(order.getOrderId(), "OrderCreated", objectMapper.writeValueAsString(event));
+    }
+
+    private static Order toOrder(String productId, CreateOrderEvent event) {
+        return Order.builder()
+                .id(event.getId())
+                .orderId(event.getOrderId())
+                .storeId(event.getStoreId())
+                .productId(productId)
+                .stockId(event.getStockId())
+                .paymentId(event.getPaymentId())
+                .quantity(event.getQuantity())
+                .amount(event.getAmount())
+                .paymentMethod(event.getPaymentMethod())
+                .paymentStatus(PaymentStatus.valueOf(event.getPaymentStatus().name())) // enum 변환
+                .build();
+    }
+
+    private static PaymentRequest paymentRequestOf(CreateOrderEvent event) {
+        return new PaymentRequest(
+                event.getPaymentId(),
+                event.getOrderId(),
+                event.getAmount(),
+                event.getPaymentMethod(),
+                PaymentStatus.PENDING
+        );
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.product;
+
+import com.example.events.AvroSchemaCache;
+import com.example.events.LocalSchemaAvroDeserializer;
+import com.example.kafka.Event;
+import com.example.kafka.ProductCreatedEvent;
+import com.example.kafka.ProductDeletedEvent;
+import com.example.kafka.ProductUpdatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 상품 카탈로그 로컬 복제본 (productId → 가격, 판매 여부)
+ *
+ * product-result 토픽을 이 인스턴스 전용으로 모든 파티션을 직접 할당(assign)받아 처음부터 읽는다.
+ *  - 시작 시 끝 오프셋까지 읽으면 스냅샷 완료(ready), 이후에는 같은 컨슈머로 변경분을 계속 반영
+ *  - ready 전에는 모든 조회를 미스로 답함 (재생 중인 복제본의 오래된/누락 값 대신 Feign 조회)
+ *  - 컨슈머 그룹/오프셋 커밋 없음 (인스턴스마다 전체 카탈로그를 가짐)
+ *  - 값은 long 하나: 가격(없으면 NO_PRICE), 삭제된 상품은 DELETED로 남겨 Feign 조회 없이 "없음"으로 답함
+ * 복제본에 없는 상품만 호출 측에서 Feign(ProductService)으로 조회한다.
+ *
+ * 재생 시간은 product-result 크기에 비례한다. 토픽은 상품 서비스가 compact로 만들지만(키 = productId, 상품별 최신 이벤트만 유지),
+ * 이미 delete 정책으로 만들어진 토픽은 cleanup.policy=compact로 직접 바꿔야 한다.
+ */
+@Slf4j
+@Component
+public class ProductCatalogReplica {
+
+    private static final String RESULT_TOPIC = "product-result";
+    private static final long NO_PRICE = -1L;
+    private static final long DELETED = Long.MIN_VALUE;
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+
+    private final Map<String, Long> products = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final AvroSchemaCache avroSchemaCache;
+    private final String bootstrapServers;
+    private final Thread replicator = new Thread(this::replicate, "ProductCatalogReplica");
+
+    private volatile Consumer<String, Event> consumer;
+    private volatile boolean running = true;
+    private volatile boolean ready;
+
+    public ProductCatalogReplica(MeterRegistry meterRegistry, AvroSchemaCache avroSchemaCache,
+                                 @Value("${spring.kafka.bootstrap-servers}") String bootstrapServers) {
+        this.avroSchemaCache = avroSchemaCache;
+        this.bootstrapServers = bootstrapServers;
+        this.hits = meterRegistry.counter("product.replica.lookup", "result", "hit");
+        this.misses = meterRegistry.counter("product.replica.lookup", "result", "miss");
+        meterRegistry.gaugeMapSize("product.replica.size", List.of(), products);
+    }
+
+    @PostConstruct
+    public void start() {
+        replicator.setDaemon(true);
+        replicator.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Consumer<String, Event> current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+    }
+
+    /**
+     * 판매 중인 상품인지 (복제본에 없거나 스냅샷 재생 중이면 빈 값 → 호출 측에서 Feign 조회)
+     */
+    public Optional<Boolean> isActive(String productId) {
+        Long value = ready ? products.get(productId) : null;
+        if (value == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(value != DELETED);
+    }
+
+    public OptionalLong price(String productId) {
+        Long value = ready ? products.get(productId) : null;
+        return value == null || value < 0 ? OptionalLong.empty() : OptionalLong.of(value);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    void markReady() {
+        ready = true;
+    }
+
+    void apply(Object event) {
+        if (event instanceof ProductCreatedEvent created) {
+            products.put(created.getProductId(), priceOf(created.getPrice()));
+        } else if (event instanceof ProductUpdatedEvent updated) {
+            products.put(updated.getProductId(), priceOf(updated.getPrice()));
+        } else if (event instanceof ProductDeletedEvent deleted) {
+            products.put(deleted.getProductId(), DELETED);
+        }
+    }
+
+    private static long priceOf(Long price) {
+        return price != null ? price : NO_PRICE;
+    }
+
+    private void replicate() {
+        while (running) {
+            try (Consumer<String, Event> current = newConsumer()) {
+                consumer = current;
+                List<TopicPartition> partitions = current.partitionsFor(RESULT_TOPIC).stream()
+                        .map(info -> new TopicPartition(info.topic(), info.partition()))
+                        .toList();
+                current.assign(partitions);
+                current.seekToBeginning(partitions);
+                Map<TopicPartition, Long> snapshotEnd = current.endOffsets(partitions);
+                long start = System.nanoTime();
+
+                while (running) {
+                    for (ConsumerRecord<String, Event> record : current.poll(POLL_TIMEOUT)) {
+                        if (record.value() != null) {
+                            apply(record.value().getEvent());
+                        }
+                    }
+                    if (!ready && caughtUp(current, snapshotEnd)) {
+                        markReady();
+                        log.info("[ProductReplica] 스냅샷 완료 - products: {}, elapsed: {}ms",
+                                products.size(), (System.nanoTime() - start) / 1_000_000);
+                    }
+                }
+            } catch (WakeupException e) {
+                return;
+            } catch (Exception e) {
+                // 복제본 내용은 유지하고 처음부터 다시 읽음 (그동안 미스는 Feign으로 조회)
+                log.warn("[ProductReplica] 복제 중단, 재시작: {}", e.getMessage());
+                sleepBeforeRetry();
+            }
+        }
+    }
+
+    private Consumer<String, Event> newConsumer() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ConsumerConfig.CLIENT_ID_CONFIG, "product-catalog-replica");
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false); // assign 모드, 그룹/오프셋 커밋 없음
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 5_000);
+        // 로컬 스키마 캐시로 역직렬화 (레코드마다 레지스트리 조회 없음)
+        return new KafkaConsumer<>(config, new StringDeserializer(),
+                new LocalSchemaAvroDeserializer<Event>(avroSchemaCache, Event.getClassSchema()));
+    }
+
+    private static boolean caughtUp(Consumer<String, Event> consumer, Map<TopicPartition, Long> snapshotEnd) {
+        return snapshotEnd.entrySet().stream()
+                .allMatch(entry -> consumer.position(entry.getKey()) >= entry.getValue());
+    }
+
+    private void sleepBeforeRetry() {
+        try {
+            Thread.sleep(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
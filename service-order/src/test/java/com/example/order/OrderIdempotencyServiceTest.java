@@ -0,0 +1,88 @@
+package com.example.order;
+
+import com.example.order.dto.OrderDto;
+import com.example.order.entity.Order;
+import com.example.order.repository.OrderRepository;
+import com.example.order.service.OrderIdempotencyService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class OrderIdempotencyServiceTest {
+
+    private final RedissonClient redissonClient = mock(RedissonClient.class);
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    @SuppressWarnings("unchecked")
+    private final RBucket<String> bucket = mock(RBucket.class);
+    private OrderIdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        when(redissonClient.<String>getBucket(anyString(), eq(StringCodec.INSTANCE))).thenReturn(bucket);
+        service = new OrderIdempotencyService(redissonClient, orderRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("키와 명령 ID는 호출자 범위별로 나뉨")
+    void scopedKeyTest() {
+        when(bucket.trySet(anyString(), anyLong(), eq(TimeUnit.MILLISECONDS))).thenReturn(true);
+
+        OrderIdempotencyService.Reservation reservation = service.reserve("user:alice", "K1", dto("O1"), 100L);
+
+        assertEquals(OrderIdempotencyService.State.RESERVED, reservation.state());
+        verify(redissonClient).getBucket("idempotency-key:order:user:alice:K1", StringCodec.INSTANCE);
+        assertNotEquals(OrderIdempotencyService.commandId("user:alice", "K1"), OrderIdempotencyService.commandId("user:bob", "K1"));
+        assertEquals(OrderIdempotencyService.commandId("user:alice", "K1"), OrderIdempotencyService.commandId("user:alice", "K1"));
+    }
+
+    @Test
+    @DisplayName("배정자가 전송 중이면 주문이 만들어지기 전까지 id를 돌려주지 않음")
+    void pendingReservationTest() {
+        when(bucket.trySet(anyString(), anyLong(), eq(TimeUnit.MILLISECONDS))).thenReturn(true, false, false);
+        service.reserve("store:S1", "K1", dto("O1"), 100L);
+        ArgumentCaptor<String> value = ArgumentCaptor.forClass(String.class);
+        verify(bucket).trySet(value.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        when(bucket.get()).thenReturn(value.getValue());
+
+        when(orderRepository.findByOrderId("O1")).thenReturn(Optional.empty());
+        assertEquals(OrderIdempotencyService.State.IN_PROGRESS, service.reserve("store:S1", "K1", dto("O1"), 200L).state());
+
+        when(orderRepository.findByOrderId("O1")).thenReturn(Optional.of(new Order()));
+        OrderIdempotencyService.Reservation replayed = service.reserve("store:S1", "K1", dto("O1"), 300L);
+        assertEquals(OrderIdempotencyService.State.REPLAYED, replayed.state());
+        assertEquals(100L, replayed.orderId());
+    }
+
+    @Test
+    @DisplayName("전송 완료 기록은 바로 재생, 같은 키에 다른 본문은 거절")
+    void doneAndMismatchTest() {
+        when(bucket.trySet(anyString(), anyLong(), eq(TimeUnit.MILLISECONDS))).thenReturn(false);
+        service.complete("store:S1", "K1", dto("O1"), 100L);
+        ArgumentCaptor<String> value = ArgumentCaptor.forClass(String.class);
+        verify(bucket).set(value.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        when(bucket.get()).thenReturn(value.getValue());
+
+        OrderIdempotencyService.Reservation replayed = service.reserve("store:S1", "K1", dto("O1"), 200L);
+        assertEquals(OrderIdempotencyService.State.REPLAYED, replayed.state());
+        assertEquals(100L, replayed.orderId());
+        verifyNoInteractions(orderRepository);
+
+        assertEquals(OrderIdempotencyService.State.MISMATCH, service.reserve("store:S1", "K1", dto("O2"), 300L).state());
+    }
+
+    private static OrderDto dto(String orderId) {
+        return OrderDto.builder().orderId(orderId).storeId("S1").productId("P1").stockId("ST1").quantity(1L).build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.order;
+
+import com.example.cache.CacheWriter;
+import com.example.kafka.CreateOrderEvent;
+import com.example.kafka.Status;
+import com.example.order.dto.BulkOrderResult;
+import com.example.order.exception.OrderCreationException;
+import com.example.order.repository.OrderRepository;
+import com.example.order.service.OrderLookupService;
+import com.example.order.service.OrderService;
+import com.example.order.service.OrderStatusNotifier;
+import com.example.order.service.OrderWriter;
+import com.example.order.service.ProcessedCommandRecorder;
+import com.example.payment.PaymentService;
+import com.example.stock.dto.StockResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class OrderServiceCreateOrdersTest {
+
+    private final OrderLookupService orderLookupService = mock(OrderLookupService.class);
+    private final OrderWriter orderWriter = mock(OrderWriter.class);
+
+    @BeforeEach
+    void setUp() {
+        when(orderLookupService.lookupAll(anyCollection())).thenReturn(Map.of(
+                "P1", new OrderLookupService.Lookup(true, stock(100)),
+                "P2", new OrderLookupService.Lookup(true, stock(100)),
+                "P3", new OrderLookupService.Lookup(false, null)));
+    }
+
+    @Test
+    @DisplayName("재고별로 묶어 묶음마다 한 번 쓰고, 결과는 요청 순서대로")
+    void groupsByStockAndKeepsOrderTest() throws Exception {
+        List<CreateOrderEvent> events = List.of(
+                event("O1", "P1", "ST1", 1), event("O2", "P2", "ST2", 1), event("O3", "P1", "ST1", 2));
+
+        List<BulkOrderResult> results = orderService(Runnable::run).createOrders(events);
+
+        verify(orderWriter).placeOrders("P1", "ST1", List.of(events.get(0), events.get(2)));
+        verify(orderWriter).placeOrders("P2", "ST2", List.of(events.get(1)));
+        assertEquals(List.of("O1", "O2", "O3"), results.stream().map(BulkOrderResult::getOrderId).toList());
+        assertTrue(results.stream().allMatch(BulkOrderResult::isAccepted));
+    }
+
+    @Test
+    @DisplayName("요청 안의 중복 orderId와 없는 상품은 주문별로 거절")
+    void rejectsDuplicatesAndMissingProductsTest() throws Exception {
+        List<CreateOrderEvent> events = List.of(
+                event("O1", "P1", "ST1", 1), event("O1", "P1", "ST1", 1), event("O2", "P3", "ST3", 1));
+
+        List<BulkOrderResult> results = orderService(Runnable::run).createOrders(events);
+
+        assertTrue(results.get(0).isAccepted());
+        assertEquals("Duplicate orderId in batch", results.get(1).getReason());
+        assertEquals("Product not found: P3", results.get(2).getReason());
+        verify(orderWriter).placeOrders("P1", "ST1", List.of(events.get(0)));
+        verifyNoMoreInteractions(orderWriter);
+    }
+
+    @Test
+    @DisplayName("묶음 쓰기가 실패하거나 재고가 부족하면 그 묶음만 거절")
+    void rejectsFailedGroupOnlyTest() throws Exception {
+        List<CreateOrderEvent> events = List.of(
+                event("O1", "P1", "ST1", 1), event("O2", "P2", "ST2", 101), event("O3", "P1", "ST1", 1), event("O4", "P1", "ST4", 1));
+        when(orderWriter.placeOrders(eq("P1"), eq("ST1"), anyList())).thenThrow(new OrderCreationException("재고 차감 실패"));
+
+        List<BulkOrderResult> results = orderService(Runnable::run).createOrders(events);
+
+        assertEquals("재고 차감 실패", results.get(0).getReason());
+        assertEquals("Insufficient stock for product: P2", results.get(1).getReason());
+        assertEquals("재고 차감 실패", results.get(2).getReason());
+        assertTrue(results.get(3).isAccepted());
+        verify(orderWriter, never()).placeOrders(eq("P2"), anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("쓰기 실행기가 제출을 거절한 묶음만 거절하고 나머지는 처리")
+    void rejectsGroupWhenWriteExecutorIsFullTest() throws Exception {
+        AtomicInteger submitted = new AtomicInteger();
+        Executor fullAfterFirst = task -> {
+            if (submitted.incrementAndGet() > 1) {
+                throw new RejectedExecutionException("queue full");
+            }
+            task.run();
+        };
+        List<CreateOrderEvent> events = List.of(event("O1", "P1", "ST1", 1), event("O2", "P2", "ST2", 1));
+
+        List<BulkOrderResult> results = orderService(fullAfterFirst).createOrders(events);
+
+        assertTrue(results.get(0).isAccepted());
+        assertFalse(results.get(1).isAccepted());
+        assertEquals("Too many concurrent bulk orders, retry later", results.get(1).getReason());
+        verify(orderWriter, never()).placeOrders(eq("P2"), anyString(), anyList());
+    }
+
+    private OrderService orderService(Executor orderWriteExecutor) {
+        return new OrderService(mock(OrderRepository.class), mock(CacheWriter.class), mock(PaymentService.class),
+                orderLookupService, orderWriter, orderWriteExecutor, mock(ProcessedCommandRecorder.class),
+                mock(OrderStatusNotifier.class));
+    }
+
+    private static CreateOrderEvent event(String orderId, String productId, String stockId, long quantity) {
+        return new CreateOrderEvent(1L, orderId, "S001", productId, stockId, "PAY-" + orderId, quantity, 1000L, "CARD", Status.PENDING);
+    }
+
+    private static StockResponse stock(long quantity) {
+        StockResponse stock = new StockResponse();
+        stock.setStock(quantity);
+        return stock;
+    }
+}
@@ -2,12 +2,19 @@ package com.example.order;
 
 
 import cn.hutool.core.lang.Snowflake;
+import com.example.cache.CacheWriter;
 import com.example.kafka.CreateOrderEvent;
 import com.example.kafka.UpdateOrderEvent;
 import com.example.order.entity.Order;
+import com.example.order.entity.OrderStatus;
 import com.example.order.exception.OrderNotFoundException;
 import com.example.order.repository.OrderRepository;
+import com.example.order.exception.OrderCreationException;
+import com.example.order.service.OrderLookupService;
 import com.example.order.service.OrderService;
+import com.example.order.service.OrderStatusNotifier;
+import com.example.order.service.OrderWriter;
+import com.example.order.service.ProcessedCommandRecorder;
 import com.example.payment.dto.PaymentStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -26,6 +33,21 @@ public class OrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private ProcessedCommandRecorder processedCommandRecorder;
+
+    @Mock
+    private OrderLookupService orderLookupService;
+
+    @Mock
+    private OrderWriter orderWriter;
+
+    @Mock
+    private CacheWriter cacheWriter;
+
+    @Mock
+    private OrderStatusNotifier orderStatusNotifier;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -70,6 +92,17 @@ public class OrderServiceTest {
 //    }
 
 
+    @Test
+    @DisplayName("상품이 없으면 락/쓰기 구간에 들어가지 않음")
+    void createOrder_ProductNotFound() throws Exception {
+        CreateOrderEvent event = new CreateOrderEvent();
+        event.setProductId("P001");
+        when(orderLookupService.lookup("P001")).thenReturn(new OrderLookupService.Lookup(false, null));
+
+        assertThrows(OrderCreationException.class, () -> orderService.createOrder(event));
+        verifyNoInteractions(orderWriter);
+    }
+
     @Test
     @DisplayName("주문 조회")
     void readOrderTest() {
@@ -81,6 +114,18 @@ public class OrderServiceTest {
         verify(orderRepository, times(1)).findByOrderId(orderId);
     }
 
+    @Test
+    @DisplayName("주문 상태 변경 시 주문 캐시를 새 상태로 갱신 (스트림이 이전 상태를 보지 않음)")
+    void updateOrderStatusRefreshesCacheTest() {
+        when(orderRepository.findByOrderId(orderId)).thenReturn(Optional.of(defaultOrder));
+
+        orderService.updateOrderStatus(orderId, OrderStatus.PAID);
+
+        assertEquals(OrderStatus.PAID, defaultOrder.getOrderStatus());
+        verify(cacheWriter).write("order:", orderId, defaultOrder, 3600);
+        verify(orderStatusNotifier).notifyAfterCommit(orderId, OrderStatus.PAID);
+    }
+
     @Test
     @DisplayName("주문 삭제")
     void deleteOrderTest() {
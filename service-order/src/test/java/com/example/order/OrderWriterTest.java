@@ -0,0 +1,147 @@
+package com.example.order;
+
+import com.example.cache.CacheWriter;
+import com.example.entity.Event;
+import com.example.events.EventSendPipeline;
+import com.example.kafka.CreateOrderEvent;
+import com.example.kafka.Status;
+import com.example.order.entity.Order;
+import com.example.order.repository.OrderRepository;
+import com.example.order.service.OrderStatusNotifier;
+import com.example.order.service.OrderWriter;
+import com.example.order.service.ProcessedCommandRecorder;
+import com.example.outbox.OutboxEvent;
+import com.example.outbox.OutboxEventRepository;
+import com.example.publisher.OutboxDispatcher;
+import com.example.publisher.OutboxPageRelay;
+import com.example.saga.OrderSagaOrchestrator;
+import com.example.stock.StockService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderWriterTest {
+
+    @Mock
+    private KafkaTemplate<String, com.example.kafka.Event> kafkaTemplate;
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private CacheWriter cacheWriter;
+    @Mock
+    private StockService stockService;
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private OutboxDispatcher outboxDispatcher;
+    @Mock
+    private ProcessedCommandRecorder processedCommandRecorder;
+    @Mock
+    private OrderSagaOrchestrator orderSagaOrchestrator;
+    @Mock
+    private OrderStatusNotifier orderStatusNotifier;
+
+    @Mock
+    private KafkaTemplate<String, String> relayTemplate;
+    @Mock
+    private EventSendPipeline eventSendPipeline;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private OrderWriter orderWriter;
+    private CreateOrderEvent event;
+
+    @BeforeEach
+    void setUp() {
+        orderWriter = new OrderWriter(kafkaTemplate, orderRepository, cacheWriter, stockService, objectMapper,
+                outboxEventRepository, outboxDispatcher, processedCommandRecorder, orderSagaOrchestrator, orderStatusNotifier);
+        event = new CreateOrderEvent(1L, "O001", "S001", "P001", "ST01", "PAY001", 2L, 3000L, "CARD", Status.PENDING);
+    }
+
+    @Test
+    @DisplayName("주문 생성 시 OrderCreated Outbox 행은 Event 페이로드로 미발행 저장하고 커밋 후 발행 예약")
+    void placeOrderSavesOutboxRowAndDispatchesTest() throws Exception {
+        orderWriter.placeOrder("P001", event);
+
+        OutboxEvent row = savedOutboxRow();
+        assertEquals("OrderCreated", row.getType());
+        assertEquals("O001", row.getAggregateId());
+        assertFalse(row.isPublished());
+
+        Event payload = objectMapper.readValue(row.getPayload(), Event.class);
+        assertEquals("OrderCreated", payload.getType());
+        assertEquals("O001", payload.getOrderId());
+        assertEquals("ST01", payload.getStockId());
+        assertEquals(2L, payload.getQuantity());
+        verify(outboxDispatcher).dispatchAfterCommit(row);
+    }
+
+    @Test
+    @DisplayName("placeOrder 행을 릴레이하면 order-events로 Event JSON을 보내고 발행 완료 표시")
+    void relayPlaceOrderRowTest() throws Exception {
+        orderWriter.placeOrder("P001", event);
+        OutboxEvent row = savedOutboxRow();
+        row.setId(10L);
+        when(outboxEventRepository.claimUnpublishedByIds(List.of(10L))).thenReturn(List.of(row));
+        when(eventSendPipeline.send(relayTemplate, "order-events", "O001", row.getPayload(), "outbox-10"))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        OutboxPageRelay.RelayResult result = relay().relayIds(List.of(10L));
+
+        assertEquals(1, result.claimed());
+        assertFalse(result.hasFailures());
+        verify(outboxEventRepository).markPublished(List.of(10L));
+    }
+
+    @Test
+    @DisplayName("이전 버전이 남긴 주문 JSON 행은 보내지 않고 발행 완료 표시 (무한 재선점 없음)")
+    void relayLegacyRowTest() throws Exception {
+        OutboxEvent legacy = OutboxEvent.create("O001", "OrderCreated", "{\"orderId\":\"O001\",\"quantity\":2}");
+        legacy.setId(11L);
+        when(outboxEventRepository.claimUnpublishedByIds(List.of(11L))).thenReturn(List.of(legacy));
+
+        OutboxPageRelay.RelayResult result = relay().relayIds(List.of(11L));
+
+        assertEquals(1, result.published());
+        verify(outboxEventRepository).markPublished(List.of(11L));
+        verifyNoInteractions(eventSendPipeline);
+    }
+
+    @Test
+    @DisplayName("일괄 주문은 요청의 Snowflake id를 그대로 쓰는 새 엔티티로 저장 (merge SELECT 없이 INSERT 배치)")
+    void placeOrdersSavesNewEntitiesTest() throws Exception {
+        CreateOrderEvent second = new CreateOrderEvent(2L, "O002", "S001", "P001", "ST01", "PAY002", 1L, 1500L, "CARD", Status.PENDING);
+        when(stockService.decreaseStock("ST01", 3L)).thenReturn(true);
+
+        orderWriter.placeOrders("P001", "ST01", List.of(event, second));
+
+        ArgumentCaptor<List<Order>> saved = ArgumentCaptor.forClass(List.class);
+        verify(orderRepository).saveAllAndFlush(saved.capture());
+        assertEquals(List.of(1L, 2L), saved.getValue().stream().map(Order::getId).toList());
+        assertTrue(saved.getValue().stream().allMatch(Order::isNew));
+    }
+
+    private OutboxPageRelay relay() {
+        return new OutboxPageRelay(outboxEventRepository, relayTemplate, objectMapper, eventSendPipeline, new SimpleMeterRegistry());
+    }
+
+    private OutboxEvent savedOutboxRow() {
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.product;
+
+import com.example.events.AvroSchemaCache;
+import com.example.kafka.ProductCreatedEvent;
+import com.example.kafka.ProductDeletedEvent;
+import com.example.kafka.ProductUpdatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ProductCatalogReplicaTest {
+
+    private final ProductCatalogReplica replica = new ProductCatalogReplica(new SimpleMeterRegistry(), mock(AvroSchemaCache.class), "localhost:10000");
+
+    @Test
+    @DisplayName("생성/수정/삭제 이벤트 반영")
+    void applyEvents() {
+        replica.markReady();
+        assertEquals(Optional.empty(), replica.isActive("P001")); // 미스 → Feign 조회 대상
+
+        replica.apply(new ProductCreatedEvent(1L, "P001", "상품", 1000L));
+        assertEquals(Optional.of(true), replica.isActive("P001"));
+        assertEquals(OptionalLong.of(1000L), replica.price("P001"));
+
+        replica.apply(new ProductUpdatedEvent(1L, "P001", "상품", null)); // 가격 없는 이전 이벤트
+        assertEquals(Optional.of(true), replica.isActive("P001"));
+        assertEquals(OptionalLong.empty(), replica.price("P001"));
+
+        replica.apply(new ProductDeletedEvent("P001"));
+        assertEquals(Optional.of(false), replica.isActive("P001"));
+        assertEquals(OptionalLong.empty(), replica.price("P001"));
+    }
+
+    @Test
+    @DisplayName("스냅샷 재생이 끝나기 전에는 미스로 답함 (Feign 조회)")
+    void notReadyFallsBackToFeign() {
+        replica.apply(new ProductCreatedEvent(1L, "P001", "상품", 1000L));
+        assertEquals(Optional.empty(), replica.isActive("P001"));
+        assertEquals(OptionalLong.empty(), replica.price("P001"));
+
+        replica.markReady();
+        assertEquals(Optional.of(true), replica.isActive("P001"));
+        assertEquals(OptionalLong.of(1000L), replica.price("P001"));
+    }
+}
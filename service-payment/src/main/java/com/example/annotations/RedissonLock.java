@@ -13,4 +13,20 @@ public @interface RedissonLock {
     long waitTime() default 5000L; // 락 획득 대기 시간 (기본값: 5000ms)
     long leaseTime() default 2000L; // 락 점유 시간 (기본값: 2000ms, -1 설정 시 자동 연장)
     boolean transactional() default false;
+    boolean localLock() default true; // Redis 락 앞단에 JVM 내부 스트라이프 락을 먼저 잡을지 여부
+
+    /**
+     * 비동기 락 모드 (CompletableFuture 반환 메서드 전용)
+     * 락 대기 중 호출 스레드를 점유하지 않고, 반환된 Future가 완료되면 락을 해제한다.
+     * 스레드에 묶이는 transactional, localLock 설정은 이 모드에서 무시된다.
+     */
+    boolean async() default false;
+    int maxWaiters() default 1000; // 비동기 모드에서 키당 최대 대기 수 (초과 시 즉시 실패)
+
+    /**
+     * 관측된 점유 시간 p99 기반 lease 사용 (leaseTime은 상한으로만 사용)
+     * 짧은 lease로 잡고, 임계 구역이 길어지면 워치독이 lease/3 주기로 갱신한다.
+     */
+    boolean adaptiveLease() default false;
+    boolean fencing() default false; // 락 키별 단조 증가 펜싱 토큰 발급 (LockContext.currentFencingToken()으로 조회)
 }
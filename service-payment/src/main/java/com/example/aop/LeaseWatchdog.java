@@ -0,0 +1,97 @@
+package com.example.aop;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 짧은 lease를 안전하게 쓰기 위한 락 갱신 워치독
+ *
+ * 임계 구역이 끝날 때까지 lease/3 주기로 TTL을 lease만큼 다시 연장한다.
+ * 프로세스가 죽으면 갱신이 멈추므로 짧은 lease 이후 락이 자연히 풀린다.
+ * 갱신은 여전히 같은 소유자(Redisson id:ownerId)가 락을 갖고 있을 때만 수행된다.
+ */
+@Slf4j
+@Component
+public class LeaseWatchdog {
+
+    // Redisson 락 해시에 소유자 필드가 있을 때만 TTL 연장
+    private static final String RENEW_SCRIPT =
+            "if (redis.call('hexists', KEYS[1], ARGV[2]) == 1) then " +
+                    "redis.call('pexpire', KEYS[1], ARGV[1]); " +
+                    "return 1; " +
+            "end; " +
+            "return 0;";
+
+    private final RedissonClient redissonClient;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "LockWatchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LeaseWatchdog(RedissonClient redissonClient) {
+        this.redissonClient = redissonClient;
+    }
+
+    /**
+     * 갱신 시작
+     *
+     * @param onLost 갱신 시점에 이미 락을 잃었을 때 호출 (lease 만료)
+     * @return 락 해제 시 반드시 cancel() 해야 하는 갱신 핸들
+     */
+    public Renewal start(String lockKey, long ownerId, long leaseMillis, Consumer<String> onLost) {
+        String owner = redissonClient.getId() + ":" + ownerId;
+        long period = Math.max(1L, leaseMillis / 3);
+        Renewal renewal = new Renewal();
+        renewal.future = scheduler.scheduleAtFixedRate(() -> renew(lockKey, owner, leaseMillis, renewal, onLost),
+                period, period, TimeUnit.MILLISECONDS);
+        return renewal;
+    }
+
+    private void renew(String lockKey, String owner, long leaseMillis, Renewal renewal, Consumer<String> onLost) {
+        redissonClient.getScript(StringCodec.INSTANCE)
+                .<Boolean>evalAsync(RScript.Mode.READ_WRITE, RENEW_SCRIPT, RScript.ReturnType.BOOLEAN,
+                        List.of(lockKey), String.valueOf(leaseMillis), owner)
+                .whenComplete((renewed, ex) -> {
+                    if (ex != null) {
+                        log.warn("[LeaseWatchdog] 락 갱신 실패: {}", lockKey, ex);
+                    } else if (!Boolean.TRUE.equals(renewed) && !renewal.isCancelled()) {
+                        log.warn("[LeaseWatchdog] 갱신 시점에 락을 이미 잃음: {}", lockKey);
+                        renewal.cancel();
+                        onLost.accept(lockKey);
+                    }
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    public static class Renewal {
+        private volatile ScheduledFuture<?> future;
+        private volatile boolean cancelled;
+
+        public void cancel() {
+            cancelled = true;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
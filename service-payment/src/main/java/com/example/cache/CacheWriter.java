@@ -0,0 +1,55 @@
+package com.example.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static com.example.util.CacheKeyUtil.*;
+
+/**
+ * WRITE 캐시 반영 (Redis + 로컬 캐시 + Pub/Sub)
+ *
+ * @Cached(type = WRITE)와 같은 동작을 코드에서 직접 호출할 때 사용한다. (배치 저장처럼 결과가 여러 건인 경우)
+ * 트랜잭션이 활성화되어 있으면 커밋 후에, 아니면 즉시 반영한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheWriter {
+    private final Cache<String, Object> localCache;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final CachePublisher cachePublisher;
+
+    public void write(String prefix, String key, Object value, long ttl) {
+        String cacheKey = buildFullKey(prefix, key);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(prefix, key, cacheKey, value, ttl);
+                    log.info("[WRITE] Cached and published (TX afterCommit): {}", cacheKey);
+                }
+            });
+        } else {
+            put(prefix, key, cacheKey, value, ttl);
+            log.info("[WRITE] Cached immediately (no TX) and published: {}", cacheKey);
+        }
+    }
+
+    private void put(String prefix, String key, String cacheKey, Object value, long ttl) {
+        try {
+            redisTemplate.opsForValue().set(cacheKey, value, Duration.ofSeconds(ttl));
+        } catch (Exception e) {
+            log.error("[WRITE] Redis 캐시 저장 실패 - key: {}, error: {}", cacheKey, e.getMessage(), e);
+        }
+        localCache.put(cacheKey, value);
+        cachePublisher.publish(getDefaultChannel(), buildEventMessage(CacheType.WRITE, prefix, key));
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.apache.avro.specific.SpecificRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 공용 Kafka 발행 파이프라인
+ *
+ * - kafkaTemplate.send는 비동기로 두고, 완료 콜백에서 ack 지연/성공/실패를 메트릭으로 남긴다
+ * - 브로커 응답을 기다리는 전송 수(in-flight)를 제한한다. 한도에 닿으면 잠깐 기다리고, 그래도 자리가 없으면
+ *   호출 스레드를 붙잡지 않고 실패한 Future를 돌려준다 (버퍼가 무한정 쌓이는 것 방지)
+ * - 배치/linger/압축/멱등성 같은 프로듀서 튜닝은 KafkaProducerConfig에서 설정
+ */
+@Slf4j
+@Component
+public class EventSendPipeline {
+
+    /** 이벤트 고유 ID 헤더 (컨슈머 중복 확인용) */
+    public static final String EVENT_ID_HEADER = "x-event-id";
+
+    private static final int MAX_IN_FLIGHT = 10_000;
+    private static final long MAX_ACQUIRE_WAIT_MS = 200;
+
+    private final MeterRegistry meterRegistry;
+    private final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+    private final Counter rejected;
+
+    public EventSendPipeline(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.rejected = meterRegistry.counter("kafka.producer.rejected");
+        meterRegistry.gauge("kafka.producer.in.flight", inFlight, permits -> MAX_IN_FLIGHT - permits.availablePermits());
+    }
+
+    public <V> CompletableFuture<SendResult<String, V>> send(KafkaTemplate<String, V> kafkaTemplate,
+                                                             String topic, String key, V value) {
+        return send(kafkaTemplate, topic, key, value, UUID.randomUUID().toString());
+    }
+
+    /**
+     * 이벤트 ID를 지정해 발행 (같은 명령을 다시 보낼 때 같은 ID를 쓰면 컨슈머에서 중복으로 걸러짐)
+     */
+    public <V> CompletableFuture<SendResult<String, V>> send(KafkaTemplate<String, V> kafkaTemplate,
+                                                             String topic, String key, V value, String eventId) {
+        if (!acquire()) {
+            rejected.increment();
+            log.warn("[EventSendPipeline] in-flight 한도 초과로 전송 거절 - topic: {}, key: {}", topic, key);
+            return CompletableFuture.failedFuture(new IllegalStateException("Kafka in-flight 한도 초과: " + topic));
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<SendResult<String, V>> future;
+        try {
+            ProducerRecord<String, V> record = new ProducerRecord<>(topic, key, value);
+            record.headers().add(EVENT_ID_HEADER, eventId.getBytes(StandardCharsets.UTF_8));
+            future = kafkaTemplate.send(record);
+        } catch (RuntimeException e) {
+            inFlight.release();
+            record(topic, start, e);
+            throw e;
+        }
+        return future.whenComplete((result, ex) -> {
+            inFlight.release();
+            record(topic, start, ex);
+        });
+    }
+
+    /**
+     * 발행 키 추출: Avro 이벤트의 지정 필드 값 (stockId, orderId 등)
+     * 같은 엔티티의 이벤트가 같은 파티션으로 가도록 키를 지정한다
+     */
+    public static String keyOf(Object event, String keyField) {
+        if (event instanceof SpecificRecord record) {
+            Schema.Field field = record.getSchema().getField(keyField);
+            if (field != null) {
+                Object value = record.get(field.pos());
+                return value != null ? value.toString() : null;
+            }
+        }
+        return null;
+    }
+
+    private boolean acquire() {
+        try {
+            return inFlight.tryAcquire(MAX_ACQUIRE_WAIT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void record(String topic, long start, Throwable ex) {
+        String outcome = ex == null ? "success" : "error";
+        Timer.builder("kafka.producer.ack")
+                .description("send 호출부터 브로커 ack까지 걸린 시간")
+                .tag("topic", topic)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (ex != null) {
+            log.error("[EventSendPipeline] Kafka 전송 실패 - topic: {}", topic, ex);
+        }
+    }
+}
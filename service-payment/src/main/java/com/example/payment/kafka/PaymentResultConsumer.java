@@ -1,7 +1,7 @@
 package com.example.payment.kafka;
 
-import com.example.events.EventEntity;
-import com.example.events.EventRepository;
+import com.example.events.AuditLogWriter;
+import com.example.events.ListenerMetrics;
 import com.example.kafka.Event;
 import com.example.kafka.PaymentCreatedEvent;
 import com.example.kafka.PaymentDeletedEvent;
@@ -12,17 +12,20 @@ import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PaymentResultConsumer {
 
-    private final EventRepository eventRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final ListenerMetrics listenerMetrics;
 
     @KafkaListener(topics = "payment-result", groupId = "Payment-group")
     public void onCommandEvent(ConsumerRecord<String, Event> record) {
+        listenerMetrics.timeHandler(record.topic(), record.value().getEvent(), () -> handleResultEvent(record));
+    }
+
+    private void handleResultEvent(ConsumerRecord<String, Event> record) {
         log.info("Received command event: {}", record.value());;
         Object event = record.value().getEvent();
 
@@ -39,45 +42,16 @@ public class PaymentResultConsumer {
 
     private void handlePaymentCreated(PaymentCreatedEvent evt) {
         log.info("[ResultConsumer] PaymentCreated: {}", evt);
-        EventEntity entity = EventEntity.builder()
-                .eventType("CreatePaymentEvent")
-                .payload(String.format("PaymentId=%s, OrderId=%s, Amount=%d, PaymentMethod=%s, Status=%s",
-                        evt.getPaymentId(),
-                        evt.getOrderId(),
-                        evt.getAmount(),
-                        evt.getPaymentMethod(),
-                        evt.getPaymentStatus()))
-                .eventTime(LocalDateTime.now())
-                .status("SUCCESS")
-                .build();
-        eventRepository.save(entity);
+        auditLogWriter.write("CreatePaymentEvent", evt);
     }
 
     private void handlePaymentUpdated(PaymentUpdatedEvent evt) {
         log.info("[ResultConsumer] PaymentUpdated: {}", evt);
-        EventEntity entity = EventEntity.builder()
-                .eventType("PaymentUpdatedEvent")
-                .payload(String.format(
-                        "PaymentId=%s, PaymentMethod=%s, Amount=%d, PaymentStatus=%s",
-                        evt.getPaymentId(),
-                        evt.getPaymentMethod(),
-                        evt.getAmount(),
-                        evt.getPaymentStatus().name() // Enum 값을 문자열로 변환
-                ))
-                .eventTime(LocalDateTime.now())
-                .status("SUCCESS")
-                .build();
-        eventRepository.save(entity);
+        auditLogWriter.write("PaymentUpdatedEvent", evt);
     }
 
     private void handlePaymentDeleted(PaymentDeletedEvent evt) {
         log.info("[ResultConsumer] PaymentDeleted: {}", evt);
-        EventEntity entity = EventEntity.builder()
-                .eventType("PaymentDeletedEvent")
-                .payload("PaymentId=" + evt.getPaymentId())
-                .eventTime(LocalDateTime.now())
-                .status("SUCCESS")
-                .build();
-        eventRepository.save(entity);
+        auditLogWriter.write("PaymentDeletedEvent", evt);
     }
 }
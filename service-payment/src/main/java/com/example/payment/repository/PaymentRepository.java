@@ -3,6 +3,8 @@ package com.example.payment.repository;
 import com.example.payment.entity.Payment;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -15,6 +17,7 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     // 결제 ID로 결제 조회
     Optional<Payment> findByPaymentId(String paymentId);
+    List<Payment> findAllByPaymentIdIn(Collection<String> paymentIds);
 
     // 주문 ID로 결제 조회
     Optional<Payment> findByOrderId(String orderId);
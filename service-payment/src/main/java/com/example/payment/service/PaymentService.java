@@ -2,6 +2,7 @@ package com.example.payment.service;
 
 import com.example.annotations.Cached;
 import com.example.cache.CacheType;
+import com.example.cache.CacheWriter;
 import com.example.kafka.CreatePaymentEvent;
 import com.example.kafka.UpdatePaymentEvent;
 import com.example.payment.entity.Payment;
@@ -15,6 +16,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * 결제 서비스
  *
@@ -27,6 +33,7 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class PaymentService {
     private final PaymentRepository paymentRepository;
+    private final CacheWriter cacheWriter;
 
     @Cached(prefix = "payment:", key = "#result.paymentId", ttl = 3600, type = CacheType.WRITE, cacheNull = true)
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -79,6 +86,59 @@ public class PaymentService {
         return savedPayment;
     }
 
+    /**
+     * 일괄 생성 (배치 리스너용)
+     *  - 한 트랜잭션에서 saveAll 후 flush → JDBC 배치
+     *  - 한 건이라도 실패하면 전체 롤백 후 예외, 호출 측에서 건별 처리로 전환
+     *  - 캐시는 커밋 후 건별 반영
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<Payment> createPayments(List<CreatePaymentEvent> events) {
+        List<Payment> payments = events.stream()
+                .map(event -> Payment.builder()
+                        .id(event.getId())
+                        .paymentId(event.getPaymentId())
+                        .orderId(event.getOrderId())
+                        .amount(event.getAmount())
+                        .paymentMethod(event.getPaymentMethod())
+                        .paymentStatus(event.getPaymentStatus())
+                        .build())
+                .toList();
+
+        List<Payment> savedPayments = paymentRepository.saveAllAndFlush(payments);
+        savedPayments.forEach(payment -> cacheWriter.write("payment:", payment.getPaymentId(), payment, 3600));
+        return savedPayments;
+    }
+
+    /**
+     * 일괄 수정 (배치 리스너용)
+     *  - 대상을 IN 조회 한 번으로 읽고, 한 트랜잭션에서 saveAll
+     *  - 이벤트 순서대로 반환 (같은 대상이 여러 번 오면 마지막 값이 반영됨)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<Payment> updatePayments(List<UpdatePaymentEvent> events) {
+        List<String> paymentIds = events.stream().map(UpdatePaymentEvent::getPaymentId).distinct().toList();
+        Map<String, Payment> payments = paymentRepository.findAllByPaymentIdIn(paymentIds).stream()
+                .collect(Collectors.toMap(Payment::getPaymentId, Function.identity()));
+
+        List<Payment> updatedPayments = events.stream()
+                .map(event -> {
+                    Payment payment = payments.get(event.getPaymentId());
+                    if (payment == null) {
+                        throw new EntityNotFoundException("Payment not found: " + event.getPaymentId());
+                    }
+                    payment.setPaymentStatus(event.getPaymentStatus());
+                    payment.setPaymentMethod(event.getPaymentMethod());
+                    payment.setAmount(event.getAmount());
+                    return payment;
+                })
+                .toList();
+
+        paymentRepository.saveAllAndFlush(payments.values());
+        payments.values().forEach(payment -> cacheWriter.write("payment:", payment.getPaymentId(), payment, 3600));
+        return updatedPayments;
+    }
+
     @Cached(prefix = "payment:", key = "#paymentId", ttl = 3600, type = CacheType.DELETE, cacheNull = true)
     public void deletePayment(String paymentId) {
         Payment payment = paymentRepository.findByPaymentId(paymentId)
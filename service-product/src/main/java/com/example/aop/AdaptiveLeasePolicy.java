@@ -0,0 +1,48 @@
+package com.example.aop;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalDouble;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 관측된 점유 시간 분포로 lease를 정하는 정책
+ *
+ * lease = clamp(p99 점유 시간 × HEADROOM, MIN_LEASE, 어노테이션 leaseTime)
+ * 표본이 충분하지 않으면 어노테이션의 leaseTime을 그대로 쓴다.
+ * 어노테이션 leaseTime은 상한으로만 쓰이고, 그보다 오래 걸리는 구간은 워치독 갱신으로 버틴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdaptiveLeasePolicy {
+
+    private static final long MIN_LEASE_MILLIS = 200L;
+    private static final double HEADROOM = 3.0;
+    private static final long MIN_SAMPLES = 50L;
+
+    private final LockMetrics lockMetrics;
+
+    // 스냅샷 계산 비용을 줄이기 위해 메서드별 lease를 잠시 캐시
+    private final Cache<String, Long> leaseCache = Caffeine.newBuilder()
+            .expireAfterWrite(5, TimeUnit.SECONDS)
+            .maximumSize(1000)
+            .build();
+
+    public long leaseMillis(String lockKey, String method, long configuredLeaseMillis) {
+        if (configuredLeaseMillis <= 0) {
+            return configuredLeaseMillis; // -1(자동 연장)은 그대로 유지
+        }
+        String prefix = LockMetrics.prefixOf(lockKey);
+        return leaseCache.get(prefix + "|" + method, k -> {
+            OptionalDouble p99 = lockMetrics.holdPercentileMillis(prefix, method, 0.99, MIN_SAMPLES);
+            if (p99.isEmpty()) {
+                return configuredLeaseMillis;
+            }
+            long lease = (long) Math.ceil(p99.getAsDouble() * HEADROOM);
+            return Math.min(configuredLeaseMillis, Math.max(MIN_LEASE_MILLIS, lease));
+        });
+    }
+}
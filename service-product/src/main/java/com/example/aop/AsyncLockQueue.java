@@ -0,0 +1,56 @@
+package com.example.aop;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 비동기 락 모드의 키별 대기열 카운터
+ *
+ * 대기 중인 요청은 스레드가 아니라 CompletableFuture로 보관되므로 스레드 수와 무관하게 쌓일 수 있다.
+ * 대신 키당 최대 대기 수(maxWaiters)를 넘으면 즉시 실패시켜 핫 키 하나가 메모리를 잠식하지 않도록 한다.
+ */
+@Component
+public class AsyncLockQueue {
+
+    private final ConcurrentHashMap<String, Integer> pending = new ConcurrentHashMap<>();
+    private final AtomicLong ownerSequence = new AtomicLong();
+
+    /**
+     * 대기열 진입 시도 (점유 중인 요청 포함)
+     *
+     * @return 대기열이 가득 찼으면 false
+     */
+    public boolean tryEnter(String lockKey, int maxWaiters) {
+        boolean[] entered = {false};
+        pending.compute(lockKey, (key, count) -> {
+            int current = (count == null) ? 0 : count;
+            if (current >= maxWaiters) {
+                return count;
+            }
+            entered[0] = true;
+            return current + 1;
+        });
+        return entered[0];
+    }
+
+    /**
+     * 대기열 이탈 - 0이 되면 키 자체를 제거해 맵이 무한히 커지지 않도록 한다
+     */
+    public void leave(String lockKey) {
+        pending.computeIfPresent(lockKey, (key, count) -> count <= 1 ? null : count - 1);
+    }
+
+    public int size(String lockKey) {
+        return pending.getOrDefault(lockKey, 0);
+    }
+
+    /**
+     * Redisson 락 소유자 식별자
+     * 비동기 모드는 스레드에 묶이지 않으므로 실제 스레드 ID와 겹치지 않도록 음수 시퀀스를 사용한다.
+     */
+    public long nextOwnerId() {
+        return -ownerSequence.incrementAndGet();
+    }
+}
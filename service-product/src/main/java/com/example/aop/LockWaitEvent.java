@@ -0,0 +1,30 @@
+package com.example.aop;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 락 대기 JFR 이벤트
+ * JFR 녹화 시 "StockFlow > Lock" 카테고리에서 키별 대기 시간과 획득 여부를 확인할 수 있다.
+ */
+@Name("com.example.LockWait")
+@Label("Lock Wait")
+@Category({"StockFlow", "Lock"})
+@Description("@RedissonLock 락 획득 대기 구간")
+public class LockWaitEvent extends Event {
+
+    @Label("Lock Key")
+    public String lockKey;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Mode")
+    public String mode;
+
+    @Label("Acquired")
+    public boolean acquired;
+}
@@ -1,25 +1,22 @@
 package com.example.aop;
 
 import lombok.extern.slf4j.Slf4j;
-import org.redisson.api.RLock;
 import org.springframework.transaction.support.TransactionSynchronization;
 
 @Slf4j
 public class TransactionSync implements TransactionSynchronization {
-    private final RLock lock;
     private final String lockKey;
+    private final Runnable release; // 락 해제 로직 (Redis 락 → 로컬 락 해제 및 점유 시간 기록)
 
-    public TransactionSync(RLock lock, String lockKey){
-        this.lock = lock;
+    public TransactionSync(String lockKey, Runnable release){
         this.lockKey = lockKey;
+        this.release = release;
     }
 
     @Override
     public void afterCompletion(int status) {
-        if (lock.isHeldByCurrentThread()) { // 현재 쓰레드가 락을 소유하고 있는지 확인
-            lock.unlock();
-            log.info("[TransactionSync] 트랜잭션 종료 후 락 해제: {}", lockKey);
-        }
+        release.run();
+        log.info("[TransactionSync] 트랜잭션 종료 후 락 해제: {}", lockKey);
     }
 
 }
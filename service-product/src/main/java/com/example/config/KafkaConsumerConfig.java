@@ -1,7 +1,10 @@
 package com.example.config;
 
+import com.example.events.AvroSchemaCache;
+import com.example.events.ListenerMetrics;
+import com.example.events.LocalSchemaAvroDeserializer;
 import com.example.kafka.Event;
-import io.confluent.kafka.serializers.KafkaAvroDeserializer;
+import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.context.annotation.Bean;
@@ -10,22 +13,27 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 
 @EnableKafka
 @Configuration
+@RequiredArgsConstructor
 public class KafkaConsumerConfig {
+    private final AvroSchemaCache avroSchemaCache;
+    private final ListenerMetrics listenerMetrics;
+
     @Bean
     public ConsumerFactory<String, Event> consumerFactory() {
         Map<String, Object> config = new HashMap<>();
         config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:10000");
         config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, KafkaAvroDeserializer.class); // Avro 역직렬화
-        config.put("schema.registry.url", "http://localhost:9001"); // Schema Registry 설정
-        config.put("specific.avro.reader", true); // Avro Specific 클래스를 사용
-        return new DefaultKafkaConsumerFactory<>(config);
+        // Avro 역직렬화: writer 스키마 ID별 reader/decoder를 스레드마다 재사용, Specific 클래스(Event)로 읽음
+        return new DefaultKafkaConsumerFactory<>(config, new StringDeserializer(),
+                new LocalSchemaAvroDeserializer<>(avroSchemaCache, Event.getClassSchema()));
     }
 
     @Bean
@@ -33,6 +41,45 @@ public class KafkaConsumerConfig {
         ConcurrentKafkaListenerContainerFactory<String, Event> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        factory.setRecordInterceptor(listenerMetrics.recordInterceptor()); // 수신 건수, e2e 지연
+        factory.getContainerProperties().setConsumerRebalanceListener(listenerMetrics);
+        return factory;
+    }
+
+    /**
+     * 배치 리스너 컨테이너 팩토리
+     * - 한 번의 poll 결과(최대 500건)를 List로 전달해 명령 구간 단위 일괄 저장에 사용
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Event> batchKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Event> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setBatchInterceptor(listenerMetrics.batchInterceptor()); // 수신 건수, e2e 지연
+        factory.getContainerProperties().setConsumerRebalanceListener(listenerMetrics);
+        factory.setBatchListener(true);
+
+        Properties batchProps = new Properties();
+        batchProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 500);
+        batchProps.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 64 * 1024); // 한 번에 넉넉히 받아오도록
+        batchProps.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, 50);
+        factory.getContainerProperties().setKafkaConsumerProperties(batchProps);
+        return factory;
+    }
+
+    /**
+     * 재시도 토픽 리스너 컨테이너 팩토리
+     * - 레코드 단위 수동 ack: 재시도 시각 전이면 nack(지연)로 해당 파티션만 잠시 멈춤
+     * - 원래 명령 토픽 컨테이너와 분리돼 있어 재시도 대기가 새 명령 처리를 막지 않음
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Event> retryKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Event> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setRecordInterceptor(listenerMetrics.recordInterceptor()); // 수신 건수, e2e 지연
+        factory.getContainerProperties().setConsumerRebalanceListener(listenerMetrics);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
         return factory;
     }
 }
@@ -1,13 +1,16 @@
 package com.example.config;
 
+import com.example.events.AvroSchemaCache;
+import com.example.events.LocalSchemaAvroSerializer;
 import com.example.kafka.Event;
-import io.confluent.kafka.serializers.KafkaAvroSerializer;
+import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
@@ -18,15 +21,37 @@ import java.util.Map;
 
 @EnableKafka
 @Configuration
+@RequiredArgsConstructor
 public class KafkaProducerConfig {
+    private final AvroSchemaCache avroSchemaCache;
+
     @Bean
     public ProducerFactory<String, Event> producerFactory() {
         Map<String, Object> config = new HashMap<>();
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:10000");
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, KafkaAvroSerializer.class); // Avro 직렬화
-        config.put("schema.registry.url", "http://localhost:9001"); // Schema Registry 설정
-        return new DefaultKafkaProducerFactory<>(config);
+        config.putAll(throughputConfig()); // 배치/linger/압축/멱등성 튜닝
+        // Avro 직렬화: 시작 시 확인한 스키마 ID를 로컬 캐시에서 사용 (레코드마다 레지스트리 조회 없음)
+        return new DefaultKafkaProducerFactory<>(config, new StringSerializer(), new LocalSchemaAvroSerializer<>(avroSchemaCache));
+    }
+
+    /**
+     * 프로듀서 처리량 튜닝 값
+     * - batch.size / linger.ms: 짧게 모아서 보내 요청 수를 줄임 (지연은 linger만큼 증가)
+     * - lz4 압축: CPU 부담이 적고 배치가 클수록 효과가 큼
+     * - 멱등성 + acks=all: 재시도해도 중복/순서 뒤바뀜 없이 전달 (in-flight 5 이하 유지)
+     */
+    public static Map<String, Object> throughputConfig() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, 64 * 1024);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        config.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 64L * 1024 * 1024);
+        config.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, 5_000); // 버퍼가 가득 차도 send가 오래 막히지 않도록
+        return config;
     }
 
     @Bean
@@ -38,7 +63,13 @@ public class KafkaProducerConfig {
     public List<NewTopic> topics() {
         return List.of(
                 new NewTopic("product-command", 1, (short) 1),
-                new NewTopic("product-result", 1, (short) 1)
+                // 주문 서비스 카탈로그 복제본이 처음부터 재생 → 키(productId)별 최신 이벤트만 유지
+                TopicBuilder.name("product-result").partitions(1).replicas(1).compact().build(),
+                // 실패 명령 재시도 단계 / DLT
+                new NewTopic("product-command-retry-0", 1, (short) 1),
+                new NewTopic("product-command-retry-1", 1, (short) 1),
+                new NewTopic("product-command-retry-2", 1, (short) 1),
+                new NewTopic("product-command-dlt", 1, (short) 1)
         );
     }
 }
@@ -0,0 +1,36 @@
+package com.example.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 분산 락 관련 설정
+ * - lockTaskExecutor: 비동기 락(@RedissonLock(async = true)) 획득 후 본문을 실행하는 스레드 풀
+ *   락 대기는 스레드를 점유하지 않으므로 락을 실제로 잡은 작업 수만큼만 있으면 된다.
+ *   virtual-threads 프로필에서는 작업마다 가상 스레드로 실행 (동시 실행 한도만 둠)
+ */
+@Configuration
+public class LockConfig {
+
+    @Bean(name = "lockTaskExecutor")
+    @Profile("!virtual-threads")
+    public Executor lockTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);     // 기본 스레드 수
+        executor.setMaxPoolSize(16);     // 최대 스레드 수
+        executor.setQueueCapacity(200);  // 대기 큐 사이즈
+        executor.setThreadNamePrefix("LockTask-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "lockTaskExecutor")
+    @Profile("virtual-threads")
+    public Executor virtualLockTaskExecutor() {
+        return VirtualThreadConfig.executor("LockTask-", 200); // 큐 200 + 최대 16 대신 동시 실행 한도만 둠
+    }
+}
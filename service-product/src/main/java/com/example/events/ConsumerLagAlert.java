@@ -0,0 +1,12 @@
+package com.example.events;
+
+/**
+ * 컨슈머 랙 경보 (ConsumerLagMonitor가 ApplicationEvent로 발행)
+ *
+ * @param group              컨슈머 그룹
+ * @param totalLag           그룹 전체 랙 (레코드 수)
+ * @param growthPerSecond    직전 점검 대비 초당 랙 증가량 (음수면 따라잡는 중)
+ * @param scaleOutSuggested  랙이 임계치를 넘은 채 계속 늘고 있으면 true (컨슈머/파티션 증설 힌트)
+ */
+public record ConsumerLagAlert(String group, long totalLag, double growthPerSecond, boolean scaleOutSuggested) {
+}
@@ -0,0 +1,25 @@
+package com.example.events;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 컨슈머 그룹별 파티션 랙 조회 (actuator: /actuator/consumerlag)
+ * 마지막 점검 시점 값이며 점검 주기는 ConsumerLagMonitor 참고
+ */
+@Component
+@Endpoint(id = "consumerlag")
+@RequiredArgsConstructor
+public class ConsumerLagEndpoint {
+
+    private final ConsumerLagMonitor consumerLagMonitor;
+
+    @ReadOperation
+    public Map<String, Map<String, Long>> lags() {
+        return consumerLagMonitor.snapshot();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.events;
+
+import com.example.kafka.Event;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * DLT 일괄 재처리
+ *
+ * 원인을 고친 뒤 DLT에 쌓인 명령을 원래 명령 토픽으로 다시 발행한다.
+ * 재처리 위치는 DLT별 전용 컨슈머 그룹(<DLT>-replay)의 커밋 오프셋으로 관리하므로
+ * 여러 번 호출해도 이미 재발행한 레코드는 다시 보내지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DltReplayService {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    private static final int MAX_EMPTY_POLLS = 3; // 첫 poll은 그룹 참여 때문에 비어 있을 수 있음
+
+    private final ConsumerFactory<String, Event> consumerFactory;
+    private final KafkaTemplate<String, Event> kafkaTemplate;
+
+    /**
+     * DLT 레코드를 최대 maxRecords건 원래 토픽으로 재발행
+     * - 재시도 횟수/실패 사유 헤더는 지우고 나머지 원본 헤더는 유지 → 재시도 단계를 처음부터 다시 밟음
+     * - 재발행이 모두 ack된 뒤에만 오프셋 커밋
+     *
+     * @return 재발행한 레코드 수
+     */
+    public int replay(String dltTopic, int maxRecords) {
+        Properties props = new Properties();
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, Math.min(maxRecords, 500));
+
+        try (Consumer<String, Event> consumer = consumerFactory.createConsumer(dltTopic + "-replay", null, null, props)) {
+            consumer.subscribe(List.of(dltTopic));
+
+            List<CompletableFuture<SendResult<String, Event>>> futures = new ArrayList<>();
+            Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+            int emptyPolls = 0;
+
+            while (futures.size() < maxRecords && emptyPolls < MAX_EMPTY_POLLS) {
+                ConsumerRecords<String, Event> records = consumer.poll(POLL_TIMEOUT);
+                if (records.isEmpty()) {
+                    emptyPolls++;
+                    continue;
+                }
+                emptyPolls = 0;
+
+                for (ConsumerRecord<String, Event> record : records) {
+                    if (futures.size() >= maxRecords) {
+                        break;
+                    }
+                    futures.add(kafkaTemplate.send(toOriginal(record, dltTopic)));
+                    offsets.put(new TopicPartition(record.topic(), record.partition()),
+                            new OffsetAndMetadata(record.offset() + 1));
+                }
+            }
+
+            // 하나라도 실패하면 커밋하지 않음 → 다음 호출에서 다시 시도 (중복 재발행은 명령 처리의 멱등성에 맡김)
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            if (!offsets.isEmpty()) {
+                consumer.commitSync(offsets);
+            }
+
+            log.info("[DltReplay] {} records replayed from {}", futures.size(), dltTopic);
+            return futures.size();
+        }
+    }
+
+    private static ProducerRecord<String, Event> toOriginal(ConsumerRecord<String, Event> record, String dltTopic) {
+        Header original = record.headers().lastHeader(CommandRetryRouter.ORIGINAL_TOPIC_HEADER);
+        String topic = original != null
+                ? new String(original.value(), StandardCharsets.UTF_8)
+                : dltTopic.substring(0, dltTopic.length() - "-dlt".length());
+        return new ProducerRecord<>(topic, null, record.key(), record.value(), CommandRetryRouter.copyHeaders(record));
+    }
+}
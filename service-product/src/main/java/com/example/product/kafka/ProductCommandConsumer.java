@@ -1,15 +1,24 @@
 package com.example.product.kafka;
 
 
+import com.example.events.CommandRetryRouter;
+import com.example.events.ListenerMetrics;
 import com.example.kafka.*;
 import com.example.product.entity.Product;
 import com.example.product.service.ProductService;
+import com.example.util.CommandRuns;
+import com.example.util.KeyOrderedDispatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -17,74 +26,205 @@ public class ProductCommandConsumer {
 
     private final ProductService productService;
     private final ProductEventProducer eventProducer;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
+    private final CommandRetryRouter commandRetryRouter;
+    private final ListenerMetrics listenerMetrics;
+
+    /**
+     * 배치 리스너
+     *  - poll 결과를 같은 종류의 명령이 연속된 구간으로 나눠 처리 (파티션 내 순서 유지)
+     *  - 생성/수정 구간은 한 트랜잭션에서 일괄 저장, 실패하면 건별 처리로 전환해 실패 레코드만 격리
+     *  - 그 외 명령은 건별 처리
+     *  - 레코드 키(productId) 기준으로 레인을 나눠 병렬 처리, 같은 키는 순서대로 처리
+     *  - 처리에 실패한 레코드는 재시도 토픽(단계별 지연) → DLT로 넘기고 다음 레코드를 계속 처리
+     *  - 결과 이벤트는 모아서 한 번에 발행
+     */
+    @KafkaListener(topics = "product-command", groupId = "Product-group", containerFactory = "batchKafkaListenerContainerFactory")
+    public void onCommandEvents(List<ConsumerRecord<String, Event>> records) {
+        log.info("Received batch: {} records", records.size());
+        List<Object> outcomes = keyOrderedDispatcher.dispatch(records, ProductCommandConsumer::commandKey, this::handleRecords);
+        // 실패 레코드는 레인 처리가 모두 끝난 뒤 리스너 스레드에서 라우팅 (오프셋 커밋 전)
+        eventProducer.sendResultEvents(commandRetryRouter.routeFailures(outcomes));
+    }
 
-    @KafkaListener(topics = "product-command", groupId = "Product-group")
-    public void onCommandEvent(ConsumerRecord<String, Event> record) {
-        log.info("Received record: {}", record);
-        Object event = record.value().getEvent();
+    /**
+     * 재시도 토픽 리스너 (단계별로 별도 컨테이너)
+     *  - 재시도 시각 전이면 nack로 해당 파티션만 남은 시간만큼 멈춤, 원래 명령 토픽 처리는 계속 진행
+     *  - 다시 실패하면 다음 재시도 단계 또는 DLT로 이동
+     */
+    @KafkaListener(topics = "product-command-retry-0", groupId = "Product-group-retry", containerFactory = "retryKafkaListenerContainerFactory")
+    @KafkaListener(topics = "product-command-retry-1", groupId = "Product-group-retry", containerFactory = "retryKafkaListenerContainerFactory")
+    @KafkaListener(topics = "product-command-retry-2", groupId = "Product-group-retry", containerFactory = "retryKafkaListenerContainerFactory")
+    public void onRetryEvent(ConsumerRecord<String, Event> record, Acknowledgment ack) {
+        long delay = CommandRetryRouter.remainingDelay(record);
+        if (delay > 0) {
+            ack.nack(Duration.ofMillis(delay));
+            return;
+        }
+        Object result = onCommandEvent(record);
+        if (result instanceof CommandRetryRouter.Failure failure) {
+            commandRetryRouter.route(failure.record(), failure.cause());
+        } else if (result != null) {
+            eventProducer.sendResultEvent(result);
+        }
+        ack.acknowledge();
+    }
 
-        if (event instanceof CreateProductEvent) {
-            handleCreateProduct((CreateProductEvent) event);
-        } else if (event instanceof UpdateProductEvent) {
-            handleUpdateProduct((UpdateProductEvent) event);
-        } else if (event instanceof DeleteProductEvent) {
-            handleDeleteProduct((DeleteProductEvent) event);
-        } else {
-            log.warn("Unknown command event: {}", record);
+    /**
+     * 레인 하나의 레코드 처리 (도착 순서대로)
+     */
+    private List<Object> handleRecords(List<ConsumerRecord<String, Event>> records) {
+        List<Object> results = new ArrayList<>(records.size());
+        for (List<ConsumerRecord<String, Event>> run : CommandRuns.split(records, ProductCommandConsumer::commandType)) {
+            Object first = commandOf(run.get(0));
+            if (first instanceof CreateProductEvent) {
+                listenerMetrics.timeHandler(run.get(0).topic(), first, () -> handleCreateProducts(run, results));
+            } else if (first instanceof UpdateProductEvent) {
+                listenerMetrics.timeHandler(run.get(0).topic(), first, () -> handleUpdateProducts(run, results));
+            } else {
+                run.forEach(record -> addResult(results, onCommandEvent(record)));
+            }
         }
+        return results;
+    }
+
+    /**
+     * 레코드 하나 처리 (이벤트 타입별 처리 시간 기록)
+     */
+    private Object onCommandEvent(ConsumerRecord<String, Event> record) {
+        return listenerMetrics.timeHandler(record.topic(), commandOf(record), () -> handleCommandEvent(record));
     }
 
-    private void handleCreateProduct(CreateProductEvent event) {
+    private Object handleCommandEvent(ConsumerRecord<String, Event> record) {
+        log.info("Received record: {}", record);
+        Object event = commandOf(record);
+
         try {
-            log.info("[CommandConsumer] Creating Product: {}", event);
-            Product product = productService.createProduct(event);
+            if (event instanceof CreateProductEvent) {
+                return handleCreateProduct((CreateProductEvent) event);
+            } else if (event instanceof UpdateProductEvent) {
+                return handleUpdateProduct((UpdateProductEvent) event);
+            } else if (event instanceof DeleteProductEvent) {
+                return handleDeleteProduct((DeleteProductEvent) event);
+            } else {
+                log.warn("Unknown command event: {}", record);
+                return null;
+            }
+        } catch (Exception e) {
+            // 실패 레코드는 리스너 스레드로 넘겨 재시도 토픽/DLT로 보내고, 다음 레코드 처리 계속
+            log.error("[CommandConsumer] Failed to handle record: {}", record, e);
+            return new CommandRetryRouter.Failure(record, e);
+        }
+    }
 
-            // 결과 이벤트
-            ProductCreatedEvent result = new ProductCreatedEvent(
+    private void handleCreateProducts(List<ConsumerRecord<String, Event>> run, List<Object> results) {
+        List<CreateProductEvent> events = commandsOf(run, CreateProductEvent.class);
+        try {
+            log.info("[CommandConsumer] Creating {} products in batch", events.size());
+            productService.createProducts(events).forEach(product -> results.add(new ProductCreatedEvent(
                     product.getId(),
                     product.getProductId(),
-                    product.getName()
-            );
-            eventProducer.sendResultEvent(result);
-
+                    product.getName(),
+                    product.getPrice()
+            )));
         } catch (Exception e) {
-            log.error("[CommandConsumer] Error in handleCreateProduct: ", e);
-            // 실패 시 별도 실패 이벤트 발행 가능
+            log.warn("[CommandConsumer] Batch create failed, retrying per record: {}", e.getMessage());
+            run.forEach(record -> addResult(results, onCommandEvent(record)));
         }
     }
 
-    private void handleUpdateProduct(UpdateProductEvent event) {
+    private void handleUpdateProducts(List<ConsumerRecord<String, Event>> run, List<Object> results) {
+        List<UpdateProductEvent> events = commandsOf(run, UpdateProductEvent.class);
         try {
-            log.info("[CommandConsumer] Updating Product: {}", event);
-
-            Product product = productService.updateProduct(event);
-
-            // 결과 이벤트
-            ProductUpdatedEvent result = new ProductUpdatedEvent(
+            log.info("[CommandConsumer] Updating {} products in batch", events.size());
+            productService.updateProducts(events).forEach(product -> results.add(new ProductUpdatedEvent(
                     product.getId(),
                     product.getProductId(),
-                    product.getName()
-            );
-            eventProducer.sendResultEvent(result);
-
+                    product.getName(),
+                    product.getPrice()
+            )));
         } catch (Exception e) {
-            log.error("[CommandConsumer] Error in handleUpdateProduct: ", e);
+            log.warn("[CommandConsumer] Batch update failed, retrying per record: {}", e.getMessage());
+            run.forEach(record -> addResult(results, onCommandEvent(record)));
         }
     }
 
-    private void handleDeleteProduct(DeleteProductEvent event) {
-        try {
-            log.info("[CommandConsumer] Deleting Product: {}", event);
-            productService.deleteProduct(event.getProductId());
+    private Object handleCreateProduct(CreateProductEvent event) {
+        log.info("[CommandConsumer] Creating Product: {}", event);
+        Product product = productService.createProduct(event);
+
+        // 결과 이벤트
+        ProductCreatedEvent result = new ProductCreatedEvent(
+                product.getId(),
+                product.getProductId(),
+                product.getName(),
+                product.getPrice()
+        );
+        return result;
+    }
 
-            // 결과 이벤트
-            ProductDeletedEvent result = new ProductDeletedEvent(
-                    event.getProductId()
-            );
-            eventProducer.sendResultEvent(result);
+    private Object handleUpdateProduct(UpdateProductEvent event) {
+        log.info("[CommandConsumer] Updating Product: {}", event);
 
-        } catch (Exception e) {
-            log.error("[CommandConsumer] Error in handleDeleteProduct: ", e);
+        Product product = productService.updateProduct(event);
+
+        // 결과 이벤트
+        ProductUpdatedEvent result = new ProductUpdatedEvent(
+                product.getId(),
+                product.getProductId(),
+                product.getName(),
+                product.getPrice()
+        );
+        return result;
+    }
+
+    private Object handleDeleteProduct(DeleteProductEvent event) {
+        log.info("[CommandConsumer] Deleting Product: {}", event);
+        productService.deleteProduct(event.getProductId());
+
+        // 결과 이벤트
+        ProductDeletedEvent result = new ProductDeletedEvent(
+                event.getProductId()
+        );
+        return result;
+    }
+
+    private static Object commandOf(ConsumerRecord<String, Event> record) {
+        return record.value() != null ? record.value().getEvent() : null;
+    }
+
+    /**
+     * 레코드 키, 키 없이 발행된 레코드는 명령의 productId 사용
+     */
+    private static String commandKey(ConsumerRecord<String, Event> record) {
+        if (record.key() != null) {
+            return record.key();
+        }
+        Object event = commandOf(record);
+        if (event instanceof CreateProductEvent) {
+            return ((CreateProductEvent) event).getProductId();
+        }
+        if (event instanceof UpdateProductEvent) {
+            return ((UpdateProductEvent) event).getProductId();
+        }
+        if (event instanceof DeleteProductEvent) {
+            return ((DeleteProductEvent) event).getProductId();
+        }
+        return null;
+    }
+
+    private static Class<?> commandType(ConsumerRecord<String, Event> record) {
+        Object event = commandOf(record);
+        return event != null ? event.getClass() : null;
+    }
+
+    private static <T> List<T> commandsOf(List<ConsumerRecord<String, Event>> run, Class<T> type) {
+        return run.stream().map(record -> type.cast(commandOf(record))).toList();
+    }
+
+    private static void addResult(List<Object> results, Object result) {
+        if (result != null) {
+            results.add(result);
         }
     }
 }
@@ -1,7 +1,7 @@
 package com.example.product.kafka;
 
-import com.example.events.EventEntity;
-import com.example.events.EventRepository;
+import com.example.events.AuditLogWriter;
+import com.example.events.ListenerMetrics;
 import com.example.kafka.Event;
 import com.example.kafka.ProductCreatedEvent;
 import com.example.kafka.ProductDeletedEvent;
@@ -12,17 +12,20 @@ import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProductResultConsumer {
 
-    private final EventRepository eventRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final ListenerMetrics listenerMetrics;
 
     @KafkaListener(topics = "product-result", groupId = "Product-group")
     public void onCommandEvent(ConsumerRecord<String, Event> record) {
+        listenerMetrics.timeHandler(record.topic(), record.value().getEvent(), () -> handleResultEvent(record));
+    }
+
+    private void handleResultEvent(ConsumerRecord<String, Event> record) {
         log.info("Received command event: {}", record.value());;
         Object event = record.value().getEvent();
 
@@ -39,34 +42,16 @@ public class ProductResultConsumer {
 
     private void handleProductCreated(ProductCreatedEvent evt) {
         log.info("[ResultConsumer] ProductCreated: {}", evt);
-        EventEntity entity = EventEntity.builder()
-                .eventType("ProductCreatedEvent")
-                .payload("ProductId=" + evt.getId() + ", ProductName=" + evt.getName())
-                .eventTime(LocalDateTime.now())
-                .status("SUCCESS")
-                .build();
-        eventRepository.save(entity);
+        auditLogWriter.write("ProductCreatedEvent", evt);
     }
 
     private void handleProductUpdated(ProductUpdatedEvent evt) {
         log.info("[ResultConsumer] ProductUpdated: {}", evt);
-        EventEntity entity = EventEntity.builder()
-                .eventType("ProductUpdatedEvent")
-                .payload("ProductId=" + evt.getId() + ", ProductName=" + evt.getName())
-                .eventTime(LocalDateTime.now())
-                .status("SUCCESS")
-                .build();
-        eventRepository.save(entity);
+        auditLogWriter.write("ProductUpdatedEvent", evt);
     }
 
     private void handleProductDeleted(ProductDeletedEvent evt) {
         log.info("[ResultConsumer] ProductDeleted: {}", evt);
-        EventEntity entity = EventEntity.builder()
-                .eventType("ProductDeletedEvent")
-                .payload("ProductId=" + evt.getProductId())
-                .eventTime(LocalDateTime.now())
-                .status("SUCCESS")
-                .build();
-        eventRepository.save(entity);
+        auditLogWriter.write("ProductDeletedEvent", evt);
     }
 }
@@ -3,6 +3,8 @@ package com.example.product.repository;
 import com.example.product.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -13,4 +15,5 @@ import java.util.Optional;
  */
 public interface ProductRepository extends JpaRepository<Product, Long> {
     Optional<Product> findByProductId(String productId);
+    List<Product> findAllByProductIdIn(Collection<String> productIds);
 }
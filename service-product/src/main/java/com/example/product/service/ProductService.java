@@ -3,6 +3,7 @@ package com.example.product.service;
 import cn.hutool.core.lang.Snowflake;
 import com.example.annotations.Cached;
 import com.example.cache.CacheType;
+import com.example.cache.CacheWriter;
 import com.example.kafka.CreateProductEvent;
 import com.example.kafka.UpdateProductEvent;
 import com.example.product.dto.ProductDto;
@@ -19,6 +20,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 public class ProductService {
@@ -26,6 +32,8 @@ public class ProductService {
 
     private final ProductRepository productRepository;
 
+    private final CacheWriter cacheWriter;
+
     @Cached(prefix = "product:", key = "#result.productId", ttl = 3600, type = CacheType.WRITE, cacheNull = true)
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public Product createProduct(CreateProductEvent event) {
@@ -80,6 +88,58 @@ public class ProductService {
         return savedProduct;
     }
 
+    /**
+     * 일괄 생성 (배치 리스너용)
+     *  - 한 트랜잭션에서 saveAll 후 flush → JDBC 배치
+     *  - 한 건이라도 실패하면 전체 롤백 후 예외, 호출 측에서 건별 처리로 전환
+     *  - 캐시는 커밋 후 건별 반영
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<Product> createProducts(List<CreateProductEvent> events) {
+        List<Product> products = events.stream()
+                .map(event -> Product.builder()
+                        .id(event.getId())
+                        .productId(event.getProductId())
+                        .name(event.getName())
+                        .price(event.getPrice())
+                        .content(event.getContent())
+                        .build())
+                .toList();
+
+        List<Product> savedProducts = productRepository.saveAllAndFlush(products);
+        savedProducts.forEach(product -> cacheWriter.write("product:", product.getProductId(), product, 3600));
+        return savedProducts;
+    }
+
+    /**
+     * 일괄 수정 (배치 리스너용)
+     *  - 대상을 IN 조회 한 번으로 읽고, 한 트랜잭션에서 saveAll
+     *  - 이벤트 순서대로 반환 (같은 대상이 여러 번 오면 마지막 값이 반영됨)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<Product> updateProducts(List<UpdateProductEvent> events) {
+        List<String> productIds = events.stream().map(UpdateProductEvent::getProductId).distinct().toList();
+        Map<String, Product> products = productRepository.findAllByProductIdIn(productIds).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+
+        List<Product> updatedProducts = events.stream()
+                .map(event -> {
+                    Product product = products.get(event.getProductId());
+                    if (product == null) {
+                        throw new EntityNotFoundException("Product not found: " + event.getProductId());
+                    }
+                    product.setContent(event.getContent());
+                    product.setPrice(event.getPrice());
+                    product.setName(event.getName());
+                    return product;
+                })
+                .toList();
+
+        productRepository.saveAllAndFlush(products.values());
+        products.values().forEach(product -> cacheWriter.write("product:", product.getProductId(), product, 3600));
+        return updatedProducts;
+    }
+
     @Cached(prefix = "product:", key = "#productId", ttl = 3600, type = CacheType.DELETE, cacheNull = true)
     public void deleteProduct(String productId) {
         Product product = productRepository.findByProductId(productId)
@@ -0,0 +1,109 @@
+package com.example.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 로컬 블룸 필터 (스레드 안전)
+ *
+ * mightContain이 false면 넣은 적 없는 값이 확실하고, true면 오탐 확률(fpp) 안에서 넣은 값일 수 있다.
+ * 두 세대로 나눠 현재 세대에 expectedInsertions만큼 들어가면 이전 세대를 버리고 새 세대를 시작한다.
+ * 오래된 값은 결국 빠지지만(거짓 음성 가능) 오탐률은 시간이 지나도 설정값 근처로 유지된다.
+ */
+public class BloomFilter {
+
+    private final int expectedInsertions;
+    private final int bitCount;
+    private final int hashCount;
+    private final AtomicInteger insertions = new AtomicInteger();
+
+    private volatile AtomicLongArray current;
+    private volatile AtomicLongArray previous;
+
+    public BloomFilter(int expectedInsertions, double fpp) {
+        if (expectedInsertions <= 0 || fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("expectedInsertions > 0, 0 < fpp < 1 이어야 합니다");
+        }
+        this.expectedInsertions = expectedInsertions;
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.min(Math.max(bits, 64), Integer.MAX_VALUE - 63);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.current = newBits();
+        this.previous = newBits();
+    }
+
+    public void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        AtomicLongArray bits = current;
+        for (int i = 1; i <= hashCount; i++) {
+            set(bits, index(h1 + i * h2));
+        }
+        if (insertions.incrementAndGet() >= expectedInsertions) {
+            rotate();
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return contains(current, h1, h2) || contains(previous, h1, h2);
+    }
+
+    private boolean contains(AtomicLongArray bits, int h1, int h2) {
+        for (int i = 1; i <= hashCount; i++) {
+            int index = index(h1 + i * h2);
+            if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private synchronized void rotate() {
+        if (insertions.get() < expectedInsertions) {
+            return; // 다른 스레드가 이미 세대를 넘김
+        }
+        previous = current;
+        current = newBits();
+        insertions.set(0);
+    }
+
+    private AtomicLongArray newBits() {
+        return new AtomicLongArray((bitCount + 63) >>> 6);
+    }
+
+    private int index(int combined) {
+        return (combined & Integer.MAX_VALUE) % bitCount;
+    }
+
+    private static void set(AtomicLongArray bits, int index) {
+        int word = index >>> 6;
+        long mask = 1L << index;
+        long old;
+        do {
+            old = bits.get(word);
+            if ((old & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, old, old | mask));
+    }
+
+    /**
+     * FNV-1a 64비트 + 비트 섞기 (상위/하위 32비트를 두 해시로 사용하는 double hashing)
+     */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= (h >>> 33);
+        h *= 0xff51afd7ed558ccdL;
+        h ^= (h >>> 33);
+        return h;
+    }
+}
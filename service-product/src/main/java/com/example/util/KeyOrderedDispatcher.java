@@ -0,0 +1,99 @@
+package com.example.util;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 키 순서 보장 병렬 처리기
+ *
+ * 파티션 하나에서 받은 레코드를 키(stockId, orderId 등) 해시로 레인에 나눠 레인끼리는 병렬로 처리한다.
+ * 같은 키는 항상 같은 레인에서 도착 순서대로 처리되므로 키 단위 순서는 유지된다.
+ * 모든 레인이 끝나야 반환하므로, 배치 리스너의 오프셋은 배치 전체가 완료된 뒤에만 커밋된다.
+ */
+@Slf4j
+@Component
+public class KeyOrderedDispatcher {
+
+    private static final int DEFAULT_LANES = 8; // 2의 거듭제곱이어야 함
+
+    private final int mask;
+    private final ExecutorService workers;
+
+    public KeyOrderedDispatcher() {
+        this(DEFAULT_LANES);
+    }
+
+    public KeyOrderedDispatcher(int lanes) {
+        if (lanes <= 0 || Integer.bitCount(lanes) != 1) {
+            throw new IllegalArgumentException("lanes는 2의 거듭제곱이어야 합니다: " + lanes);
+        }
+        this.mask = lanes - 1;
+        AtomicInteger sequence = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(lanes, runnable -> {
+            Thread thread = new Thread(runnable, "CommandWorker-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 키별 레인으로 나눠 병렬 처리 후 결과를 모아 반환
+     * - laneWork는 레인 하나의 레코드 목록(도착 순서)을 받아 결과 목록을 반환
+     * - 키가 없는 레코드는 한 레인으로 모아 순서대로 처리
+     * - 레인이 하나뿐이면 호출 스레드에서 바로 처리
+     */
+    public <T, R> List<R> dispatch(List<T> items, Function<T, String> keyOf, Function<List<T>, List<R>> laneWork) {
+        List<List<T>> lanes = new ArrayList<>(mask + 1);
+        for (int i = 0; i <= mask; i++) {
+            lanes.add(new ArrayList<>());
+        }
+        for (T item : items) {
+            lanes.get(laneOf(keyOf.apply(item))).add(item);
+        }
+
+        List<List<T>> activeLanes = lanes.stream().filter(lane -> !lane.isEmpty()).toList();
+        if (activeLanes.size() <= 1) {
+            return activeLanes.isEmpty() ? List.of() : laneWork.apply(activeLanes.get(0));
+        }
+
+        List<CompletableFuture<List<R>>> futures = activeLanes.stream()
+                .map(lane -> CompletableFuture.supplyAsync(() -> laneWork.apply(lane), workers))
+                .toList();
+
+        try {
+            // 하나라도 실패하면 예외 → 배치 오프셋이 커밋되지 않고 재전달됨
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            log.error("[KeyOrderedDispatcher] 레인 처리 실패", e.getCause());
+            throw e;
+        }
+
+        List<R> results = new ArrayList<>();
+        futures.forEach(future -> results.addAll(future.join()));
+        return results;
+    }
+
+    private int laneOf(String key) {
+        if (key == null) {
+            return 0;
+        }
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return h & mask;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.util;
+
+/**
+ * 재시도하면 성공할 수 있는 실패 표시
+ *
+ * 비즈니스 예외는 기본적으로 재시도 없이 DLT로 보내지만,
+ * 이 인터페이스를 구현한 예외는 재시도 토픽으로 보낸다 (예: lease 만료로 거부된 쓰기).
+ */
+public interface TransientFailure {
+}
@@ -0,0 +1,28 @@
+package com.example.config;
+
+import com.example.events.AvroSchemaCache;
+import com.example.kafka.Event;
+import io.confluent.kafka.schemaregistry.client.CachedSchemaRegistryClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Avro 직렬화 스키마 설정
+ * - writer 스키마는 빌드 시 avsc에서 생성된 Event 클래스의 스키마를 사용
+ * - 레지스트리는 시작 시 검증에만 사용하고 이후에는 로컬 캐시로 직렬화/역직렬화
+ */
+@Configuration
+public class AvroSerdeConfig {
+    @Bean
+    public AvroSchemaCache avroSchemaCache() {
+        AvroSchemaCache avroSchemaCache = new AvroSchemaCache(
+                new CachedSchemaRegistryClient("http://localhost:9001", 100), // Schema Registry 설정
+                Event.getClassSchema(),
+                List.of("stock-command", "stock-result", "stock-snapshot")
+        );
+        avroSchemaCache.init();
+        return avroSchemaCache;
+    }
+}
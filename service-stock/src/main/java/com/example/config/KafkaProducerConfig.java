@@ -1,10 +1,14 @@
 package com.example.config;
 
+import com.example.events.AvroSchemaCache;
+import com.example.events.LocalSchemaAvroSerializer;
 import com.example.kafka.Event;
-import io.confluent.kafka.serializers.KafkaAvroSerializer;
+import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.config.TopicConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
@@ -18,27 +22,74 @@ import java.util.Map;
 
 @EnableKafka
 @Configuration
+@RequiredArgsConstructor
 public class KafkaProducerConfig {
+    private final AvroSchemaCache avroSchemaCache;
+
+    /**
+     * 트랜잭션 ID 접두사 (인스턴스마다 달라야 함, 같으면 레플리카끼리 서로의 프로듀서를 펜싱)
+     * 기본값은 호스트명(파드 이름), 없으면 임의 UUID
+     */
+    @Value("${stock-command.transaction-id-prefix}")
+    private String transactionIdPrefix;
+
     @Bean
     public ProducerFactory<String, Event> producerFactory() {
         Map<String, Object> config = new HashMap<>();
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:10000");
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, KafkaAvroSerializer.class); // Avro 직렬화
-        config.put("schema.registry.url", "http://localhost:9001"); // Schema Registry 설정
-        return new DefaultKafkaProducerFactory<>(config);
+        config.putAll(throughputConfig()); // 배치/linger/압축/멱등성 튜닝
+        // Avro 직렬화: 시작 시 확인한 스키마 ID를 로컬 캐시에서 사용 (레코드마다 레지스트리 조회 없음)
+        DefaultKafkaProducerFactory<String, Event> factory =
+                new DefaultKafkaProducerFactory<>(config, new StringSerializer(), new LocalSchemaAvroSerializer<>(avroSchemaCache));
+        // stock-command 처리 컨테이너의 Kafka 트랜잭션(결과 발행 + 오프셋 커밋)에 사용
+        factory.setTransactionIdPrefix(transactionIdPrefix);
+        return factory;
+    }
+
+    /**
+     * 프로듀서 처리량 튜닝 값
+     * - batch.size / linger.ms: 짧게 모아서 보내 요청 수를 줄임 (지연은 linger만큼 증가)
+     * - lz4 압축: CPU 부담이 적고 배치가 클수록 효과가 큼
+     * - 멱등성 + acks=all: 재시도해도 중복/순서 뒤바뀜 없이 전달 (in-flight 5 이하 유지)
+     */
+    public static Map<String, Object> throughputConfig() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, 64 * 1024);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        config.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 64L * 1024 * 1024);
+        config.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, 5_000); // 버퍼가 가득 차도 send가 오래 막히지 않도록
+        return config;
     }
 
+    /**
+     * 컨테이너 트랜잭션 안(stock-command 리스너 스레드)의 발행은 트랜잭션으로,
+     * 그 밖(REST 요청, 재시도 라우팅 등)의 발행은 기존처럼 비트랜잭션 프로듀서로 보낸다
+     */
     @Bean
     public KafkaTemplate<String, Event> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+        KafkaTemplate<String, Event> template = new KafkaTemplate<>(producerFactory());
+        template.setAllowNonTransactional(true);
+        return template;
     }
 
     @Bean
     public List<NewTopic> topics() {
         return List.of(
                 new NewTopic("stock-command", 1, (short) 1),
-                new NewTopic("stock-result", 1, (short) 1)
+                new NewTopic("stock-result", 1, (short) 1),
+                // 실패 명령 재시도 단계 / DLT
+                new NewTopic("stock-command-retry-0", 1, (short) 1),
+                new NewTopic("stock-command-retry-1", 1, (short) 1),
+                new NewTopic("stock-command-retry-2", 1, (short) 1),
+                new NewTopic("stock-command-dlt", 1, (short) 1),
+                // stockId별 최신 재고 스냅샷 (컴팩션, 부트스트랩 시 파티션별 병렬로 읽음)
+                new NewTopic("stock-snapshot", 12, (short) 1)
+                        .configs(Map.of(TopicConfig.CLEANUP_POLICY_CONFIG, TopicConfig.CLEANUP_POLICY_COMPACT))
         );
     }
 }
@@ -0,0 +1,105 @@
+package com.example.events;
+
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Avro 스키마 ID 캐시
+ *
+ * 빌드 시 avsc에서 생성된 writer 스키마의 ID를 시작 시 한 번만 레지스트리에서 확인(등록)하고,
+ * 이후에는 프로세스 내 불변 맵(id → 스키마)만 사용한다. 레코드마다 레지스트리를 조회하지 않는다.
+ * 다른 프로듀서가 쓴 모르는 ID를 만났을 때만 한 번 조회해 새 맵으로 교체한다.
+ */
+@Slf4j
+public class AvroSchemaCache {
+
+    private final SchemaRegistryClient registryClient;
+    private final Schema writerSchema;
+    private final List<String> subjects;
+
+    private volatile int writerId = -1;
+    private volatile Map<Integer, Schema> schemasById = Map.of();
+
+    public AvroSchemaCache(SchemaRegistryClient registryClient, Schema writerSchema, List<String> topics) {
+        this.registryClient = registryClient;
+        this.writerSchema = writerSchema;
+        this.subjects = topics.stream().map(topic -> topic + "-value").toList(); // TopicNameStrategy와 같은 subject
+    }
+
+    /**
+     * 시작 시 레지스트리 검증
+     * 레지스트리에 연결할 수 없으면 기동은 계속하고 첫 직렬화 때 다시 시도한다
+     */
+    public void init() {
+        try {
+            log.info("[AvroSchemaCache] writer 스키마 확인 완료 - id: {}, subjects: {}", resolveWriterId(), subjects);
+        } catch (SerializationException e) {
+            log.warn("[AvroSchemaCache] 시작 시 스키마 레지스트리 확인 실패, 첫 전송 때 재시도: {}", e.getMessage());
+        }
+    }
+
+    public int writerId() {
+        int id = writerId;
+        return id >= 0 ? id : resolveWriterId();
+    }
+
+    public Schema schemaById(int id) {
+        Schema schema = schemasById.get(id);
+        return schema != null ? schema : fetch(id);
+    }
+
+    private synchronized int resolveWriterId() {
+        if (writerId >= 0) {
+            return writerId;
+        }
+        AvroSchema schema = new AvroSchema(writerSchema);
+        int id = -1;
+        try {
+            for (String subject : subjects) {
+                // 이미 등록된 스키마면 기존 ID 반환, 호환되지 않는 변경이면 예외 → 시작 시점에 드러남
+                int registered = registryClient.register(subject, schema);
+                if (id >= 0 && id != registered) {
+                    throw new SerializationException("subject마다 스키마 ID가 다릅니다: " + subjects);
+                }
+                id = registered;
+            }
+        } catch (SerializationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new SerializationException("스키마 레지스트리 등록/조회 실패: " + subjects, e);
+        }
+        put(id, writerSchema);
+        writerId = id;
+        return id;
+    }
+
+    private synchronized Schema fetch(int id) {
+        Schema cached = schemasById.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            ParsedSchema parsed = registryClient.getSchemaById(id);
+            Schema schema = ((AvroSchema) parsed).rawSchema();
+            put(id, schema);
+            log.info("[AvroSchemaCache] 새 writer 스키마 캐시 - id: {}", id);
+            return schema;
+        } catch (Exception e) {
+            throw new SerializationException("스키마 조회 실패 - id: " + id, e);
+        }
+    }
+
+    private void put(int id, Schema schema) {
+        Map<Integer, Schema> next = new HashMap<>(schemasById);
+        next.put(id, schema);
+        schemasById = Map.copyOf(next);
+    }
+}
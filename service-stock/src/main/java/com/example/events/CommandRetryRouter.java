@@ -0,0 +1,242 @@
+package com.example.events;
+
+import com.example.kafka.Event;
+import com.example.util.BusinessException;
+import com.example.util.TransientFailure;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실패한 명령 레코드를 재시도 토픽 / DLT로 보내는 라우터
+ *
+ * 원래 명령 토픽의 컨슈머는 실패 레코드를 넘기고 바로 다음 레코드를 처리한다 (head-of-line blocking 없음).
+ *  - 재시도 단계: <명령 토픽>-retry-0/1/2, 단계마다 지연이 늘어남 (1s → 5s → 25s)
+ *  - 마지막 단계까지 실패하거나 재시도해도 소용없는 예외면 <명령 토픽>-dlt
+ *  - DLT 레코드에는 실패 사유(예외 클래스/메시지)와 원래 위치(토픽/파티션/오프셋), 원본 헤더를 함께 남긴다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommandRetryRouter {
+
+    public static final String RETRY_ATTEMPT_HEADER = "x-retry-attempt";
+    public static final String RETRY_DUE_AT_HEADER = "x-retry-due-at";
+    public static final String ORIGINAL_TOPIC_HEADER = "x-original-topic";
+    public static final String ORIGINAL_PARTITION_HEADER = "x-original-partition";
+    public static final String ORIGINAL_OFFSET_HEADER = "x-original-offset";
+
+    /** 재시도 단계별 지연 (ms), 배열 길이가 재시도 단계 수 */
+    static final long[] RETRY_DELAYS_MS = {1_000, 5_000, 25_000};
+
+    private static final long ROUTE_TIMEOUT_SECONDS = 10;
+
+    /** 라우팅할 때 다시 쓰는 헤더 (원본 헤더 복사 시 제외) */
+    private static final Set<String> ROUTING_HEADERS = Set.of(
+            RETRY_ATTEMPT_HEADER, RETRY_DUE_AT_HEADER,
+            ORIGINAL_TOPIC_HEADER, ORIGINAL_PARTITION_HEADER, ORIGINAL_OFFSET_HEADER,
+            KafkaHeaders.DLT_EXCEPTION_FQCN, KafkaHeaders.DLT_EXCEPTION_MESSAGE,
+            KafkaHeaders.DLT_ORIGINAL_TOPIC, KafkaHeaders.DLT_ORIGINAL_PARTITION, KafkaHeaders.DLT_ORIGINAL_OFFSET
+    );
+
+    private final KafkaTemplate<String, Event> kafkaTemplate;
+
+    public static String retryTopic(String commandTopic, int tier) {
+        return commandTopic + "-retry-" + tier;
+    }
+
+    public static String dltTopic(String commandTopic) {
+        return commandTopic + "-dlt";
+    }
+
+    /**
+     * 처리에 실패한 레코드 (레인 작업자는 라우팅하지 않고 결과 목록에 담아 리스너 스레드로 넘김)
+     */
+    public record Failure(ConsumerRecord<String, Event> record, Exception cause) {
+    }
+
+    /**
+     * 실패 레코드를 다음 재시도 단계 또는 DLT로 전송
+     * - 전송 실패는 예외로 올려 배치 전체가 재전달되도록 함 (레코드 유실 방지)
+     */
+    public void route(ConsumerRecord<String, Event> record, Exception cause) {
+        routeFailures(List.of(new Failure(record, cause)));
+    }
+
+    /**
+     * 처리 결과 중 실패 레코드(Failure)는 재시도 토픽/DLT로 보내고, 나머지(결과 이벤트)는 그대로 반환
+     * - 리스너 스레드에서 레인 처리가 모두 끝난 뒤 호출 → 컨테이너에 Kafka 트랜잭션이 있으면
+     *   라우팅도 결과 발행/오프셋 커밋과 같은 트랜잭션으로 커밋/중단됨 (재전달 시 같은 레코드가 두 번 라우팅되지 않음)
+     * - 전부 보낸 뒤 한 번에 대기, 전송 실패는 예외로 올려 배치 전체가 재전달되도록 함
+     */
+    public List<Object> routeFailures(List<?> outcomes) {
+        List<Object> results = new ArrayList<>(outcomes.size());
+        List<ProducerRecord<String, Event>> routed = new ArrayList<>();
+        for (Object outcome : outcomes) {
+            if (outcome instanceof Failure failure) {
+                routed.add(routedRecord(failure.record(), failure.cause()));
+            } else {
+                results.add(outcome);
+            }
+        }
+        if (routed.isEmpty()) {
+            return results;
+        }
+
+        CompletableFuture<?>[] sends = routed.stream().map(kafkaTemplate::send).toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(sends).get(ROUTE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("실패 레코드 라우팅 중단: " + routed.size() + "건", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("실패 레코드 라우팅 실패: " + routed.size() + "건", e);
+        }
+        return results;
+    }
+
+    private ProducerRecord<String, Event> routedRecord(ConsumerRecord<String, Event> record, Exception cause) {
+        String commandTopic = originalTopic(record);
+        int attempt = attemptOf(record);
+        if (isRetryable(cause) && attempt < RETRY_DELAYS_MS.length) {
+            return toRetry(record, commandTopic, attempt, cause);
+        }
+        return toDlt(record, commandTopic, attempt, cause);
+    }
+
+    /**
+     * 명령 ID: 발행 시 붙인 이벤트 ID 헤더, 없으면(이전 버전 발행분) 원본 명령 레코드의 토픽-파티션-오프셋
+     * 재전달되거나 재시도 토픽을 거쳐도 같은 값 (중복 처리 판별용)
+     * 이벤트 ID는 발행자가 같은 명령을 다시 보내도(프로듀서 재시도 등) 같은 값이라 오프셋보다 넓게 중복을 잡는다
+     */
+    public static String commandId(ConsumerRecord<?, ?> record) {
+        Header eventId = record.headers().lastHeader(EventSendPipeline.EVENT_ID_HEADER);
+        if (eventId != null) {
+            return new String(eventId.value(), StandardCharsets.UTF_8);
+        }
+        Header partition = record.headers().lastHeader(ORIGINAL_PARTITION_HEADER);
+        Header offset = record.headers().lastHeader(ORIGINAL_OFFSET_HEADER);
+        if (partition == null || offset == null) {
+            return record.topic() + "-" + record.partition() + "-" + record.offset();
+        }
+        return originalTopic(record) + "-" + ByteBuffer.wrap(partition.value()).getInt()
+                + "-" + ByteBuffer.wrap(offset.value()).getLong();
+    }
+
+    /**
+     * 재시도 시각까지 남은 시간 (ms), 헤더가 없으면 0
+     */
+    public static long remainingDelay(ConsumerRecord<?, ?> record) {
+        Header dueAt = record.headers().lastHeader(RETRY_DUE_AT_HEADER);
+        if (dueAt == null) {
+            return 0;
+        }
+        return Math.max(0, ByteBuffer.wrap(dueAt.value()).getLong() - System.currentTimeMillis());
+    }
+
+    /**
+     * 재시도로 해결될 수 있는 실패인지 판단
+     * - TransientFailure 구현 예외는 항상 재시도
+     * - 잘못된 입력 / 없는 엔티티 / 비즈니스 규칙 위반은 재시도해도 결과가 같으므로 바로 DLT
+     */
+    static boolean isRetryable(Throwable cause) {
+        for (Throwable t = cause; t != null; t = t.getCause()) {
+            if (t instanceof TransientFailure) {
+                return true;
+            }
+            if (t instanceof BusinessException
+                    || t instanceof IllegalArgumentException
+                    || t instanceof EntityNotFoundException) {
+                return false;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    private ProducerRecord<String, Event> toRetry(ConsumerRecord<String, Event> record, String commandTopic,
+                                                  int attempt, Exception cause) {
+        String topic = retryTopic(commandTopic, attempt);
+        long dueAt = System.currentTimeMillis() + RETRY_DELAYS_MS[attempt];
+
+        Headers headers = routingHeaders(record, commandTopic);
+        headers.add(RETRY_ATTEMPT_HEADER, ByteBuffer.allocate(Integer.BYTES).putInt(attempt + 1).array());
+        headers.add(RETRY_DUE_AT_HEADER, ByteBuffer.allocate(Long.BYTES).putLong(dueAt).array());
+
+        log.warn("[CommandRetry] {} → {} (attempt {}): {}", record.topic(), topic, attempt + 1, cause.toString());
+        return new ProducerRecord<>(topic, null, record.key(), record.value(), headers);
+    }
+
+    private ProducerRecord<String, Event> toDlt(ConsumerRecord<String, Event> record, String commandTopic,
+                                                int attempt, Exception cause) {
+        String topic = dltTopic(commandTopic);
+
+        Headers headers = routingHeaders(record, commandTopic);
+        headers.add(RETRY_ATTEMPT_HEADER, ByteBuffer.allocate(Integer.BYTES).putInt(attempt).array());
+        headers.add(KafkaHeaders.DLT_EXCEPTION_FQCN, cause.getClass().getName().getBytes(StandardCharsets.UTF_8));
+        headers.add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, String.valueOf(cause.getMessage()).getBytes(StandardCharsets.UTF_8));
+        headers.add(KafkaHeaders.DLT_ORIGINAL_TOPIC, record.topic().getBytes(StandardCharsets.UTF_8));
+        headers.add(KafkaHeaders.DLT_ORIGINAL_PARTITION, ByteBuffer.allocate(Integer.BYTES).putInt(record.partition()).array());
+        headers.add(KafkaHeaders.DLT_ORIGINAL_OFFSET, ByteBuffer.allocate(Long.BYTES).putLong(record.offset()).array());
+
+        log.error("[CommandRetry] {} → {} after {} retries: {}", record.topic(), topic, attempt, cause.toString());
+        return new ProducerRecord<>(topic, null, record.key(), record.value(), headers);
+    }
+
+    private static String originalTopic(ConsumerRecord<?, ?> record) {
+        Header header = record.headers().lastHeader(ORIGINAL_TOPIC_HEADER);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : record.topic();
+    }
+
+    private static int attemptOf(ConsumerRecord<?, ?> record) {
+        Header header = record.headers().lastHeader(RETRY_ATTEMPT_HEADER);
+        return header != null ? ByteBuffer.wrap(header.value()).getInt() : 0;
+    }
+
+    /**
+     * 원본 헤더 + 원본 명령 위치 헤더 (첫 라우팅 때 기록한 위치를 재시도 내내 유지)
+     */
+    private static Headers routingHeaders(ConsumerRecord<?, ?> record, String commandTopic) {
+        Header partition = record.headers().lastHeader(ORIGINAL_PARTITION_HEADER);
+        Header offset = record.headers().lastHeader(ORIGINAL_OFFSET_HEADER);
+
+        Headers headers = copyHeaders(record);
+        headers.add(ORIGINAL_TOPIC_HEADER, commandTopic.getBytes(StandardCharsets.UTF_8));
+        headers.add(ORIGINAL_PARTITION_HEADER, partition != null
+                ? partition.value() : ByteBuffer.allocate(Integer.BYTES).putInt(record.partition()).array());
+        headers.add(ORIGINAL_OFFSET_HEADER, offset != null
+                ? offset.value() : ByteBuffer.allocate(Long.BYTES).putLong(record.offset()).array());
+        return headers;
+    }
+
+    /**
+     * 원본 헤더 복사 (라우팅 헤더는 새 값으로 다시 씀)
+     */
+    static Headers copyHeaders(ConsumerRecord<?, ?> record) {
+        RecordHeaders headers = new RecordHeaders();
+        for (Header header : record.headers()) {
+            if (!ROUTING_HEADERS.contains(header.key())) {
+                headers.add(header);
+            }
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.events;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 컨슈머 랙 수집 + 랙 워치독
+ *
+ * 이 인스턴스에 등록된 리스너의 컨슈머 그룹마다 주기적으로 (로그 끝 오프셋 - 커밋 오프셋)을 계산한다.
+ *  - kafka.consumer.lag{group,topic,partition}, kafka.consumer.lag.total{group} 게이지로 노출
+ *  - 랙이 임계치를 넘은 상태가 연속으로 이어지면 ConsumerLagAlert 이벤트 발행 → 알림/오토스케일 연동은 이벤트 리스너에서
+ *  - kafka.consumer.scale.hint{group}: 랙이 임계치 이상이면서 계속 늘면 1, 아니면 0
+ */
+@Slf4j
+@Component
+public class ConsumerLagMonitor {
+
+    private static final long CHECK_INTERVAL_SECONDS = 10;
+    private static final long LAG_ALERT_THRESHOLD = 10_000;
+    private static final int ALERT_CONSECUTIVE_CHECKS = 3; // 일시적인 스파이크로는 경보하지 않음
+    private static final long ADMIN_TIMEOUT_SECONDS = 5;
+
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final KafkaAdmin kafkaAdmin;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<String, AtomicLong> partitionLags = new ConcurrentHashMap<>();
+    private final Map<String, GroupState> groups = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "ConsumerLagMonitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private AdminClient adminClient;
+
+    public ConsumerLagMonitor(KafkaListenerEndpointRegistry listenerRegistry, KafkaAdmin kafkaAdmin,
+                              MeterRegistry meterRegistry, ApplicationEventPublisher eventPublisher) {
+        this.listenerRegistry = listenerRegistry;
+        this.kafkaAdmin = kafkaAdmin;
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    public void start() {
+        adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+        scheduler.scheduleWithFixedDelay(this::checkAll, CHECK_INTERVAL_SECONDS, CHECK_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        if (adminClient != null) {
+            adminClient.close();
+        }
+    }
+
+    /**
+     * 그룹별 파티션 랙 스냅샷 (actuator consumerlag 엔드포인트용)
+     */
+    public Map<String, Map<String, Long>> snapshot() {
+        Map<String, Map<String, Long>> result = new TreeMap<>();
+        groups.forEach((group, state) -> result.put(group, new TreeMap<>(state.lastLags)));
+        return result;
+    }
+
+    private void checkAll() {
+        listenerRegistry.getListenerContainers().stream()
+                .map(MessageListenerContainer::getGroupId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(group -> {
+                    try {
+                        check(group);
+                    } catch (Exception e) {
+                        log.warn("[ConsumerLagMonitor] 랙 조회 실패 - group: {}", group, e);
+                    }
+                });
+    }
+
+    private void check(String group) throws Exception {
+        Map<TopicPartition, OffsetAndMetadata> committed = adminClient.listConsumerGroupOffsets(group)
+                .partitionsToOffsetAndMetadata().get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        if (committed.isEmpty()) {
+            return;
+        }
+
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> ends = adminClient
+                .listOffsets(committed.keySet().stream().collect(Collectors.toMap(Function.identity(), tp -> OffsetSpec.latest())))
+                .all().get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        Map<String, Long> lags = new HashMap<>();
+        long total = 0;
+        for (Map.Entry<TopicPartition, OffsetAndMetadata> entry : committed.entrySet()) {
+            TopicPartition tp = entry.getKey();
+            if (entry.getValue() == null || !ends.containsKey(tp)) {
+                continue;
+            }
+            long lag = Math.max(0, ends.get(tp).offset() - entry.getValue().offset());
+            total += lag;
+            lags.put(tp.toString(), lag);
+            partitionLag(group, tp).set(lag);
+        }
+
+        GroupState state = groups.computeIfAbsent(group, this::register);
+        evaluate(group, state, total, lags);
+    }
+
+    /**
+     * 워치독: 임계치 초과가 연속 ALERT_CONSECUTIVE_CHECKS회 이어지면 경보 (이후 회복될 때까지 매 점검마다 경보)
+     */
+    private void evaluate(String group, GroupState state, long total, Map<String, Long> lags) {
+        long now = System.currentTimeMillis();
+        double growthPerSecond = state.lastCheckedAt > 0
+                ? (total - state.totalLag.get()) * 1000.0 / Math.max(1, now - state.lastCheckedAt)
+                : 0;
+
+        state.totalLag.set(total);
+        state.lastCheckedAt = now;
+        state.lastLags = lags;
+
+        if (total < LAG_ALERT_THRESHOLD) {
+            state.breaches = 0;
+            state.scaleHint.set(0);
+            return;
+        }
+
+        state.breaches++;
+        boolean scaleOut = growthPerSecond > 0;
+        state.scaleHint.set(scaleOut ? 1 : 0);
+        if (state.breaches >= ALERT_CONSECUTIVE_CHECKS) {
+            log.warn("[ConsumerLagMonitor] 컨슈머 랙 경보 - group: {}, lag: {}, 증가량: {}/s", group, total, String.format("%.1f", growthPerSecond));
+            meterRegistry.counter("kafka.consumer.lag.alerts", "group", group).increment();
+            eventPublisher.publishEvent(new ConsumerLagAlert(group, total, growthPerSecond, scaleOut));
+        }
+    }
+
+    private GroupState register(String group) {
+        GroupState state = new GroupState();
+        meterRegistry.gauge("kafka.consumer.lag.total", Tags.of("group", group), state.totalLag);
+        meterRegistry.gauge("kafka.consumer.scale.hint", Tags.of("group", group), state.scaleHint);
+        return state;
+    }
+
+    private AtomicLong partitionLag(String group, TopicPartition tp) {
+        return partitionLags.computeIfAbsent(group + "/" + tp, key -> meterRegistry.gauge("kafka.consumer.lag",
+                Tags.of("group", group, "topic", tp.topic(), "partition", String.valueOf(tp.partition())),
+                new AtomicLong()));
+    }
+
+    private static class GroupState {
+        private final AtomicLong totalLag = new AtomicLong();
+        private final AtomicLong scaleHint = new AtomicLong();
+        private volatile long lastCheckedAt;
+        private volatile int breaches;
+        private volatile Map<String, Long> lastLags = Map.of();
+    }
+}
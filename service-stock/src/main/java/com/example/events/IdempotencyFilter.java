@@ -0,0 +1,92 @@
+package com.example.events;
+
+import com.example.util.BloomFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * 소비 이벤트 중복 확인 (로컬 블룸 필터 → Redis → DB 순)
+ *
+ * - 대부분의 이벤트는 처음 오는 것이라 블룸 필터에서 바로 통과 → 원격 호출 없음
+ * - 블룸 필터가 "있을 수도 있음"이면 Redis 키(TTL)를 보고, 거기도 없으면 DB 처리 기록으로 최종 확인
+ * - 블룸 필터/Redis는 빠른 판단용일 뿐이고, 중복 반영을 막는 기준은 DB 처리 기록(PK)이다
+ *   다른 인스턴스에서 처리된 이벤트가 필터를 통과하더라도 처리 기록 저장 시 PK 충돌로 롤백된다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyFilter {
+
+    private static final String KEY_PREFIX = "idempotency:";
+    private static final Duration TTL = Duration.ofHours(24);
+    private static final int EXPECTED_EVENTS = 1_000_000; // 세대당 (메모리 약 1.2MB x 2)
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final RedissonClient redissonClient;
+    private final MeterRegistry meterRegistry;
+    private final BloomFilter processed = new BloomFilter(EXPECTED_EVENTS, FALSE_POSITIVE_RATE);
+
+    /**
+     * 이미 처리된 이벤트인지 확인
+     *
+     * @param durableCheck 최종 확인용 DB 조회 (블룸 필터가 "있을 수도 있음"이고 Redis에 없을 때만 호출)
+     */
+    public boolean isProcessed(String eventId, Predicate<String> durableCheck) {
+        if (!processed.mightContain(eventId)) {
+            count("bloom_miss");
+            return false;
+        }
+        try {
+            if (redissonClient.getBucket(KEY_PREFIX + eventId, StringCodec.INSTANCE).isExists()) {
+                count("redis_hit");
+                return true;
+            }
+        } catch (Exception e) {
+            log.warn("[IdempotencyFilter] Redis 조회 실패, DB로 확인 - eventId: {}, error: {}", eventId, e.getMessage());
+        }
+        boolean exists = durableCheck.test(eventId);
+        count(exists ? "db_hit" : "db_miss");
+        return exists;
+    }
+
+    /**
+     * 구간 중 하나라도 처리됐을 가능성이 있는지 (블룸 필터만 확인, 배치 처리 여부 판단용)
+     */
+    public boolean mightContainAny(Collection<String> eventIds) {
+        return eventIds.stream().anyMatch(processed::mightContain);
+    }
+
+    /**
+     * 처리 완료 표시 (DB 커밋 이후 호출)
+     * Redis 기록은 한 번에 비동기로 보냄, 실패해도 DB 처리 기록이 있으므로 로그만 남김
+     */
+    public void markProcessed(Collection<String> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        eventIds.forEach(processed::put);
+
+        RBatch batch = redissonClient.createBatch();
+        eventIds.forEach(eventId -> batch.getBucket(KEY_PREFIX + eventId, StringCodec.INSTANCE)
+                .setAsync("1", TTL.toMillis(), TimeUnit.MILLISECONDS));
+        batch.executeAsync().whenComplete((result, ex) -> {
+            if (ex != null) {
+                log.warn("[IdempotencyFilter] Redis 처리 기록 실패 - {}건, error: {}", eventIds.size(), ex.getMessage());
+            }
+        });
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("idempotency.check", "result", result).increment();
+    }
+}
@@ -4,16 +4,20 @@ import cn.hutool.core.lang.Snowflake;
 import com.example.controller.BaseRestController;
 import com.example.kafka.CreateStockEvent;
 import com.example.kafka.DecreaseStockEvent;
+import com.example.kafka.DeleteStockEvent;
 import com.example.kafka.IncreaseStockEvent;
 import com.example.kafka.UpdateStockEvent;
+import com.example.stock.StockFeignClient;
 import com.example.stock.dto.StockDto;
 import com.example.stock.entity.Stock;
 import com.example.stock.kafka.StockEventProducer;
 import com.example.stock.service.StockService;
+import com.example.stock.service.StockViewService;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.message.UpdateFeaturesResponseData;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -25,6 +29,7 @@ public class StockController extends BaseRestController {
 
     final StockService stockService;
     final StockEventProducer eventProducer;
+    final ObjectProvider<StockViewService> stockViewService; // stock-view 프로필에서만 존재
 
     @PostMapping
     public long createStock(@RequestBody StockDto dto){
@@ -45,13 +50,21 @@ public class StockController extends BaseRestController {
 
     @GetMapping("/product/{productId}")
     public Stock getStockByProductId(@PathVariable String productId) {
+        StockViewService view = stockViewService.getIfAvailable();
+        if (view != null) {
+            // 로컬 상태 저장소 조회, 뷰에 없으면 기존 경로
+            return view.getStockByProductId(productId).orElseGet(() -> stockService.getStockByProductId(productId));
+        }
         return stockService.getStockByProductId(productId);
     }
 
     @GetMapping("{stockId}")
     public ResponseEntity<?> getStock(@PathVariable String stockId){
         log.info("Get stock by id: {}", stockId);
-            Stock stock = stockService.getStock(stockId);
+            StockViewService view = stockViewService.getIfAvailable();
+            Stock stock = view != null
+                    ? view.getStock(stockId).orElseGet(() -> stockService.getStock(stockId)) // 로컬 상태 저장소 조회, 뷰에 없으면 기존 경로
+                    : stockService.getStock(stockId);
 
             if(stock == null){
                 return getErrorResponse("재고를 찾을 수 없습니다: " + stockId);
@@ -84,20 +97,32 @@ public class StockController extends BaseRestController {
         return true;
     }
 
+    /**
+     * 재고 증가, Command-Id가 있으면 그 값을 명령 ID로 고정하고 전송 완료까지 기다림 (재시도해도 한 번만 반영)
+     */
     @PutMapping("{stockId}/increase/{quantity}")
-    public boolean increaseStock(@PathVariable String stockId, @PathVariable Long quantity) {
+    public boolean increaseStock(@PathVariable String stockId, @PathVariable Long quantity,
+                                 @RequestHeader(value = StockFeignClient.COMMAND_ID_HEADER, required = false) String commandId) {
         IncreaseStockEvent event = new IncreaseStockEvent(
                 stockId,
                 quantity
         );
+        if (commandId != null && !commandId.isBlank()) {
+            eventProducer.sendCommandEvent(event, commandId).join();
+            return true;
+        }
         eventProducer.sendCommandEvent(event);  // Kafka 등으로 이벤트 발행
 
         return true;
     }
 
+    /**
+     * 재고 삭제도 명령으로 처리 (컨슈머가 결과 이벤트 + 스냅샷 툼스톤을 함께 발행 → 조회 뷰/스냅샷 토픽에서도 제거됨)
+     */
     @DeleteMapping("{stockId}")
     public boolean deleteStock(@PathVariable String stockId){
-        stockService.deleteStock(stockId);
+        DeleteStockEvent event = new DeleteStockEvent(stockId);
+        eventProducer.sendCommandEvent(event);
         return true;
     }
 }
@@ -0,0 +1,35 @@
+package com.example.stock.controller;
+
+import com.example.stock.entity.Stock;
+import com.example.stock.kafka.StockViewStreams;
+import com.example.stock.service.StockViewService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 재고 뷰 로컬 조회 API (stock-view 프로필)
+ * 다른 인스턴스가 키 소유자인 이 인스턴스로 넘긴 조회를 받는다. 로컬 저장소에 없으면 404 (다시 넘기지 않음)
+ */
+@RestController
+@RequestMapping("/api/stock/view")
+@Profile("stock-view")
+@RequiredArgsConstructor
+public class StockViewController {
+
+    private final StockViewService stockViewService;
+
+    @GetMapping("{stockId}")
+    public ResponseEntity<Stock> getLocalStock(@PathVariable String stockId) {
+        return ResponseEntity.of(stockViewService.getLocal(StockViewStreams.BY_ID_STORE, stockId));
+    }
+
+    @GetMapping("/product/{productId}")
+    public ResponseEntity<Stock> getLocalStockByProductId(@PathVariable String productId) {
+        return ResponseEntity.of(stockViewService.getLocal(StockViewStreams.BY_PRODUCT_STORE, productId));
+    }
+}
@@ -1,16 +1,23 @@
 package com.example.stock.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
+import org.springframework.data.domain.Persistable;
 
 /**
  * 재고 객체
  *
+ * id는 생성 명령의 Snowflake 값을 그대로 쓴다 (IDENTITY 아님).
+ * 직접 지정한 id라도 저장 전 SELECT(merge) 없이 INSERT 하도록 Persistable로 새 엔티티 여부를 알려준다 → 일괄 생성 saveAll이 JDBC 배치로 묶임
+ *
  * @since   2025-03-25
  * @author  yhkim
  */
@@ -22,9 +29,8 @@ import org.hibernate.annotations.Where;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder(toBuilder = true)
-public class Stock {
+public class Stock implements Persistable<Long> {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -40,6 +46,26 @@ public class Stock {
     @Column(nullable = false)
     private boolean deleted = false; // 기본값 false (소프트 삭제 플래그)
 
+    private Long fencingToken; // 마지막으로 반영된 락 펜싱 토큰 (이보다 작은 토큰의 쓰기는 거부)
+
+    @Transient
+    @Builder.Default
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean isNew = true;
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
     public void increase(Long quantity) {
         if (quantity <= 0) {
             throw new IllegalArgumentException("증가할 수량은 0보다 커야 합니다.");
@@ -0,0 +1,10 @@
+package com.example.stock.exception;
+
+import com.example.util.BusinessException;
+import com.example.util.TransientFailure;
+
+public class StaleFencingTokenException extends BusinessException implements TransientFailure {
+    public StaleFencingTokenException(String stockId, Long fencingToken) {
+        super("Stale fencing token for stock: " + stockId + ", token: " + fencingToken);
+    }
+}
@@ -1,141 +1,357 @@
 package com.example.stock.kafka;
 
 
+import com.example.events.CommandRetryRouter;
+import com.example.events.IdempotencyFilter;
+import com.example.events.ListenerMetrics;
 import com.example.kafka.*;
 import com.example.stock.entity.Stock;
+import com.example.stock.service.ProcessedCommandRecorder;
 import com.example.stock.service.StockService;
+import com.example.util.CommandRuns;
+import com.example.util.KeyOrderedDispatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class StockCommandConsumer {
 
+    private static final Duration RESULT_RETRY_BACKOFF = Duration.ofSeconds(1);
+
     private final StockService stockService;
     private final StockEventProducer eventProducer;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
+    private final CommandRetryRouter commandRetryRouter;
+    private final ListenerMetrics listenerMetrics;
+    private final ProcessedCommandRecorder processedCommandRecorder;
+    private final IdempotencyFilter idempotencyFilter;
 
-    @KafkaListener(topics = "stock-command", groupId = "stock-group")
-    public void onCommandEvent(ConsumerRecord<String, Event> record) {
+    /**
+     * 배치 리스너
+     *  - poll 결과를 같은 종류의 명령이 연속된 구간으로 나눠 처리 (파티션 내 순서 유지)
+     *  - 생성/수정 구간은 한 트랜잭션에서 일괄 저장, 실패하면 건별 처리로 전환해 실패 레코드만 격리
+     *  - 락이 필요한 증감/삭제는 건별 처리
+     *  - 레코드 키(stockId) 기준으로 레인을 나눠 병렬 처리, 같은 키는 순서대로 처리
+     *  - 처리에 실패한 레코드는 재시도 토픽(단계별 지연) → DLT로 넘기고 다음 레코드를 계속 처리
+     *  - 결과 이벤트는 모아서 한 번에 발행
+     *  - exactly-once: 결과 발행과 오프셋 커밋은 컨테이너의 Kafka 트랜잭션으로, DB 반영은 처리 기록과 함께 커밋
+     *    재전달된 명령은 처리 기록으로 걸러 다시 반영하지 않고 현재 상태로 결과만 다시 발행
+     *    (처리 여부는 IdempotencyFilter로 확인: 처음 오는 명령은 로컬 블룸 필터에서 바로 통과, DB 조회 없음)
+     */
+    @KafkaListener(topics = "stock-command", groupId = "stock-group", containerFactory = "batchKafkaListenerContainerFactory")
+    public void onCommandEvents(List<ConsumerRecord<String, Event>> records) {
+        log.info("Received batch: {} records", records.size());
+        List<Object> outcomes = keyOrderedDispatcher.dispatch(records, StockCommandConsumer::commandKey, this::handleRecords);
+        // 실패 레코드는 레인 처리가 모두 끝난 뒤 리스너 스레드에서 라우팅 (결과 발행/오프셋 커밋과 같은 Kafka 트랜잭션)
+        eventProducer.sendResultEvents(commandRetryRouter.routeFailures(outcomes));
+    }
+
+    /**
+     * 재시도 토픽 리스너 (단계별로 별도 컨테이너)
+     *  - 재시도 시각 전이면 nack로 해당 파티션만 남은 시간만큼 멈춤, 원래 명령 토픽 처리는 계속 진행
+     *  - 다시 실패하면 다음 재시도 단계 또는 DLT로 이동
+     *  - 결과 발행/라우팅 전송이 확인된 뒤에만 커밋, 실패하면 nack로 같은 레코드 재처리 (반영분은 처리 기록으로 걸러 결과만 다시 발행)
+     */
+    @KafkaListener(topics = "stock-command-retry-0", groupId = "stock-group-retry", containerFactory = "retryKafkaListenerContainerFactory")
+    @KafkaListener(topics = "stock-command-retry-1", groupId = "stock-group-retry", containerFactory = "retryKafkaListenerContainerFactory")
+    @KafkaListener(topics = "stock-command-retry-2", groupId = "stock-group-retry", containerFactory = "retryKafkaListenerContainerFactory")
+    public void onRetryEvent(ConsumerRecord<String, Event> record, Acknowledgment ack) {
+        long delay = CommandRetryRouter.remainingDelay(record);
+        if (delay > 0) {
+            ack.nack(Duration.ofMillis(delay));
+            return;
+        }
+        Object result = onCommandEvent(record);
+        try {
+            if (result instanceof CommandRetryRouter.Failure failure) {
+                commandRetryRouter.route(failure.record(), failure.cause());
+            } else if (result != null) {
+                eventProducer.sendResultEvents(List.of(result)); // 결과/스냅샷 전송 확인까지 대기
+            }
+        } catch (Exception e) {
+            log.warn("[CommandConsumer] Retry result publish failed, redelivering: {}", e.getMessage());
+            ack.nack(RESULT_RETRY_BACKOFF);
+            return;
+        }
+        ack.acknowledge();
+    }
+
+    /**
+     * 레인 하나의 레코드 처리 (도착 순서대로)
+     */
+    private List<Object> handleRecords(List<ConsumerRecord<String, Event>> records) {
+        List<Object> results = new ArrayList<>(records.size());
+        for (List<ConsumerRecord<String, Event>> run : CommandRuns.split(records, StockCommandConsumer::commandType)) {
+            Object first = commandOf(run.get(0));
+            if (first instanceof CreateStockEvent) {
+                listenerMetrics.timeHandler(run.get(0).topic(), first, () -> handleCreateStocks(run, results));
+            } else if (first instanceof UpdateStockEvent) {
+                listenerMetrics.timeHandler(run.get(0).topic(), first, () -> handleUpdateStocks(run, results));
+            } else {
+                run.forEach(record -> addResult(results, onCommandEvent(record)));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 레코드 하나 처리 (이벤트 타입별 처리 시간 기록)
+     */
+    private Object onCommandEvent(ConsumerRecord<String, Event> record) {
+        return listenerMetrics.timeHandler(record.topic(), commandOf(record), () -> handleCommandEvent(record));
+    }
+
+    private Object handleCommandEvent(ConsumerRecord<String, Event> record) {
         log.info("Received record: {}", record);
-        Object event = record.value().getEvent();
+        String commandId = CommandRetryRouter.commandId(record);
+
+        try {
+            if (idempotencyFilter.isProcessed(commandId, processedCommandRecorder::isProcessed)) {
+                log.info("[CommandConsumer] Already processed command: {}", commandId);
+                return replayResult(record);
+            }
+            ProcessedCommandRecorder.begin(List.of(commandId));
 
+            Object result = dispatch(record);
+            if (result != null) {
+                idempotencyFilter.markProcessed(List.of(commandId));
+            }
+            return result;
+        } catch (Exception e) {
+            if (processedCommandRecorder.isDuplicate(e, commandId)) {
+                // 필터에 없던 명령(다른 인스턴스가 처리 등)이 처리 기록 PK 충돌로 롤백됨 → 결과만 다시 발행
+                log.info("[CommandConsumer] Duplicate command rejected by processed record: {}", commandId);
+                idempotencyFilter.markProcessed(List.of(commandId));
+                return replayResult(record);
+            }
+            // 실패 레코드는 리스너 스레드로 넘겨 재시도 토픽/DLT로 보내고, 다음 레코드 처리 계속
+            log.error("[CommandConsumer] Failed to handle record: {}", record, e);
+            return new CommandRetryRouter.Failure(record, e);
+        } finally {
+            ProcessedCommandRecorder.end();
+        }
+    }
+
+    private Object dispatch(ConsumerRecord<String, Event> record) {
+        Object event = commandOf(record);
         if (event instanceof CreateStockEvent) {
-            handleCreateStock((CreateStockEvent) event);
+            return handleCreateStock((CreateStockEvent) event);
         } else if (event instanceof UpdateStockEvent) {
-            handleUpdateStock((UpdateStockEvent) event);
+            return handleUpdateStock((UpdateStockEvent) event);
         } else if (event instanceof DecreaseStockEvent) {
-            handleDeceaseStock((DecreaseStockEvent) event);
+            return handleDeceaseStock((DecreaseStockEvent) event);
         } else if (event instanceof IncreaseStockEvent) {
-            handleIncreaseStock((IncreaseStockEvent) event);  // 추가된 부분
+            return handleIncreaseStock((IncreaseStockEvent) event);  // 추가된 부분
         } else if (event instanceof DeleteStockEvent) {
-            handleDeleteStock((DeleteStockEvent) event);
+            return handleDeleteStock((DeleteStockEvent) event);
         } else {
             log.warn("Unknown command event: {}", record);
+            return null;
         }
     }
 
-    private void handleCreateStock(CreateStockEvent event) {
+    private void handleCreateStocks(List<ConsumerRecord<String, Event>> run, List<Object> results) {
+        List<CreateStockEvent> events = commandsOf(run, CreateStockEvent.class);
+        List<String> commandIds = run.stream().map(CommandRetryRouter::commandId).toList();
         try {
-            log.info("[CommandConsumer] Creating stock: {}", event);
-            Stock stock = stockService.createStock(event);
+            if (idempotencyFilter.mightContainAny(commandIds)) {
+                // 처리됐을 수 있는 명령이 섞인 구간: 건별로 처리 여부를 확인
+                run.forEach(record -> addResult(results, onCommandEvent(record)));
+                return;
+            }
+            ProcessedCommandRecorder.begin(commandIds);
 
-            // 결과 이벤트
-            StockCreatedEvent result = new StockCreatedEvent(
+            log.info("[CommandConsumer] Creating {} stocks in batch", events.size());
+            List<Object> created = new ArrayList<>(events.size());
+            stockService.createStocks(events).forEach(stock -> created.add(new StockCreatedEvent(
                     stock.getId(),
                     stock.getStockId(),
                     stock.getStoreId(),
                     stock.getProductId(),
                     stock.getStock()
-            );
-            eventProducer.sendResultEvent(result);
-
+            )));
+            idempotencyFilter.markProcessed(commandIds);
+            results.addAll(created); // 처리 표시까지 끝난 뒤에만 반영 (실패하면 건별 처리에서 한 번만 다시 만듦)
         } catch (Exception e) {
-            log.error("[CommandConsumer] Error in handleCreateStock: ", e);
-            // 실패 시 별도 실패 이벤트 발행 가능
+            log.warn("[CommandConsumer] Batch create failed, retrying per record: {}", e.getMessage());
+            run.forEach(record -> addResult(results, onCommandEvent(record)));
+        } finally {
+            ProcessedCommandRecorder.end();
         }
     }
 
-    private void handleUpdateStock(UpdateStockEvent event) {
+    private void handleUpdateStocks(List<ConsumerRecord<String, Event>> run, List<Object> results) {
+        List<UpdateStockEvent> events = commandsOf(run, UpdateStockEvent.class);
+        List<String> commandIds = run.stream().map(CommandRetryRouter::commandId).toList();
         try {
-            log.info("[CommandConsumer] Updating stock: {}", event);
-
-            Stock stock = stockService.updateStock(event);
+            if (idempotencyFilter.mightContainAny(commandIds)) {
+                // 처리됐을 수 있는 명령이 섞인 구간: 건별로 처리 여부를 확인
+                run.forEach(record -> addResult(results, onCommandEvent(record)));
+                return;
+            }
+            ProcessedCommandRecorder.begin(commandIds);
 
-            // 결과 이벤트
-            StockUpdatedEvent result = new StockUpdatedEvent(
+            log.info("[CommandConsumer] Updating {} stocks in batch", events.size());
+            List<Object> updated = new ArrayList<>(events.size());
+            stockService.updateStocks(events).forEach(stock -> updated.add(new StockUpdatedEvent(
                     stock.getId(),
                     stock.getStockId(),
                     stock.getStoreId(),
                     stock.getProductId(),
                     stock.getStock()
-            );
-            eventProducer.sendResultEvent(result);
-
+            )));
+            idempotencyFilter.markProcessed(commandIds);
+            results.addAll(updated); // 처리 표시까지 끝난 뒤에만 반영 (실패하면 건별 처리에서 한 번만 다시 만듦)
         } catch (Exception e) {
-            log.error("[CommandConsumer] Error in handleUpdateStock: ", e);
+            log.warn("[CommandConsumer] Batch update failed, retrying per record: {}", e.getMessage());
+            run.forEach(record -> addResult(results, onCommandEvent(record)));
+        } finally {
+            ProcessedCommandRecorder.end();
         }
     }
 
-    private void handleDeceaseStock(DecreaseStockEvent event) {
-        try {
-            log.info("[CommandConsumer] Decreasing stock: {}", event);
+    private Object handleCreateStock(CreateStockEvent event) {
+        log.info("[CommandConsumer] Creating stock: {}", event);
+        Stock stock = stockService.createStock(event);
 
-            Stock stock = stockService.decreaseStock(event);
+        // 결과 이벤트
+        StockCreatedEvent result = new StockCreatedEvent(
+                stock.getId(),
+                stock.getStockId(),
+                stock.getStoreId(),
+                stock.getProductId(),
+                stock.getStock()
+        );
+        return result;
+    }
 
-            // 결과 이벤트
-            StockUpdatedEvent result = new StockUpdatedEvent(
-                    stock.getId(),
-                    stock.getStockId(),
-                    stock.getStoreId(),
-                    stock.getProductId(),
-                    stock.getStock()
-            );
-            eventProducer.sendResultEvent(result);
+    private Object handleUpdateStock(UpdateStockEvent event) {
+        log.info("[CommandConsumer] Updating stock: {}", event);
 
-        } catch (Exception e) {
-            log.error("[CommandConsumer] Error in handleUpdateStock: ", e);
-        }
+        Stock stock = stockService.updateStock(event);
+
+        // 결과 이벤트
+        StockUpdatedEvent result = new StockUpdatedEvent(
+                stock.getId(),
+                stock.getStockId(),
+                stock.getStoreId(),
+                stock.getProductId(),
+                stock.getStock()
+        );
+        return result;
     }
 
-    private void handleDeleteStock(DeleteStockEvent event) {
-        try {
-            log.info("[CommandConsumer] Deleting stock: {}", event);
-            stockService.deleteStock(event.getStockId());
+    private Object handleDeceaseStock(DecreaseStockEvent event) {
+        log.info("[CommandConsumer] Decreasing stock: {}", event);
 
-            // 결과 이벤트
-            StockDeletedEvent result = new StockDeletedEvent(
-                    event.getStockId()
-            );
-            eventProducer.sendResultEvent(result);
+        Stock stock = stockService.decreaseStock(event.getStockId(), event);
 
-        } catch (Exception e) {
-            log.error("[CommandConsumer] Error in handleDeleteStock: ", e);
+        // 결과 이벤트
+        StockUpdatedEvent result = new StockUpdatedEvent(
+                stock.getId(),
+                stock.getStockId(),
+                stock.getStoreId(),
+                stock.getProductId(),
+                stock.getStock()
+        );
+        return result;
+    }
+
+    private Object handleDeleteStock(DeleteStockEvent event) {
+        log.info("[CommandConsumer] Deleting stock: {}", event);
+        stockService.deleteStock(event.getStockId());
+
+        // 결과 이벤트
+        StockDeletedEvent result = new StockDeletedEvent(
+                event.getStockId()
+        );
+        return result;
+    }
+
+    private Object handleIncreaseStock(IncreaseStockEvent event) {
+        log.info("[CommandConsumer] Increasing stock: {}", event);
+
+        // 재고 증가 처리
+        Stock stock = stockService.increaseStock(event.getStockId(), event);
+
+        // 결과 이벤트 생성
+        StockUpdatedEvent result = new StockUpdatedEvent(
+                stock.getId(),
+                stock.getStockId(),
+                stock.getStoreId(),
+                stock.getProductId(),
+                stock.getStock()
+        );
+        return result;
+    }
+
+    /**
+     * 이미 반영된 명령의 결과 이벤트 (현재 재고 상태 기준으로 다시 만듦)
+     */
+    private Object replayResult(ConsumerRecord<String, Event> record) {
+        Object event = commandOf(record);
+        if (event instanceof DeleteStockEvent) {
+            return new StockDeletedEvent(((DeleteStockEvent) event).getStockId());
+        }
+        Stock stock = stockService.getStock(commandKey(record));
+        if (event instanceof CreateStockEvent) {
+            return new StockCreatedEvent(stock.getId(), stock.getStockId(), stock.getStoreId(), stock.getProductId(), stock.getStock());
         }
+        return new StockUpdatedEvent(stock.getId(), stock.getStockId(), stock.getStoreId(), stock.getProductId(), stock.getStock());
     }
 
-    private void handleIncreaseStock(IncreaseStockEvent event) {
-        try {
-            log.info("[CommandConsumer] Increasing stock: {}", event);
+    private static Object commandOf(ConsumerRecord<String, Event> record) {
+        return record.value() != null ? record.value().getEvent() : null;
+    }
 
-            // 재고 증가 처리
-            Stock stock = stockService.increaseStock(event);
+    /**
+     * 레코드 키, 키 없이 발행된 레코드는 명령의 stockId 사용
+     */
+    private static String commandKey(ConsumerRecord<String, Event> record) {
+        if (record.key() != null) {
+            return record.key();
+        }
+        Object event = commandOf(record);
+        if (event instanceof CreateStockEvent) {
+            return ((CreateStockEvent) event).getStockId();
+        }
+        if (event instanceof UpdateStockEvent) {
+            return ((UpdateStockEvent) event).getStockId();
+        }
+        if (event instanceof DecreaseStockEvent) {
+            return ((DecreaseStockEvent) event).getStockId();
+        }
+        if (event instanceof IncreaseStockEvent) {
+            return ((IncreaseStockEvent) event).getStockId();
+        }
+        if (event instanceof DeleteStockEvent) {
+            return ((DeleteStockEvent) event).getStockId();
+        }
+        return null;
+    }
 
-            // 결과 이벤트 생성
-            StockUpdatedEvent result = new StockUpdatedEvent(
-                    stock.getId(),
-                    stock.getStockId(),
-                    stock.getStoreId(),
-                    stock.getProductId(),
-                    stock.getStock()
-            );
-            eventProducer.sendResultEvent(result);
+    private static Class<?> commandType(ConsumerRecord<String, Event> record) {
+        Object event = commandOf(record);
+        return event != null ? event.getClass() : null;
+    }
 
-        } catch (Exception e) {
-            log.error("[CommandConsumer] Error in handleIncreaseStock: ", e);
+    private static <T> List<T> commandsOf(List<ConsumerRecord<String, Event>> run, Class<T> type) {
+        return run.stream().map(record -> type.cast(commandOf(record))).toList();
+    }
+
+    private static void addResult(List<Object> results, Object result) {
+        if (result != null) {
+            results.add(result);
         }
     }
 }
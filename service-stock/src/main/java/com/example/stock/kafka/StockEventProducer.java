@@ -1,26 +1,95 @@
 package com.example.stock.kafka;
 
+import com.example.events.EventSendPipeline;
 import com.example.kafka.Event;
+import com.example.kafka.StockCreatedEvent;
+import com.example.kafka.StockDeletedEvent;
+import com.example.kafka.StockUpdatedEvent;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @RequiredArgsConstructor
 public class StockEventProducer {
 
     @Autowired
     private final KafkaTemplate<String, Event> kafkaTemplate;
+    private final EventSendPipeline eventSendPipeline;
 
     private static final String COMMAND_TOPIC = "stock-command";
     private static final String RESULT_TOPIC = "stock-result";
+    public static final String SNAPSHOT_TOPIC = "stock-snapshot"; // stockId별 최신 재고 (로그 컴팩션)
+    private static final String KEY_FIELD = "stockId"; // 같은 엔티티의 이벤트는 같은 파티션으로
 
     public void sendCommandEvent(Object event) {
-        kafkaTemplate.send(COMMAND_TOPIC, new Event(event.getClass().getName(), event));
+        send(COMMAND_TOPIC, event);
+    }
+
+    /**
+     * 이벤트 ID를 지정해 명령 발행 (사가 보상 재시도 등 → 같은 명령 ID로 컨슈머에서 중복 제거)
+     */
+    public CompletableFuture<?> sendCommandEvent(Object event, String commandId) {
+        return eventSendPipeline.send(kafkaTemplate, COMMAND_TOPIC, EventSendPipeline.keyOf(event, KEY_FIELD),
+                new Event(event.getClass().getName(), event), commandId);
     }
 
     public void sendResultEvent(Object event) {
-        kafkaTemplate.send(RESULT_TOPIC, new Event(event.getClass().getName(), event));
+        send(RESULT_TOPIC, event);
+        sendSnapshot(event);
+    }
+
+    /**
+     * 결과 이벤트 일괄 발행 (배치 리스너용)
+     * 모은 결과를 한 번에 보낸 뒤 flush 하고 전송 결과까지 확인하여, 오프셋 커밋 전에 전송을 마친다
+     */
+    public void sendResultEvents(List<?> events) {
+        if (events.isEmpty()) return;
+        List<CompletableFuture<?>> sends = new ArrayList<>(events.size() * 2);
+        events.forEach(event -> {
+            sends.add(send(RESULT_TOPIC, event));
+            sends.add(sendSnapshot(event));
+        });
+        kafkaTemplate.flush();
+        awaitAll(sends);
+    }
+
+    /**
+     * 결과 이벤트로 바뀐 재고 상태를 스냅샷 토픽에 발행
+     *  - 생성/수정: 전체 상태(StockUpdatedEvent), 삭제: 툼스톤(null) → 컴팩션 후 stockId별 최신 상태만 남음
+     *  - 컨슈머 트랜잭션 안에서 호출되면 결과 이벤트와 함께 커밋된다
+     */
+    private CompletableFuture<?> sendSnapshot(Object event) {
+        if (event instanceof StockCreatedEvent created) {
+            return sendSnapshot(created.getStockId(), new StockUpdatedEvent(created.getId(), created.getStockId(),
+                    created.getStoreId(), created.getProductId(), created.getStock()));
+        } else if (event instanceof StockUpdatedEvent updated) {
+            return sendSnapshot(updated.getStockId(), updated);
+        } else if (event instanceof StockDeletedEvent deleted) {
+            return eventSendPipeline.send(kafkaTemplate, SNAPSHOT_TOPIC, deleted.getStockId(), null);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private CompletableFuture<?> sendSnapshot(String stockId, StockUpdatedEvent state) {
+        return eventSendPipeline.send(kafkaTemplate, SNAPSHOT_TOPIC, stockId, new Event(state.getClass().getName(), state));
+    }
+
+    /**
+     * 전송 결과 확인, 하나라도 실패(in-flight 한도 거절 포함)하면 예외
+     * → 컨테이너의 Kafka 트랜잭션이 중단되어 오프셋도 커밋되지 않고 배치 재전달 (DB 반영분은 처리 기록으로 걸러 결과만 다시 발행)
+     */
+    private static void awaitAll(List<CompletableFuture<?>> sends) {
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private CompletableFuture<?> send(String topic, Object event) {
+        return eventSendPipeline.send(kafkaTemplate, topic, EventSendPipeline.keyOf(event, KEY_FIELD),
+                new Event(event.getClass().getName(), event));
     }
 }
@@ -1,7 +1,7 @@
 package com.example.stock.kafka;
 
-import com.example.events.EventEntity;
-import com.example.events.EventRepository;
+import com.example.events.AuditLogWriter;
+import com.example.events.ListenerMetrics;
 import com.example.kafka.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
@@ -10,18 +10,21 @@ import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class StockResultConsumer {
 
-    private final EventRepository eventRepository;
+    private final AuditLogWriter auditLogWriter;
     private final ObjectMapper mapper = new ObjectMapper();
+    private final ListenerMetrics listenerMetrics;
 
     @KafkaListener(topics = "stock-result", groupId = "stock-group")
     public void onCommandEvent(ConsumerRecord<String, Event> record) {
+        listenerMetrics.timeHandler(record.topic(), record.value().getEvent(), () -> handleResultEvent(record));
+    }
+
+    private void handleResultEvent(ConsumerRecord<String, Event> record) {
         log.info("Received command event: {}", record.value());;
         Object event = record.value().getEvent();
 
@@ -41,45 +44,21 @@ public class StockResultConsumer {
 
     private void handleStockCreated(StockCreatedEvent evt) {
         log.info("[ResultConsumer] StockCreated: {}", evt);
-        EventEntity entity = EventEntity.builder()
-                .eventType("StockCreatedEvent")
-                .payload("id=" + evt.getId() + ", storeId=" + evt.getStoreId())
-                .eventTime(LocalDateTime.now())
-                .status("SUCCESS")
-                .build();
-        eventRepository.save(entity);
+        auditLogWriter.write("StockCreatedEvent", evt);
     }
 
     private void handleStockUpdated(StockUpdatedEvent evt) {
         log.info("[ResultConsumer] StockUpdated: {}", evt);
-        EventEntity entity = EventEntity.builder()
-                .eventType("StockUpdatedEvent")
-                .payload("stockId=" + evt.getId() + ", storeId=" + evt.getStoreId())
-                .eventTime(LocalDateTime.now())
-                .status("SUCCESS")
-                .build();
-        eventRepository.save(entity);
+        auditLogWriter.write("StockUpdatedEvent", evt);
     }
 
     private void handleStockDecreased(StockDecreasedEvent evt) {
         log.info("[ResultConsumer] StockDecreased: {}", evt);
-        EventEntity entity = EventEntity.builder()
-                .eventType("StockUpdatedEvent")
-                .payload(evt.toString())
-                .eventTime(LocalDateTime.now())
-                .status("SUCCESS")
-                .build();
-        eventRepository.save(entity);
+        auditLogWriter.write("StockUpdatedEvent", evt);
     }
 
     private void handleStockDeleted(StockDeletedEvent evt) {
         log.info("[ResultConsumer] StockDeleted: {}", evt);
-        EventEntity entity = EventEntity.builder()
-                .eventType("StockDeletedEvent")
-                .payload("stockId=" + evt.getStockId())
-                .eventTime(LocalDateTime.now())
-                .status("SUCCESS")
-                .build();
-        eventRepository.save(entity);
+        auditLogWriter.write("StockDeletedEvent", evt);
     }
 }
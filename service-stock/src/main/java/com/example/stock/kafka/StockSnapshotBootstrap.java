@@ -0,0 +1,186 @@
+package com.example.stock.kafka;
+
+import com.example.events.AvroSchemaCache;
+import com.example.events.LocalSchemaAvroDeserializer;
+import com.example.kafka.Event;
+import com.example.kafka.StockUpdatedEvent;
+import com.example.stock.entity.Stock;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.example.util.CacheKeyUtil.buildFullKey;
+
+/**
+ * 스냅샷 토픽으로 캐시 부트스트랩 (snapshot-bootstrap 프로필)
+ *
+ * 시작 시 stock-snapshot 토픽을 처음부터 읽어 Redis stock: 키와 로컬 캐시를 채운 뒤에 준비 완료(readiness)를 알린다.
+ *  - ApplicationRunner로 실행되므로 끝날 때까지 ApplicationReadyEvent/ACCEPTING_TRAFFIC이 발행되지 않음
+ *  - 파티션마다 별도 컨슈머로 병렬로 읽고, 시작 시점의 끝 오프셋까지만 읽음 (이후 변경은 평소 경로로 반영)
+ *  - Redis 쓰기는 묶어서 파이프라인으로 보냄, DB는 읽지 않음
+ *  - 실패하거나 제한 시간(LOAD_TIMEOUT)을 넘겨도 시작은 계속 (남은 키는 기존처럼 조회 시 채워짐)
+ * 로컬 캐시는 최대 크기까지만 남으므로 전체 카탈로그는 Redis에서 서빙된다.
+ * 실행: --spring.profiles.active=snapshot-bootstrap
+ */
+@Slf4j
+@Component
+@Profile("snapshot-bootstrap")
+@RequiredArgsConstructor
+public class StockSnapshotBootstrap implements ApplicationRunner {
+
+    private static final String CACHE_PREFIX = "stock:";
+    private static final Duration CACHE_TTL = Duration.ofSeconds(3600); // @Cached(ttl = 3600)과 동일
+    private static final int MAX_PARALLELISM = 8;
+    private static final int WRITE_BATCH_SIZE = 1_000;
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    private static final Duration LOAD_TIMEOUT = Duration.ofMinutes(2);
+
+    private final AvroSchemaCache avroSchemaCache;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Cache<String, Object> localCache;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long deadline = start + LOAD_TIMEOUT.toNanos();
+        AtomicLong loaded = new AtomicLong();
+        AtomicLong deleted = new AtomicLong();
+
+        List<TopicPartition> partitions;
+        try (KafkaConsumer<String, Event> consumer = newConsumer()) {
+            partitions = consumer.partitionsFor(StockEventProducer.SNAPSHOT_TOPIC).stream()
+                    .map(info -> new TopicPartition(info.topic(), info.partition()))
+                    .toList();
+        } catch (Exception e) {
+            log.warn("[SnapshotBootstrap] 스냅샷 토픽 조회 실패, 부트스트랩 생략: {}", e.getMessage());
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(partitions.size(), MAX_PARALLELISM)));
+        try {
+            CompletableFuture.allOf(partitions.stream()
+                    .map(partition -> CompletableFuture.runAsync(() -> load(partition, deadline, loaded, deleted), executor))
+                    .toArray(CompletableFuture[]::new)).join();
+            log.info("[SnapshotBootstrap] 완료 - partitions: {}, loaded: {}, deleted: {}, elapsed: {}ms",
+                    partitions.size(), loaded.get(), deleted.get(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("[SnapshotBootstrap] 부트스트랩 중 실패, 남은 키는 조회 시 채워짐 - loaded: {}", loaded.get(), e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 파티션 하나를 처음부터 시작 시점의 끝 오프셋까지 읽어 캐시에 반영
+     * 같은 키는 같은 파티션에 순서대로 있으므로 쓰기 묶음 안에서 마지막 값만 남기면 된다
+     * 제한 시간 안에 끝 오프셋에 닿지 못하면(브로커 지연, 끝나지 않은 트랜잭션 등) 읽은 만큼만 반영하고 멈춘다
+     */
+    private void load(TopicPartition partition, long deadline, AtomicLong loaded, AtomicLong deleted) {
+        try (KafkaConsumer<String, Event> consumer = newConsumer()) {
+            consumer.assign(List.of(partition));
+            consumer.seekToBeginning(List.of(partition));
+            long endOffset = consumer.endOffsets(List.of(partition)).get(partition);
+
+            Map<String, Stock> batch = new LinkedHashMap<>();
+            while (consumer.position(partition) < endOffset) {
+                if (System.nanoTime() - deadline > 0) {
+                    log.warn("[SnapshotBootstrap] 제한 시간 초과, 남은 키는 조회 시 채워짐 - partition: {}, position: {}, endOffset: {}",
+                            partition, consumer.position(partition), endOffset);
+                    break;
+                }
+                ConsumerRecords<String, Event> records = consumer.poll(POLL_TIMEOUT);
+                for (ConsumerRecord<String, Event> record : records) {
+                    if (record.key() == null) {
+                        continue;
+                    }
+                    batch.put(record.key(), toStock(record.value())); // 툼스톤은 null → 삭제
+                }
+                if (batch.size() >= WRITE_BATCH_SIZE) {
+                    write(batch, loaded, deleted);
+                    batch = new LinkedHashMap<>();
+                }
+            }
+            write(batch, loaded, deleted);
+        }
+    }
+
+    private void write(Map<String, Stock> batch, AtomicLong loaded, AtomicLong deleted) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<String> removed = new ArrayList<>();
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                batch.forEach((stockId, stock) -> {
+                    String cacheKey = buildFullKey(CACHE_PREFIX, stockId);
+                    if (stock == null) {
+                        operations.delete(cacheKey);
+                        removed.add(cacheKey);
+                    } else {
+                        operations.opsForValue().set(cacheKey, stock, CACHE_TTL);
+                    }
+                });
+                return null;
+            }
+        });
+        batch.forEach((stockId, stock) -> {
+            if (stock != null) {
+                localCache.put(buildFullKey(CACHE_PREFIX, stockId), stock);
+            }
+        });
+        localCache.invalidateAll(removed);
+        loaded.addAndGet(batch.size() - removed.size());
+        deleted.addAndGet(removed.size());
+    }
+
+    private KafkaConsumer<String, Event> newConsumer() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:10000");
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false); // assign 모드, 그룹/오프셋 커밋 없음
+        config.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 5_000);
+        config.put(ConsumerConfig.FETCH_MAX_BYTES_CONFIG, 50 * 1024 * 1024);
+        return new KafkaConsumer<>(config, new StringDeserializer(),
+                new LocalSchemaAvroDeserializer<>(avroSchemaCache, Event.getClassSchema()));
+    }
+
+    private static Stock toStock(Event event) {
+        if (event == null || !(event.getEvent() instanceof StockUpdatedEvent state)) {
+            return null;
+        }
+        return Stock.builder()
+                .id(state.getId())
+                .stockId(state.getStockId())
+                .storeId(state.getStoreId())
+                .productId(state.getProductId())
+                .stock(state.getStock())
+                .build();
+    }
+}
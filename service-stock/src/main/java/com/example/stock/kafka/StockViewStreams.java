@@ -0,0 +1,163 @@
+package com.example.stock.kafka;
+
+import com.example.events.AvroSchemaCache;
+import com.example.events.LocalSchemaAvroDeserializer;
+import com.example.events.LocalSchemaAvroSerializer;
+import com.example.kafka.Event;
+import com.example.kafka.StockCreatedEvent;
+import com.example.kafka.StockDeletedEvent;
+import com.example.kafka.StockUpdatedEvent;
+import com.example.stock.entity.Stock;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KeyQueryMetadata;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StoreQueryParameters;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.Topology;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.KTable;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.state.HostInfo;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.support.serializer.JsonSerde;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Properties;
+
+/**
+ * 재고 조회용 로컬 상태 저장소 (stock-view 프로필)
+ *
+ * stock-result 이벤트를 stockId별 최신 재고로 접어 RocksDB 상태 저장소에 보관한다.
+ *  - stock-view-by-id: stockId → 재고 (결과 이벤트가 stockId 키로 발행되므로 재파티셔닝 없음)
+ *  - stock-view-by-product: productId → 재고 (by-id 테이블을 productId로 다시 묶음, 변경/삭제 시 이전 값 제거)
+ * 파티션은 인스턴스끼리 나눠 가지므로 키의 소유 인스턴스는 queryMetadata로 찾는다 (StockViewService).
+ * 실행: --spring.profiles.active=stock-view (기본은 비활성, 기존 Caffeine → Redis → DB 조회 경로만 사용)
+ */
+@Slf4j
+@Component
+@Profile("stock-view")
+public class StockViewStreams {
+
+    public static final String BY_ID_STORE = "stock-view-by-id";
+    public static final String BY_PRODUCT_STORE = "stock-view-by-product";
+
+    private static final String APPLICATION_ID = "stock-view";
+    private static final String RESULT_TOPIC = "stock-result";
+
+    private final AvroSchemaCache avroSchemaCache;
+    @Getter
+    private final HostInfo self;
+    private final String stateDir;
+
+    private KafkaStreams streams;
+
+    public StockViewStreams(AvroSchemaCache avroSchemaCache, Environment environment) throws UnknownHostException {
+        this.avroSchemaCache = avroSchemaCache;
+        this.self = new HostInfo(InetAddress.getLocalHost().getHostAddress(),
+                environment.getProperty("server.port", Integer.class, 8080));
+        // 인스턴스별 상태 디렉터리 (기본값 /tmp/kafka-streams는 같은 호스트의 인스턴스끼리 공유되고 재부팅/정리로 사라짐)
+        this.stateDir = environment.getProperty("stock-view.state-dir", "./data/stock-view-" + self.port());
+    }
+
+    @PostConstruct
+    public void start() {
+        Properties config = new Properties();
+        config.put(StreamsConfig.APPLICATION_ID_CONFIG, APPLICATION_ID);
+        config.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:10000");
+        config.put(StreamsConfig.STATE_DIR_CONFIG, stateDir);
+        config.put(StreamsConfig.APPLICATION_SERVER_CONFIG, self.host() + ":" + self.port()); // 다른 인스턴스가 키 소유자를 찾을 때 사용
+        config.put(StreamsConfig.NUM_STANDBY_REPLICAS_CONFIG, 1); // 인스턴스가 빠져도 대기 복제본으로 빠르게 넘겨받음
+        config.put(StreamsConfig.consumerPrefix(ConsumerConfig.ISOLATION_LEVEL_CONFIG), "read_committed"); // 중단된 트랜잭션의 결과 이벤트 제외
+
+        streams = new KafkaStreams(topology(), config);
+        streams.setStateListener((newState, oldState) -> log.info("[StockView] 상태 변경: {} → {}", oldState, newState));
+        streams.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (streams != null) {
+            streams.close();
+        }
+    }
+
+    /**
+     * 질의 가능 상태인지 (리밸런스/복구 중에는 false → 호출 측은 기존 조회 경로 사용)
+     */
+    public boolean isQueryable() {
+        return streams != null && streams.state() == KafkaStreams.State.RUNNING;
+    }
+
+    public KeyQueryMetadata metadataFor(String storeName, String key) {
+        return streams.queryMetadataForKey(storeName, key, Serdes.String().serializer());
+    }
+
+    public ReadOnlyKeyValueStore<String, Stock> store(String storeName) {
+        return streams.store(StoreQueryParameters.fromNameAndType(storeName, QueryableStoreTypes.<String, Stock>keyValueStore()));
+    }
+
+    Topology topology() {
+        Serde<Event> eventSerde = Serdes.serdeFrom(new LocalSchemaAvroSerializer<>(avroSchemaCache),
+                new LocalSchemaAvroDeserializer<>(avroSchemaCache, Event.getClassSchema()));
+        Serde<Stock> stockSerde = new JsonSerde<>(Stock.class).noTypeInfo().ignoreTypeHeaders();
+
+        StreamsBuilder builder = new StreamsBuilder();
+        KTable<String, Stock> byId = builder.stream(RESULT_TOPIC, Consumed.with(Serdes.String(), eventSerde))
+                .filter((stockId, event) -> stockId != null && event != null && isStateEvent(event.getEvent()))
+                .mapValues(event -> toStock(event.getEvent())) // 삭제 이벤트는 null → 테이블에서 제거
+                .toTable(Materialized.<String, Stock, KeyValueStore<Bytes, byte[]>>as(BY_ID_STORE)
+                        .withKeySerde(Serdes.String())
+                        .withValueSerde(stockSerde));
+
+        byId.groupBy((stockId, stock) -> KeyValue.pair(stock.getProductId(), stock), Grouped.with(Serdes.String(), stockSerde))
+                .reduce((current, added) -> added,
+                        (current, removed) -> current.getStockId().equals(removed.getStockId()) ? null : current,
+                        Materialized.<String, Stock, KeyValueStore<Bytes, byte[]>>as(BY_PRODUCT_STORE)
+                                .withKeySerde(Serdes.String())
+                                .withValueSerde(stockSerde));
+
+        return builder.build();
+    }
+
+    private static boolean isStateEvent(Object event) {
+        return event instanceof StockCreatedEvent || event instanceof StockUpdatedEvent || event instanceof StockDeletedEvent;
+    }
+
+    private static Stock toStock(Object event) {
+        if (event instanceof StockCreatedEvent created) {
+            return Stock.builder()
+                    .id(created.getId())
+                    .stockId(created.getStockId())
+                    .storeId(created.getStoreId())
+                    .productId(created.getProductId())
+                    .stock(created.getStock())
+                    .build();
+        }
+        if (event instanceof StockUpdatedEvent updated) {
+            return Stock.builder()
+                    .id(updated.getId())
+                    .stockId(updated.getStockId())
+                    .storeId(updated.getStoreId())
+                    .productId(updated.getProductId())
+                    .stock(updated.getStock())
+                    .build();
+        }
+        return null;
+    }
+}
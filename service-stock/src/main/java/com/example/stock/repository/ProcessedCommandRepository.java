@@ -0,0 +1,7 @@
+package com.example.stock.repository;
+
+import com.example.stock.entity.ProcessedCommand;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ProcessedCommandRepository extends JpaRepository<ProcessedCommand, String> {
+}
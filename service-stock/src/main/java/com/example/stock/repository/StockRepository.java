@@ -2,10 +2,31 @@ package com.example.stock.repository;
 
 import com.example.stock.entity.Stock;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface StockRepository extends JpaRepository<Stock, Long> {
     Optional<Stock> findByStockId(String stockId);
     Optional<Stock> findByProductId(String productId);
+    List<Stock> findAllByStockIdIn(Collection<String> stockIds);
+
+    /**
+     * 펜싱 토큰 + 이전 수량 검사 후 재고 수량 반영
+     * 아래 경우 0 반환
+     *  - 이미 더 큰 토큰으로 쓰인 행 (lease 만료 후 뒤늦게 도착한 이전 락 소유자의 쓰기)
+     *  - 읽은 뒤 수량이 바뀐 행 (더 새 토큰이라도 오래된 값으로 계산한 쓰기가 커밋된 변경을 덮지 않게)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Stock s SET s.stock = :stock, s.fencingToken = :fencingToken " +
+            "WHERE s.stockId = :stockId AND s.stock = :expectedStock " +
+            "AND (s.fencingToken IS NULL OR s.fencingToken < :fencingToken)")
+    int updateStockWithFencingToken(@Param("stockId") String stockId,
+                                    @Param("expectedStock") Long expectedStock,
+                                    @Param("stock") Long stock,
+                                    @Param("fencingToken") Long fencingToken);
 }
@@ -0,0 +1,61 @@
+package com.example.stock.service;
+
+import com.example.stock.entity.ProcessedCommand;
+import com.example.stock.repository.ProcessedCommandRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 명령 처리 기록 (exactly-once 처리용)
+ *
+ * 컨슈머가 처리 중인 명령 ID를 스레드에 걸어두면, 재고 변경 트랜잭션 안에서 record()가 처리 기록을 함께 저장한다.
+ *  - DB 커밋 후 Kafka 트랜잭션(결과 발행 + 오프셋 커밋)이 중단되어 명령이 다시 와도 기록이 남아 있어 재반영하지 않음
+ *  - 명령 ID가 없으면(REST 등 컨슈머 밖 호출) 아무것도 하지 않음
+ */
+@Component
+@RequiredArgsConstructor
+public class ProcessedCommandRecorder {
+
+    private static final ThreadLocal<List<String>> CURRENT = new ThreadLocal<>();
+
+    private final ProcessedCommandRepository processedCommandRepository;
+
+    public static void begin(List<String> commandIds) {
+        CURRENT.set(commandIds);
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public boolean isProcessed(String commandId) {
+        return processedCommandRepository.existsById(commandId);
+    }
+
+    /**
+     * 처리 기록 PK 충돌로 실패했는지 (필터를 통과한 중복 명령이 이미 반영된 경우)
+     */
+    public boolean isDuplicate(Throwable failure, String commandId) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof DataIntegrityViolationException) {
+                return isProcessed(commandId);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 현재 트랜잭션에 처리 기록 추가 (반드시 트랜잭션 안에서 호출)
+     * 같은 명령이 동시에 처리되면 PK 중복으로 늦은 쪽 트랜잭션이 롤백된다
+     */
+    void record() {
+        List<String> commandIds = CURRENT.get();
+        if (commandIds == null || commandIds.isEmpty()) {
+            return;
+        }
+        processedCommandRepository.saveAllAndFlush(commandIds.stream().map(ProcessedCommand::of).toList());
+    }
+}
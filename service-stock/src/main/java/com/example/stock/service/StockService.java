@@ -2,13 +2,16 @@ package com.example.stock.service;
 
 import com.example.annotations.Cached;
 import com.example.annotations.RedissonLock;
+import com.example.aop.LockContext;
 import com.example.cache.CacheType;
+import com.example.cache.CacheWriter;
 import com.example.kafka.CreateStockEvent;
 import com.example.kafka.DecreaseStockEvent;
 import com.example.kafka.IncreaseStockEvent;
 import com.example.kafka.UpdateStockEvent;
 import com.example.stock.dto.StockDto;
 import com.example.stock.entity.Stock;
+import com.example.stock.exception.StaleFencingTokenException;
 import com.example.stock.exception.StockNotFoundException;
 import com.example.stock.repository.StockRepository;
 import com.fasterxml.jackson.databind.JsonMappingException;
@@ -21,6 +24,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -29,6 +38,8 @@ public class StockService {
     final StockRepository stockRepository;
     final ObjectMapper mapper;
     final RedisTemplate redisTemplate;
+    final CacheWriter cacheWriter;
+    final ProcessedCommandRecorder processedCommandRecorder;
 
     @Cached(prefix = "stock:", key = "#result.stockId", ttl = 3600, type = CacheType.WRITE, cacheNull = true)
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -40,6 +51,7 @@ public class StockService {
                 .productId(event.getProductId())
                 .stock(event.getStock())
                 .build();
+        processedCommandRecorder.record();
 
         try {
             Stock savedStock = stockRepository.saveAndFlush(stock);
@@ -60,6 +72,30 @@ public class StockService {
 
     }
 
+    /**
+     * 재고 일괄 생성 (배치 리스너용)
+     *  - 한 트랜잭션에서 saveAll 후 flush → JDBC 배치
+     *  - 한 건이라도 실패하면 전체 롤백 후 예외, 호출 측에서 건별 처리로 전환
+     *  - 캐시는 커밋 후 건별 반영
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<Stock> createStocks(List<CreateStockEvent> events) {
+        List<Stock> stocks = events.stream()
+                .map(event -> Stock.builder()
+                        .id(event.getId())
+                        .stockId(event.getStockId())
+                        .storeId(event.getStoreId())
+                        .productId(event.getProductId())
+                        .stock(event.getStock())
+                        .build())
+                .toList();
+        processedCommandRecorder.record();
+
+        List<Stock> savedStocks = stockRepository.saveAllAndFlush(stocks);
+        savedStocks.forEach(stock -> cacheWriter.write("stock:", stock.getStockId(), stock, 3600));
+        return savedStocks;
+    }
+
     @Cached(prefix = "stock:", key = "#stockId", ttl = 3600, type = CacheType.READ, cacheNull = true)
     public Stock getStock(String stockId) {
         Stock dbStock = stockRepository.findByStockId(stockId)
@@ -84,53 +120,105 @@ public class StockService {
         log.info("After mapping: stock={}", stock.getStock());
 
         stock.setStock(event.getStock());
+        processedCommandRecorder.record();
 
         Stock savedStock = stockRepository.save(stock);
         return savedStock;
     }
 
+    /**
+     * 재고 일괄 수정 (배치 리스너용)
+     *  - 대상 재고를 IN 조회 한 번으로 읽고, 한 트랜잭션에서 saveAll
+     *  - 이벤트 순서대로 반환 (같은 재고가 여러 번 오면 마지막 값이 반영됨)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<Stock> updateStocks(List<UpdateStockEvent> events) {
+        List<String> stockIds = events.stream().map(UpdateStockEvent::getStockId).distinct().toList();
+        Map<String, Stock> stocks = stockRepository.findAllByStockIdIn(stockIds).stream()
+                .collect(Collectors.toMap(Stock::getStockId, Function.identity()));
+
+        List<Stock> updatedStocks = events.stream()
+                .map(event -> {
+                    Stock stock = stocks.get(event.getStockId());
+                    if (stock == null) {
+                        throw new EntityNotFoundException("Stock not found: " + event.getStockId());
+                    }
+                    stock.setStock(event.getStock());
+                    return stock;
+                })
+                .toList();
+        processedCommandRecorder.record();
+
+        stockRepository.saveAllAndFlush(stocks.values());
+        stocks.values().forEach(stock -> cacheWriter.write("stock:", stock.getStockId(), stock, 3600));
+        return updatedStocks;
+    }
+
     /**
      * 재고 감소
-     *  - 동시성 제어(@RedissonLock) + DB 수정
+     *  - 동시성 제어(@RedissonLock, 락 키는 stockId 파라미터로 결정: stock-{stockId}) + DB 수정
      *  - 캐시 갱신
      *  - Pub/Sub 메시지 발행
      */
     @Transactional
     @Cached(prefix = "stock:", key = "#result.stockId", ttl = 3600, type = CacheType.WRITE, cacheNull = true)
-    @RedissonLock(value = "#{'stock-' + stockId}")
-    public Stock decreaseStock(DecreaseStockEvent event) {
-        String stockId = event.getStockId();
+    @RedissonLock(value = "stock-{stockId}", adaptiveLease = true, fencing = true)
+    public Stock decreaseStock(String stockId, DecreaseStockEvent event) {
         Stock stock = stockRepository.findByStockId(stockId)
                 .orElseThrow(() -> new RuntimeException("Stock not found: " + stockId));
 
-        // 수량 검사
-        if (!stock.decrease(event.getQuantity())) throw new StockNotFoundException("The quantity is larger than the stock: " + stockId);
-
-        Stock updatedStock = stockRepository.save(stock);
-
-        return updatedStock;
+        // 수량 검사 후 저장
+        return saveStock(stock, s -> {
+            if (!s.decrease(event.getQuantity())) throw new StockNotFoundException("The quantity is larger than the stock: " + stockId);
+        });
     }
 
     @Transactional
     @Cached(prefix = "stock:", key = "#result.stockId", ttl = 3600, type = CacheType.WRITE, cacheNull = true)
-    @RedissonLock(value = "#{'stock-' + stockId}")
-    public Stock increaseStock(IncreaseStockEvent event) {
+    @RedissonLock(value = "stock-{stockId}", adaptiveLease = true, fencing = true)
+    public Stock increaseStock(String stockId, IncreaseStockEvent event) {
         // 1. 재고 조회
-        Stock stock = stockRepository.findByStockId(event.getStockId())
-                .orElseThrow(() -> new StockNotFoundException("재고를 찾을 수 없습니다. stockId=" + event.getStockId()));
+        Stock stock = stockRepository.findByStockId(stockId)
+                .orElseThrow(() -> new StockNotFoundException("재고를 찾을 수 없습니다. stockId=" + stockId));
 
-        // 2. 재고 증가
-        stock.increase(event.getQuantity()); // 증가 로직
+        // 2. 재고 증가 + 3. 재고 정보 저장 및 반환
+        return saveStock(stock, s -> s.increase(event.getQuantity()));
+    }
 
-        // 3. 재고 정보 저장 및 반환
-        return stockRepository.save(stock);
+    /**
+     * 락 보유 중 재고 변경 저장
+     *  - 명령 처리 기록도 같은 트랜잭션에서 저장 (컨슈머에서 호출된 경우)
+     *  - 펜싱 토큰이 없으면 기존처럼 엔티티에 반영 후 save
+     *  - 펜싱 토큰이 있으면 토큰 + 읽은 수량 조건부 UPDATE로 반영 (lease 만료 후 늦게 도착한 쓰기, 오래된 값 기반 쓰기 거부)
+     *    거부되면 일시적 실패(StaleFencingTokenException) → 재시도에서 다시 읽어 계산
+     *    영속 엔티티를 직접 바꾸면 UPDATE 쿼리 전에 토큰 검사 없이 flush 되므로 사본에 변경을 적용한다
+     */
+    private Stock saveStock(Stock stock, Consumer<Stock> change) {
+        processedCommandRecorder.record();
+        Long fencingToken = LockContext.currentFencingToken();
+        if (fencingToken == null) {
+            change.accept(stock);
+            return stockRepository.save(stock);
+        }
+
+        Stock fenced = stock.toBuilder().build();
+        change.accept(fenced);
+        int updated = stockRepository.updateStockWithFencingToken(
+                fenced.getStockId(), stock.getStock(), fenced.getStock(), fencingToken);
+        if (updated == 0) {
+            throw new StaleFencingTokenException(fenced.getStockId(), fencingToken);
+        }
+        fenced.setFencingToken(fencingToken);
+        return fenced;
     }
 
+    @Transactional
     @Cached(prefix = "stock:", key = "#stockId", ttl = 3600, type = CacheType.DELETE, cacheNull = true)
     public void deleteStock(String stockId) {
         Stock stock = stockRepository.findByStockId(stockId)
                 .orElseThrow(() -> new StockNotFoundException("StockId not found : " + stockId));
         stock.setDeleted(true);
+        processedCommandRecorder.record();
         stockRepository.save(stock);
         stockRepository.delete(stock);
        }
@@ -0,0 +1,98 @@
+package com.example.stock.service;
+
+import com.example.stock.entity.Stock;
+import com.example.stock.kafka.StockViewStreams;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.streams.KeyQueryMetadata;
+import org.apache.kafka.streams.state.HostInfo;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+
+/**
+ * 재고 조회 뷰 (stock-view 프로필)
+ *
+ * 키를 소유한 인스턴스의 로컬 상태 저장소에서 재고를 읽는다. 다른 인스턴스가 소유하면 그 인스턴스의 로컬 조회 API로 넘긴다.
+ * 질의할 수 없거나(리밸런스/복구 중) 뷰에 아직 없으면 빈 값 → 호출 측은 기존 조회 경로(Caffeine → Redis → DB)를 사용한다.
+ */
+@Slf4j
+@Service
+@Profile("stock-view")
+@RequiredArgsConstructor
+public class StockViewService {
+
+    private final StockViewStreams stockViewStreams;
+    private final RestClient restClient = RestClient.create();
+
+    public Optional<Stock> getStock(String stockId) {
+        return find(StockViewStreams.BY_ID_STORE, stockId, "/api/stock/view/{key}");
+    }
+
+    public Optional<Stock> getStockByProductId(String productId) {
+        return find(StockViewStreams.BY_PRODUCT_STORE, productId, "/api/stock/view/product/{key}");
+    }
+
+    /**
+     * 이 인스턴스의 로컬 저장소만 조회 (다른 인스턴스에서 넘어온 요청용, 다시 넘기지 않음)
+     */
+    public Optional<Stock> getLocal(String storeName, String key) {
+        if (!stockViewStreams.isQueryable()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(stockViewStreams.store(storeName).get(key));
+        } catch (RuntimeException e) {
+            log.warn("[StockView] 로컬 조회 실패 - store: {}, key: {}, error: {}", storeName, key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Optional<Stock> find(String storeName, String key, String localPath) {
+        if (!stockViewStreams.isQueryable()) {
+            return Optional.empty();
+        }
+        KeyQueryMetadata metadata = stockViewStreams.metadataFor(storeName, key);
+        if (metadata == null || metadata == KeyQueryMetadata.NOT_AVAILABLE) {
+            return Optional.empty();
+        }
+        HostInfo owner = metadata.activeHost();
+        if (owner.equals(stockViewStreams.getSelf())) {
+            return getLocal(storeName, key);
+        }
+        return getRemote(owner, localPath, key);
+    }
+
+    /**
+     * 소유 인스턴스로 조회를 넘김 (호출자의 인증 정보를 그대로 전달)
+     */
+    private Optional<Stock> getRemote(HostInfo owner, String localPath, String key) {
+        try {
+            Stock stock = restClient.get()
+                    .uri("http://" + owner.host() + ":" + owner.port() + localPath, key)
+                    .headers(StockViewService::copyAuthHeaders)
+                    .retrieve()
+                    .body(Stock.class);
+            return Optional.ofNullable(stock);
+        } catch (RuntimeException e) {
+            log.warn("[StockView] 소유 인스턴스 조회 실패 - owner: {}, key: {}, error: {}", owner, key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static void copyAuthHeaders(HttpHeaders headers) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            for (String name : new String[]{HttpHeaders.AUTHORIZATION, HttpHeaders.COOKIE}) {
+                String value = attributes.getRequest().getHeader(name);
+                if (value != null) {
+                    headers.set(name, value);
+                }
+            }
+        }
+    }
+}
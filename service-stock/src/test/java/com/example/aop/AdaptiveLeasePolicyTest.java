@@ -0,0 +1,56 @@
+package com.example.aop;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveLeasePolicyTest {
+
+    private static final String METHOD = "StockService.decreaseStock";
+
+    private final LockMetrics lockMetrics = new LockMetrics(new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("표본이 50개 미만이면 어노테이션 leaseTime을 그대로 사용, 50개부터 p99 × 3 (최소 200ms)")
+    void warmupUsesConfiguredLeaseTest() {
+        recordHolds(49, 10);
+        assertEquals(2000L, new AdaptiveLeasePolicy(lockMetrics).leaseMillis("stock-S1", METHOD, 2000L));
+
+        recordHolds(1, 10);
+        assertEquals(200L, new AdaptiveLeasePolicy(lockMetrics).leaseMillis("stock-S1", METHOD, 2000L));
+    }
+
+    @Test
+    @DisplayName("p99 × 3이 어노테이션 leaseTime을 넘으면 leaseTime으로 제한")
+    void upperClampTest() {
+        recordHolds(50, 1000);
+        assertEquals(2000L, new AdaptiveLeasePolicy(lockMetrics).leaseMillis("stock-S1", METHOD, 2000L));
+    }
+
+    @Test
+    @DisplayName("상한 안에서는 p99 × 3 사용, 같은 prefix의 다른 키도 같은 분포를 공유")
+    void p99LeaseTest() {
+        recordHolds(50, 100);
+
+        long lease = new AdaptiveLeasePolicy(lockMetrics).leaseMillis("stock-S2", METHOD, 2000L);
+
+        assertTrue(lease >= 250L && lease <= 400L, "lease: " + lease);
+    }
+
+    @Test
+    @DisplayName("자동 연장(-1) 설정은 바꾸지 않음")
+    void watchdogLeaseUnchangedTest() {
+        recordHolds(50, 100);
+        assertEquals(-1L, new AdaptiveLeasePolicy(lockMetrics).leaseMillis("stock-S1", METHOD, -1L));
+    }
+
+    private void recordHolds(int count, long millis) {
+        for (int i = 0; i < count; i++) {
+            lockMetrics.recordHold("stock-S1", METHOD, TimeUnit.MILLISECONDS.toNanos(millis), 0L, true);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.aop;
+
+import com.example.cache.CacheWriter;
+import com.example.kafka.DecreaseStockEvent;
+import com.example.stock.entity.Stock;
+import com.example.stock.exception.StaleFencingTokenException;
+import com.example.stock.repository.StockRepository;
+import com.example.stock.service.ProcessedCommandRecorder;
+import com.example.stock.service.StockService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class FencedStockUpdateTest {
+
+    private final StockRepository stockRepository = mock(StockRepository.class);
+    private final StockService stockService = new StockService(stockRepository, new ObjectMapper(),
+            mock(RedisTemplate.class), mock(CacheWriter.class), mock(ProcessedCommandRecorder.class));
+    private Stock stock;
+
+    @BeforeEach
+    void setUp() {
+        stock = Stock.builder().id(1L).stockId("S1").storeId("W1").productId("P1").stock(100L).fencingToken(4L).build();
+        when(stockRepository.findByStockId("S1")).thenReturn(Optional.of(stock));
+    }
+
+    @AfterEach
+    void tearDown() {
+        LockContext.restore(null);
+    }
+
+    @Test
+    @DisplayName("저장된 토큰보다 오래된 토큰의 쓰기는 조건부 UPDATE에서 거부되어 일시적 실패로 끝남")
+    void staleTokenRejectedTest() {
+        LockContext.set(3L);
+        when(stockRepository.updateStockWithFencingToken("S1", 100L, 70L, 3L)).thenReturn(0);
+
+        assertThrows(StaleFencingTokenException.class,
+                () -> stockService.decreaseStock("S1", new DecreaseStockEvent("S1", 30L)));
+        assertEquals(100L, stock.getStock()); // 영속 엔티티는 바뀌지 않음 (flush로 토큰 검사를 우회하지 않음)
+        verify(stockRepository, never()).save(any(Stock.class));
+    }
+
+    @Test
+    @DisplayName("더 큰 토큰이면 읽은 수량 조건으로 반영하고 새 토큰을 기록")
+    void newerTokenAppliedTest() {
+        LockContext.set(5L);
+        when(stockRepository.updateStockWithFencingToken("S1", 100L, 70L, 5L)).thenReturn(1);
+
+        Stock updated = stockService.decreaseStock("S1", new DecreaseStockEvent("S1", 30L));
+
+        assertEquals(70L, updated.getStock());
+        assertEquals(5L, updated.getFencingToken());
+        assertEquals(100L, stock.getStock());
+        verify(stockRepository, never()).save(any(Stock.class));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.aop;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.misc.CompletableFutureWrapper;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class LeaseWatchdogTest {
+
+    private final RedissonClient redissonClient = mock(RedissonClient.class);
+    private final RScript script = mock(RScript.class);
+    private LeaseWatchdog leaseWatchdog;
+
+    @BeforeEach
+    void setUp() {
+        when(redissonClient.getId()).thenReturn("node");
+        when(redissonClient.getScript(StringCodec.INSTANCE)).thenReturn(script);
+        leaseWatchdog = new LeaseWatchdog(redissonClient);
+    }
+
+    @AfterEach
+    void tearDown() {
+        leaseWatchdog.shutdown();
+    }
+
+    @Test
+    @DisplayName("락을 보유하는 동안 lease/3 주기로 같은 소유자의 TTL을 lease만큼 연장하고, cancel 후에는 멈춤")
+    @SuppressWarnings("unchecked")
+    void renewUntilCancelTest() throws InterruptedException {
+        renewResult(true);
+        Consumer<String> onLost = mock(Consumer.class);
+
+        LeaseWatchdog.Renewal renewal = leaseWatchdog.start("stock-S1", 7L, 30L, onLost);
+
+        verify(script, timeout(1000).atLeast(2)).evalAsync(eq(RScript.Mode.READ_WRITE), anyString(),
+                eq(RScript.ReturnType.BOOLEAN), eq(List.<Object>of("stock-S1")), eq("30"), eq("node:7"));
+
+        renewal.cancel();
+        Thread.sleep(50); // 실행 중이던 갱신이 끝날 때까지
+        clearInvocations(script);
+        verify(script, after(100).never()).evalAsync(any(), anyString(), any(), anyList(), anyString(), anyString());
+        verify(onLost, never()).accept(anyString());
+    }
+
+    @Test
+    @DisplayName("갱신 시점에 이미 락을 잃었으면 한 번만 알리고 갱신 중단")
+    @SuppressWarnings("unchecked")
+    void lostLeaseStopsRenewalTest() {
+        renewResult(false);
+        Consumer<String> onLost = mock(Consumer.class);
+
+        leaseWatchdog.start("stock-S1", 7L, 30L, onLost);
+
+        verify(onLost, timeout(1000)).accept("stock-S1");
+        verify(script, after(100).times(1)).evalAsync(any(), anyString(), any(), anyList(), anyString(), anyString());
+        verify(onLost, times(1)).accept(anyString());
+    }
+
+    private void renewResult(boolean renewed) {
+        when(script.<Boolean>evalAsync(any(), anyString(), any(), anyList(), anyString(), anyString()))
+                .thenReturn(new CompletableFutureWrapper<>(CompletableFuture.completedFuture(renewed)));
+    }
+}
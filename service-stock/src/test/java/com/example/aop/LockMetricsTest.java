@@ -0,0 +1,83 @@
+package com.example.aop;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LockMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LockMetrics lockMetrics = new LockMetrics(meterRegistry);
+
+    @Test
+    @DisplayName("획득/실패를 prefix 태그로 집계 (락 키 전체는 태그로 쓰지 않음)")
+    void recordWaitTest() {
+        lockMetrics.recordWait(new LockWaitEvent(), "stock-S1", "StockService.decreaseStock", "sync",
+                TimeUnit.MILLISECONDS.toNanos(3), true, "timeout");
+        lockMetrics.recordWait(new LockWaitEvent(), "stock-S2", "StockService.decreaseStock", "async",
+                TimeUnit.MILLISECONDS.toNanos(1), false, "queue_full");
+
+        assertEquals(1.0, meterRegistry.counter("lock.acquisitions", "prefix", "stock").count());
+        assertEquals(1.0, meterRegistry.counter("lock.failures", "prefix", "stock", "reason", "queue_full").count());
+        assertEquals(1, meterRegistry.get("lock.wait").tags("prefix", "stock", "mode", "sync", "outcome", "acquired").timer().count());
+        assertEquals(1, meterRegistry.get("lock.wait").tags("mode", "async", "outcome", "failed").timer().count());
+        assertTrue(meterRegistry.find("lock.wait").tag("prefix", "stock-S1").timers().isEmpty());
+    }
+
+    @Test
+    @DisplayName("해제 전에 락을 잃었거나 lease보다 오래 잡았으면 lease 만료로 기록")
+    void recordHoldTest() {
+        lockMetrics.recordHold("stock-S1", "m", TimeUnit.MILLISECONDS.toNanos(100), 2000L, true);  // 정상
+        lockMetrics.recordHold("stock-S1", "m", TimeUnit.MILLISECONDS.toNanos(100), 2000L, false); // 락을 잃음
+        lockMetrics.recordHold("stock-S1", "m", TimeUnit.MILLISECONDS.toNanos(3000), 2000L, true); // lease 초과
+        lockMetrics.recordHold("stock-S1", "m", TimeUnit.MILLISECONDS.toNanos(3000), 0L, true);    // 워치독 갱신 중
+
+        assertEquals(2.0, meterRegistry.counter("lock.lease.expired", "prefix", "stock").count());
+        assertEquals(4, meterRegistry.get("lock.hold").tags("prefix", "stock", "method", "m").timer().count());
+    }
+
+    @Test
+    @DisplayName("JFR 녹화 중이면 락 대기 이벤트가 키/모드/획득 여부와 함께 기록됨")
+    void lockWaitJfrEventTest(@TempDir Path dir) throws Exception {
+        Path dump = dir.resolve("lock.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(LockWaitEvent.class).withoutThreshold();
+            recording.start();
+
+            LockWaitEvent waitEvent = new LockWaitEvent();
+            waitEvent.begin();
+            lockMetrics.recordWait(waitEvent, "stock-S1", "StockService.decreaseStock", "sync",
+                    TimeUnit.MILLISECONDS.toNanos(3), true, "timeout");
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> event.getEventType().getName().equals("com.example.LockWait"))
+                .toList();
+        assertEquals(1, events.size());
+        assertEquals("stock-S1", events.get(0).getString("lockKey"));
+        assertEquals("StockService.decreaseStock", events.get(0).getString("method"));
+        assertEquals("sync", events.get(0).getString("mode"));
+        assertTrue(events.get(0).getBoolean("acquired"));
+    }
+
+    @Test
+    @DisplayName("락 키의 첫 영문 구간을 prefix로 사용")
+    void prefixOfTest() {
+        assertEquals("stock", LockMetrics.prefixOf("stock-S001"));
+        assertEquals("order_lock", LockMetrics.prefixOf("order_lock:42"));
+        assertEquals("unknown", LockMetrics.prefixOf("123-456"));
+    }
+}
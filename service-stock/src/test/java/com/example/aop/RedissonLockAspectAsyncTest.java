@@ -0,0 +1,123 @@
+package com.example.aop;
+
+import com.example.annotations.RedissonLock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.redisson.misc.CompletableFutureWrapper;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class RedissonLockAspectAsyncTest {
+
+    private final RedissonClient redissonClient = mock(RedissonClient.class);
+    private final RLock lock = mock(RLock.class);
+    private final ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+    private final AsyncLockQueue asyncLockQueue = new AsyncLockQueue();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RedissonLockAspect aspect;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(Target.class.getMethod("reserve", String.class));
+        when(signature.getParameterNames()).thenReturn(new String[]{"stockId"});
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{"S1"});
+        when(redissonClient.getLock("stock-S1")).thenReturn(lock);
+        when(lock.tryLockAsync(anyLong(), anyLong(), any(TimeUnit.class), anyLong()))
+                .thenReturn(new CompletableFutureWrapper<>(CompletableFuture.completedFuture(true)));
+        when(lock.unlockAsync(anyLong()))
+                .thenReturn(new CompletableFutureWrapper<>(CompletableFuture.<Void>completedFuture(null)));
+
+        // 본문은 호출 스레드에서 바로 실행
+        aspect = new RedissonLockAspect(redissonClient, new StripedLocalLock(16), asyncLockQueue, Runnable::run,
+                new LockMetrics(meterRegistry), mock(AdaptiveLeasePolicy.class), mock(LeaseWatchdog.class));
+    }
+
+    @Test
+    @DisplayName("비동기 락은 스레드가 아닌 별도 소유자 id로 잡고, 본문 Future가 끝나면 같은 id로 unlockAsync")
+    void asyncLockReleasesWithOwnerIdTest() throws Throwable {
+        CompletableFuture<Object> body = new CompletableFuture<>();
+        when(joinPoint.proceed()).thenReturn(body);
+
+        CompletableFuture<?> result = (CompletableFuture<?>) aspect.redissonLock(joinPoint);
+
+        ArgumentCaptor<Long> ownerId = ArgumentCaptor.forClass(Long.class);
+        verify(lock).tryLockAsync(eq(5000L), eq(2000L), eq(TimeUnit.MILLISECONDS), ownerId.capture());
+        assertTrue(ownerId.getValue() < 0); // 실제 스레드 id와 겹치지 않는 소유자
+        assertFalse(result.isDone());
+        verify(lock, never()).unlockAsync(anyLong()); // 본문이 끝나기 전에는 계속 보유
+        assertEquals(1, asyncLockQueue.size("stock-S1"));
+
+        body.complete("reserved");
+
+        assertEquals("reserved", result.get());
+        verify(lock).unlockAsync(ownerId.getValue());
+        verify(lock, never()).unlock();
+        verify(lock, never()).tryLock(anyLong(), anyLong(), any(TimeUnit.class)); // 호출 스레드에서 대기하지 않음
+        assertEquals(0, asyncLockQueue.size("stock-S1"));
+    }
+
+    @Test
+    @DisplayName("락 획득 시간 초과면 본문을 실행하지 않고 실패한 Future 반환, 대기열에서 빠짐")
+    void asyncLockTimeoutTest() throws Throwable {
+        when(lock.tryLockAsync(anyLong(), anyLong(), any(TimeUnit.class), anyLong()))
+                .thenReturn(new CompletableFutureWrapper<>(CompletableFuture.completedFuture(false)));
+
+        CompletableFuture<?> result = (CompletableFuture<?>) aspect.redissonLock(joinPoint);
+
+        ExecutionException failure = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        verify(joinPoint, never()).proceed();
+        verify(lock, never()).unlockAsync(anyLong());
+        assertEquals(0, asyncLockQueue.size("stock-S1"));
+        assertEquals(1.0, meterRegistry.counter("lock.failures", "prefix", "stock", "reason", "timeout").count());
+    }
+
+    @Test
+    @DisplayName("키당 대기 수를 넘으면 Redis에 가지 않고 즉시 실패")
+    void asyncLockQueueFullTest() throws Throwable {
+        assertTrue(asyncLockQueue.tryEnter("stock-S1", 1)); // 이미 한 건이 대기/보유 중
+
+        CompletableFuture<?> result = (CompletableFuture<?>) aspect.redissonLock(joinPoint);
+
+        assertTrue(result.isCompletedExceptionally());
+        verify(redissonClient, never()).getLock(anyString());
+        assertEquals(1, asyncLockQueue.size("stock-S1"));
+        assertEquals(1.0, meterRegistry.counter("lock.failures", "prefix", "stock", "reason", "queue_full").count());
+    }
+
+    @Test
+    @DisplayName("unlockAsync가 실패하면(lease 만료 후 다른 소유자) 본문 결과는 그대로, lease 만료로 기록")
+    void asyncUnlockForeignOwnerTest() throws Throwable {
+        when(joinPoint.proceed()).thenReturn(CompletableFuture.completedFuture("reserved"));
+        when(lock.unlockAsync(anyLong())).thenReturn(new CompletableFutureWrapper<>(
+                CompletableFuture.<Void>failedFuture(new IllegalMonitorStateException("not locked by current owner"))));
+
+        CompletableFuture<?> result = (CompletableFuture<?>) aspect.redissonLock(joinPoint);
+
+        assertEquals("reserved", result.get());
+        assertEquals(0, asyncLockQueue.size("stock-S1"));
+        assertEquals(1.0, meterRegistry.counter("lock.lease.expired", "prefix", "stock").count());
+    }
+
+    static class Target {
+        @RedissonLock(value = "stock-{stockId}", async = true, maxWaiters = 1)
+        public CompletableFuture<String> reserve(String stockId) {
+            return CompletableFuture.completedFuture(stockId);
+        }
+    }
+}
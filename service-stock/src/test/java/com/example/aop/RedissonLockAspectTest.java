@@ -0,0 +1,53 @@
+package com.example.aop;
+
+import com.example.annotations.RedissonLock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class RedissonLockAspectTest {
+
+    @Test
+    @DisplayName("Redis 락을 잡으면 로컬 스트라이프는 놓고 임계 구역을 실행 (같은 스트라이프의 다른 키를 막지 않음)")
+    void stripeReleasedWhileHoldingRedisLockTest() throws Throwable {
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        RLock lock = mock(RLock.class);
+        when(redissonClient.getLock("stock-S1")).thenReturn(lock);
+        when(lock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).thenReturn(true);
+        when(lock.isHeldByCurrentThread()).thenReturn(true);
+
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(Target.class.getMethod("decrease", String.class));
+        when(signature.getParameterNames()).thenReturn(new String[]{"stockId"});
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{"S1"});
+
+        StripedLocalLock stripedLocalLock = new StripedLocalLock(1); // 모든 키가 같은 스트라이프
+        when(joinPoint.proceed()).thenAnswer(invocation -> stripedLocalLock.get("other-key").isLocked() ? "blocked" : "free");
+
+        RedissonLockAspect aspect = new RedissonLockAspect(redissonClient, stripedLocalLock, new AsyncLockQueue(), Runnable::run,
+                new LockMetrics(new SimpleMeterRegistry()), mock(AdaptiveLeasePolicy.class), mock(LeaseWatchdog.class));
+
+        assertEquals("free", aspect.redissonLock(joinPoint));
+        verify(lock).unlock();
+        assertFalse(stripedLocalLock.get("stock-S1").isLocked());
+    }
+
+    static class Target {
+        @RedissonLock("stock-{stockId}")
+        public String decrease(String stockId) {
+            return stockId;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.aop;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StripedLocalLockTest {
+
+    @Test
+    @DisplayName("같은 키는 항상 같은 스트라이프 반환")
+    void sameKeySameStripeTest() {
+        StripedLocalLock stripedLocalLock = new StripedLocalLock(16);
+
+        assertSame(stripedLocalLock.get("stock-S001"), stripedLocalLock.get("stock-S001"));
+    }
+
+    @Test
+    @DisplayName("스트라이프 수가 2의 거듭제곱이 아니면 예외")
+    void invalidStripeCountTest() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedLocalLock(10));
+    }
+
+    @Test
+    @DisplayName("같은 키의 로컬 스레드는 한 번에 하나만 임계 구역 진입")
+    void mutualExclusionTest() throws InterruptedException {
+        StripedLocalLock stripedLocalLock = new StripedLocalLock(16);
+        int totalRequests = 100;
+
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch latch = new CountDownLatch(totalRequests);
+        AtomicInteger inside = new AtomicInteger(0);
+        AtomicInteger maxInside = new AtomicInteger(0);
+
+        for (int i = 0; i < totalRequests; i++) {
+            executorService.execute(() -> {
+                ReentrantLock lock = stripedLocalLock.get("stock-S001");
+                lock.lock();
+                try {
+                    int current = inside.incrementAndGet();
+                    maxInside.accumulateAndGet(current, Math::max);
+                    inside.decrementAndGet();
+                } finally {
+                    lock.unlock();
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        assertEquals(1, maxInside.get());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.events;
+
+import com.example.kafka.StockUpdatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AuditLogWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private AuditLogWriter auditLogWriter;
+
+    @BeforeEach
+    void setUp() {
+        auditLogWriter = new AuditLogWriter(jdbcTemplate, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("payload는 Avro 필드 순서대로 압축 JSON")
+    void payloadTest() {
+        StockUpdatedEvent event = new StockUpdatedEvent(1L, "S001", "ST001", "P001", 100L);
+
+        assertEquals("{\"id\":1,\"stockId\":\"S001\",\"storeId\":\"ST001\",\"productId\":\"P001\",\"stock\":100}",
+                auditLogWriter.payloadOf(event));
+    }
+
+    @Test
+    @DisplayName("여러 건을 큐에 넣으면 배치 INSERT로 기록")
+    @SuppressWarnings("unchecked")
+    void batchInsertTest() throws InterruptedException {
+        auditLogWriter.start();
+        for (int i = 0; i < 10; i++) {
+            auditLogWriter.write("StockUpdatedEvent", new StockUpdatedEvent((long) i, "S00" + i, "ST001", "P001", 100L));
+        }
+        auditLogWriter.shutdown();
+
+        ArgumentCaptor<Collection<EventEntity>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(startsWith("INSERT INTO events"), captor.capture(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(10, captor.getAllValues().stream().mapToInt(Collection::size).sum());
+    }
+}
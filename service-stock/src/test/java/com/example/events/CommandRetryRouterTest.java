@@ -0,0 +1,127 @@
+package com.example.events;
+
+import com.example.kafka.CreateStockEvent;
+import com.example.kafka.Event;
+import com.example.stock.exception.StaleFencingTokenException;
+import com.example.stock.exception.StockNotFoundException;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CommandRetryRouterTest {
+
+    @Mock
+    private KafkaTemplate<String, Event> kafkaTemplate;
+
+    private CommandRetryRouter commandRetryRouter;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        commandRetryRouter = new CommandRetryRouter(kafkaTemplate);
+        event = new Event(CreateStockEvent.class.getName(), new CreateStockEvent(1L, "S001", "ST001", "P001", 100L));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    @DisplayName("일시적 실패는 재시도 단계를 차례로 거친 뒤 DLT로 이동")
+    void retryTiersThenDltTest() {
+        ConsumerRecord<String, Event> record = new ConsumerRecord<>("stock-command", 0, 10L, "S001", event);
+
+        for (int tier = 0; tier < CommandRetryRouter.RETRY_DELAYS_MS.length; tier++) {
+            ProducerRecord<String, Event> routed = route(record, new IllegalStateException("DB timeout"));
+            assertEquals(CommandRetryRouter.retryTopic("stock-command", tier), routed.topic());
+            assertTrue(CommandRetryRouter.remainingDelay(toConsumerRecord(routed)) > 0);
+            record = toConsumerRecord(routed);
+        }
+
+        ProducerRecord<String, Event> dlt = route(record, new IllegalStateException("DB timeout"));
+        assertEquals("stock-command-dlt", dlt.topic());
+        assertEquals("java.lang.IllegalStateException",
+                new String(dlt.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_FQCN).value(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("비즈니스 예외는 재시도 없이 바로 DLT, 원본 헤더 유지")
+    void businessFailureGoesToDltTest() {
+        ConsumerRecord<String, Event> record = new ConsumerRecord<>("stock-command", 0, 10L, "S001", event);
+        record.headers().add("traceparent", "00-abc".getBytes(StandardCharsets.UTF_8));
+
+        ProducerRecord<String, Event> dlt = route(record, new StockNotFoundException("S001"));
+
+        assertEquals("stock-command-dlt", dlt.topic());
+        assertEquals("00-abc", new String(dlt.headers().lastHeader("traceparent").value(), StandardCharsets.UTF_8));
+        assertEquals("stock-command",
+                new String(dlt.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_TOPIC).value(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("TransientFailure 비즈니스 예외는 재시도")
+    void transientBusinessFailureIsRetriedTest() {
+        ConsumerRecord<String, Event> record = new ConsumerRecord<>("stock-command", 0, 10L, "S001", event);
+
+        ProducerRecord<String, Event> routed = route(record, new StaleFencingTokenException("S001", 3L));
+
+        assertEquals("stock-command-retry-0", routed.topic());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    @DisplayName("처리 결과 중 실패 레코드만 라우팅하고 결과 이벤트는 순서대로 반환")
+    void routeFailuresSplitsOutcomesTest() {
+        ConsumerRecord<String, Event> failed = new ConsumerRecord<>("stock-command", 0, 11L, "S002", event);
+        Object first = "created-S001";
+        Object second = "updated-S003";
+
+        List<Object> results = commandRetryRouter.routeFailures(List.of(
+                first, new CommandRetryRouter.Failure(failed, new IllegalStateException("DB timeout")), second));
+
+        assertEquals(List.of(first, second), results);
+        ArgumentCaptor<ProducerRecord<String, Event>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, times(1)).send(captor.capture());
+        assertEquals("stock-command-retry-0", captor.getValue().topic());
+        assertEquals("S002", captor.getValue().key());
+    }
+
+    @Test
+    @DisplayName("라우팅 전송이 실패하면 예외 (배치 재전달)")
+    void routeFailuresPropagatesSendFailureTest() {
+        ConsumerRecord<String, Event> failed = new ConsumerRecord<>("stock-command", 0, 11L, "S002", event);
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        assertThrows(IllegalStateException.class, () -> commandRetryRouter.routeFailures(
+                List.of(new CommandRetryRouter.Failure(failed, new IllegalStateException("DB timeout")))));
+    }
+
+    private ProducerRecord<String, Event> route(ConsumerRecord<String, Event> record, Exception cause) {
+        clearInvocations(kafkaTemplate);
+        commandRetryRouter.route(record, cause);
+        ArgumentCaptor<ProducerRecord<String, Event>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(captor.capture());
+        return captor.getValue();
+    }
+
+    private static ConsumerRecord<String, Event> toConsumerRecord(ProducerRecord<String, Event> routed) {
+        ConsumerRecord<String, Event> record = new ConsumerRecord<>(routed.topic(), 0, 0L, routed.key(), routed.value());
+        routed.headers().forEach(header -> record.headers().add(header));
+        return record;
+    }
+}
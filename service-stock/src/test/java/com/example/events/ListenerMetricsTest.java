@@ -0,0 +1,56 @@
+package com.example.events;
+
+import com.example.kafka.CreateStockEvent;
+import com.example.kafka.Event;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ListenerMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ListenerMetrics listenerMetrics;
+    private CreateStockEvent createStockEvent;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        listenerMetrics = new ListenerMetrics(meterRegistry);
+        createStockEvent = new CreateStockEvent(1L, "S001", "ST001", "P001", 100L);
+    }
+
+    @Test
+    @DisplayName("수신 시 토픽별 건수와 프로듀서 타임스탬프 기준 e2e 지연 기록")
+    void recordInterceptorTest() {
+        long producedAt = System.currentTimeMillis() - 1_000;
+        ConsumerRecord<String, Event> record = new ConsumerRecord<>("stock-command", 0, 0L, producedAt,
+                TimestampType.CREATE_TIME, 0, 0, "S001", new Event(CreateStockEvent.class.getName(), createStockEvent),
+                new RecordHeaders(), Optional.empty());
+
+        listenerMetrics.<String, Event>recordInterceptor().intercept(record, null);
+
+        assertEquals(1.0, meterRegistry.get("kafka.listener.records").tag("topic", "stock-command").counter().count());
+        assertTrue(meterRegistry.get("kafka.listener.e2e.latency").tag("topic", "stock-command").timer()
+                .totalTime(TimeUnit.MILLISECONDS) >= 1_000);
+    }
+
+    @Test
+    @DisplayName("핸들러 처리 시간은 이벤트 타입별로 기록하고 예외가 나도 기록")
+    void timeHandlerTest() {
+        assertEquals("ok", listenerMetrics.timeHandler("stock-command", createStockEvent, () -> "ok"));
+        assertThrows(IllegalStateException.class, () -> listenerMetrics.timeHandler("stock-command", createStockEvent,
+                () -> { throw new IllegalStateException("fail"); }));
+
+        assertEquals(2, meterRegistry.get("kafka.listener.handler")
+                .tag("topic", "stock-command").tag("event", "CreateStockEvent").timer().count());
+    }
+}
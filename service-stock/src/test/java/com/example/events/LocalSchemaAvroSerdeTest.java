@@ -0,0 +1,52 @@
+package com.example.events;
+
+import com.example.kafka.CreateStockEvent;
+import com.example.kafka.Event;
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
+import io.confluent.kafka.serializers.KafkaAvroDeserializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalSchemaAvroSerdeTest {
+
+    private MockSchemaRegistryClient registryClient;
+    private AvroSchemaCache avroSchemaCache;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        registryClient = new MockSchemaRegistryClient();
+        avroSchemaCache = new AvroSchemaCache(registryClient, Event.getClassSchema(), List.of("stock-command", "stock-result"));
+        avroSchemaCache.init();
+
+        CreateStockEvent createStockEvent = new CreateStockEvent(1L, "S001", "ST001", "P001", 100L);
+        event = new Event(CreateStockEvent.class.getName(), createStockEvent);
+    }
+
+    @Test
+    @DisplayName("직렬화 후 역직렬화하면 같은 이벤트")
+    void roundTripTest() {
+        byte[] bytes = new LocalSchemaAvroSerializer<Event>(avroSchemaCache).serialize("stock-command", event);
+        Event result = new LocalSchemaAvroDeserializer<Event>(avroSchemaCache, Event.getClassSchema())
+                .deserialize("stock-command", bytes);
+
+        assertEquals(event, result);
+    }
+
+    @Test
+    @DisplayName("Confluent KafkaAvroDeserializer와 와이어 포맷 호환")
+    void confluentCompatibleTest() {
+        byte[] bytes = new LocalSchemaAvroSerializer<Event>(avroSchemaCache).serialize("stock-command", event);
+
+        KafkaAvroDeserializer confluent = new KafkaAvroDeserializer(registryClient);
+        confluent.configure(Map.of("schema.registry.url", "mock://test", "specific.avro.reader", true), false);
+
+        assertEquals(event, confluent.deserialize("stock-command", bytes));
+    }
+}
@@ -8,16 +8,19 @@ import com.example.kafka.UpdateStockEvent;
 import com.example.stock.entity.Stock;
 import com.example.stock.exception.StockNotFoundException;
 import com.example.stock.repository.StockRepository;
+import com.example.stock.service.ProcessedCommandRecorder;
 import com.example.stock.service.StockService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -33,6 +36,9 @@ public class StockServiceTest {
     @Mock
     private StockRepository stockRepository;
 
+    @Mock
+    private ProcessedCommandRecorder processedCommandRecorder;
+
     @InjectMocks
     private StockService stockService;
 
@@ -82,6 +88,19 @@ public class StockServiceTest {
         verify(stockRepository).saveAndFlush(any(Stock.class));
     }
 
+    @Test
+    @DisplayName("일괄 생성은 명령의 Snowflake id를 그대로 쓰는 새 엔티티로 저장 (merge SELECT 없이 INSERT 배치)")
+    void createStocksSavesNewEntitiesTest() {
+        CreateStockEvent second = new CreateStockEvent(defaultCreateEvent.getId() + 1, "S002", "W001", "P002", 500L);
+
+        stockService.createStocks(List.of(defaultCreateEvent, second));
+
+        ArgumentCaptor<List<Stock>> saved = ArgumentCaptor.forClass(List.class);
+        verify(stockRepository).saveAllAndFlush(saved.capture());
+        assertEquals(List.of(defaultCreateEvent.getId(), second.getId()), saved.getValue().stream().map(Stock::getId).toList());
+        assertTrue(saved.getValue().stream().allMatch(Stock::isNew));
+    }
+
     @Test
     @DisplayName("재고 조회")
     void getStockTest() {
@@ -104,7 +123,7 @@ public class StockServiceTest {
         when(stockRepository.save(any(Stock.class))).thenReturn(defaultStock);
 
         // when
-        Stock result = stockService.decreaseStock(defaultDecreaseStockEvent);
+        Stock result = stockService.decreaseStock(stockId, defaultDecreaseStockEvent);
 
         // then
         assertNotNull(result);
@@ -122,7 +141,7 @@ public class StockServiceTest {
 
         // when
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-            stockService.decreaseStock(defaultDecreaseStockEvent);
+            stockService.decreaseStock(stockId, defaultDecreaseStockEvent);
         });
 
         // then
@@ -214,7 +233,7 @@ public class StockServiceTest {
             executorService.execute(() -> {
                 try {
                     synchronized (defaultStock){
-                        stockService.decreaseStock(defaultDecreaseStockEvent);
+                        stockService.decreaseStock(stockId, defaultDecreaseStockEvent);
                     }
                     successCount.incrementAndGet();
                 }catch (Exception e){
@@ -260,7 +279,7 @@ public class StockServiceTest {
         for (int i = 0; i < totalRequests; i++) {
             executorService.execute(() -> {
                 try {
-                    stockService.decreaseStock(defaultDecreaseStockEvent);
+                    stockService.decreaseStock(stockId, defaultDecreaseStockEvent);
                     successCount.incrementAndGet();
                 } catch (RuntimeException e) {
                     failureCount.incrementAndGet();
@@ -315,7 +334,7 @@ public class StockServiceTest {
         for (int i = 0; i < totalRequests; i++) {
             executorService.execute(() -> {
                 try {
-                    stockService.decreaseStock(defaultDecreaseStockEvent);
+                    stockService.decreaseStock(stockId, defaultDecreaseStockEvent);
                     successCount.incrementAndGet();
                 } catch (RuntimeException e) {
                     failureCount.incrementAndGet();
@@ -375,7 +394,7 @@ public class StockServiceTest {
         for (int i = 0; i < totalRequests; i++) {
             executor.submit(() -> {
                 try {
-                    stockService.decreaseStock(defaultDecreaseStockEvent);
+                    stockService.decreaseStock(stockId, defaultDecreaseStockEvent);
                     successCount.incrementAndGet();
                 } catch (Exception e) {
                     failureCount.incrementAndGet();
@@ -0,0 +1,98 @@
+package com.example.stock.kafka;
+
+import com.example.events.CommandRetryRouter;
+import com.example.events.IdempotencyFilter;
+import com.example.events.ListenerMetrics;
+import com.example.kafka.CreateStockEvent;
+import com.example.kafka.Event;
+import com.example.kafka.StockCreatedEvent;
+import com.example.stock.entity.Stock;
+import com.example.stock.service.ProcessedCommandRecorder;
+import com.example.stock.service.StockService;
+import com.example.util.KeyOrderedDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class StockCommandConsumerTest {
+
+    private final StockService stockService = mock(StockService.class);
+    private final StockEventProducer eventProducer = mock(StockEventProducer.class);
+    private final KeyOrderedDispatcher keyOrderedDispatcher = mock(KeyOrderedDispatcher.class);
+    private final CommandRetryRouter commandRetryRouter = mock(CommandRetryRouter.class);
+    private final ProcessedCommandRecorder processedCommandRecorder = mock(ProcessedCommandRecorder.class);
+    private final IdempotencyFilter idempotencyFilter = mock(IdempotencyFilter.class);
+    private StockCommandConsumer consumer;
+
+    private final Stock stock = Stock.builder().id(1L).stockId("ST1").storeId("W1").productId("P1").stock(100L).build();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        consumer = new StockCommandConsumer(stockService, eventProducer, keyOrderedDispatcher, commandRetryRouter,
+                new ListenerMetrics(new SimpleMeterRegistry()), processedCommandRecorder, idempotencyFilter);
+        // 레인 하나에서 바로 처리, 실패 라우팅 없이 결과만 통과
+        when(keyOrderedDispatcher.dispatch(anyList(), any(), any())).thenAnswer(invocation ->
+                invocation.<Function<List<?>, List<?>>>getArgument(2).apply(invocation.getArgument(0)));
+        when(commandRetryRouter.routeFailures(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("일괄 생성 후 처리 표시가 실패하면 건별 처리로 넘어가도 결과 이벤트는 한 번만 발행")
+    void batchCreateMarkFailureEmitsOnceTest() {
+        when(stockService.createStocks(anyList())).thenReturn(List.of(stock));
+        doThrow(new IllegalStateException("bloom filter unavailable")).doNothing().when(idempotencyFilter).markProcessed(anyCollection());
+        when(idempotencyFilter.isProcessed(anyString(), any())).thenReturn(true); // 일괄 트랜잭션은 이미 커밋됨
+        when(stockService.getStock("ST1")).thenReturn(stock);
+
+        consumer.onCommandEvents(List.of(record(new CreateStockEvent(1L, "ST1", "W1", "P1", 100L))));
+
+        ArgumentCaptor<List<?>> results = ArgumentCaptor.forClass(List.class);
+        verify(eventProducer).sendResultEvents(results.capture());
+        assertEquals(1, results.getValue().size());
+        assertInstanceOf(StockCreatedEvent.class, results.getValue().get(0));
+    }
+
+    @Test
+    @DisplayName("재시도 레코드의 결과 발행이 실패하면 커밋하지 않고 nack로 다시 받음")
+    void retryResultPublishFailureNacksTest() {
+        Acknowledgment ack = mock(Acknowledgment.class);
+        when(idempotencyFilter.isProcessed(anyString(), any())).thenReturn(true);
+        when(stockService.getStock("ST1")).thenReturn(stock);
+        doThrow(new IllegalStateException("send timed out")).when(eventProducer).sendResultEvents(anyList());
+
+        consumer.onRetryEvent(record(new CreateStockEvent(1L, "ST1", "W1", "P1", 100L)), ack);
+
+        verify(ack).nack(any());
+        verify(ack, never()).acknowledge();
+    }
+
+    @Test
+    @DisplayName("재시도 레코드의 결과 발행이 확인되면 커밋")
+    void retryResultPublishedAcknowledgesTest() {
+        Acknowledgment ack = mock(Acknowledgment.class);
+        when(idempotencyFilter.isProcessed(anyString(), any())).thenReturn(true);
+        when(stockService.getStock("ST1")).thenReturn(stock);
+
+        consumer.onRetryEvent(record(new CreateStockEvent(1L, "ST1", "W1", "P1", 100L)), ack);
+
+        verify(eventProducer).sendResultEvents(anyList());
+        verify(ack).acknowledge();
+        verify(ack, never()).nack(any());
+    }
+
+    private static ConsumerRecord<String, Event> record(Object command) {
+        return new ConsumerRecord<>("stock-command", 0, 0L, "ST1", new Event(command.getClass().getName(), command));
+    }
+}
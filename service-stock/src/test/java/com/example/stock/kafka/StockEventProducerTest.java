@@ -0,0 +1,63 @@
+package com.example.stock.kafka;
+
+import com.example.events.EventSendPipeline;
+import com.example.kafka.Event;
+import com.example.kafka.StockUpdatedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StockEventProducerTest {
+
+    @Mock
+    private KafkaTemplate<String, Event> kafkaTemplate;
+
+    @Mock
+    private EventSendPipeline eventSendPipeline;
+
+    private StockEventProducer stockEventProducer;
+    private StockUpdatedEvent updated;
+
+    @BeforeEach
+    void setUp() {
+        stockEventProducer = new StockEventProducer(kafkaTemplate, eventSendPipeline);
+        updated = new StockUpdatedEvent(1L, "S001", "ST001", "P001", 100L);
+    }
+
+    @Test
+    @DisplayName("결과/스냅샷 전송이 모두 성공하면 정상 반환")
+    void sendResultEventsSuccessTest() {
+        when(eventSendPipeline.send(eq(kafkaTemplate), anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        stockEventProducer.sendResultEvents(List.of(updated));
+
+        verify(eventSendPipeline).send(eq(kafkaTemplate), eq("stock-result"), eq("S001"), any());
+        verify(eventSendPipeline).send(eq(kafkaTemplate), eq(StockEventProducer.SNAPSHOT_TOPIC), eq("S001"), any());
+        verify(kafkaTemplate).flush();
+    }
+
+    @Test
+    @DisplayName("in-flight 한도 거절 등으로 전송이 실패하면 예외 (트랜잭션 중단, 배치 재전달)")
+    void sendResultEventsFailureTest() {
+        when(eventSendPipeline.send(eq(kafkaTemplate), eq("stock-result"), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Kafka in-flight 한도 초과: stock-result")));
+        when(eventSendPipeline.send(eq(kafkaTemplate), eq(StockEventProducer.SNAPSHOT_TOPIC), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThrows(CompletionException.class, () -> stockEventProducer.sendResultEvents(List.of(updated)));
+    }
+}
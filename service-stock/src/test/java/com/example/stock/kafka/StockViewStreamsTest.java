@@ -0,0 +1,95 @@
+package com.example.stock.kafka;
+
+import com.example.events.AvroSchemaCache;
+import com.example.events.LocalSchemaAvroSerializer;
+import com.example.kafka.Event;
+import com.example.kafka.StockCreatedEvent;
+import com.example.kafka.StockDeletedEvent;
+import com.example.kafka.StockUpdatedEvent;
+import com.example.stock.entity.Stock;
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StockViewStreamsTest {
+
+    @TempDir
+    Path stateDir;
+
+    private TopologyTestDriver driver;
+    private TestInputTopic<String, Event> results;
+    private KeyValueStore<String, Stock> byId;
+    private KeyValueStore<String, Stock> byProduct;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        AvroSchemaCache avroSchemaCache = new AvroSchemaCache(new MockSchemaRegistryClient(), Event.getClassSchema(), List.of("stock-result"));
+        avroSchemaCache.init();
+        StockViewStreams stockViewStreams = new StockViewStreams(avroSchemaCache, new MockEnvironment());
+
+        Properties config = new Properties();
+        config.put(StreamsConfig.APPLICATION_ID_CONFIG, "stock-view-test");
+        config.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:1234");
+        config.put(StreamsConfig.STATE_DIR_CONFIG, stateDir.toString());
+        driver = new TopologyTestDriver(stockViewStreams.topology(), config);
+
+        results = driver.createInputTopic("stock-result", new StringSerializer(), new LocalSchemaAvroSerializer<Event>(avroSchemaCache));
+        byId = driver.getKeyValueStore(StockViewStreams.BY_ID_STORE);
+        byProduct = driver.getKeyValueStore(StockViewStreams.BY_PRODUCT_STORE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    @DisplayName("생성 후 수정 이벤트 → stockId/productId 뷰 모두 최신 재고")
+    void createThenUpdateTest() {
+        pipe("S001", new StockCreatedEvent(1L, "S001", "ST001", "P001", 100L));
+        pipe("S001", new StockUpdatedEvent(1L, "S001", "ST001", "P001", 70L));
+
+        assertEquals(70L, byId.get("S001").getStock());
+        assertEquals("S001", byProduct.get("P001").getStockId());
+        assertEquals(70L, byProduct.get("P001").getStock());
+    }
+
+    @Test
+    @DisplayName("삭제 이벤트 → 두 뷰에서 모두 제거")
+    void deleteRemovesFromBothViewsTest() {
+        pipe("S001", new StockCreatedEvent(1L, "S001", "ST001", "P001", 100L));
+        pipe("S001", new StockDeletedEvent("S001"));
+
+        assertNull(byId.get("S001"));
+        assertNull(byProduct.get("P001"));
+    }
+
+    @Test
+    @DisplayName("상품이 바뀐 재고는 이전 productId에서 제거")
+    void productChangeMovesEntryTest() {
+        pipe("S001", new StockCreatedEvent(1L, "S001", "ST001", "P001", 100L));
+        pipe("S001", new StockUpdatedEvent(1L, "S001", "ST001", "P002", 100L));
+
+        assertNull(byProduct.get("P001"));
+        assertEquals("S001", byProduct.get("P002").getStockId());
+    }
+
+    private void pipe(String stockId, Object event) {
+        results.pipeInput(stockId, new Event(event.getClass().getName(), event));
+    }
+}
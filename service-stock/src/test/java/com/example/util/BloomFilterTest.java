@@ -0,0 +1,52 @@
+package com.example.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BloomFilterTest {
+
+    @Test
+    @DisplayName("넣은 값은 항상 있을 수도 있음으로 판단")
+    void noFalseNegativeTest() {
+        BloomFilter bloomFilter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 5_000; i++) {
+            bloomFilter.put("event-" + i);
+        }
+
+        for (int i = 0; i < 5_000; i++) {
+            assertTrue(bloomFilter.mightContain("event-" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("넣지 않은 값의 오탐률은 설정값 근처")
+    void falsePositiveRateTest() {
+        BloomFilter bloomFilter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 9_000; i++) {
+            bloomFilter.put("event-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (bloomFilter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("두 세대가 지나면 오래된 값은 빠짐")
+    void rotationTest() {
+        BloomFilter bloomFilter = new BloomFilter(100, 0.01);
+        bloomFilter.put("oldest");
+        for (int i = 0; i < 200; i++) {
+            bloomFilter.put("event-" + i);
+        }
+
+        assertTrue(bloomFilter.mightContain("event-199"));
+        assertFalse(bloomFilter.mightContain("oldest"));
+    }
+}
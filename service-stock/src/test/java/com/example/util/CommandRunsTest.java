@@ -0,0 +1,32 @@
+package com.example.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandRunsTest {
+
+    @Test
+    @DisplayName("같은 종류가 연속된 구간으로 나누고 순서 유지")
+    void splitKeepsOrderTest() {
+        List<String> commands = List.of("create", "create", "update", "create", "delete", "delete");
+
+        List<List<String>> runs = CommandRuns.split(commands, command -> command);
+
+        assertEquals(List.of(
+                List.of("create", "create"),
+                List.of("update"),
+                List.of("create"),
+                List.of("delete", "delete")
+        ), runs);
+    }
+
+    @Test
+    @DisplayName("빈 목록은 빈 구간 목록 반환")
+    void splitEmptyTest() {
+        assertTrue(CommandRuns.split(List.<String>of(), command -> command).isEmpty());
+    }
+}
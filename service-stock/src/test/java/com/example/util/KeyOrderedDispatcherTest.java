@@ -0,0 +1,55 @@
+package com.example.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeyOrderedDispatcherTest {
+
+    private final KeyOrderedDispatcher dispatcher = new KeyOrderedDispatcher(4);
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 키는 도착 순서대로 처리되고 모든 결과가 모인다")
+    void perKeyOrderTest() {
+        List<String> records = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            records.add("S" + (i % 10) + ":" + i);
+        }
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+
+        List<String> results = dispatcher.dispatch(records, record -> record.split(":")[0], lane -> {
+            lane.forEach(record -> {
+                String[] parts = record.split(":");
+                seen.computeIfAbsent(parts[0], key -> Collections.synchronizedList(new ArrayList<>()))
+                        .add(Integer.parseInt(parts[1]));
+            });
+            return lane;
+        });
+
+        assertEquals(100, results.size());
+        seen.values().forEach(sequence -> {
+            List<Integer> sorted = new ArrayList<>(sequence);
+            Collections.sort(sorted);
+            assertEquals(sorted, sequence);
+        });
+    }
+
+    @Test
+    @DisplayName("레인 수가 2의 거듭제곱이 아니면 예외")
+    void invalidLaneCountTest() {
+        assertThrows(IllegalArgumentException.class, () -> new KeyOrderedDispatcher(3));
+    }
+}
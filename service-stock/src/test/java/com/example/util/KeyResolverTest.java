@@ -0,0 +1,43 @@
+package com.example.util;
+
+import com.example.annotations.RedissonLock;
+import com.example.kafka.DecreaseStockEvent;
+import com.example.kafka.IncreaseStockEvent;
+import com.example.stock.service.StockService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeyResolverTest {
+
+    @Test
+    @DisplayName("{파라미터} 자리만 인자 값으로 치환")
+    void resolveTest() {
+        assertEquals("stock-ST1", KeyResolver.resolve("stock-{stockId}", new String[]{"stockId", "event"}, new Object[]{"ST1", null}));
+        // SpEL 형식은 치환하지 않음 → 모든 호출이 같은 키가 됨
+        assertEquals("#{'stock-' + stockId}", KeyResolver.resolve("#{'stock-' + stockId}", new String[]{"event"}, new Object[]{null}));
+    }
+
+    @Test
+    @DisplayName("재고 증감 락 키는 재고별로 달라짐")
+    void stockServiceLockKeyTest() throws Exception {
+        Method decrease = StockService.class.getMethod("decreaseStock", String.class, DecreaseStockEvent.class);
+        Method increase = StockService.class.getMethod("increaseStock", String.class, IncreaseStockEvent.class);
+
+        assertEquals("stock-ST1", lockKey(decrease, "ST1", new DecreaseStockEvent("ST1", 1L)));
+        assertEquals("stock-ST2", lockKey(decrease, "ST2", new DecreaseStockEvent("ST2", 1L)));
+        assertEquals("stock-ST1", lockKey(increase, "ST1", new IncreaseStockEvent("ST1", 1L)));
+    }
+
+    /**
+     * RedissonLockAspect와 같은 방식으로 락 키 계산 (애노테이션 템플릿 + 파라미터 이름)
+     */
+    private static String lockKey(Method method, Object... args) {
+        String[] paramNames = new DefaultParameterNameDiscoverer().getParameterNames(method);
+        return KeyResolver.resolve(method.getAnnotation(RedissonLock.class).value(), paramNames, args);
+    }
+}
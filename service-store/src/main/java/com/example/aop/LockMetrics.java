@@ -0,0 +1,165 @@
+package com.example.aop;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 분산 락 계측
+ * - lock.wait / lock.hold 타이머 (prefix, method 태그)
+ * - lock.acquisitions / lock.failures / lock.lease.expired 카운터 (prefix 태그)
+ * - 경합 키 샘플링 (상위 경합 키 조회용)
+ *
+ * 태그 카디널리티를 막기 위해 락 키 전체가 아닌 prefix(예: "stock-123" → "stock")만 태그로 쓴다.
+ */
+@Component
+public class LockMetrics {
+
+    private static final Pattern PREFIX_PATTERN = Pattern.compile("[A-Za-z_]+");
+    private static final long CONTENDED_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1); // 1ms 이상 대기하면 경합으로 본다
+    private static final int SAMPLE_RATE = 4; // 경합 4건 중 1건만 기록
+    private static final double[] HOLD_PERCENTILES = {0.5, 0.99}; // adaptive lease 계산에 사용
+
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, LongAdder> contendedKeys = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+    private final ConcurrentHashMap<String, Timer> holdTimers = new ConcurrentHashMap<>();
+
+    public LockMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 락 획득 시도 결과 기록
+     *
+     * @param waitEvent 대기 시작 시점에 begin()된 JFR 이벤트
+     * @param reason 실패 사유 (timeout, queue_full, error), 성공 시 무시
+     */
+    public void recordWait(LockWaitEvent waitEvent, String lockKey, String method, String mode, long waitNanos, boolean acquired, String reason) {
+        String prefix = prefixOf(lockKey);
+        Timer.builder("lock.wait")
+                .description("@RedissonLock 락 획득 대기 시간")
+                .tag("prefix", prefix)
+                .tag("method", method)
+                .tag("mode", mode)
+                .tag("outcome", acquired ? "acquired" : "failed")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(waitNanos, TimeUnit.NANOSECONDS);
+
+        if (acquired) {
+            counter("lock.acquisitions", prefix, null).increment();
+        } else {
+            counter("lock.failures", prefix, reason).increment();
+        }
+
+        if (!acquired || waitNanos >= CONTENDED_WAIT_NANOS) {
+            sampleContention(lockKey);
+        }
+
+        waitEvent.end();
+        if (waitEvent.shouldCommit()) {
+            waitEvent.lockKey = lockKey;
+            waitEvent.method = method;
+            waitEvent.mode = mode;
+            waitEvent.acquired = acquired;
+            waitEvent.commit();
+        }
+    }
+
+    /**
+     * 락 점유 시간 기록 및 lease 만료 감지
+     *
+     * @param stillHeld 해제 직전 락을 여전히 소유하고 있었는지 (false면 lease가 먼저 만료된 것)
+     */
+    public void recordHold(String lockKey, String method, long holdNanos, long leaseTimeMillis, boolean stillHeld) {
+        String prefix = prefixOf(lockKey);
+        holdTimer(prefix, method).record(holdNanos, TimeUnit.NANOSECONDS);
+
+        boolean overLease = leaseTimeMillis > 0 && holdNanos > TimeUnit.MILLISECONDS.toNanos(leaseTimeMillis);
+        if (!stillHeld || overLease) {
+            counter("lock.lease.expired", prefix, null).increment();
+        }
+    }
+
+    /**
+     * 워치독 갱신 시점에 락을 이미 잃은 경우
+     */
+    public void recordLeaseLost(String lockKey) {
+        counter("lock.lease.expired", prefixOf(lockKey), null).increment();
+    }
+
+    /**
+     * 최근 점유 시간 백분위 (ms) - 표본이 minSamples 미만이면 empty
+     */
+    public OptionalDouble holdPercentileMillis(String prefix, String method, double percentile, long minSamples) {
+        Timer timer = holdTimers.get(prefix + "|" + method);
+        if (timer == null || timer.count() < minSamples) {
+            return OptionalDouble.empty();
+        }
+        for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+            if (value.percentile() == percentile) {
+                return OptionalDouble.of(value.value(TimeUnit.MILLISECONDS));
+            }
+        }
+        return OptionalDouble.empty();
+    }
+
+    /**
+     * 샘플링된 경합 횟수 기준 상위 키 (추정치)
+     */
+    public Map<String, Long> topContendedKeys(int limit) {
+        Map<String, Long> top = new LinkedHashMap<>();
+        contendedKeys.asMap().entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> e) -> e.getValue().sum()).reversed())
+                .limit(limit)
+                .forEach(e -> top.put(e.getKey(), e.getValue().sum() * SAMPLE_RATE));
+        return top;
+    }
+
+    static String prefixOf(String lockKey) {
+        Matcher matcher = PREFIX_PATTERN.matcher(lockKey);
+        return matcher.find() ? matcher.group() : "unknown";
+    }
+
+    private Timer holdTimer(String prefix, String method) {
+        return holdTimers.computeIfAbsent(prefix + "|" + method, k -> Timer.builder("lock.hold")
+                .description("@RedissonLock 락 점유 시간")
+                .tag("prefix", prefix)
+                .tag("method", method)
+                .publishPercentiles(HOLD_PERCENTILES)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private void sampleContention(String lockKey) {
+        if (ThreadLocalRandom.current().nextInt(SAMPLE_RATE) == 0) {
+            contendedKeys.get(lockKey, k -> new LongAdder()).increment();
+        }
+    }
+
+    private Counter counter(String name, String prefix, String reason) {
+        Counter.Builder builder = Counter.builder(name).tag("prefix", prefix);
+        if (reason != null) {
+            builder.tag("reason", reason);
+        }
+        return builder.register(meterRegistry);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.aop;
 
+import com.example.annotations.RedissonLock;
 import com.example.util.KeyResolver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,10 +12,12 @@ import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
-import com.example.annotations.RedissonLock; // 이 import만 남깁니다.
 
 import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
 @Aspect
@@ -23,36 +26,92 @@ import java.util.concurrent.TimeUnit;
 public class RedissonLockAspect {
 
     private final RedissonClient redissonClient;
+    private final StripedLocalLock stripedLocalLock;
+    private final AsyncLockQueue asyncLockQueue;
+    private final Executor lockTaskExecutor;
+    private final LockMetrics lockMetrics;
+    private final AdaptiveLeasePolicy adaptiveLeasePolicy;
+    private final LeaseWatchdog leaseWatchdog;
 
     @Around("@annotation(com.example.annotations.RedissonLock)")
     public Object redissonLock(ProceedingJoinPoint joinPoint) throws Throwable {
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
         Method method = signature.getMethod();
         RedissonLock annotation = method.getAnnotation(RedissonLock.class);
+        String methodName = method.getDeclaringClass().getSimpleName() + "." + method.getName();
 
         String lockKey = KeyResolver.resolve(annotation.value(), signature.getParameterNames(), joinPoint.getArgs());
+        if (annotation.async()) {
+            return asyncLock(joinPoint, method, methodName, annotation, lockKey);
+        }
+
         RLock lock = redissonClient.getLock(lockKey);
+        ReentrantLock localLock = annotation.localLock() ? stripedLocalLock.get(lockKey) : null;
 
+        boolean localLocked = false;
         boolean lockable = false;
         boolean txLock = false;
+        long leaseTime = leaseTimeOf(annotation, lockKey, methodName);
+        LeaseWatchdog.Renewal renewal = null;
+        long waitStart = System.nanoTime();
+        long holdStart = 0L;
+        LockWaitEvent waitEvent = new LockWaitEvent();
+        waitEvent.begin();
         try {
-            // 락 획득 시도
-            lockable = lock.tryLock(annotation.waitTime(), annotation.leaseTime(), TimeUnit.MILLISECONDS);
+            long deadline = waitStart + TimeUnit.MILLISECONDS.toNanos(annotation.waitTime());
+
+            // 1단계: 로컬 스트라이프 락 - 같은 스트라이프의 로컬 스레드는 여기서 대기하고 Redis 대기열에는 한 스레드만 나간다
+            if (localLock != null) {
+                localLocked = localLock.tryLock(annotation.waitTime(), TimeUnit.MILLISECONDS);
+                if (!localLocked) {
+                    lockMetrics.recordWait(waitEvent, lockKey, methodName, "sync", System.nanoTime() - waitStart, false, "timeout");
+                    throw new IllegalStateException("락 획득 실패: " + lockKey);
+                }
+            }
+
+            // 2단계: 남은 대기 시간 안에서 Redisson 분산 락 획득 시도
+            long remainingWait = Math.max(0L, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+            lockable = lock.tryLock(remainingWait, leaseTime, TimeUnit.MILLISECONDS);
+            holdStart = System.nanoTime();
+
+            // 3단계: Redis 락 시도가 끝나면 스트라이프는 바로 놓는다
+            // 임계 구역 동안 잡고 있으면 같은 스트라이프에 걸린 다른 키까지 그 시간만큼 막힌다
+            if (localLocked) {
+                localLock.unlock();
+                localLocked = false;
+            }
+            lockMetrics.recordWait(waitEvent, lockKey, methodName, "sync", holdStart - waitStart, lockable, "timeout");
             log.info("[RedissonLock] 획득 시도 - name: {}, locked: {}, lockable: {}", lock.getName(), lock.isLocked(), lockable);
 
             if (!lockable) {
                 throw new IllegalStateException("락 획득 실패: " + lockKey);
             }
-            log.info("[RedissonLock]  락 획득 성공: {}", lockKey);
+            log.info("[RedissonLock]  락 획득 성공: {}, leaseTime: {}ms", lockKey, leaseTime);
+
+            // adaptive lease는 짧게 잡는 대신 임계 구역이 끝날 때까지 워치독이 갱신
+            if (annotation.adaptiveLease() && leaseTime > 0) {
+                renewal = leaseWatchdog.start(lockKey, Thread.currentThread().getId(), leaseTime, lockMetrics::recordLeaseLost);
+            }
 
             // 트랜잭션 종료 후 락 해제를 플래그가 true이고 트랜잭션이 활성화된 경우라면
             if (annotation.transactional() && TransactionSynchronizationManager.isSynchronizationActive()) {
-                TransactionSynchronizationManager.registerSynchronization(new TransactionSync(lock, lockKey));
+                long txHoldStart = holdStart;
+                LeaseWatchdog.Renewal txRenewal = renewal;
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSync(lockKey,
+                        () -> release(lock, txRenewal, lockKey, methodName, txHoldStart, leaseTime)));
                 txLock = true;
             }
 
-            // 로직 수행
-            return joinPoint.proceed();
+            // 로직 수행 (fencing 사용 시 이번 획득의 펜싱 토큰을 노출)
+            if (!annotation.fencing()) {
+                return joinPoint.proceed();
+            }
+            Long previousToken = LockContext.set(nextFencingToken(lockKey));
+            try {
+                return joinPoint.proceed();
+            } finally {
+                LockContext.restore(previousToken);
+            }
 
         } catch (Exception e) {
             log.info("[RedissonLock] 락 획득 실패: {}", lockKey);
@@ -60,14 +119,155 @@ public class RedissonLockAspect {
             throw e;
 
         } finally {
-            // 트랜잭션 종료 후 해제 설정이 아닐 경우, 직접 해제
-            boolean shouldUnlockNow = lockable &&
-                    (!annotation.transactional() || !TransactionSynchronizationManager.isSynchronizationActive() && txLock);
+            // 트랜잭션 종료 후 해제를 등록하지 않은 경우 직접 해제
+            if (!txLock && lockable) {
+                release(lock, renewal, lockKey, methodName, holdStart, leaseTime);
+                log.info("[RedissonLock] 즉시 락 해제 : {}", lockKey);
+            }
+            // Redis 락 시도 전에 예외가 나면 스트라이프가 남아 있을 수 있다
+            if (localLocked) {
+                localLock.unlock();
+            }
+        }
+    }
 
-                if(shouldUnlockNow && lock.isHeldByCurrentThread()){
-                    lock.unlock();
-                    log.info("[RedissonLock] 즉시 락 해제 : {}", lockKey);
-                }
+    /**
+     * Redis 락 해제 및 점유 시간 기록 (로컬 스트라이프는 Redis 락 시도 직후 이미 놓았음)
+     * 해제 시점에 이미 소유하고 있지 않다면 lease가 먼저 만료된 것이다.
+     */
+    private void release(RLock lock, LeaseWatchdog.Renewal renewal, String lockKey,
+                         String methodName, long holdStart, long leaseTime) {
+        if (renewal != null) {
+            renewal.cancel();
+        }
+        boolean stillHeld = lock.isHeldByCurrentThread();
+        // 워치독이 갱신 중이었다면 lease보다 오래 잡는 것은 정상이므로 소유 여부로만 만료를 판단
+        lockMetrics.recordHold(lockKey, methodName, System.nanoTime() - holdStart, renewal != null ? 0L : leaseTime, stillHeld);
+        if (stillHeld) {
+            lock.unlock();
+        } else {
+            log.warn("[RedissonLock] 해제 전 lease 만료 - 동시 실행 가능성: {}", lockKey);
+        }
+    }
+
+    /**
+     * 비동기 락 모드
+     * - Redisson tryLockAsync로 대기하므로 대기 중인 요청은 스레드를 점유하지 않는다
+     * - 락 획득 후 본문은 lockTaskExecutor에서 실행하고, 반환된 Future 완료 시 unlockAsync
+     * - 키당 대기 수가 maxWaiters를 넘으면 즉시 실패한 Future 반환
+     */
+    private Object asyncLock(ProceedingJoinPoint joinPoint, Method method, String methodName,
+                             RedissonLock annotation, String lockKey) {
+        if (!CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
+            throw new IllegalStateException("비동기 락은 CompletableFuture 반환 메서드에만 사용할 수 있습니다: " + method);
+        }
+
+        long leaseTime = leaseTimeOf(annotation, lockKey, methodName);
+        long waitStart = System.nanoTime();
+        LockWaitEvent waitEvent = new LockWaitEvent();
+        waitEvent.begin();
+
+        if (!asyncLockQueue.tryEnter(lockKey, annotation.maxWaiters())) {
+            log.warn("[RedissonLock] 비동기 락 대기열 초과: {}, maxWaiters: {}", lockKey, annotation.maxWaiters());
+            lockMetrics.recordWait(waitEvent, lockKey, methodName, "async", System.nanoTime() - waitStart, false, "queue_full");
+            return CompletableFuture.failedFuture(new IllegalStateException("락 대기열 초과: " + lockKey));
         }
+
+        RLock lock = redissonClient.getLock(lockKey);
+        long ownerId = asyncLockQueue.nextOwnerId();
+        CompletableFuture<Object> result = new CompletableFuture<>();
+
+        lock.tryLockAsync(annotation.waitTime(), leaseTime, TimeUnit.MILLISECONDS, ownerId)
+                .whenComplete((acquired, lockEx) -> {
+                    long holdStart = System.nanoTime();
+                    boolean locked = lockEx == null && Boolean.TRUE.equals(acquired);
+                    lockMetrics.recordWait(waitEvent, lockKey, methodName, "async", holdStart - waitStart,
+                            locked, lockEx != null ? "error" : "timeout");
+
+                    if (!locked) {
+                        asyncLockQueue.leave(lockKey);
+                        log.info("[RedissonLock] 락 획득 실패: {}", lockKey);
+                        result.completeExceptionally(lockEx != null ? lockEx : new IllegalStateException("락 획득 실패: " + lockKey));
+                        return;
+                    }
+                    log.info("[RedissonLock]  비동기 락 획득 성공: {}", lockKey);
+
+                    LeaseWatchdog.Renewal renewal = (annotation.adaptiveLease() && leaseTime > 0)
+                            ? leaseWatchdog.start(lockKey, ownerId, leaseTime, lockMetrics::recordLeaseLost)
+                            : null;
+                    AsyncHold hold = new AsyncHold(lock, ownerId, renewal, lockKey, methodName, holdStart, leaseTime);
+                    try {
+                        // Redisson 이벤트 루프 스레드에서 블로킹 로직이 돌지 않도록 별도 실행기로 넘긴다
+                        lockTaskExecutor.execute(() -> proceedAndRelease(joinPoint, annotation.fencing(), hold, result));
+                    } catch (Exception e) {
+                        releaseAsync(hold);
+                        result.completeExceptionally(e);
+                    }
+                });
+
+        return result;
+    }
+
+    private void proceedAndRelease(ProceedingJoinPoint joinPoint, boolean fencing, AsyncHold hold,
+                                   CompletableFuture<Object> result) {
+        CompletableFuture<?> body;
+        // 펜싱 토큰은 본문을 호출하는 스레드에서만 보인다 (본문이 다른 스레드로 넘기는 작업에는 직접 전달해야 함)
+        Long previousToken = fencing ? LockContext.set(nextFencingToken(hold.lockKey())) : null;
+        try {
+            body = (CompletableFuture<?>) joinPoint.proceed();
+        } catch (Throwable t) {
+            body = CompletableFuture.failedFuture(t);
+        } finally {
+            if (fencing) {
+                LockContext.restore(previousToken);
+            }
+        }
+        if (body == null) {
+            body = CompletableFuture.completedFuture(null);
+        }
+
+        body.whenComplete((value, ex) -> {
+            releaseAsync(hold);
+            if (ex != null) {
+                result.completeExceptionally(ex);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    private void releaseAsync(AsyncHold hold) {
+        if (hold.renewal() != null) {
+            hold.renewal().cancel();
+        }
+        long holdNanos = System.nanoTime() - hold.holdStart();
+        hold.lock().unlockAsync(hold.ownerId()).whenComplete((ignored, ex) -> {
+            asyncLockQueue.leave(hold.lockKey());
+            // 소유하지 않은 락 해제 시 예외 → lease가 먼저 만료된 것
+            lockMetrics.recordHold(hold.lockKey(), hold.methodName(), holdNanos,
+                    hold.renewal() != null ? 0L : hold.leaseTime(), ex == null);
+            if (ex != null) {
+                log.warn("[RedissonLock] 비동기 락 해제 실패 (lease 만료 가능): {}", hold.lockKey(), ex);
+            } else {
+                log.info("[RedissonLock] 비동기 락 해제 : {}", hold.lockKey());
+            }
+        });
+    }
+
+    private long leaseTimeOf(RedissonLock annotation, String lockKey, String methodName) {
+        return annotation.adaptiveLease()
+                ? adaptiveLeasePolicy.leaseMillis(lockKey, methodName, annotation.leaseTime())
+                : annotation.leaseTime();
+    }
+
+    /**
+     * 락 키별 단조 증가 펜싱 토큰 발급
+     */
+    private long nextFencingToken(String lockKey) {
+        return redissonClient.getAtomicLong("fence:" + lockKey).incrementAndGet();
+    }
+
+    private record AsyncHold(RLock lock, long ownerId, LeaseWatchdog.Renewal renewal, String lockKey,
+                             String methodName, long holdStart, long leaseTime) {
     }
 }
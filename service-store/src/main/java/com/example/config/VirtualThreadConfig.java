@@ -0,0 +1,62 @@
+package com.example.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.kafka.config.AbstractKafkaListenerContainerFactory;
+
+/**
+ * 가상 스레드 실행 모드 (virtual-threads 프로필, Java 21 이상 런타임 필요)
+ *
+ * Tomcat 요청 처리와 Boot 기본 @Async/@Scheduled 실행기는 spring.threads.virtual.enabled(application.yml)로 바뀐다.
+ * 여기서는 Boot 자동 설정 밖에서 직접 만든 것들을 바꾼다.
+ *  - Kafka 리스너 컨테이너(KafkaConsumerConfig에서 직접 만든 팩토리)의 컨슈머 스레드
+ *  - 이름을 지정한 실행기(lockTaskExecutor 등)는 각 설정 클래스에서 프로필별로 가상 스레드 실행기로 교체
+ * 블로킹 Feign/JDBC/Redisson 호출 동안 캐리어 스레드를 반납하므로 큰 스레드 풀이 필요 없다.
+ * 대신 큐/거절 없이 동시 실행 수만 제한한다 (한도에 닿으면 제출한 쪽이 잠깐 대기 → DB 커넥션 풀 고갈 방지).
+ */
+@Slf4j
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadConfig {
+
+    public VirtualThreadConfig() {
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException("virtual-threads 프로필은 Java 21 이상에서 실행해야 합니다: " + Runtime.version());
+        }
+        log.info("[VirtualThreadConfig] 가상 스레드 실행 모드 활성화");
+    }
+
+    /**
+     * 작업마다 가상 스레드를 만드는 실행기
+     *
+     * @param concurrencyLimit 동시 실행 한도, 제한하지 않으려면 SimpleAsyncTaskExecutor.UNBOUNDED_CONCURRENCY
+     */
+    public static SimpleAsyncTaskExecutor executor(String threadNamePrefix, int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        return executor;
+    }
+
+    /**
+     * 리스너 컨테이너 팩토리마다 컨슈머 스레드를 가상 스레드로 실행 (팩토리 설정 코드는 그대로 둠)
+     * 컨테이너당 스레드 수는 concurrency로 정해지므로 실행기 자체는 제한하지 않는다
+     */
+    @Bean
+    public static BeanPostProcessor virtualThreadListenerPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractKafkaListenerContainerFactory<?, ?, ?> factory) {
+                    factory.getContainerProperties().setListenerTaskExecutor(
+                            executor(beanName + "-", SimpleAsyncTaskExecutor.UNBOUNDED_CONCURRENCY));
+                }
+                return bean;
+            }
+        };
+    }
+}
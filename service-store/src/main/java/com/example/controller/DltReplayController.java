@@ -0,0 +1,34 @@
+package com.example.controller;
+
+import com.example.events.DltReplayService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/dlt")
+@RequiredArgsConstructor
+public class DltReplayController {
+
+    private final DltReplayService dltReplayService;
+
+    /**
+     * DLT 일괄 재처리
+     * ex) POST /api/dlt/replay?topic=store-command-dlt&max=1000
+     */
+    @PostMapping("/replay")
+    public Map<String, Object> replay(@RequestParam String topic,
+                                      @RequestParam(defaultValue = "1000") int max) {
+        if (!topic.endsWith("-dlt") || max <= 0) {
+            throw new IllegalArgumentException("잘못된 재처리 요청입니다. topic=" + topic + ", max=" + max);
+        }
+        int replayed = dltReplayService.replay(topic, max);
+        return Map.of("topic", topic, "replayed", replayed);
+    }
+}
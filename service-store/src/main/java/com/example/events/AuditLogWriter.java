@@ -0,0 +1,172 @@
+package com.example.events;
+
+import cn.hutool.core.lang.Snowflake;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.apache.avro.specific.SpecificRecord;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 결과 이벤트 감사 로그(events 테이블) 비동기 일괄 기록기
+ *
+ * - 리스너는 큐에 넣고 바로 반환, 전용 스레드가 최대 BATCH_SIZE건씩 모아 JDBC 배치 INSERT
+ *   (rewriteBatchedStatements=true 이므로 multi-row INSERT 한 번으로 전송)
+ * - id는 Snowflake로 미리 발급 (IDENTITY는 Hibernate/JDBC 배치를 막음)
+ * - payload는 Avro 필드를 그대로 옮긴 압축 JSON
+ * - 큐가 가득 차면 잠깐 기다린 뒤 호출 스레드에서 직접 기록 (유실 대신 리스너에 배압)
+ *
+ * 큐에만 있고 아직 기록되지 않은 로그는 프로세스가 비정상 종료되면 유실될 수 있다 (감사 로그 용도로 허용).
+ */
+@Slf4j
+@Component
+public class AuditLogWriter {
+
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int BATCH_SIZE = 500;
+    private static final long OFFER_TIMEOUT_MS = 100;
+    private static final long POLL_TIMEOUT_MS = 200;
+    private static final String STATUS_SUCCESS = "SUCCESS";
+    private static final String INSERT_SQL =
+            "INSERT INTO events (id, event_type, payload, event_time, status) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Snowflake snowflake = new Snowflake(); // 워커/데이터센터 ID는 PID/MAC 기반으로 자동 결정
+    private final BlockingQueue<EventEntity> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Counter written;
+    private final Counter fallbackWrites;
+    private final Timer batchTimer;
+    private final Thread drainer = new Thread(this::drainLoop, "AuditLogWriter");
+    private volatile boolean running = true;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.written = meterRegistry.counter("audit.log.written");
+        this.fallbackWrites = meterRegistry.counter("audit.log.fallback.writes");
+        this.batchTimer = meterRegistry.timer("audit.log.batch");
+        meterRegistry.gauge("audit.log.queue.size", queue, BlockingQueue::size);
+        drainer.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        drainer.start();
+    }
+
+    /**
+     * 성공 결과 이벤트 기록 요청
+     */
+    public void write(String eventType, Object event) {
+        EventEntity entity = EventEntity.builder()
+                .id(snowflake.nextId())
+                .eventType(eventType)
+                .payload(payloadOf(event))
+                .eventTime(LocalDateTime.now())
+                .status(STATUS_SUCCESS)
+                .build();
+
+        try {
+            if (queue.offer(entity, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        fallbackWrites.increment();
+        insert(List.of(entity));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        drainer.interrupt();
+        drainer.join(TimeUnit.SECONDS.toMillis(5));
+        flushRemaining();
+    }
+
+    private void drainLoop() {
+        while (running) {
+            List<EventEntity> batch = new ArrayList<>(BATCH_SIZE);
+            try {
+                EventEntity first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                insert(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("[AuditLogWriter] 감사 로그 {}건 기록 실패", batch.size(), e);
+            }
+        }
+    }
+
+    private void flushRemaining() {
+        List<EventEntity> batch = new ArrayList<>(BATCH_SIZE);
+        while (queue.drainTo(batch, BATCH_SIZE) > 0) {
+            try {
+                insert(batch);
+            } catch (Exception e) {
+                log.error("[AuditLogWriter] 종료 중 감사 로그 {}건 기록 실패", batch.size(), e);
+            }
+            batch = new ArrayList<>(BATCH_SIZE);
+        }
+    }
+
+    private void insert(List<EventEntity> entities) {
+        batchTimer.record(() -> jdbcTemplate.batchUpdate(INSERT_SQL, entities, entities.size(), (ps, entity) -> {
+            ps.setLong(1, entity.getId());
+            ps.setString(2, entity.getEventType());
+            ps.setString(3, entity.getPayload());
+            ps.setTimestamp(4, Timestamp.valueOf(entity.getEventTime()));
+            ps.setString(5, entity.getStatus());
+        }));
+        written.increment(entities.size());
+    }
+
+    /**
+     * Avro 이벤트 → 필드 순서를 유지한 압축 JSON ({"stockId":"S001","stock":100})
+     */
+    String payloadOf(Object event) {
+        try {
+            return mapper.writeValueAsString(toPlain(event));
+        } catch (JsonProcessingException e) {
+            return String.valueOf(event);
+        }
+    }
+
+    private static Object toPlain(Object value) {
+        if (value instanceof SpecificRecord record) {
+            Map<String, Object> fields = new LinkedHashMap<>();
+            for (Schema.Field field : record.getSchema().getFields()) {
+                fields.put(field.name(), toPlain(record.get(field.pos())));
+            }
+            return fields;
+        }
+        if (value instanceof CharSequence || value instanceof Enum<?>) {
+            return value.toString();
+        }
+        return value;
+    }
+}
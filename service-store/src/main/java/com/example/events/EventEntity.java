@@ -15,11 +15,10 @@ import java.time.LocalDateTime;
 public class EventEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    private Long id;                 // Snowflake로 미리 발급 (IDENTITY는 INSERT 배치를 막음, AuditLogWriter 참고)
 
     private String eventType;        // "StoreCreatedEvent", "StoreUpdatedEvent", etc.
-    private String payload;          // 이벤트 내용(간단히 JSON or String)
+    private String payload;          // 이벤트 필드를 옮긴 압축 JSON
     private LocalDateTime eventTime; // 이벤트 처리된 시각
     private String status;           // "SUCCESS", "FAILED" 등
 }
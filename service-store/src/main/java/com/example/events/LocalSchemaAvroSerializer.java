@@ -0,0 +1,67 @@
+package com.example.events;
+
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.apache.avro.specific.SpecificRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * 로컬 스키마 캐시 기반 Avro 직렬화
+ *
+ * Confluent 와이어 포맷(매직 바이트 0 + 스키마 ID 4바이트 + Avro 바이너리)을 그대로 쓰므로
+ * KafkaAvroDeserializer로도 읽을 수 있다. 스키마 ID는 AvroSchemaCache에서 가져오고,
+ * 버퍼와 인코더는 스레드별로 재사용한다.
+ */
+public class LocalSchemaAvroSerializer<T extends SpecificRecord> implements Serializer<T> {
+
+    static final byte MAGIC_BYTE = 0x0;
+
+    private final AvroSchemaCache schemaCache;
+    private final ThreadLocal<ByteArrayOutputStream> buffers = ThreadLocal.withInitial(() -> new ByteArrayOutputStream(512));
+    private final ThreadLocal<BinaryEncoder> encoders = new ThreadLocal<>();
+    private final ThreadLocal<SpecificDatumWriter<T>> writers = new ThreadLocal<>();
+
+    public LocalSchemaAvroSerializer(AvroSchemaCache schemaCache) {
+        this.schemaCache = schemaCache;
+    }
+
+    @Override
+    public byte[] serialize(String topic, T data) {
+        if (data == null) {
+            return null;
+        }
+        int schemaId = schemaCache.writerId();
+
+        ByteArrayOutputStream out = buffers.get();
+        out.reset();
+        out.write(MAGIC_BYTE);
+        out.write(schemaId >>> 24);
+        out.write(schemaId >>> 16);
+        out.write(schemaId >>> 8);
+        out.write(schemaId);
+
+        BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, encoders.get());
+        encoders.set(encoder);
+        try {
+            writerFor(data).write(data, encoder);
+            encoder.flush();
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Avro 직렬화 실패 - topic: " + topic, e);
+        }
+        return out.toByteArray();
+    }
+
+    private SpecificDatumWriter<T> writerFor(T data) {
+        SpecificDatumWriter<T> writer = writers.get();
+        if (writer == null) {
+            writer = new SpecificDatumWriter<>(data.getSchema());
+            writers.set(writer);
+        }
+        return writer;
+    }
+}
@@ -1,87 +1,223 @@
 package com.example.store.kafka;
 
+import com.example.events.CommandRetryRouter;
+import com.example.events.ListenerMetrics;
 import com.example.kafka.*;
 import com.example.store.entity.Store;
 import com.example.store.service.StoreService;
+import com.example.util.CommandRuns;
+import com.example.util.KeyOrderedDispatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class StoreCommandConsumer {
     private final StoreService storeService;
     private final StoreEventProducer eventProducer;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
+    private final CommandRetryRouter commandRetryRouter;
+    private final ListenerMetrics listenerMetrics;
 
-    @KafkaListener(topics = "store-command", groupId = "store-gourp")
-    private void onCommandEvent(ConsumerRecord<String, Event> record){
-        log.info("Received record: {}", record);
-        Object event = record.value().getEvent();
+    /**
+     * 배치 리스너
+     *  - poll 결과를 같은 종류의 명령이 연속된 구간으로 나눠 처리 (파티션 내 순서 유지)
+     *  - 생성/수정 구간은 한 트랜잭션에서 일괄 저장, 실패하면 건별 처리로 전환해 실패 레코드만 격리
+     *  - 그 외 명령은 건별 처리
+     *  - 레코드 키(storeId) 기준으로 레인을 나눠 병렬 처리, 같은 키는 순서대로 처리
+     *  - 처리에 실패한 레코드는 재시도 토픽(단계별 지연) → DLT로 넘기고 다음 레코드를 계속 처리
+     *  - 결과 이벤트는 모아서 한 번에 발행
+     */
+    @KafkaListener(topics = "store-command", groupId = "store-gourp", containerFactory = "batchKafkaListenerContainerFactory")
+    public void onCommandEvents(List<ConsumerRecord<String, Event>> records) {
+        log.info("Received batch: {} records", records.size());
+        List<Object> outcomes = keyOrderedDispatcher.dispatch(records, StoreCommandConsumer::commandKey, this::handleRecords);
+        // 실패 레코드는 레인 처리가 모두 끝난 뒤 리스너 스레드에서 라우팅 (오프셋 커밋 전)
+        eventProducer.sendResultEvents(commandRetryRouter.routeFailures(outcomes));
+    }
 
-        if (event instanceof CreateStoreEvent) {
-            handleCreateStore((CreateStoreEvent) event);
-        } else if (event instanceof UpdateStoreEvent) {
-            handleUpdateStore((UpdateStoreEvent) event);
-        } else if (event instanceof DeleteStoreEvent) {
-            handleDeleteStore((DeleteStoreEvent) event);
-        } else {
-            log.warn("Unknown command event: {}", record);
+    /**
+     * 재시도 토픽 리스너 (단계별로 별도 컨테이너)
+     *  - 재시도 시각 전이면 nack로 해당 파티션만 남은 시간만큼 멈춤, 원래 명령 토픽 처리는 계속 진행
+     *  - 다시 실패하면 다음 재시도 단계 또는 DLT로 이동
+     */
+    @KafkaListener(topics = "store-command-retry-0", groupId = "store-gourp-retry", containerFactory = "retryKafkaListenerContainerFactory")
+    @KafkaListener(topics = "store-command-retry-1", groupId = "store-gourp-retry", containerFactory = "retryKafkaListenerContainerFactory")
+    @KafkaListener(topics = "store-command-retry-2", groupId = "store-gourp-retry", containerFactory = "retryKafkaListenerContainerFactory")
+    public void onRetryEvent(ConsumerRecord<String, Event> record, Acknowledgment ack) {
+        long delay = CommandRetryRouter.remainingDelay(record);
+        if (delay > 0) {
+            ack.nack(Duration.ofMillis(delay));
+            return;
+        }
+        Object result = onCommandEvent(record);
+        if (result instanceof CommandRetryRouter.Failure failure) {
+            commandRetryRouter.route(failure.record(), failure.cause());
+        } else if (result != null) {
+            eventProducer.sendResultEvent(result);
         }
+        ack.acknowledge();
     }
 
-    private void handleCreateStore(CreateStoreEvent event) {
+    /**
+     * 레인 하나의 레코드 처리 (도착 순서대로)
+     */
+    private List<Object> handleRecords(List<ConsumerRecord<String, Event>> records) {
+        List<Object> results = new ArrayList<>(records.size());
+        for (List<ConsumerRecord<String, Event>> run : CommandRuns.split(records, StoreCommandConsumer::commandType)) {
+            Object first = commandOf(run.get(0));
+            if (first instanceof CreateStoreEvent) {
+                listenerMetrics.timeHandler(run.get(0).topic(), first, () -> handleCreateStores(run, results));
+            } else if (first instanceof UpdateStoreEvent) {
+                listenerMetrics.timeHandler(run.get(0).topic(), first, () -> handleUpdateStores(run, results));
+            } else {
+                run.forEach(record -> addResult(results, onCommandEvent(record)));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 레코드 하나 처리 (이벤트 타입별 처리 시간 기록)
+     */
+    private Object onCommandEvent(ConsumerRecord<String, Event> record) {
+        return listenerMetrics.timeHandler(record.topic(), commandOf(record), () -> handleCommandEvent(record));
+    }
+
+    private Object handleCommandEvent(ConsumerRecord<String, Event> record) {
+        log.info("Received record: {}", record);
+        Object event = commandOf(record);
+
         try {
-            log.info("[CommandConsumer] Creating store: {}", event);
-            Store store = storeService.createStore(event);
+            if (event instanceof CreateStoreEvent) {
+                return handleCreateStore((CreateStoreEvent) event);
+            } else if (event instanceof UpdateStoreEvent) {
+                return handleUpdateStore((UpdateStoreEvent) event);
+            } else if (event instanceof DeleteStoreEvent) {
+                return handleDeleteStore((DeleteStoreEvent) event);
+            } else {
+                log.warn("Unknown command event: {}", record);
+                return null;
+            }
+        } catch (Exception e) {
+            // 실패 레코드는 리스너 스레드로 넘겨 재시도 토픽/DLT로 보내고, 다음 레코드 처리 계속
+            log.error("[CommandConsumer] Failed to handle record: {}", record, e);
+            return new CommandRetryRouter.Failure(record, e);
+        }
+    }
 
-            // 결과 이벤트
-            StoreCreatedEvent result = new StoreCreatedEvent(
+    private void handleCreateStores(List<ConsumerRecord<String, Event>> run, List<Object> results) {
+        List<CreateStoreEvent> events = commandsOf(run, CreateStoreEvent.class);
+        try {
+            log.info("[CommandConsumer] Creating {} stores in batch", events.size());
+            storeService.createStores(events).forEach(store -> results.add(new StoreCreatedEvent(
                     store.getId(),
                     store.getStoreId(),
                     store.getStoreName()
-            );
-            eventProducer.sendResultEvent(result);
-
+            )));
         } catch (Exception e) {
-            log.error("[CommandConsumer] Error in handleCreateStore: ", e);
-            // 실패 시 별도 실패 이벤트 발행 가능
+            log.warn("[CommandConsumer] Batch create failed, retrying per record: {}", e.getMessage());
+            run.forEach(record -> addResult(results, onCommandEvent(record)));
         }
     }
 
-    private void handleUpdateStore(UpdateStoreEvent event) {
+    private void handleUpdateStores(List<ConsumerRecord<String, Event>> run, List<Object> results) {
+        List<UpdateStoreEvent> events = commandsOf(run, UpdateStoreEvent.class);
         try {
-            log.info("[CommandConsumer] Updating store: {}", event);
-
-            Store store = storeService.updateStore(event);
-
-            // 결과 이벤트
-            StoreUpdatedEvent result = new StoreUpdatedEvent(
+            log.info("[CommandConsumer] Updating {} stores in batch", events.size());
+            storeService.updateStores(events).forEach(store -> results.add(new StoreUpdatedEvent(
                     store.getId(),
                     store.getStoreId(),
                     store.getStoreName()
-            );
-            eventProducer.sendResultEvent(result);
-
+            )));
         } catch (Exception e) {
-            log.error("[CommandConsumer] Error in handleUpdateStore: ", e);
+            log.warn("[CommandConsumer] Batch update failed, retrying per record: {}", e.getMessage());
+            run.forEach(record -> addResult(results, onCommandEvent(record)));
         }
     }
 
-    private void handleDeleteStore(DeleteStoreEvent event) {
-        try {
-            log.info("[CommandConsumer] Deleting store: {}", event);
-            storeService.deleteStore(event.getStoreId());
+    private Object handleCreateStore(CreateStoreEvent event) {
+        log.info("[CommandConsumer] Creating store: {}", event);
+        Store store = storeService.createStore(event);
 
-            // 결과 이벤트
-            StoreDeletedEvent result = new StoreDeletedEvent(
-                    event.getStoreId()
-            );
-            eventProducer.sendResultEvent(result);
+        // 결과 이벤트
+        StoreCreatedEvent result = new StoreCreatedEvent(
+                store.getId(),
+                store.getStoreId(),
+                store.getStoreName()
+        );
+        return result;
+    }
 
-        } catch (Exception e) {
-            log.error("[CommandConsumer] Error in handleDeleteStore: ", e);
+    private Object handleUpdateStore(UpdateStoreEvent event) {
+        log.info("[CommandConsumer] Updating store: {}", event);
+
+        Store store = storeService.updateStore(event);
+
+        // 결과 이벤트
+        StoreUpdatedEvent result = new StoreUpdatedEvent(
+                store.getId(),
+                store.getStoreId(),
+                store.getStoreName()
+        );
+        return result;
+    }
+
+    private Object handleDeleteStore(DeleteStoreEvent event) {
+        log.info("[CommandConsumer] Deleting store: {}", event);
+        storeService.deleteStore(event.getStoreId());
+
+        // 결과 이벤트
+        StoreDeletedEvent result = new StoreDeletedEvent(
+                event.getStoreId()
+        );
+        return result;
+    }
+
+    private static Object commandOf(ConsumerRecord<String, Event> record) {
+        return record.value() != null ? record.value().getEvent() : null;
+    }
+
+    /**
+     * 레코드 키, 키 없이 발행된 레코드는 명령의 storeId 사용
+     */
+    private static String commandKey(ConsumerRecord<String, Event> record) {
+        if (record.key() != null) {
+            return record.key();
+        }
+        Object event = commandOf(record);
+        if (event instanceof CreateStoreEvent) {
+            return ((CreateStoreEvent) event).getStoreId();
+        }
+        if (event instanceof UpdateStoreEvent) {
+            return ((UpdateStoreEvent) event).getStoreId();
+        }
+        if (event instanceof DeleteStoreEvent) {
+            return ((DeleteStoreEvent) event).getStoreId();
+        }
+        return null;
+    }
+
+    private static Class<?> commandType(ConsumerRecord<String, Event> record) {
+        Object event = commandOf(record);
+        return event != null ? event.getClass() : null;
+    }
+
+    private static <T> List<T> commandsOf(List<ConsumerRecord<String, Event>> run, Class<T> type) {
+        return run.stream().map(record -> type.cast(commandOf(record))).toList();
+    }
+
+    private static void addResult(List<Object> results, Object result) {
+        if (result != null) {
+            results.add(result);
         }
     }
 }
@@ -1,7 +1,7 @@
 package com.example.store.kafka;
 
-import com.example.events.EventEntity;
-import com.example.events.EventRepository;
+import com.example.events.AuditLogWriter;
+import com.example.events.ListenerMetrics;
 import com.example.kafka.Event;
 import com.example.kafka.StoreCreatedEvent;
 import com.example.kafka.StoreDeletedEvent;
@@ -12,16 +12,19 @@ import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class StoreResultConsumer {
-    private final EventRepository eventRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final ListenerMetrics listenerMetrics;
 
     @KafkaListener(topics = "store-result", groupId = "store-group")
     public void onCommandEvent(ConsumerRecord<String, Event> record) {
+        listenerMetrics.timeHandler(record.topic(), record.value().getEvent(), () -> handleResultEvent(record));
+    }
+
+    private void handleResultEvent(ConsumerRecord<String, Event> record) {
         log.info("Received command event: {}", record.value());;
         Object event = record.value().getEvent();
 
@@ -38,34 +41,16 @@ public class StoreResultConsumer {
 
     private void handleStoreCreated(StoreCreatedEvent evt) {
         log.info("[ResultConsumer] StoreCreated: {}", evt);
-        EventEntity entity = EventEntity.builder()
-                .eventType("StoreCreatedEvent")
-                .payload("storeId=" + evt.getStoreId() + ", storeName=" + evt.getStoreName())
-                .eventTime(LocalDateTime.now())
-                .status("SUCCESS")
-                .build();
-        eventRepository.save(entity);
+        auditLogWriter.write("StoreCreatedEvent", evt);
     }
 
     private void handleStoreUpdated(StoreUpdatedEvent evt) {
         log.info("[ResultConsumer] StoreUpdated: {}", evt);
-        EventEntity entity = EventEntity.builder()
-                .eventType("StoreUpdatedEvent")
-                .payload("storeId=" + evt.getStoreId() + ", storeName=" + evt.getStoreName())
-                .eventTime(LocalDateTime.now())
-                .status("SUCCESS")
-                .build();
-        eventRepository.save(entity);
+        auditLogWriter.write("StoreUpdatedEvent", evt);
     }
 
     private void handleStoreDeleted(StoreDeletedEvent evt) {
         log.info("[ResultConsumer] StoreDeleted: {}", evt);
-        EventEntity entity = EventEntity.builder()
-                .eventType("StoreDeletedEvent")
-                .payload("storeId=" + evt.getStoreId())
-                .eventTime(LocalDateTime.now())
-                .status("SUCCESS")
-                .build();
-        eventRepository.save(entity);
+        auditLogWriter.write("StoreDeletedEvent", evt);
     }
 }
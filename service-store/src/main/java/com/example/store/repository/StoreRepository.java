@@ -3,6 +3,8 @@ package com.example.store.repository;
 import com.example.store.entity.Store;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -13,4 +15,5 @@ import java.util.Optional;
  */
 public interface StoreRepository extends JpaRepository<Store, Long> {
     Optional<Store> findByStoreId(String storeId);
+    List<Store> findAllByStoreIdIn(Collection<String> storeIds);
 }
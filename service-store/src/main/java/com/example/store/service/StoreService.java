@@ -2,6 +2,7 @@ package com.example.store.service;
 
 import com.example.annotations.Cached;
 import com.example.cache.CacheType;
+import com.example.cache.CacheWriter;
 import com.example.kafka.CreateStoreEvent;
 import com.example.kafka.UpdateStoreEvent;
 import com.example.store.entity.Store;
@@ -15,6 +16,11 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * 상점 서비스
  *
@@ -26,6 +32,7 @@ import org.springframework.transaction.annotation.Propagation;
 @RequiredArgsConstructor
 public class StoreService {
     final StoreRepository storeRepository;
+    final CacheWriter cacheWriter;
 
     final ObjectMapper mapper;
 
@@ -80,6 +87,56 @@ public class StoreService {
         return savedStore;
     }
 
+    /**
+     * 일괄 생성 (배치 리스너용)
+     *  - 한 트랜잭션에서 saveAll 후 flush → JDBC 배치
+     *  - 한 건이라도 실패하면 전체 롤백 후 예외, 호출 측에서 건별 처리로 전환
+     *  - 캐시는 커밋 후 건별 반영
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<Store> createStores(List<CreateStoreEvent> events) {
+        List<Store> stores = events.stream()
+                .map(event -> Store.builder()
+                        .id(event.getId())
+                        .storeId(event.getStoreId())
+                        .storeName(event.getStoreName())
+                        .address(event.getAddress())
+                        .build())
+                .toList();
+
+        List<Store> savedStores = storeRepository.saveAllAndFlush(stores);
+        savedStores.forEach(store -> cacheWriter.write("store:", store.getStoreId(), store, 3600));
+        return savedStores;
+    }
+
+    /**
+     * 일괄 수정 (배치 리스너용)
+     *  - 대상을 IN 조회 한 번으로 읽고, 한 트랜잭션에서 saveAll
+     *  - 이벤트 순서대로 반환 (같은 대상이 여러 번 오면 마지막 값이 반영됨)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<Store> updateStores(List<UpdateStoreEvent> events) {
+        List<String> storeIds = events.stream().map(UpdateStoreEvent::getStoreId).distinct().toList();
+        Map<String, Store> stores = storeRepository.findAllByStoreIdIn(storeIds).stream()
+                .collect(Collectors.toMap(Store::getStoreId, Function.identity()));
+
+        List<Store> updatedStores = events.stream()
+                .map(event -> {
+                    Store store = stores.get(event.getStoreId());
+                    if (store == null) {
+                        throw new EntityNotFoundException("Store not found: " + event.getStoreId());
+                    }
+                    store.setStoreName(event.getStoreName());
+                    store.setAddress(event.getAddress());
+                    return store;
+                })
+                .toList();
+
+        storeRepository.saveAllAndFlush(stores.values());
+        stores.values().forEach(store -> cacheWriter.write("store:", store.getStoreId(), store, 3600));
+        return updatedStores;
+    }
+
     @Cached(prefix = "store:", key = "#storeId", ttl = 3600, type = CacheType.DELETE, cacheNull = true)
     public void deleteStore(String storeId) {
         Store store = storeRepository.findByStoreId(storeId)
@@ -0,0 +1,34 @@
+package com.example.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 배치 리스너용 명령 구간 분할
+ *
+ * 한 번의 poll로 받은 레코드를 "같은 종류의 명령이 연속된 구간"으로 나눈다.
+ * 구간 단위로 일괄 처리하면서도 구간 사이의 순서는 그대로 유지되므로
+ * 같은 파티션 안에서 생성 → 수정 → 삭제 순서가 뒤바뀌지 않는다.
+ */
+public final class CommandRuns {
+
+    private CommandRuns() {
+    }
+
+    public static <T> List<List<T>> split(List<T> items, Function<T, ?> classifier) {
+        List<List<T>> runs = new ArrayList<>();
+        int from = 0;
+        while (from < items.size()) {
+            Object type = classifier.apply(items.get(from));
+            int to = from + 1;
+            while (to < items.size() && Objects.equals(type, classifier.apply(items.get(to)))) {
+                to++;
+            }
+            runs.add(items.subList(from, to));
+            from = to;
+        }
+        return runs;
+    }
+}